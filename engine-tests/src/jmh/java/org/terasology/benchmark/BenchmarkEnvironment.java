@@ -0,0 +1,111 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark;
+
+import org.terasology.HeadlessEnvironment;
+import org.terasology.assets.ResourceUrn;
+import org.terasology.assets.management.AssetManager;
+import org.terasology.context.Context;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.naming.Name;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.BlockUri;
+import org.terasology.world.block.family.SymmetricFamily;
+import org.terasology.world.block.loader.BlockFamilyDefinition;
+import org.terasology.world.block.loader.BlockFamilyDefinitionData;
+import org.terasology.world.block.shapes.BlockShape;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.Random;
+
+/**
+ * A headless environment of the engine module for benchmarks that need the entity system, blocks or chunks. Besides
+ * air, it provides a solid cube block and a light emitting one, and fills chunks with terrain made of them.
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+
+    private final HeadlessEnvironment environment;
+    private final Block air;
+    private final Block stone;
+    private final Block torch;
+
+    public BenchmarkEnvironment() {
+        environment = new HeadlessEnvironment(new Name("engine"));
+        BlockManager blockManager = getContext().get(BlockManager.class);
+        air = blockManager.getBlock(BlockManager.AIR_ID);
+        stone = registerCube("engine:benchmarkStone", (byte) 0, false);
+        torch = registerCube("engine:benchmarkTorch", ChunkConstants.MAX_LIGHT, true);
+    }
+
+    private Block registerCube(String uri, byte luminance, boolean translucent) {
+        AssetManager assetManager = getContext().get(AssetManager.class);
+        BlockFamilyDefinitionData data = new BlockFamilyDefinitionData();
+        data.getBaseSection().setDisplayName(uri);
+        data.getBaseSection().setShape(assetManager.getAsset("engine:cube", BlockShape.class).get());
+        data.getBaseSection().setLuminance(luminance);
+        data.getBaseSection().setTranslucent(translucent);
+        data.setBlockFamily(SymmetricFamily.class);
+        assetManager.loadAsset(new ResourceUrn(uri), data, BlockFamilyDefinition.class);
+        return getContext().get(BlockManager.class).getBlock(new BlockUri(new ResourceUrn(uri)));
+    }
+
+    public Context getContext() {
+        return environment.getContext();
+    }
+
+    public Block getAir() {
+        return air;
+    }
+
+    public Block getStone() {
+        return stone;
+    }
+
+    public Block getTorch() {
+        return torch;
+    }
+
+    /**
+     * Creates a chunk with stone columns of random height, the same for the same position and seed.
+     */
+    public ChunkImpl createTerrainChunk(Vector3i chunkPos, long seed) {
+        ChunkImpl chunk = new ChunkImpl(chunkPos, getContext().get(BlockManager.class), getContext().get(ExtraBlockDataManager.class));
+        Random random = new Random(seed ^ chunkPos.hashCode());
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                int height = ChunkConstants.SIZE_Y / 4 + random.nextInt(ChunkConstants.SIZE_Y / 2);
+                for (int y = 0; y < height; y++) {
+                    chunk.setBlock(x, y, z, stone);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Creates a chunk with smooth stone hills, which continue seamlessly into the neighbouring chunks.
+     */
+    public ChunkImpl createHillsChunk(Vector3i chunkPos) {
+        ChunkImpl chunk = new ChunkImpl(chunkPos, getContext().get(BlockManager.class), getContext().get(ExtraBlockDataManager.class));
+        for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+            for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                double worldX = chunkPos.x * ChunkConstants.SIZE_X + x;
+                double worldZ = chunkPos.z * ChunkConstants.SIZE_Z + z;
+                double hills = Math.sin(worldX / 11) + Math.cos(worldZ / 7) + 0.5 * Math.sin((worldX + worldZ) / 5);
+                int height = (int) (ChunkConstants.SIZE_Y / 2 + hills * ChunkConstants.SIZE_Y / 16) - chunkPos.y * ChunkConstants.SIZE_Y;
+                for (int y = 0; y < Math.min(height, ChunkConstants.SIZE_Y); y++) {
+                    chunk.setBlock(x, y, z, stone);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @Override
+    public void close() throws Exception {
+        environment.close();
+    }
+}
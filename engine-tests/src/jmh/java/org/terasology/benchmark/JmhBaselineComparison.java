@@ -0,0 +1,216 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the JSON results of a JMH run against the results of an earlier baseline run, and writes a markdown report
+ * with the change of the score and of the allocated bytes per operation of every benchmark.
+ * <p>
+ * A benchmark is reported as regressed if its score got worse by more than the threshold and by more than the combined
+ * error of both runs. Whether a higher or a lower score is better depends on the benchmark mode. The same threshold
+ * applies to the allocated bytes per operation, where the change must also be larger than a few bytes, so that
+ * benchmarks which hardly allocate aren't flagged for noise. Allocations are only compared if both runs were profiled
+ * with {@code -prof gc}.
+ * <p>
+ * Usage: {@code JmhBaselineComparison <baseline.json> <results.json> <report.md> [threshold percent]}
+ */
+public final class JmhBaselineComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    /** The smallest change of the allocated bytes per operation that is reported, about the size of a small object. */
+    private static final double MIN_ALLOCATION_CHANGE = 16;
+
+    private JmhBaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args[0].isEmpty()) {
+            System.err.println("Usage: JmhBaselineComparison <baseline.json> <results.json> <report.md> [threshold percent]");
+            System.err.println("With gradle: gradlew :engine-tests:jmhCompare -PjmhBaseline=<baseline.json>");
+            System.exit(1);
+        }
+        Path baselineFile = Paths.get(args[0]);
+        Path resultsFile = Paths.get(args[1]);
+        Path reportFile = Paths.get(args[2]);
+        double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 5;
+        if (!Files.isRegularFile(baselineFile) || !Files.isRegularFile(resultsFile)) {
+            System.err.println("Missing benchmark results: " + (Files.isRegularFile(baselineFile) ? resultsFile : baselineFile));
+            System.exit(1);
+        }
+
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(resultsFile);
+
+        int regressions = 0;
+        int improvements = 0;
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        try (PrintWriter report = new PrintWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8))) {
+            report.println("# Benchmark comparison");
+            report.println();
+            report.println("Baseline: `" + baselineFile + "`, current: `" + resultsFile + "`, threshold: " + threshold + "%");
+            report.println();
+            report.println("| Benchmark | Mode | Baseline | Current | Change | Alloc baseline (B/op) | Alloc current (B/op) | Alloc change | Verdict |");
+            report.println("|---|---|---|---|---|---|---|---|---|");
+            for (Map.Entry<String, Result> entry : current.entrySet()) {
+                Result now = entry.getValue();
+                Result before = baseline.get(entry.getKey());
+                if (before == null) {
+                    report.println(String.format(Locale.ROOT, "| %s | %s | - | %s | - | - | %s | - | new |",
+                            entry.getKey(), now.mode, now.formatScore(), formatBytes(now.allocation)));
+                    continue;
+                }
+                double change = (now.score - before.score) / before.score * 100;
+                double worsening = now.higherIsBetter() ? -change : change;
+                boolean significant = Math.abs(now.score - before.score) > now.error + before.error;
+                double allocationChange = allocationChange(before, now);
+                boolean allocationSignificant = Math.abs(now.allocation - before.allocation)
+                        > Math.max(MIN_ALLOCATION_CHANGE, now.allocationError + before.allocationError);
+                String verdict = "unchanged";
+                if (significant && worsening > threshold) {
+                    verdict = "**regressed**";
+                    regressions++;
+                } else if (allocationSignificant && allocationChange > threshold) {
+                    verdict = "**regressed (allocation)**";
+                    regressions++;
+                } else if ((significant && worsening < -threshold) || (allocationSignificant && allocationChange < -threshold)) {
+                    verdict = "improved";
+                    improvements++;
+                }
+                report.println(String.format(Locale.ROOT, "| %s | %s | %s | %s | %+.1f%% | %s | %s | %s | %s |",
+                        entry.getKey(), now.mode, before.formatScore(), now.formatScore(), change,
+                        formatBytes(before.allocation), formatBytes(now.allocation), formatChange(allocationChange),
+                        verdict));
+            }
+            for (String removed : baseline.keySet()) {
+                if (!current.containsKey(removed)) {
+                    report.println("| " + removed + " | " + baseline.get(removed).mode + " | " + baseline.get(removed).formatScore()
+                            + " | - | - | " + formatBytes(baseline.get(removed).allocation) + " | - | - | removed |");
+                }
+            }
+        }
+        System.out.println(String.format("%d benchmarks compared, %d regressed, %d improved. Report written to %s",
+                current.size(), regressions, improvements, reportFile));
+    }
+
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonArray runs = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                JsonObject primary = run.getAsJsonObject("primaryMetric");
+                Result result = new Result(run.get("mode").getAsString(),
+                        primary.get("score").getAsDouble(),
+                        errorOf(primary),
+                        primary.get("scoreUnit").getAsString(),
+                        allocationOf(run, "score"),
+                        allocationOf(run, "scoreError"));
+                results.put(nameOf(run), result);
+            }
+        }
+        return results;
+    }
+
+    private static String nameOf(JsonObject run) {
+        String name = run.get("benchmark").getAsString();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        if (!run.has("params")) {
+            return name;
+        }
+        Map<String, String> params = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+            params.put(param.getKey(), param.getValue().getAsString());
+        }
+        return name + " " + params;
+    }
+
+    private static double errorOf(JsonObject metric) {
+        double error = metric.has("scoreError") ? metric.get("scoreError").getAsDouble() : 0;
+        // JMH reports NaN as error when there were too few iterations to compute it
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static double allocationOf(JsonObject run, String property) {
+        if (run.has("secondaryMetrics")) {
+            for (Map.Entry<String, JsonElement> metric : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+                JsonObject allocation = metric.getValue().getAsJsonObject();
+                if (metric.getKey().endsWith(ALLOCATION_METRIC) && allocation.has(property)) {
+                    return allocation.get(property).getAsDouble();
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return The change of the allocated bytes per operation in percent, or NaN if either run wasn't profiled
+     */
+    private static double allocationChange(Result before, Result now) {
+        if (Double.isNaN(before.allocation) || Double.isNaN(now.allocation)) {
+            return Double.NaN;
+        }
+        if (before.allocation < MIN_ALLOCATION_CHANGE) {
+            // Relative to a baseline that hardly allocates, any allocation is an unbounded change
+            return now.allocation < MIN_ALLOCATION_CHANGE ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return (now.allocation - before.allocation) / before.allocation * 100;
+    }
+
+    private static String formatChange(double change) {
+        if (Double.isNaN(change)) {
+            return "-";
+        }
+        return Double.isInfinite(change) ? "+inf" : String.format(Locale.ROOT, "%+.1f%%", change);
+    }
+
+    private static String formatBytes(double bytes) {
+        return Double.isNaN(bytes) ? "-" : String.format(Locale.ROOT, "%.0f", bytes);
+    }
+
+    private static final class Result {
+        private final String mode;
+        private final double score;
+        private final double error;
+        private final String unit;
+        private final double allocation;
+        private final double allocationError;
+
+        private Result(String mode, double score, double error, String unit, double allocation, double allocationError) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.allocation = allocation;
+            // JMH reports NaN as error when there were too few iterations to compute it
+            this.allocationError = Double.isNaN(allocationError) ? 0 : allocationError;
+        }
+
+        /**
+         * Throughput is measured in operations per time, all other modes in time per operation.
+         */
+        private boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        private String formatScore() {
+            return String.format(Locale.ROOT, "%.3f ± %.3f %s", score, error, unit);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.chunks.arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraDenseArray4Bit;
+import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraSparseArray4Bit;
+import org.terasology.world.chunks.blockdata.TeraSparseArray8Bit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes every element of the different kinds of {@link TeraArray}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeraArrayBenchmark {
+
+    private static final int SIZE_X = 16;
+    private static final int SIZE_Y = 256;
+    private static final int SIZE_Z = 16;
+
+    @Param({"dense8Bit", "dense4Bit", "sparse8Bit", "sparse4Bit"})
+    private String arrayType;
+
+    private TeraArray array;
+
+    @Setup
+    public void setup() {
+        switch (arrayType) {
+            case "dense8Bit":
+                array = new TeraDenseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z);
+                break;
+            case "dense4Bit":
+                array = new TeraDenseArray4Bit(SIZE_X, SIZE_Y, SIZE_Z);
+                break;
+            case "sparse8Bit":
+                byte[][] inflated8Bit = new byte[SIZE_Y][];
+                for (int y = 0; y < SIZE_Y; y++) {
+                    inflated8Bit[y] = new byte[SIZE_X * SIZE_Z];
+                }
+                array = new TeraSparseArray8Bit(SIZE_X, SIZE_Y, SIZE_Z, inflated8Bit, new byte[SIZE_Y]);
+                break;
+            case "sparse4Bit":
+                byte[][] inflated4Bit = new byte[SIZE_Y][];
+                for (int y = 0; y < SIZE_Y; y++) {
+                    inflated4Bit[y] = new byte[SIZE_X * SIZE_Z / 2];
+                }
+                array = new TeraSparseArray4Bit(SIZE_X, SIZE_Y, SIZE_Z, inflated4Bit, new byte[SIZE_Y]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown array type " + arrayType);
+        }
+    }
+
+    @Benchmark
+    public int read() {
+        int sum = 0;
+        for (int y = 0; y < array.getSizeY(); y++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int x = 0; x < array.getSizeX(); x++) {
+                    sum += array.get(x, y, z);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public TeraArray write() {
+        for (int y = 0; y < array.getSizeY(); y++) {
+            for (int z = 0; z < array.getSizeZ(); z++) {
+                for (int x = 0; x < array.getSizeX(); x++) {
+                    array.set(x, y, z, 1);
+                }
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,108 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.chunks.arrays;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares ways of serializing a {@link TeraDenseArray8Bit} the size of a chunk into bytes and back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeraArraySerializationBenchmark {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final TeraDenseArray8Bit.SerializationHandler handler = new TeraDenseArray8Bit.SerializationHandler();
+    private final TeraDenseArray8Bit array = new TeraDenseArray8Bit(16, 256, 16);
+
+    private ByteBuffer buffer;
+    private ByteBuffer serialized;
+    private ByteArrayOutputStream out;
+    private WritableByteChannel channel;
+    private byte[] via;
+
+    @Setup
+    public void setup() {
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        serialized = handler.serialize(array, ByteBuffer.allocate(BUFFER_SIZE));
+        serialized.rewind();
+        out = new ByteArrayOutputStream(BUFFER_SIZE);
+        channel = Channels.newChannel(out);
+        via = new byte[BUFFER_SIZE];
+    }
+
+    @Benchmark
+    public int serializeObject() throws IOException {
+        out.reset();
+        new ObjectOutputStream(out).writeObject(array);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializeToBuffer() {
+        buffer.rewind();
+        handler.serialize(array, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public ByteString serializeToByteString() {
+        buffer.rewind();
+        handler.serialize(array, buffer);
+        int length = buffer.position();
+        buffer.rewind();
+        return ByteString.copyFrom(buffer, length);
+    }
+
+    @Benchmark
+    public int serializeToStreamViaByteArray() {
+        out.reset();
+        buffer.rewind();
+        handler.serialize(array, buffer);
+        int length = buffer.position();
+        buffer.rewind();
+        buffer.get(via, 0, length);
+        out.write(via, 0, length);
+        return out.size();
+    }
+
+    @Benchmark
+    public int serializeToStreamViaChannel() throws IOException {
+        out.reset();
+        buffer.rewind();
+        handler.serialize(array, buffer);
+        buffer.flip();
+        channel.write(buffer);
+        return out.size();
+    }
+
+    @Benchmark
+    public TeraDenseArray8Bit deserializeFromBuffer() {
+        serialized.rewind();
+        return handler.deserialize(serialized);
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.chunks.network;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.protobuf.EntityData;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraArrayPool;
+import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
+import org.terasology.world.chunks.internal.ChunkSerializer;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a fixed set of chunk messages the way the client receives them: decode and deflate each chunk, either into
+ * new arrays or into arrays of a {@link TeraArrayPool}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDecodeBenchmark {
+
+    private static final int CHUNKS = 64;
+
+    @Param({"false", "true"})
+    private boolean pooled;
+
+    private final ExtraBlockDataManager extraDataManager = new ExtraBlockDataManager();
+    private final List<EntityData.ChunkStore> messages = Lists.newArrayList();
+    private TeraArrayPool arrayPool;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        for (int i = 0; i < CHUNKS; i++) {
+            TeraArray blocks = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            for (int x = 0; x < blocks.getSizeX(); x++) {
+                for (int z = 0; z < blocks.getSizeZ(); z++) {
+                    int height = random.nextInt(blocks.getSizeY());
+                    for (int y = 0; y < height; y++) {
+                        blocks.set(x, y, z, 1 + random.nextInt(4));
+                    }
+                }
+            }
+            Vector3i pos = new Vector3i(i % 8, 0, i / 8);
+            messages.add(ChunkSerializer.encode(pos, blocks, extraDataManager.makeDataArrays(
+                    ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z)).build());
+        }
+        if (pooled) {
+            arrayPool = new TeraArrayPool(ChunkConstants.SIZE_X, ChunkConstants.SECTION_SIZE_Y, ChunkConstants.SIZE_Z,
+                    CHUNKS * ChunkConstants.SECTION_COUNT);
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (EntityData.ChunkStore message : messages) {
+            // The block manager is only needed to look up blocks, which this benchmark never does
+            Chunk chunk = ChunkSerializer.decode(message, null, extraDataManager, arrayPool);
+            chunk.deflate();
+            chunk.deflateSunlight();
+            blackhole.consume(chunk);
+        }
+    }
+}
@@ -1,23 +1,19 @@
-/*
- * Copyright 2013 MovingBlocks
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
 package org.terasology.benchmark.entitySystem;
 
 import com.google.common.collect.Lists;
-import org.terasology.benchmark.AbstractBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
@@ -27,20 +23,23 @@
 import org.terasology.world.block.BlockComponent;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
- *
+ * Creates 1000 entities with a random mix of components, and iterates them by one or by two of their components.
  */
-public class IterateMultipleComponentBenchmark extends AbstractBenchmark {
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntitySystemBenchmark {
 
     private List<List<Component>> rawEntityData;
     private PojoEntityManager entityManager;
 
-    public IterateMultipleComponentBenchmark() {
-        super("Iterate entities by multiple components", 10000, new int[]{10000});
-    }
-
-    @Override
+    @Setup
     public void setup() {
         FastRandom rand = new FastRandom(0L);
         rawEntityData = Lists.newArrayList();
@@ -64,12 +63,28 @@ public void setup() {
         }
     }
 
-    @Override
-    public void run() {
+    @Benchmark
+    public PojoEntityManager createEntities() {
+        PojoEntityManager manager = new PojoEntityManager();
+        rawEntityData.forEach(manager::create);
+        return manager;
+    }
+
+    @Benchmark
+    public void iterateSingleComponent(Blackhole blackhole) {
+        for (EntityRef entity : entityManager.getEntitiesWith(LocationComponent.class)) {
+            LocationComponent loc = entity.getComponent(LocationComponent.class);
+            blackhole.consume(loc.getLocalPosition());
+        }
+    }
+
+    @Benchmark
+    public void iterateMultipleComponents(Blackhole blackhole) {
         for (EntityRef entity : entityManager.getEntitiesWith(MeshComponent.class, LocationComponent.class)) {
             LocationComponent loc = entity.getComponent(LocationComponent.class);
             MeshComponent meshComp = entity.getComponent(MeshComponent.class);
-            loc.getLocalPosition();
+            blackhole.consume(loc.getLocalPosition());
+            blackhole.consume(meshComp);
         }
     }
 }
@@ -0,0 +1,134 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.entitySystem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reflections.Reflections;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.event.AbstractConsumableEvent;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.event.EventPriority;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.event.internal.EventSystemImpl;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.entitySystem.prefab.internal.PojoPrefabManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.network.NetworkMode;
+import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.recording.EventCatcher;
+import org.terasology.recording.RecordAndReplayCurrentStatus;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.rendering.logic.MeshComponent;
+import org.terasology.world.block.BlockComponent;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sends events to an entity through {@link EventSystemImpl#send(EntityRef, Event)}, with handlers that require
+ * different components of the entity and run at different priorities, including one that consumes a consumable event.
+ * <p>
+ * The state is per thread, as the event system only handles events sent from the thread that created it right away.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSystemBenchmark {
+
+    private EventSystemImpl eventSystem;
+    private BenchmarkEventHandler handler;
+    private EntityRef entity;
+    private EntityRef unhandledEntity;
+
+    @Setup
+    public void setup() {
+        ContextImpl context = new ContextImpl();
+        CoreRegistry.setContext(context);
+
+        Reflections reflections = new Reflections(getClass().getClassLoader());
+        TypeHandlerLibrary serializationLibrary = new TypeHandlerLibrary(reflections);
+
+        EntitySystemLibrary entitySystemLibrary = new EntitySystemLibrary(context, serializationLibrary);
+        PojoEntityManager entityManager = new PojoEntityManager();
+        entityManager.setComponentLibrary(entitySystemLibrary.getComponentLibrary());
+        entityManager.setPrefabManager(new PojoPrefabManager(context));
+        NetworkSystem networkSystem = mock(NetworkSystem.class);
+        when(networkSystem.getMode()).thenReturn(NetworkMode.NONE);
+        eventSystem = new EventSystemImpl(entitySystemLibrary.getEventLibrary(), networkSystem,
+                new EventCatcher(null, null), new RecordAndReplayCurrentStatus());
+        entityManager.setEventSystem(eventSystem);
+
+        handler = new BenchmarkEventHandler();
+        eventSystem.registerEventHandler(handler);
+
+        entity = entityManager.create(new LocationComponent(), new MeshComponent());
+        unhandledEntity = entityManager.create(new BlockComponent());
+    }
+
+    @Benchmark
+    public int sendEvent() {
+        eventSystem.send(entity, new BenchmarkEvent());
+        return handler.received;
+    }
+
+    @Benchmark
+    public boolean sendConsumableEvent() {
+        BenchmarkConsumableEvent event = new BenchmarkConsumableEvent();
+        eventSystem.send(entity, event);
+        return event.isConsumed();
+    }
+
+    @Benchmark
+    public int sendEventWithoutHandlers() {
+        eventSystem.send(unhandledEntity, new BenchmarkEvent());
+        return handler.received;
+    }
+
+    public static class BenchmarkEvent implements Event {
+    }
+
+    public static class BenchmarkConsumableEvent extends AbstractConsumableEvent {
+    }
+
+    public static class BenchmarkEventHandler extends BaseComponentSystem {
+        private int received;
+
+        @ReceiveEvent(components = LocationComponent.class)
+        public void onEventWithLocation(BenchmarkEvent event, EntityRef entity) {
+            received++;
+        }
+
+        @ReceiveEvent(priority = EventPriority.PRIORITY_HIGH)
+        public void onEventWithMesh(BenchmarkEvent event, EntityRef entity, MeshComponent mesh) {
+            received++;
+        }
+
+        @ReceiveEvent(components = LocationComponent.class, priority = EventPriority.PRIORITY_HIGH)
+        public void onConsumableEvent(BenchmarkConsumableEvent event, EntityRef entity) {
+            event.consume();
+        }
+
+        @ReceiveEvent(components = LocationComponent.class)
+        public void afterConsumableEvent(BenchmarkConsumableEvent event, EntityRef entity) {
+            received++;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.math;
+
+import com.google.common.collect.Maps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up every position of a region in a map, the way neighbourhood checks of the chunk providers do, either by
+ * iterating the region or with a {@link RegionCursor}. The allocations of both are reported by the gc profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionIterationBenchmark {
+
+    private static final int EXTENT = 16;
+
+    private final Region3i region = Region3i.createFromCenterExtents(new Vector3i(), EXTENT);
+    private final RegionCursor cursor = new RegionCursor();
+    private final Map<Vector3i, Object> lookup = Maps.newHashMap();
+
+    @Setup
+    public void setup() {
+        for (Vector3i pos : Region3i.createFromCenterExtents(new Vector3i(), EXTENT / 2)) {
+            lookup.put(pos, pos);
+        }
+    }
+
+    @Benchmark
+    public int regionIterator() {
+        int found = 0;
+        for (Vector3i pos : region) {
+            if (lookup.get(pos) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int regionCursor() {
+        int found = 0;
+        cursor.set(region);
+        while (cursor.next()) {
+            if (lookup.get(cursor.position()) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
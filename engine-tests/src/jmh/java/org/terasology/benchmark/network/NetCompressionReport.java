@@ -0,0 +1,180 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.handler.codec.compression.ZlibEncoder;
+import org.jboss.netty.handler.codec.embedder.DecoderEmbedder;
+import org.jboss.netty.handler.codec.embedder.EncoderEmbedder;
+import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
+import org.terasology.network.NetworkCompression;
+import org.terasology.network.internal.compression.DictionaryDeflateEncoder;
+import org.terasology.network.internal.compression.DictionaryInflateDecoder;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Replays streams of network messages through the zlib encoder every connection used so far and through each
+ * dictionary compression mode, and prints a markdown table of the compression ratio and the CPU time spent per MB of
+ * messages. Each message is framed and compressed on its own, as the server pipeline does.
+ * <p>
+ * Streams are files of length delimited {@link NetData.NetMessage}s, as the load test writes them with
+ * {@code -PcaptureFile}. Without any, a synthetic stream of entity updates and events is replayed, which resembles the
+ * messages the dictionary was built from and so flatters it.
+ * <p>
+ * Usage: {@code NetCompressionReport [capture file...]}
+ */
+public final class NetCompressionReport {
+
+    private static final int PASSES = 5;
+    private static final int SMALL_MESSAGE_SIZE = 64;
+    private static final double MEGABYTE = 1024 * 1024;
+
+    private NetCompressionReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("| Stream | Encoder | Messages | Input (KB) | Output (KB) | Ratio | CPU (ms/MB) |");
+        System.out.println("|---|---|---|---|---|---|---|");
+        if (args.length == 0) {
+            report("synthetic", createSyntheticStream(2000));
+        }
+        for (String file : args) {
+            report(Paths.get(file).getFileName().toString(), readCapture(file));
+        }
+    }
+
+    private static void report(String stream, List<byte[]> frames) {
+        report(stream, "zlib (current)", frames, ZlibEncoder::new);
+        for (NetworkCompression compression : NetworkCompression.values()) {
+            if (compression.usesDictionary()) {
+                report(stream, compression.name(), frames, () -> new DictionaryDeflateEncoder(compression.getLevel(), 0));
+                report(stream, compression.name() + ", stored < " + SMALL_MESSAGE_SIZE + "B", frames,
+                        () -> new DictionaryDeflateEncoder(compression.getLevel(), SMALL_MESSAGE_SIZE));
+            }
+        }
+    }
+
+    private static void report(String stream, String encoderName, List<byte[]> frames, Supplier<OneToOneEncoder> encoderFactory) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long input = 0;
+        long output = 0;
+        long cpuNanos = 0;
+        for (int pass = 0; pass <= PASSES; pass++) {
+            EncoderEmbedder<ChannelBuffer> encoder = new EncoderEmbedder<>(encoderFactory.get());
+            List<ChannelBuffer> encoded = Lists.newArrayListWithCapacity(frames.size());
+            long start = threads.getCurrentThreadCpuTime();
+            for (byte[] frame : frames) {
+                encoder.offer(ChannelBuffers.wrappedBuffer(frame));
+                encoded.add(encoder.poll());
+            }
+            long end = threads.getCurrentThreadCpuTime();
+            // The first pass warms up and checks that the dictionary encoders can be decoded again
+            if (pass == 0) {
+                if (encoderName.startsWith("DICTIONARY")) {
+                    verify(frames, encoded);
+                }
+                continue;
+            }
+            cpuNanos += end - start;
+            for (int i = 0; i < frames.size(); i++) {
+                input += frames.get(i).length;
+                output += encoded.get(i).readableBytes();
+            }
+        }
+        double inputMegabytes = input / MEGABYTE;
+        System.out.println(String.format(Locale.ROOT, "| %s | %s | %d | %.1f | %.1f | %.2f | %.1f |",
+                stream, encoderName, frames.size(), input / 1024.0 / PASSES, output / 1024.0 / PASSES,
+                (double) input / output, cpuNanos / 1e6 / inputMegabytes));
+    }
+
+    private static void verify(List<byte[]> frames, List<ChannelBuffer> encoded) {
+        DecoderEmbedder<ChannelBuffer> decoder = new DecoderEmbedder<>(new DictionaryInflateDecoder());
+        for (int i = 0; i < frames.size(); i++) {
+            decoder.offer(encoded.get(i).duplicate());
+            ChannelBuffer decoded = decoder.poll();
+            byte[] bytes = new byte[decoded.readableBytes()];
+            decoded.readBytes(bytes);
+            if (!Arrays.equals(bytes, frames.get(i))) {
+                throw new IllegalStateException("Message " + i + " changed while compressing it");
+            }
+        }
+    }
+
+    private static List<byte[]> readCapture(String file) throws IOException {
+        List<byte[]> frames = Lists.newArrayList();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(file)))) {
+            NetData.NetMessage message;
+            while ((message = NetData.NetMessage.parseDelimitedFrom(in)) != null) {
+                frames.add(frame(message));
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * @return the message as the frame encoder of the pipeline passes it to the compression
+     */
+    private static byte[] frame(NetData.NetMessage message) throws IOException {
+        int size = message.getSerializedSize();
+        byte[] frame = new byte[CodedOutputStream.computeRawVarint32Size(size) + size];
+        CodedOutputStream out = CodedOutputStream.newInstance(frame);
+        out.writeRawVarint32(size);
+        message.writeTo(out);
+        out.checkNoSpaceLeft();
+        return frame;
+    }
+
+    /**
+     * The net ticks of a client that sees eight characters walking around randomly, with the odd block change.
+     */
+    private static List<byte[]> createSyntheticStream(int ticks) throws IOException {
+        Random random = new Random(42);
+        float[][] positions = new float[8][3];
+        List<byte[]> frames = Lists.newArrayListWithCapacity(ticks);
+        for (int tick = 0; tick < ticks; tick++) {
+            NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(tick * 50L);
+            for (int netId = 0; netId < positions.length; netId++) {
+                if (random.nextInt(4) == 0) {
+                    continue;
+                }
+                float[] position = positions[netId];
+                position[0] += random.nextFloat() - 0.5f;
+                position[2] += random.nextFloat() - 0.5f;
+                float yaw = random.nextFloat() * 360;
+                EntityData.PackedEntity entity = EntityData.PackedEntity.newBuilder()
+                        .addComponentId(0)
+                        .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2}))
+                        .setFieldIds(ByteString.copyFrom(new byte[]{0, 1}))
+                        .addFieldValue(EntityData.Value.newBuilder().addFloat(position[0]).addFloat(position[1]).addFloat(position[2]))
+                        .addFieldValue(EntityData.Value.newBuilder().addFloat(0).addFloat(yaw / 360).addFloat(0).addFloat(1))
+                        .build();
+                message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(netId + 1).setEntity(entity));
+            }
+            if (random.nextInt(20) == 0) {
+                message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                        .setPos(NetData.Vector3iData.newBuilder().setX(random.nextInt(64)).setY(random.nextInt(64)).setZ(random.nextInt(64)))
+                        .setNewBlock(random.nextInt(16)));
+            }
+            frames.add(frame(message.build()));
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,115 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.network;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityBuilder;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.logic.characters.CharacterComponent;
+import org.terasology.logic.characters.CharacterMovementComponent;
+import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.serialization.ServerComponentFieldCheck;
+import org.terasology.persistence.serializers.NetworkEntitySerializer;
+import org.terasology.protobuf.EntityData;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a character entity the way the server sends it to clients with the {@link NetworkEntitySerializer}:
+ * completely when it becomes relevant to a client, and only its changed components afterwards. Also deserializes the
+ * complete entity as clients do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NetworkEntitySerializerBenchmark {
+
+    private final ServerComponentFieldCheck initialCheck = new ServerComponentFieldCheck(false, true);
+    private final ServerComponentFieldCheck updateCheck = new ServerComponentFieldCheck(false, false);
+    private final Set<Class<? extends Component>> changed = Sets.newHashSet(LocationComponent.class, CharacterMovementComponent.class);
+
+    private BenchmarkEnvironment environment;
+    private EngineEntityManager entityManager;
+    private NetworkEntitySerializer serializer;
+    private EntityRef entity;
+    private EntityData.PackedEntity packedEntity;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        entityManager = environment.getContext().get(EngineEntityManager.class);
+        ComponentLibrary componentLibrary = entityManager.getComponentLibrary();
+        serializer = new NetworkEntitySerializer(entityManager, componentLibrary, entityManager.getTypeSerializerLibrary());
+        serializer.setIdMapping(generateIds(componentLibrary));
+
+        LocationComponent location = new LocationComponent();
+        location.setWorldPosition(new Vector3f(12.5f, 40, -3.25f));
+        DisplayNameComponent displayName = new DisplayNameComponent();
+        displayName.name = "Benchmark character";
+        entity = entityManager.create(location, displayName, new CharacterComponent(), new CharacterMovementComponent());
+        packedEntity = serializer.serialize(entity, false, initialCheck).build();
+    }
+
+    /**
+     * Assigns component and field ids the way the server does before clients connect.
+     */
+    private static Map<Class<? extends Component>, Integer> generateIds(ComponentLibrary componentLibrary) {
+        Map<Class<? extends Component>, Integer> ids = Maps.newHashMap();
+        for (ComponentMetadata<?> metadata : componentLibrary.iterateComponentMetadata()) {
+            ids.put(metadata.getType(), ids.size());
+            byte fieldId = 0;
+            for (FieldMetadata<?, ?> field : metadata.getFields()) {
+                field.setId(fieldId++);
+            }
+        }
+        return ids;
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public EntityData.PackedEntity serializeInitial() {
+        return serializer.serialize(entity, false, initialCheck).build();
+    }
+
+    @Benchmark
+    public EntityData.PackedEntity serializeChanges() {
+        return serializer.serialize(entity, Collections.emptySet(), changed, Collections.emptySet(), updateCheck);
+    }
+
+    @Benchmark
+    public EntityBuilder deserialize() {
+        EntityBuilder builder = entityManager.newBuilder();
+        serializer.deserializeOnto(builder, packedEntity);
+        return builder;
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.persistence;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.persistence.internal.CompressedChunkBuilder;
+import org.terasology.world.chunks.internal.ChunkImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and compresses a chunk with terrain and a few entities for saving, with the {@link CompressedChunkBuilder}
+ * either of an unloaded chunk or via a snapshot of a loaded one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressedChunkBuilderBenchmark {
+
+    private static final int ENTITIES = 16;
+
+    @Param({"false", "true"})
+    private boolean viaSnapshot;
+
+    private BenchmarkEnvironment environment;
+    private EngineEntityManager entityManager;
+    private ChunkImpl chunk;
+    private final List<EntityRef> entities = Lists.newArrayList();
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        entityManager = environment.getContext().get(EngineEntityManager.class);
+        chunk = environment.createTerrainChunk(new Vector3i(0, 0, 0), 42);
+        for (int i = 0; i < ENTITIES; i++) {
+            LocationComponent location = new LocationComponent();
+            location.setWorldPosition(new Vector3f(i, 40, i));
+            DisplayNameComponent displayName = new DisplayNameComponent();
+            displayName.name = "Entity " + i;
+            entities.add(entityManager.create(location, displayName));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte[] buildEncodedChunk() {
+        return new CompressedChunkBuilder(entityManager, chunk, entities, !viaSnapshot).buildEncodedChunk();
+    }
+}
@@ -0,0 +1,20 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.reflectFactory;
+
+import org.terasology.entitySystem.Component;
+
+/**
+ * A component whose only field is accessed through a getter and a setter.
+ */
+public class GetterSetterComponent implements Component {
+    private int value;
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+
+    public int getValue() {
+        return value;
+    }
+}
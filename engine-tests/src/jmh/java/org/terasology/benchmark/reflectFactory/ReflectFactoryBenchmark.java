@@ -0,0 +1,77 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.reflectFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.reflection.reflect.ByteCodeReflectFactory;
+import org.terasology.reflection.reflect.FieldAccessor;
+import org.terasology.reflection.reflect.ObjectConstructor;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares constructing components and accessing their fields through the {@link ReflectFactory} implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectFactoryBenchmark {
+
+    private static final String[] DESCRIPTIONS = {"First description", "Second description"};
+
+    @Param({"reflection", "byteCode"})
+    private String factory;
+
+    private ObjectConstructor<LocationComponent> constructor;
+    private FieldAccessor fieldAccessor;
+    private FieldAccessor getterSetterAccessor;
+    private DisplayNameComponent displayName;
+    private GetterSetterComponent getterSetter;
+    private int value;
+
+    @Setup
+    public void setup() throws Exception {
+        ReflectFactory reflectFactory = "byteCode".equals(factory) ? new ByteCodeReflectFactory() : new ReflectionReflectFactory();
+        constructor = reflectFactory.createConstructor(LocationComponent.class);
+        fieldAccessor = reflectFactory.createFieldAccessor(DisplayNameComponent.class,
+                DisplayNameComponent.class.getField("description"));
+        getterSetterAccessor = reflectFactory.createFieldAccessor(GetterSetterComponent.class,
+                GetterSetterComponent.class.getDeclaredField("value"));
+        displayName = new DisplayNameComponent();
+        getterSetter = new GetterSetterComponent();
+    }
+
+    @Benchmark
+    public LocationComponent construction() {
+        return constructor.construct();
+    }
+
+    @Benchmark
+    public Object fieldAccess() {
+        fieldAccessor.setValue(displayName, DESCRIPTIONS[value++ & 1]);
+        return fieldAccessor.getValue(displayName);
+    }
+
+    @Benchmark
+    public Object getterSetterAccess() {
+        getterSetterAccessor.setValue(getterSetter, value++);
+        return getterSetterAccessor.getValue(getterSetter);
+    }
+}
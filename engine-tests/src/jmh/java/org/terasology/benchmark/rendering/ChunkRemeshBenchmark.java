@@ -0,0 +1,110 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.rendering;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.internal.ChunkViewCore;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency from a single block edit to the new mesh of the edited chunk, either re-tessellating the whole
+ * chunk or only the sections the edit marked dirty. Only the vertex data is generated, so no display is needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkRemeshBenchmark {
+
+    private static final int EDITS = 256;
+
+    @Param({"false", "true"})
+    private boolean incremental;
+
+    private BenchmarkEnvironment environment;
+    private ChunkTessellator tessellator;
+    private ChunkViewCore chunkView;
+    private Chunk chunk;
+    private ChunkMesh mesh;
+    private final Vector3i[] editPositions = new Vector3i[EDITS];
+    private int nextEdit;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+
+        Region3i region = Region3i.createFromCenterExtents(new Vector3i(), ChunkConstants.LOCAL_REGION_EXTENTS);
+        Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
+        for (Vector3i chunkPos : region) {
+            Chunk regionChunk = environment.createTerrainChunk(chunkPos, 42);
+            if (chunkPos.equals(Vector3i.zero())) {
+                chunk = regionChunk;
+            }
+            chunkPos.sub(region.minX(), region.minY(), region.minZ());
+            chunks[TeraMath.calculate3DArrayIndex(chunkPos, region.size())] = regionChunk;
+        }
+        chunkView = new ChunkViewCoreImpl(chunks, region, new Vector3i(-region.min().x, -region.min().y, -region.min().z),
+                environment.getAir());
+
+        Random random = new Random(42);
+        for (int i = 0; i < EDITS; i++) {
+            editPositions[i] = new Vector3i(random.nextInt(ChunkConstants.SIZE_X), random.nextInt(ChunkConstants.SIZE_Y),
+                    random.nextInt(ChunkConstants.SIZE_Z));
+        }
+
+        // The mesh the chunk has before the edits, already split into sections when updating incrementally
+        chunk.setDirty(false);
+        mesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+        if (incremental) {
+            mesh = tessellator.generateMesh(chunkView, mesh, 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public ChunkMesh editAndRemesh() {
+        Vector3i pos = editPositions[nextEdit];
+        nextEdit = (nextEdit + 1) % EDITS;
+        chunk.setBlock(pos, chunk.getBlock(pos) == environment.getAir() ? environment.getStone() : environment.getAir());
+        // Marks the same sections the world provider marks for a block change
+        chunk.setDirtyBetween(pos.y - 1, pos.y + 1);
+
+        int dirtySections = chunk.clearDirtySections();
+        if (incremental) {
+            mesh = tessellator.generateMesh(chunkView, mesh, dirtySections);
+        } else {
+            mesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+        }
+        return mesh;
+    }
+}
@@ -0,0 +1,81 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.rendering;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.internal.ChunkViewCore;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the mesh of a chunk with terrain surrounded by chunks with terrain, with the {@link ChunkTessellator}, with
+ * and without greedy meshing. Only the vertex data is generated, nothing is uploaded to the GPU, so no display is
+ * needed. {@link GreedyMeshingReport} compares the vertex counts of both.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkTessellatorBenchmark {
+
+    @Param({"false", "true"})
+    private boolean greedy;
+
+    @Param({"columns", "hills"})
+    private String terrain;
+
+    private BenchmarkEnvironment environment;
+    private ChunkTessellator tessellator;
+    private ChunkViewCore chunkView;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+        tessellator.setGreedyMeshing(greedy);
+
+        // The local region of a chunk, set up the way the chunk providers create views for meshing
+        Region3i region = Region3i.createFromCenterExtents(new Vector3i(), ChunkConstants.LOCAL_REGION_EXTENTS);
+        Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
+        for (Vector3i chunkPos : region) {
+            Chunk chunk = terrain.equals("hills") ? environment.createHillsChunk(chunkPos) : environment.createTerrainChunk(chunkPos, 42);
+            chunkPos.sub(region.minX(), region.minY(), region.minZ());
+            chunks[TeraMath.calculate3DArrayIndex(chunkPos, region.size())] = chunk;
+        }
+        chunkView = new ChunkViewCoreImpl(chunks, region, new Vector3i(-region.min().x, -region.min().y, -region.min().z),
+                environment.getAir());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public ChunkMesh generateMesh() {
+        return tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+    }
+}
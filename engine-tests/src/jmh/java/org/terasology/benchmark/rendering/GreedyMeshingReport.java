@@ -0,0 +1,85 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.rendering;
+
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.rendering.primitives.ChunkMesh;
+import org.terasology.rendering.primitives.ChunkTessellator;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.internal.ChunkViewCore;
+import org.terasology.world.internal.ChunkViewCoreImpl;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Prints a markdown table of the vertex and triangle counts and the mesh time of chunks of synthetic terrain, meshed
+ * with and without greedy meshing. Runs headless, nothing is uploaded to the GPU.
+ * <p>
+ * Usage: {@code GreedyMeshingReport [meshes per terrain]}
+ */
+public final class GreedyMeshingReport {
+
+    private static final int WARMUP_MESHES = 20;
+
+    private GreedyMeshingReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int meshes = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        try (BenchmarkEnvironment environment = new BenchmarkEnvironment()) {
+            System.out.println("| Terrain | Greedy | Vertices | Triangles | Mesh time (ms) | Vertex reduction |");
+            System.out.println("|---|---|---|---|---|---|");
+            report("columns", createView(environment, pos -> environment.createTerrainChunk(pos, 42)), meshes);
+            report("hills", createView(environment, environment::createHillsChunk), meshes);
+        }
+    }
+
+    private static ChunkViewCore createView(BenchmarkEnvironment environment, Function<Vector3i, Chunk> terrain) {
+        Region3i region = Region3i.createFromCenterExtents(new Vector3i(), ChunkConstants.LOCAL_REGION_EXTENTS);
+        Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
+        for (Vector3i chunkPos : region) {
+            Chunk chunk = terrain.apply(new Vector3i(chunkPos));
+            chunkPos.sub(region.minX(), region.minY(), region.minZ());
+            chunks[TeraMath.calculate3DArrayIndex(chunkPos, region.size())] = chunk;
+        }
+        return new ChunkViewCoreImpl(chunks, region, new Vector3i(-region.min().x, -region.min().y, -region.min().z),
+                environment.getAir());
+    }
+
+    private static void report(String terrain, ChunkViewCore view, int meshes) {
+        ChunkTessellator tessellator = new ChunkTessellator(new GLBufferPool(false));
+        int baselineVertices = 0;
+        for (boolean greedy : new boolean[]{false, true}) {
+            tessellator.setGreedyMeshing(greedy);
+            ChunkMesh mesh = null;
+            for (int i = 0; i < WARMUP_MESHES; i++) {
+                mesh = tessellator.generateMesh(view, ChunkConstants.SIZE_Y, 0);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < meshes; i++) {
+                mesh = tessellator.generateMesh(view, ChunkConstants.SIZE_Y, 0);
+            }
+            double millis = (System.nanoTime() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1) / meshes;
+
+            int vertices = 0;
+            int triangles = 0;
+            for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+                vertices += mesh.getVertexElements(type).vertexCount;
+                triangles += mesh.getVertexElements(type).finalIndices.limit() / 3;
+            }
+            if (!greedy) {
+                baselineVertices = vertices;
+            }
+            String reduction = greedy ? String.format(Locale.ROOT, "%.1f%%", 100.0 * (baselineVertices - vertices) / baselineVertices) : "-";
+            System.out.println(String.format(Locale.ROOT, "| %s | %s | %d | %d | %.2f | %s |",
+                    terrain, greedy, vertices, triangles, millis, reduction));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.world.generation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.math.geom.Rect2i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.utilities.procedural.SimplexNoise;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.generation.Border3D;
+import org.terasology.world.generation.EntityBuffer;
+import org.terasology.world.generation.FacetProvider;
+import org.terasology.world.generation.GeneratingRegion;
+import org.terasology.world.generation.Produces;
+import org.terasology.world.generation.Region;
+import org.terasology.world.generation.World;
+import org.terasology.world.generation.WorldBuilder;
+import org.terasology.world.generation.WorldRasterizer;
+import org.terasology.world.generation.facets.SurfaceHeightFacet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates a chunk of a world with noise based terrain through {@link World#rasterizeChunk}, which computes the facets
+ * of the chunk region and runs the rasterizers on it. Chunks are taken from a fresh column each time, so the facets are
+ * computed every time as they are in game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RasterizeChunkBenchmark {
+
+    private static final EntityBuffer DISCARD_ENTITIES = entity -> { };
+
+    private BenchmarkEnvironment environment;
+    private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
+    private World world;
+    private int nextChunkX;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        blockManager = environment.getContext().get(BlockManager.class);
+        extraDataManager = environment.getContext().get(ExtraBlockDataManager.class);
+        WorldBuilder worldBuilder = new WorldBuilder(null)
+                .addProvider(new NoiseSurfaceProvider())
+                .addRasterizer(new SolidRasterizer(environment.getStone()));
+        worldBuilder.setSeed(42);
+        world = worldBuilder.build();
+        world.initialize();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public CoreChunk rasterizeChunk() {
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(nextChunkX++, 0, 0), blockManager, extraDataManager);
+        world.rasterizeChunk(chunk, DISCARD_ENTITIES);
+        return chunk;
+    }
+
+    @Produces(SurfaceHeightFacet.class)
+    public static class NoiseSurfaceProvider implements FacetProvider {
+
+        private SimplexNoise noise;
+
+        @Override
+        public void setSeed(long seed) {
+            noise = new SimplexNoise(seed);
+        }
+
+        @Override
+        public void process(GeneratingRegion region) {
+            Border3D border = region.getBorderForFacet(SurfaceHeightFacet.class);
+            SurfaceHeightFacet facet = new SurfaceHeightFacet(region.getRegion(), border);
+            Rect2i area = facet.getWorldRegion();
+            for (int z = area.minY(); z <= area.maxY(); z++) {
+                for (int x = area.minX(); x <= area.maxX(); x++) {
+                    facet.setWorld(x, z, 24 + noise.noise(x * 0.01f, z * 0.01f) * 16);
+                }
+            }
+            region.setRegionFacet(SurfaceHeightFacet.class, facet);
+        }
+    }
+
+    public static class SolidRasterizer implements WorldRasterizer {
+
+        private final Block solid;
+
+        public SolidRasterizer(Block solid) {
+            this.solid = solid;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void generateChunk(CoreChunk chunk, Region chunkRegion) {
+            SurfaceHeightFacet surface = chunkRegion.getFacet(SurfaceHeightFacet.class);
+            for (int x = 0; x < chunk.getChunkSizeX(); x++) {
+                for (int z = 0; z < chunk.getChunkSizeZ(); z++) {
+                    float height = surface.get(x, z) - chunk.getChunkWorldOffsetY();
+                    for (int y = 0; y < chunk.getChunkSizeY() && y < height; y++) {
+                        chunk.setBlock(x, y, z, solid);
+                    }
+                }
+            }
+        }
+    }
+}
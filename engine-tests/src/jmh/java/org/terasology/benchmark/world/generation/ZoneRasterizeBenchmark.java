@@ -0,0 +1,88 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.world.generation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
+import org.terasology.world.generation.EntityBuffer;
+import org.terasology.world.generation.World;
+import org.terasology.world.generation.WorldBuilder;
+import org.terasology.world.zones.ConstantLayerThickness;
+import org.terasology.world.zones.LayeredZoneRegionFunction;
+import org.terasology.world.zones.Zone;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.terasology.world.zones.LayeredZoneRegionFunction.LayeredZoneOrdering.ABOVE_GROUND;
+import static org.terasology.world.zones.LayeredZoneRegionFunction.LayeredZoneOrdering.GROUND;
+import static org.terasology.world.zones.LayeredZoneRegionFunction.LayeredZoneOrdering.SHALLOW_UNDERGROUND;
+
+/**
+ * Generates a chunk of a world that is split into layered zones, one of which has a nested zone, through
+ * {@link World#rasterizeChunk}. Chunks are taken from a fresh column each time, so the facets and the layers are
+ * computed every time as they are in game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneRasterizeBenchmark {
+
+    private static final EntityBuffer DISCARD_ENTITIES = entity -> { };
+
+    private BenchmarkEnvironment environment;
+    private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
+    private World world;
+    private int nextChunkX;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        blockManager = environment.getContext().get(BlockManager.class);
+        extraDataManager = environment.getContext().get(ExtraBlockDataManager.class);
+
+        Zone ground = new Zone("Ground", new LayeredZoneRegionFunction(new ConstantLayerThickness(8), GROUND))
+                .addRasterizer(new RasterizeChunkBenchmark.SolidRasterizer(environment.getStone()))
+                .addZone(new Zone("Ore", pos -> ((pos.x() ^ pos.y() ^ pos.z()) & 7) == 0)
+                        .addRasterizer(new RasterizeChunkBenchmark.SolidRasterizer(environment.getTorch())));
+        WorldBuilder worldBuilder = new WorldBuilder(null)
+                .addProvider(new RasterizeChunkBenchmark.NoiseSurfaceProvider())
+                .addZone(new Zone("Above ground", new LayeredZoneRegionFunction(new ConstantLayerThickness(16), ABOVE_GROUND)))
+                .addZone(ground)
+                .addZone(new Zone("Underground", new LayeredZoneRegionFunction(new ConstantLayerThickness(16), SHALLOW_UNDERGROUND))
+                        .addRasterizer(new RasterizeChunkBenchmark.SolidRasterizer(environment.getStone())));
+        worldBuilder.setSeed(42);
+        world = worldBuilder.build();
+        world.initialize();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public CoreChunk rasterizeChunk() {
+        ChunkImpl chunk = new ChunkImpl(new Vector3i(nextChunkX++, 0, 0), blockManager, extraDataManager);
+        world.rasterizeChunk(chunk, DISCARD_ENTITIES);
+        return chunk;
+    }
+}
@@ -0,0 +1,84 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.benchmark.world.propagation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.benchmark.BenchmarkEnvironment;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.propagation.BatchPropagator;
+import org.terasology.world.propagation.BlockChange;
+import org.terasology.world.propagation.StandardBatchPropagator;
+import org.terasology.world.propagation.StubPropagatorWorldView;
+import org.terasology.world.propagation.light.LightPropagationRules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places a light source and removes it again with a {@link StandardBatchPropagator}, which spreads the light and then
+ * clears it, either in open space or between a floor and pillars of solid blocks that the light has to go around.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPropagatorBenchmark {
+
+    private static final org.joml.Vector3i LIGHT_POSITION = new org.joml.Vector3i(0, 0, 0);
+
+    @Param({"false", "true"})
+    private boolean obstacles;
+
+    private BenchmarkEnvironment environment;
+    private StubPropagatorWorldView worldView;
+    private BatchPropagator propagator;
+    private Block air;
+    private Block torch;
+
+    @Setup
+    public void setup() {
+        environment = new BenchmarkEnvironment();
+        air = environment.getAir();
+        torch = environment.getTorch();
+        Region3i region = Region3i.createFromCenterExtents(new Vector3i(), ChunkConstants.MAX_LIGHT + 1);
+        worldView = new StubPropagatorWorldView(region, air);
+        if (obstacles) {
+            for (Vector3i pos : region) {
+                if (pos.y < 0 || (pos.x % 3 == 0 && pos.z % 3 == 0 && !pos.equals(Vector3i.zero()))) {
+                    worldView.setBlockAt(new Vector3i(pos), environment.getStone());
+                }
+            }
+        }
+        propagator = new StandardBatchPropagator(new LightPropagationRules(), worldView);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        environment.close();
+    }
+
+    @Benchmark
+    public byte placeAndRemoveLight() {
+        worldView.setBlockAt(Vector3i.zero(), torch);
+        propagator.process(new BlockChange(LIGHT_POSITION, air, torch));
+        byte lit = worldView.getValueAt(new Vector3i(0, 1, 0));
+        worldView.setBlockAt(Vector3i.zero(), air);
+        propagator.process(new BlockChange(LIGHT_POSITION, torch, air));
+        return lit;
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.localChunkProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.chunks.Chunk;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the {@link ChunkCache} of the {@link LocalChunkProvider} with the chunks of a large view distance loaded:
+ * looking up the local region of a chunk as world views do, iterating all positions and replacing a chunk.
+ * <p>
+ * Lives in the package of the cache, which is not public. All chunks are the same mock, as only the cache is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkCacheBenchmark {
+
+    private static final Vector3i LOADED_EXTENTS = new Vector3i(16, 4, 16);
+
+    private final ChunkCache cache = new ConcurrentMapChunkCache();
+    private final RegionCursor cursor = new RegionCursor();
+    private final Region3i localRegion = Region3i.createFromCenterExtents(new Vector3i(3, 1, -2), ChunkConstants.LOCAL_REGION_EXTENTS);
+    private final Vector3i replacedPosition = new Vector3i(5, 0, 5);
+    private Chunk chunk;
+
+    @Setup
+    public void setup() {
+        chunk = mock(Chunk.class);
+        for (Vector3i pos : Region3i.createFromCenterExtents(new Vector3i(), LOADED_EXTENTS)) {
+            cache.put(pos, chunk);
+        }
+    }
+
+    @Benchmark
+    public int lookupLocalRegion() {
+        int found = 0;
+        cursor.set(localRegion);
+        while (cursor.next()) {
+            if (cache.get(cursor.position()) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int iteratePositions() {
+        int count = 0;
+        Iterator<Vector3i> positions = cache.iterateChunkPositions();
+        while (positions.hasNext()) {
+            positions.next();
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public boolean replaceChunk() {
+        cache.removeChunkAt(replacedPosition);
+        cache.put(replacedPosition, chunk);
+        return cache.containsChunkAt(replacedPosition);
+    }
+}
@@ -0,0 +1,191 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.collect.Sets;
+import org.terasology.context.Context;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.logic.characters.CharacterComponent;
+import org.terasology.logic.characters.CharacterMoveInputEvent;
+import org.terasology.logic.characters.CharacterSystem;
+import org.terasology.logic.characters.GazeAuthoritySystem;
+import org.terasology.logic.characters.events.ActivationRequest;
+import org.terasology.logic.characters.events.AttackRequest;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.ChunkMath;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.naming.Name;
+import org.terasology.network.Client;
+import org.terasology.network.ClientComponent;
+import org.terasology.network.NetworkComponent;
+import org.terasology.network.NetworkSystem;
+import org.terasology.physics.HitResult;
+import org.terasology.physics.Physics;
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.block.items.BlockItemFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The script a {@link BotClient} plays: it walks around a square centered on its spawn point, looking slightly down,
+ * and now and then attacks the block it looks at, places a block there and says something.
+ * <p>
+ * The bot runs in the same process as the server, so instead of keeping a replicated copy of the world it reads the
+ * position and gaze of its character from the server, between server ticks. Everything it does still reaches the
+ * server as events sent over its connection, just as the input of a real client.
+ */
+class BotBehaviour {
+    private static final float PITCH = -35;
+    private static final int BLOCK_ITEM_QUANTITY = 99;
+    private static final SimpleUri COMMAND_EVENT = new SimpleUri("engine:CommandEvent");
+    private static final float[][] PATH = {{1, 1}, {1, -1}, {-1, -1}, {-1, 1}};
+
+    private final BotClient client;
+    private final LoadTestConfig config;
+    private final Context context;
+    private final Random random;
+    private final float tickSeconds;
+
+    private EntityRef character = EntityRef.NULL;
+    private EntityRef blockItem = EntityRef.NULL;
+    private Vector3f spawnPosition;
+    private Vector3i currentChunk;
+    private int waypoint;
+    private int inputSequence;
+    private int activationId;
+    private int messages;
+
+    BotBehaviour(BotClient client, LoadTestConfig config, Context context, long seed) {
+        this.client = client;
+        this.config = config;
+        this.context = context;
+        this.random = new FastRandom(seed);
+        this.tickSeconds = 1f / config.getTickRate();
+    }
+
+    BotClient getClient() {
+        return client;
+    }
+
+    /**
+     * Acts for one tick. Must be called on the thread that ticks the server, between ticks.
+     */
+    void update() {
+        if (!client.isJoined() || client.getFailure() != null || !findCharacter()) {
+            return;
+        }
+        LocationComponent location = character.getComponent(LocationComponent.class);
+        if (location == null) {
+            return;
+        }
+        Vector3f position = location.getWorldPosition();
+        Vector3i chunk = ChunkMath.calcChunkPos(position);
+        if (!chunk.equals(currentChunk)) {
+            currentChunk = chunk;
+            client.chunksRequested();
+        }
+
+        move(position);
+        if (shouldAct(config.getBreakBlockInterval())) {
+            client.send(new AttackRequest(EntityRef.NULL), getNetId(character), getGameTime());
+        }
+        if (config.getPlacedBlock() != null && shouldAct(config.getPlaceBlockInterval())) {
+            placeBlock();
+        }
+        if (shouldAct(config.getChatInterval())) {
+            say("Message " + messages++ + " from " + client.getName());
+        }
+    }
+
+    private boolean findCharacter() {
+        if (character.exists()) {
+            return true;
+        }
+        for (Client player : context.get(NetworkSystem.class).getPlayers()) {
+            if (getNetId(player.getEntity()) == client.getClientId()) {
+                character = player.getEntity().getComponent(ClientComponent.class).character;
+            }
+        }
+        if (!character.exists() || !character.hasComponent(LocationComponent.class)) {
+            return false;
+        }
+        spawnPosition = character.getComponent(LocationComponent.class).getWorldPosition();
+        return true;
+    }
+
+    private void move(Vector3f position) {
+        float[] corner = PATH[waypoint];
+        Vector3f direction = new Vector3f(spawnPosition.x + corner[0] * config.getPathRadius() - position.x, 0,
+                spawnPosition.z + corner[1] * config.getPathRadius() - position.z);
+        if (direction.length() < 1) {
+            waypoint = (waypoint + 1) % PATH.length;
+        }
+        if (direction.lengthSquared() > 0) {
+            direction.normalize();
+        }
+        float yaw = (float) Math.toDegrees(Math.atan2(direction.x, direction.z));
+        long delta = (long) (tickSeconds * 1000);
+        client.send(new CharacterMoveInputEvent(inputSequence++, PITCH, yaw, direction, false, false, delta),
+                getNetId(character), getGameTime());
+    }
+
+    /**
+     * Sends the same activation request a client would send when using a block item on the block it looks at.
+     */
+    private void placeBlock() {
+        if (!blockItem.exists()) {
+            BlockFamily blockFamily = context.get(BlockManager.class).getBlockFamily(config.getPlacedBlock());
+            blockItem = new BlockItemFactory(context.get(EntityManager.class)).newInstance(blockFamily, BLOCK_ITEM_QUANTITY);
+            if (!blockItem.hasComponent(NetworkComponent.class)) {
+                blockItem.addComponent(new NetworkComponent());
+            }
+            blockItem.setOwner(character);
+        }
+        LocationComponent gaze = GazeAuthoritySystem.getGazeEntityForCharacter(character).getComponent(LocationComponent.class);
+        Vector3f origin = gaze.getWorldPosition();
+        Vector3f direction = gaze.getWorldDirection();
+        float range = character.getComponent(CharacterComponent.class).interactionRange;
+        HitResult hit = context.get(Physics.class).rayTrace(origin, direction, range, Sets.newHashSet(character),
+                CharacterSystem.DEFAULTPHYSICSFILTER);
+        if (hit.isHit()) {
+            client.send(new ActivationRequest(character, true, blockItem, true, hit.getEntity(), origin, direction,
+                    hit.getHitPoint(), hit.getHitNormal(), activationId++), getNetId(character), getGameTime());
+        }
+    }
+
+    /**
+     * Runs the say command on the server, as the console of a client does.
+     */
+    private void say(String message) {
+        EventMetadata<? extends Event> metadata = context.get(EventLibrary.class).getMetadata(COMMAND_EVENT);
+        Event event = metadata.newInstance();
+        metadata.getField("commandName").setValue(event, new Name("say"));
+        List<String> parameters = Collections.singletonList(message);
+        metadata.getField("parameters").setValue(event, parameters);
+        client.send(event, client.getClientId(), getGameTime());
+    }
+
+    private boolean shouldAct(float interval) {
+        return interval > 0 && random.nextFloat() < tickSeconds / interval;
+    }
+
+    private long getGameTime() {
+        return context.get(Time.class).getGameTimeInMs();
+    }
+
+    private static int getNetId(EntityRef entity) {
+        NetworkComponent networkComponent = entity.getComponent(NetworkComponent.class);
+        return networkComponent != null ? networkComponent.getNetworkId() : 0;
+    }
+}
@@ -0,0 +1,285 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.protobuf.ByteString;
+import org.jboss.netty.bootstrap.ClientBootstrap;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFactory;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.ExceptionEvent;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.entitySystem.metadata.EventMetadata;
+import org.terasology.identity.IdentityConstants;
+import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.network.internal.MetricRecordingHandler;
+import org.terasology.network.internal.NetMessageUtil;
+import org.terasology.network.internal.compression.CompressionNegotiation;
+import org.terasology.network.internal.pipelineFactory.TerasologyClientPipelineFactory;
+import org.terasology.persistence.serializers.EventSerializer;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+import org.terasology.rendering.nui.Color;
+import org.terasology.rendering.world.viewDistance.ViewDistance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Set;
+
+import static org.jboss.netty.channel.Channels.pipeline;
+
+/**
+ * A scripted client that joins a server over a real connection, without running a game of its own.
+ * <p>
+ * The bot shares the transport handlers of {@link TerasologyClientPipelineFactory}, but replaces the handshake and
+ * connection handlers of a real client, as those are bound to the configuration and time of the process. It always
+ * requests a new identity, takes every module of the server to be present, and reads nothing of the game state it
+ * receives except for which chunks arrived. Events are sent with the serialization ids the server announced.
+ */
+public class BotClient {
+    private static final Logger logger = LoggerFactory.getLogger(BotClient.class);
+
+    private final String name;
+    private final EventSerializer eventSerializer;
+    private final EventLibrary eventLibrary;
+    private final LoadTestRecorder recorder;
+
+    private Channel channel;
+    private MetricRecordingHandler metrics;
+    private volatile int clientId;
+    private volatile boolean joined;
+    private volatile String failure;
+
+    private final Set<Vector3i> receivedChunks = Sets.newConcurrentHashSet();
+    private volatile long lastChunkRequest;
+    private volatile OutputStream capture;
+
+    public BotClient(String name, EventLibrary eventLibrary, TypeHandlerLibrary typeHandlerLibrary, LoadTestRecorder recorder) {
+        this.name = name;
+        this.eventLibrary = eventLibrary;
+        this.eventSerializer = new EventSerializer(eventLibrary, typeHandlerLibrary);
+        this.recorder = recorder;
+    }
+
+    public void connect(ChannelFactory factory, int port) {
+        ClientBootstrap bootstrap = new ClientBootstrap(factory);
+        bootstrap.setPipelineFactory(() -> {
+            ChannelPipeline p = pipeline();
+            TerasologyClientPipelineFactory.addTransportHandlers(p);
+            p.addLast("handler", new BotHandler());
+            return p;
+        });
+        bootstrap.setOption("tcpNoDelay", true);
+        bootstrap.setOption("keepAlive", true);
+        ChannelFuture connectFuture = bootstrap.connect(new InetSocketAddress("localhost", port));
+        connectFuture.awaitUninterruptibly();
+        if (!connectFuture.isSuccess()) {
+            failure = "Failed to connect: " + connectFuture.getCause();
+            return;
+        }
+        channel = connectFuture.getChannel();
+        metrics = (MetricRecordingHandler) channel.getPipeline().get(MetricRecordingHandler.NAME);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isJoined() {
+        return joined;
+    }
+
+    /**
+     * @return the reason the bot could not join or got disconnected, or null if it did not fail
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return the network id of the client entity of the bot on the server, once it joined
+     */
+    public int getClientId() {
+        return clientId;
+    }
+
+    /**
+     * Marks that the bot needs new chunks from now on, e.g. because its character moved into another chunk. The time
+     * until a chunk the bot had not received yet arrives counts as chunk send latency.
+     */
+    public void chunksRequested() {
+        lastChunkRequest = System.nanoTime();
+    }
+
+    /**
+     * Sends an event to an entity of the bot on the server.
+     *
+     * @param targetNetId the network id of the entity on the server
+     * @param gameTime the game time the event happened at, for lag compensation
+     */
+    public void send(Event event, int targetNetId, long gameTime) {
+        if (!joined || failure != null) {
+            return;
+        }
+        NetData.EventMessage eventMessage = NetData.EventMessage.newBuilder()
+                .setTargetId(targetNetId)
+                .setEvent(eventSerializer.serialize(event))
+                .build();
+        channel.write(NetData.NetMessage.newBuilder().setTime(gameTime).addEvent(eventMessage).build());
+    }
+
+    /**
+     * @return the bytes received since the last call
+     */
+    public int getReceivedBytes() {
+        return metrics != null ? metrics.getReceivedBytesSinceLastCall() : 0;
+    }
+
+    /**
+     * @return the bytes sent since the last call
+     */
+    public int getSentBytes() {
+        return metrics != null ? metrics.getSentBytesSinceLastCall() : 0;
+    }
+
+    /**
+     * Writes every message the bot receives from now on to the given stream, length delimited. The stream is closed when
+     * the bot disconnects.
+     */
+    public void captureTo(OutputStream out) {
+        this.capture = out;
+    }
+
+    public void disconnect() {
+        if (channel != null) {
+            channel.close().awaitUninterruptibly();
+        }
+        if (capture != null) {
+            try {
+                capture.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close the message capture of bot {}", name, e);
+            }
+        }
+    }
+
+    private void capture(NetData.NetMessage message) {
+        OutputStream out = capture;
+        if (out != null) {
+            try {
+                message.writeDelimitedTo(out);
+            } catch (IOException e) {
+                logger.warn("Failed to capture message, no longer capturing", e);
+                capture = null;
+            }
+        }
+    }
+
+    private void applyEventIds(NetData.ServerInfoMessage serverInfo) {
+        Map<Class<? extends Event>, Integer> idTable = Maps.newHashMap();
+        for (NetData.SerializationInfo info : serverInfo.getEventList()) {
+            // Field ids are shared with the server, as both use the same event library
+            EventMetadata<? extends Event> metadata = eventLibrary.getMetadata(new SimpleUri(info.getName()));
+            if (metadata != null) {
+                idTable.put(metadata.getType(), info.getId());
+            }
+        }
+        eventSerializer.setIdMapping(idTable);
+    }
+
+    private void chunkReceived(EntityData.ChunkStore chunk) {
+        if (receivedChunks.add(new Vector3i(chunk.getX(), chunk.getY(), chunk.getZ()))) {
+            recorder.recordChunkLatency(System.nanoTime() - lastChunkRequest);
+        }
+    }
+
+    private class BotHandler extends SimpleChannelUpstreamHandler {
+        private final SecureRandom random = new SecureRandom();
+
+        @Override
+        public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
+            NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+            capture(message);
+            if (message.hasHandshakeHello()) {
+                requestIdentity(ctx, message.getHandshakeHello());
+            } else if (message.hasProvisionIdentity()) {
+                if (CompressionNegotiation.hasDictionary(message)) {
+                    CompressionNegotiation.useDictionaryDecoder(ctx.getPipeline());
+                }
+                ctx.getChannel().write(NetData.NetMessage.newBuilder()
+                        .setServerInfoRequest(NetData.ServerInfoRequest.newBuilder()).build());
+            } else if (message.hasServerInfo()) {
+                receivedServerInfo(ctx, message.getServerInfo());
+            } else if (message.hasJoinComplete()) {
+                clientId = message.getJoinComplete().getClientId();
+                chunksRequested();
+                joined = true;
+            }
+            for (EntityData.ChunkStore chunk : message.getChunkInfoList()) {
+                chunkReceived(chunk);
+            }
+        }
+
+        private void requestIdentity(ChannelHandlerContext ctx, NetData.HandshakeHello serverHello) {
+            PublicIdentityCertificate serverCertificate = NetMessageUtil.convert(serverHello.getCertificate());
+            byte[] clientRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
+            random.nextBytes(clientRandom);
+            byte[] preMasterSecret = new byte[IdentityConstants.PREMASTER_SECRET_LENGTH];
+            random.nextBytes(preMasterSecret);
+
+            // The provisioned certificate is never used again, so the bot does not need to decrypt it
+            ctx.getChannel().write(CompressionNegotiation.announceDictionary(NetData.NetMessage.newBuilder()
+                    .setNewIdentityRequest(NetData.NewIdentityRequest.newBuilder()
+                            .setPreMasterSecret(ByteString.copyFrom(serverCertificate.encrypt(preMasterSecret)))
+                            .setRandom(ByteString.copyFrom(clientRandom))))
+                    .build());
+        }
+
+        private void receivedServerInfo(ChannelHandlerContext ctx, NetData.ServerInfoMessage serverInfo) {
+            if (!serverInfo.getErrorMessage().isEmpty()) {
+                failure = serverInfo.getErrorMessage();
+                ctx.getChannel().close();
+                return;
+            }
+            if (joined) {
+                return;
+            }
+            applyEventIds(serverInfo);
+            ctx.getChannel().write(NetData.NetMessage.newBuilder().setJoin(NetData.JoinMessage.newBuilder()
+                    .setName(name)
+                    .setViewDistanceLevel(ViewDistance.MODERATE.getIndex())
+                    .setColor(NetData.Color.newBuilder().setRgba(Color.WHITE.rgba())))
+                    .build());
+        }
+
+        @Override
+        public void channelClosed(ChannelHandlerContext ctx, ChannelStateEvent e) {
+            if (failure == null) {
+                failure = "Disconnected";
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, ExceptionEvent e) {
+            logger.error("Unexpected exception in bot {}", name, e.getCause());
+            failure = String.valueOf(e.getCause());
+            e.getChannel().close();
+        }
+    }
+}
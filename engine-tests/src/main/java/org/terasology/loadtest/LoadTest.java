@@ -0,0 +1,186 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.collect.Lists;
+import org.jboss.netty.channel.socket.nio.NioClientSocketChannelFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.context.Context;
+import org.terasology.engine.SimpleUri;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.metadata.EventLibrary;
+import org.terasology.naming.Name;
+import org.terasology.network.NetworkSystem;
+import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.network.serialization.NetEntityRefTypeHandler;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
+import org.terasology.world.BlockEntityRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Measures how a dedicated server copes with a number of players, by letting scripted {@link BotClient}s play on a
+ * {@link LoadTestServer} in the same process, connected over loopback.
+ * <p>
+ * Once all bots joined and played for the warm-up time, the test measures the time every server tick takes, the bytes
+ * sent to and received from each bot, how long bots wait for chunks they need and the garbage collection pauses of
+ * the process. Nothing outside the process is involved, so runs on the same machine can be compared to detect
+ * performance regressions.
+ * <p>
+ * Run {@link #main(String[])} with the world generator to use, or create a {@link LoadTestConfig} and call
+ * {@link #run()}.
+ */
+public class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final LoadTestConfig config;
+
+    public LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public LoadTestResults run() throws IOException {
+        NioClientSocketChannelFactory channelFactory =
+                new NioClientSocketChannelFactory(Executors.newCachedThreadPool(), Executors.newCachedThreadPool());
+        List<BotBehaviour> bots = Lists.newArrayList();
+        try (LoadTestServer server = new LoadTestServer(config); LoadTestRecorder recorder = new LoadTestRecorder()) {
+            server.awaitStarted(config.getJoinTimeoutSeconds(), TimeUnit.SECONDS);
+            Context context = server.getContext();
+            TypeHandlerLibrary typeHandlerLibrary = createNetworkTypeHandlerLibrary(context);
+            for (int i = 0; i < config.getBots(); i++) {
+                BotClient client = new BotClient("Bot" + i, context.get(EventLibrary.class), typeHandlerLibrary, recorder);
+                if (i == 0 && config.getCaptureFile() != null) {
+                    client.captureTo(new BufferedOutputStream(Files.newOutputStream(config.getCaptureFile())));
+                }
+                client.connect(channelFactory, server.getPort());
+                bots.add(new BotBehaviour(client, config, context, i));
+            }
+
+            logger.info("Waiting for {} bots to join", bots.size());
+            runWhile(server, recorder, bots, () -> bots.stream().anyMatch(bot -> !hasJoinedOrFailed(bot.getClient())),
+                    TimeUnit.SECONDS.toNanos(config.getJoinTimeoutSeconds()));
+            runFor(server, recorder, bots, TimeUnit.SECONDS.toNanos(config.getWarmupSeconds()));
+
+            logger.info("Measuring for {} seconds", config.getMeasureSeconds());
+            for (BotBehaviour bot : bots) {
+                bot.getClient().getReceivedBytes();
+                bot.getClient().getSentBytes();
+            }
+            recorder.start();
+            runFor(server, recorder, bots, TimeUnit.SECONDS.toNanos(config.getMeasureSeconds()));
+            recorder.stop();
+
+            long receivedBytes = 0;
+            long sentBytes = 0;
+            int failedBots = 0;
+            for (BotBehaviour bot : bots) {
+                receivedBytes += bot.getClient().getReceivedBytes();
+                sentBytes += bot.getClient().getSentBytes();
+                if (!bot.getClient().isJoined() || bot.getClient().getFailure() != null) {
+                    logger.warn("{} failed: {}", bot.getClient().getName(), bot.getClient().getFailure());
+                    failedBots++;
+                }
+            }
+            LoadTestResults results = new LoadTestResults(bots.size(), failedBots, recorder, receivedBytes, sentBytes);
+            if (config.getResultsFile() != null) {
+                results.write(config.getResultsFile());
+                logger.info("Wrote load test results to {}", config.getResultsFile());
+            }
+            return results;
+        } finally {
+            for (BotBehaviour bot : bots) {
+                bot.getClient().disconnect();
+            }
+            channelFactory.releaseExternalResources();
+        }
+    }
+
+    private void runFor(LoadTestServer server, LoadTestRecorder recorder, List<BotBehaviour> bots, long nanos) {
+        long end = System.nanoTime() + nanos;
+        runWhile(server, recorder, bots, () -> System.nanoTime() < end, Long.MAX_VALUE);
+    }
+
+    /**
+     * Lets the bots act and ticks the server at the configured rate as long as the condition holds. Ticks that take
+     * longer than their share of time are not made up for.
+     */
+    private void runWhile(LoadTestServer server, LoadTestRecorder recorder, List<BotBehaviour> bots,
+                          BooleanSupplier condition, long timeoutNanos) {
+        long tickInterval = TimeUnit.SECONDS.toNanos(1) / config.getTickRate();
+        long start = System.nanoTime();
+        long nextTick = start;
+        while (condition.getAsBoolean() && System.nanoTime() - start < timeoutNanos) {
+            for (BotBehaviour bot : bots) {
+                bot.update();
+            }
+            recorder.recordTick(server.tick());
+
+            nextTick = Math.max(nextTick + tickInterval, System.nanoTime());
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while running the load test", e);
+                }
+            }
+        }
+    }
+
+    private static boolean hasJoinedOrFailed(BotClient client) {
+        return client.isJoined() || client.getFailure() != null;
+    }
+
+    /**
+     * Creates a type handler library that serializes entity references the way the server expects them from clients.
+     */
+    private static TypeHandlerLibrary createNetworkTypeHandlerLibrary(Context context) {
+        EngineEntityManager entityManager = context.get(EngineEntityManager.class);
+        TypeHandlerLibrary typeHandlerLibrary = new TypeHandlerLibrary(entityManager.getTypeSerializerLibrary());
+        typeHandlerLibrary.addTypeHandler(EntityRef.class, new NetEntityRefTypeHandler(
+                (NetworkSystemImpl) context.get(NetworkSystem.class), context.get(BlockEntityRegistry.class)));
+        return typeHandlerLibrary;
+    }
+
+    /**
+     * Runs a load test and writes its results.
+     *
+     * @param args the world generator, then optionally the number of bots, the seconds to measure, the results file
+     *             and further modules to enable. The messages the first bot receives are captured to the file
+     *             named by the {@code loadTest.captureFile} system property, if it is set.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args[0].isEmpty()) {
+            System.out.println("Usage: LoadTest <worldGenerator> [bots] [seconds] [resultsFile] [module...]");
+            return;
+        }
+        LoadTestConfig config = new LoadTestConfig()
+                .setWorldGenerator(new SimpleUri(args[0]))
+                .setResultsFile(Paths.get(args.length > 3 ? args[3] : "load-test-results.json"));
+        if (args.length > 1) {
+            config.setBots(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            config.setMeasureSeconds(Integer.parseInt(args[2]));
+        }
+        for (int i = 4; i < args.length; i++) {
+            config.addModule(new Name(args[i]));
+        }
+        String captureFile = System.getProperty("loadTest.captureFile");
+        if (captureFile != null) {
+            config.setCaptureFile(Paths.get(captureFile));
+        }
+        new LoadTest(config).run();
+        System.exit(0);
+    }
+}
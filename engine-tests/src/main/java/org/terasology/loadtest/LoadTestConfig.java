@@ -0,0 +1,203 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import org.terasology.engine.SimpleUri;
+import org.terasology.naming.Name;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes a run of the {@link LoadTest}: the world the server hosts, the bots that join it and what gets measured.
+ * <p>
+ * The engine itself contains no world generator and no placeable blocks, so the world generator always needs to be
+ * set, and bots only place blocks if a block is set as well (together with a module that provides the
+ * {@code blockItemBase} prefab).
+ */
+public class LoadTestConfig {
+    private final List<Name> modules = Lists.newArrayList(new Name("engine"));
+    private SimpleUri worldGenerator;
+    private String seed = "load-test";
+    private int bots = 8;
+    private int tickRate = 60;
+    private int warmupSeconds = 20;
+    private int measureSeconds = 60;
+    private int joinTimeoutSeconds = 120;
+    private float pathRadius = 24;
+    private float breakBlockInterval = 5;
+    private float placeBlockInterval = 5;
+    private float chatInterval = 10;
+    private String placedBlock;
+    private Path resultsFile;
+    private Path captureFile;
+
+    public List<Name> getModules() {
+        return Collections.unmodifiableList(modules);
+    }
+
+    public LoadTestConfig addModule(Name module) {
+        modules.add(module);
+        return this;
+    }
+
+    public SimpleUri getWorldGenerator() {
+        return worldGenerator;
+    }
+
+    public LoadTestConfig setWorldGenerator(SimpleUri worldGenerator) {
+        this.worldGenerator = worldGenerator;
+        return this;
+    }
+
+    public String getSeed() {
+        return seed;
+    }
+
+    public LoadTestConfig setSeed(String seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getBots() {
+        return bots;
+    }
+
+    public LoadTestConfig setBots(int bots) {
+        Preconditions.checkArgument(bots > 0, "At least one bot is required");
+        this.bots = bots;
+        return this;
+    }
+
+    /**
+     * @return the number of times per second the server gets ticked and every bot acts
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public LoadTestConfig setTickRate(int tickRate) {
+        Preconditions.checkArgument(tickRate > 0, "The tick rate must be positive");
+        this.tickRate = tickRate;
+        return this;
+    }
+
+    /**
+     * @return the time the bots play after all of them joined before measuring starts
+     */
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public LoadTestConfig setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+        return this;
+    }
+
+    public int getMeasureSeconds() {
+        return measureSeconds;
+    }
+
+    public LoadTestConfig setMeasureSeconds(int measureSeconds) {
+        Preconditions.checkArgument(measureSeconds > 0, "The measured time must be positive");
+        this.measureSeconds = measureSeconds;
+        return this;
+    }
+
+    public int getJoinTimeoutSeconds() {
+        return joinTimeoutSeconds;
+    }
+
+    public LoadTestConfig setJoinTimeoutSeconds(int joinTimeoutSeconds) {
+        this.joinTimeoutSeconds = joinTimeoutSeconds;
+        return this;
+    }
+
+    /**
+     * @return the radius of the square every bot walks around its spawn point
+     */
+    public float getPathRadius() {
+        return pathRadius;
+    }
+
+    public LoadTestConfig setPathRadius(float pathRadius) {
+        this.pathRadius = pathRadius;
+        return this;
+    }
+
+    /**
+     * @return the average number of seconds between two attacks on the block in front of a bot, or 0 to never break blocks
+     */
+    public float getBreakBlockInterval() {
+        return breakBlockInterval;
+    }
+
+    public LoadTestConfig setBreakBlockInterval(float breakBlockInterval) {
+        this.breakBlockInterval = breakBlockInterval;
+        return this;
+    }
+
+    /**
+     * @return the average number of seconds between two placed blocks of a bot, or 0 to never place blocks
+     */
+    public float getPlaceBlockInterval() {
+        return placeBlockInterval;
+    }
+
+    public LoadTestConfig setPlaceBlockInterval(float placeBlockInterval) {
+        this.placeBlockInterval = placeBlockInterval;
+        return this;
+    }
+
+    /**
+     * @return the average number of seconds between two chat messages of a bot, or 0 to never chat
+     */
+    public float getChatInterval() {
+        return chatInterval;
+    }
+
+    public LoadTestConfig setChatInterval(float chatInterval) {
+        this.chatInterval = chatInterval;
+        return this;
+    }
+
+    /**
+     * @return the uri of the block family bots place, or null if bots do not place blocks
+     */
+    public String getPlacedBlock() {
+        return placedBlock;
+    }
+
+    public LoadTestConfig setPlacedBlock(String placedBlock) {
+        this.placedBlock = placedBlock;
+        return this;
+    }
+
+    /**
+     * @return the file the results get written to, or null to not write them
+     */
+    public Path getResultsFile() {
+        return resultsFile;
+    }
+
+    public LoadTestConfig setResultsFile(Path resultsFile) {
+        this.resultsFile = resultsFile;
+        return this;
+    }
+
+    /**
+     * @return the file the messages the first bot receives get written to, length delimited, or null to not capture
+     * them. The network compression report can replay them.
+     */
+    public Path getCaptureFile() {
+        return captureFile;
+    }
+
+    public LoadTestConfig setCaptureFile(Path captureFile) {
+        this.captureFile = captureFile;
+        return this;
+    }
+}
@@ -0,0 +1,110 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.collect.Lists;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the measurements of a {@link LoadTest} while measuring is started. Chunk latencies and garbage collections
+ * are reported by other threads, tick times only by the thread ticking the server.
+ */
+public class LoadTestRecorder implements AutoCloseable {
+    private final List<Long> tickTimes = Lists.newArrayList();
+    private final List<Long> chunkLatencies = Collections.synchronizedList(Lists.newArrayList());
+    private final List<Long> gcPauses = Collections.synchronizedList(Lists.newArrayList());
+    private final NotificationListener gcListener = this::handleGcNotification;
+    private final List<NotificationEmitter> gcEmitters = Lists.newArrayList();
+
+    private volatile boolean measuring;
+    private long startTime;
+    private long endTime;
+
+    public LoadTestRecorder() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+    }
+
+    public void start() {
+        startTime = System.nanoTime();
+        measuring = true;
+    }
+
+    public void stop() {
+        measuring = false;
+        endTime = System.nanoTime();
+    }
+
+    public boolean isMeasuring() {
+        return measuring;
+    }
+
+    /**
+     * @return the measured time in nanoseconds
+     */
+    public long getDuration() {
+        return (measuring ? System.nanoTime() : endTime) - startTime;
+    }
+
+    public void recordTick(long nanos) {
+        if (measuring) {
+            tickTimes.add(nanos);
+        }
+    }
+
+    public void recordChunkLatency(long nanos) {
+        if (measuring) {
+            chunkLatencies.add(nanos);
+        }
+    }
+
+    public List<Long> getTickTimes() {
+        return tickTimes;
+    }
+
+    public List<Long> getChunkLatencies() {
+        synchronized (chunkLatencies) {
+            return Lists.newArrayList(chunkLatencies);
+        }
+    }
+
+    public List<Long> getGcPauses() {
+        synchronized (gcPauses) {
+            return Lists.newArrayList(gcPauses);
+        }
+    }
+
+    private void handleGcNotification(Notification notification, Object handback) {
+        if (measuring && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            gcPauses.add(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+        }
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The results of a {@link LoadTest} run, written as JSON so that they can be compared between runs.
+ */
+public class LoadTestResults {
+    private final int bots;
+    private final int failedBots;
+    private final double seconds;
+    private final Distribution tickTimes;
+    private final Distribution chunkLatencies;
+    private final Distribution gcPauses;
+    private final double receivedBytesPerClientPerSecond;
+    private final double sentBytesPerClientPerSecond;
+
+    public LoadTestResults(int bots, int failedBots, LoadTestRecorder recorder, long receivedBytes, long sentBytes) {
+        this.bots = bots;
+        this.failedBots = failedBots;
+        this.seconds = recorder.getDuration() / (double) TimeUnit.SECONDS.toNanos(1);
+        this.tickTimes = new Distribution(recorder.getTickTimes());
+        this.chunkLatencies = new Distribution(recorder.getChunkLatencies());
+        this.gcPauses = new Distribution(recorder.getGcPauses());
+        // Bots that failed are counted as well, as their bytes up to the failure are included
+        double clientSeconds = Math.max(seconds * bots, 1e-9);
+        this.receivedBytesPerClientPerSecond = receivedBytes / clientSeconds;
+        this.sentBytesPerClientPerSecond = sentBytes / clientSeconds;
+    }
+
+    public int getBots() {
+        return bots;
+    }
+
+    /**
+     * @return the number of bots that did not join in time or got disconnected
+     */
+    public int getFailedBots() {
+        return failedBots;
+    }
+
+    /**
+     * @return the measured time in seconds
+     */
+    public double getSeconds() {
+        return seconds;
+    }
+
+    public Distribution getTickTimes() {
+        return tickTimes;
+    }
+
+    public Distribution getChunkLatencies() {
+        return chunkLatencies;
+    }
+
+    public Distribution getGcPauses() {
+        return gcPauses;
+    }
+
+    /**
+     * @return the bytes the server sent to each bot per second, on average
+     */
+    public double getReceivedBytesPerClientPerSecond() {
+        return receivedBytesPerClientPerSecond;
+    }
+
+    /**
+     * @return the bytes each bot sent to the server per second, on average
+     */
+    public double getSentBytesPerClientPerSecond() {
+        return sentBytesPerClientPerSecond;
+    }
+
+    public void write(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+    }
+
+    public void write(Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("bots").value(bots);
+        json.name("failedBots").value(failedBots);
+        json.name("seconds").value(seconds);
+        json.name("ticks").value(tickTimes.getCount());
+        writeDistribution(json, "tickTimeMs", tickTimes);
+        json.name("bytesPerClientPerSecond").beginObject()
+                .name("received").value(receivedBytesPerClientPerSecond)
+                .name("sent").value(sentBytesPerClientPerSecond)
+                .endObject();
+        writeDistribution(json, "chunkLatencyMs", chunkLatencies);
+        writeDistribution(json, "gcPauseMs", gcPauses);
+        json.name("gcPauseTotalMs").value(gcPauses.getTotal());
+        json.endObject();
+        json.flush();
+    }
+
+    private void writeDistribution(JsonWriter json, String name, Distribution distribution) throws IOException {
+        json.name(name).beginObject();
+        json.name("count").value(distribution.getCount());
+        json.name("mean").value(distribution.getMean());
+        json.name("p50").value(distribution.getPercentile(50));
+        json.name("p90").value(distribution.getPercentile(90));
+        json.name("p99").value(distribution.getPercentile(99));
+        json.name("max").value(distribution.getPercentile(100));
+        json.endObject();
+    }
+
+    /**
+     * Measured durations, reported in milliseconds.
+     */
+    public static class Distribution {
+        private final long[] sortedNanos;
+
+        public Distribution(List<Long> nanos) {
+            sortedNanos = nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        public int getCount() {
+            return sortedNanos.length;
+        }
+
+        public double getTotal() {
+            return toMillis(Arrays.stream(sortedNanos).sum());
+        }
+
+        public double getMean() {
+            return sortedNanos.length > 0 ? getTotal() / sortedNanos.length : 0;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return the smallest duration that at least the given percentage of the durations do not exceed, or 0 if
+         *         nothing was measured
+         */
+        public double getPercentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedNanos.length);
+            return toMillis(sortedNanos[Math.max(0, rank - 1)]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.base.Preconditions;
+import org.terasology.config.Config;
+import org.terasology.context.Context;
+import org.terasology.engine.TerasologyConstants;
+import org.terasology.engine.TerasologyEngine;
+import org.terasology.engine.TerasologyEngineBuilder;
+import org.terasology.engine.modes.GameState;
+import org.terasology.engine.modes.StateIngame;
+import org.terasology.engine.modes.StateLoading;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.engine.subsystem.headless.HeadlessAudio;
+import org.terasology.engine.subsystem.headless.HeadlessGraphics;
+import org.terasology.engine.subsystem.headless.HeadlessInput;
+import org.terasology.engine.subsystem.headless.HeadlessTimer;
+import org.terasology.game.GameManifest;
+import org.terasology.module.Module;
+import org.terasology.naming.Name;
+import org.terasology.network.NetworkMode;
+import org.terasology.world.internal.WorldInfo;
+import org.terasology.world.time.WorldTime;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless dedicated server running in the current process, in a fresh home directory and on a free local port.
+ * <p>
+ * The server is not ticked by a main loop of its own: whoever starts it calls {@link #tick()}, so that the time each
+ * tick takes can be measured.
+ */
+public class LoadTestServer implements AutoCloseable {
+    private final TerasologyEngine engine;
+    private final int port;
+
+    public LoadTestServer(LoadTestConfig config) throws IOException {
+        Preconditions.checkArgument(config.getWorldGenerator() != null, "A world generator is required");
+        Path homePath = Files.createTempDirectory("terasology-load-test");
+        PathManager.getInstance().useOverrideHomePath(homePath);
+        port = findFreePort();
+
+        engine = new TerasologyEngineBuilder()
+                .add(new HeadlessTimer())
+                .add(new HeadlessGraphics())
+                .add(new HeadlessAudio())
+                .add(new HeadlessInput())
+                .build();
+        engine.initialize();
+
+        GameManifest gameManifest = createGameManifest(config);
+        Config engineConfig = engine.getFromEngineContext(Config.class);
+        engineConfig.getNetwork().setServerPort(port);
+        WorldInfo worldInfo = gameManifest.getWorldInfo(TerasologyConstants.MAIN_WORLD);
+        engineConfig.getUniverseConfig().addWorldManager(worldInfo);
+        engineConfig.getUniverseConfig().setSpawnWorldTitle(worldInfo.getTitle());
+        engineConfig.getUniverseConfig().setUniverseSeed(gameManifest.getSeed());
+
+        engine.changeState(new StateLoading(gameManifest, NetworkMode.DEDICATED_SERVER));
+    }
+
+    /**
+     * Ticks the server until it finished loading the world and accepts clients.
+     *
+     * @throws IllegalStateException if loading failed or took longer than the given time
+     */
+    public void awaitStarted(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!(engine.getState() instanceof StateIngame)) {
+            GameState state = engine.getState();
+            Preconditions.checkState(state == null || state instanceof StateLoading || engine.hasPendingState(),
+                    "Loading the world failed, ended up in %s", state);
+            Preconditions.checkState(System.nanoTime() < deadline, "Loading the world timed out");
+            tick();
+        }
+    }
+
+    /**
+     * Runs a single tick of the engine.
+     *
+     * @return the time the tick took, in nanoseconds
+     */
+    public long tick() {
+        long start = System.nanoTime();
+        Preconditions.checkState(engine.tick(), "The server shut down");
+        return System.nanoTime() - start;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return the context of the current game state, e.g. of the running game once the server started
+     */
+    public Context getContext() {
+        return engine.getState().getContext();
+    }
+
+    @Override
+    public void close() {
+        engine.shutdown();
+        engine.cleanup();
+    }
+
+    private GameManifest createGameManifest(LoadTestConfig config) {
+        ModuleManager moduleManager = engine.getFromEngineContext(ModuleManager.class);
+        GameManifest gameManifest = new GameManifest();
+        for (Name moduleName : config.getModules()) {
+            Module module = moduleManager.getRegistry().getLatestModuleVersion(moduleName);
+            Preconditions.checkArgument(module != null, "Module %s is not available", moduleName);
+            gameManifest.addModule(module.getId(), module.getVersion());
+        }
+        gameManifest.setTitle("Load test");
+        gameManifest.setSeed(config.getSeed());
+        gameManifest.addWorld(new WorldInfo(TerasologyConstants.MAIN_WORLD, gameManifest.getTitle(), config.getSeed(),
+                (long) (WorldTime.DAY_LENGTH * WorldTime.NOON_OFFSET), config.getWorldGenerator()));
+        return gameManifest;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -339,6 +339,18 @@ public void testPrefabCopiedCorrectly2() {
         assertFalse(test1.getComponent(StringComponent.class) == (test2.getComponent(StringComponent.class)));
     }
 
+    @Test
+    public void testPrefabComponentsSharedUntilAccessed() {
+        EntityRef entity = entityManager.create(prefab);
+        assertEquals(1, entityManager.getComponentStore().getSharedComponentCount());
+        assertTrue(entity.hasComponent(StringComponent.class));
+        assertEquals(1, entityManager.getComponentStore().getSharedComponentCount());
+
+        StringComponent comp = entity.getComponent(StringComponent.class);
+        assertFalse(comp == prefab.getComponent(StringComponent.class));
+        assertEquals(0, entityManager.getComponentStore().getSharedComponentCount());
+    }
+
     @Test
     public void testPrefabPersistedRetainedCorrectly() {
         PrefabData protoPrefab = new PrefabData();
@@ -0,0 +1,41 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.loadtest;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LoadTestResultsTest {
+
+    @Test
+    public void testPercentilesUseNearestRank() {
+        List<Long> nanos = Lists.newArrayList();
+        for (long millis = 100; millis >= 1; millis--) {
+            nanos.add(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        LoadTestResults.Distribution distribution = new LoadTestResults.Distribution(nanos);
+
+        assertEquals(100, distribution.getCount());
+        assertEquals(1, distribution.getPercentile(0), 1e-9);
+        assertEquals(50, distribution.getPercentile(50), 1e-9);
+        assertEquals(99, distribution.getPercentile(99), 1e-9);
+        assertEquals(100, distribution.getPercentile(100), 1e-9);
+        assertEquals(50.5, distribution.getMean(), 1e-9);
+        assertEquals(5050, distribution.getTotal(), 1e-9);
+    }
+
+    @Test
+    public void testEmptyDistribution() {
+        LoadTestResults.Distribution distribution = new LoadTestResults.Distribution(Collections.emptyList());
+
+        assertEquals(0, distribution.getCount());
+        assertEquals(0, distribution.getPercentile(99), 1e-9);
+        assertEquals(0, distribution.getMean(), 1e-9);
+    }
+}
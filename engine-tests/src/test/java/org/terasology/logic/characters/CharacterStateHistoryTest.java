@@ -0,0 +1,59 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.characters;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.math.geom.Quat4f;
+import org.terasology.math.geom.Vector3f;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CharacterStateHistoryTest {
+
+    private static CharacterStateEvent state(long time, float x) {
+        return new CharacterStateEvent(time, 0, new Vector3f(x, 0, 0), new Quat4f(0, 0, 0, 1), new Vector3f(), 0, 0,
+                MovementMode.WALKING, true);
+    }
+
+    @Test
+    public void testFindsStateAtTimeAfterWrapping() {
+        CharacterStateHistory history = new CharacterStateHistory(4);
+        for (int i = 0; i < 6; i++) {
+            history.add(state(i * 100, i));
+        }
+
+        assertEquals(4, history.size());
+        assertEquals(-1, history.indexAt(150));
+        assertEquals(0, history.indexAt(200));
+        assertEquals(1, history.indexAt(399));
+        assertEquals(3, history.indexAt(1000));
+        assertSame(history.getLast(), history.get(3));
+    }
+
+    @Test
+    public void testInterpolatesPosition() {
+        CharacterStateHistory history = new CharacterStateHistory(4);
+        history.add(state(0, 0));
+        history.add(state(100, 10));
+
+        Vector3f position = new Vector3f();
+        assertTrue(history.getPositionAt(25, position));
+        assertEquals(2.5f, position.x, 0.0001f);
+        assertFalse(history.getPositionAt(-1, position));
+    }
+
+    @Test
+    public void testSweptBounds() {
+        CharacterStateHistory history = new CharacterStateHistory(4);
+        history.add(state(0, 0));
+        history.add(state(100, 10));
+        history.add(state(200, 20));
+
+        assertTrue(history.mayHaveBeenWithin(100, new Vector3f(15, 1, 0), 2));
+        assertFalse(history.mayHaveBeenWithin(100, new Vector3f(5, 0, 0), 2));
+        assertTrue(history.mayHaveBeenWithin(0, new Vector3f(5, 0, 0), 2));
+    }
+}
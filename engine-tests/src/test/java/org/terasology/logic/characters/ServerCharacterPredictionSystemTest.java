@@ -0,0 +1,125 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.characters;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.Test;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.network.NetworkSystem;
+import org.terasology.physics.engine.CharacterCollider;
+import org.terasology.physics.engine.PhysicsEngine;
+import org.terasology.physics.engine.SweepCallback;
+import org.terasology.recording.CharacterStateEventPositionMap;
+import org.terasology.recording.RecordAndReplayCurrentStatus;
+import org.terasology.recording.RecordAndReplayStatus;
+import org.terasology.registry.InjectionHelper;
+import org.terasology.world.WorldProvider;
+import org.terasology.world.block.Block;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServerCharacterPredictionSystemTest {
+
+    private static final int CHARACTERS = 4;
+    private static final int TICKS = 40;
+    private static final int TICK_MS = 50;
+
+    @Test
+    public void testParallelStepsMatchSerialSteps() {
+        List<String> parallel = run(Executors.newFixedThreadPool(CHARACTERS));
+        List<String> serial = run(MoreExecutors.newDirectExecutorService());
+        assertEquals(serial, parallel);
+    }
+
+    /**
+     * Lets characters fall through an empty world while they move and jump, and logs the states and events of their
+     * steps in the order they are applied and sent.
+     */
+    private List<String> run(ExecutorService stepExecutor) {
+        List<String> log = Collections.synchronizedList(Lists.newArrayList());
+
+        Time time = mock(Time.class);
+        when(time.getGameTimeInMs()).thenReturn(1000L);
+        Block air = mock(Block.class);
+        WorldProvider worldProvider = mock(WorldProvider.class,
+                invocation -> invocation.getMethod().getReturnType() == Block.class ? air : RETURNS_DEFAULTS.answer(invocation));
+        when(worldProvider.isBlockRelevant(any(Vector3f.class))).thenReturn(true);
+        PhysicsEngine physics = mock(PhysicsEngine.class);
+        when(physics.getEpsilon()).thenReturn(0.0001f);
+        LocalPlayer localPlayer = mock(LocalPlayer.class);
+        when(localPlayer.getCharacterEntity()).thenReturn(EntityRef.NULL);
+        RecordAndReplayCurrentStatus recordAndReplayCurrentStatus = new RecordAndReplayCurrentStatus();
+        recordAndReplayCurrentStatus.setStatus(RecordAndReplayStatus.RECORDING);
+        CharacterStateEventPositionMap appliedStates = new CharacterStateEventPositionMap() {
+            @Override
+            public void add(int sequenceNumber, Vector3f position, Vector3f velocity) {
+                log.add("State " + sequenceNumber + " " + position + " " + velocity);
+            }
+        };
+
+        Context context = new ContextImpl();
+        context.put(Time.class, time);
+        context.put(PhysicsEngine.class, physics);
+        context.put(WorldProvider.class, worldProvider);
+        context.put(LocalPlayer.class, localPlayer);
+        context.put(NetworkSystem.class, mock(NetworkSystem.class));
+        context.put(CharacterStateEventPositionMap.class, appliedStates);
+        context.put(RecordAndReplayCurrentStatus.class, recordAndReplayCurrentStatus);
+
+        ServerCharacterPredictionSystem system = new ServerCharacterPredictionSystem();
+        InjectionHelper.inject(system, context);
+        system.initialise();
+        system.setStepExecutor(stepExecutor);
+
+        SweepCallback noHit = mock(SweepCallback.class);
+        List<EntityRef> characters = Lists.newArrayList();
+        for (int i = 0; i < CHARACTERS; i++) {
+            int index = i;
+            EntityRef character = mock(EntityRef.class);
+            when(character.exists()).thenReturn(true);
+            when(character.getComponent(CharacterMovementComponent.class)).thenReturn(new CharacterMovementComponent());
+            when(character.getComponent(LocationComponent.class)).thenReturn(new LocationComponent(new Vector3f(10 * i, 50, 0)));
+            when(character.send(any(Event.class))).thenAnswer(invocation -> {
+                Event event = invocation.getArgument(0);
+                log.add("Character " + index + " " + event.getClass().getSimpleName());
+                return event;
+            });
+            CharacterCollider collider = mock(CharacterCollider.class);
+            when(collider.sweep(any(Vector3f.class), any(Vector3f.class), anyFloat(), anyFloat())).thenReturn(noHit);
+            when(physics.getCharacterCollider(character)).thenReturn(collider);
+            system.onCreate(null, character);
+            characters.add(character);
+        }
+
+        for (int tick = 1; tick <= TICKS; tick++) {
+            when(time.getGameTimeInMs()).thenReturn(1000L + tick * TICK_MS);
+            for (int i = 0; i < CHARACTERS; i++) {
+                Vector3f direction = new Vector3f(i % 2, 0, (tick + i) % 3 - 1);
+                boolean jump = tick % 7 == i;
+                system.onPlayerInput(new CharacterMoveInputEvent(1000 * i + tick, 0, 10 * i, direction, i == 0, jump,
+                        TICK_MS), characters.get(i));
+            }
+            system.update(TICK_MS / 1000f);
+        }
+        system.shutdown();
+        return log;
+    }
+}
@@ -0,0 +1,97 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.delay;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    @Test
+    public void testExpiresInDeadlineOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000);
+        wheel.schedule("c", 1000 + 70_000);
+        wheel.schedule("a", 1000 + 10);
+        wheel.schedule("b", 1000 + 200);
+
+        List<TimingWheel.Timer<String>> expired = Lists.newArrayList();
+        wheel.advance(1000 + 9, expired);
+        assertTrue(expired.isEmpty());
+        for (long time = 1010; time <= 1000 + 70_000; time += 7) {
+            wheel.advance(time, expired);
+        }
+        wheel.advance(1000 + 70_000, expired);
+        assertEquals(Lists.newArrayList("a", "b", "c"), values(expired));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testLargeStepExpiresInDeadlineOrder() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(0);
+        for (int i = 9; i >= 0; i--) {
+            wheel.schedule(i, i * 100_000L);
+        }
+
+        List<TimingWheel.Timer<Integer>> expired = Lists.newArrayList();
+        wheel.advance(450_000, expired);
+        assertEquals(Lists.newArrayList(0, 1, 2, 3, 4), values(expired));
+        assertEquals(5, wheel.size());
+    }
+
+    @Test
+    public void testTurningPastTopLevelKeepsDistantTimersInOverflow() {
+        long topLevelSpan = 1L << 36;
+        TimingWheel<String> wheel = new TimingWheel<>(topLevelSpan - 10);
+        wheel.schedule("a", 2 * topLevelSpan + 5);
+
+        List<TimingWheel.Timer<String>> expired = Lists.newArrayList();
+        wheel.advance(topLevelSpan + 10, expired);
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(2 * topLevelSpan + 5, expired);
+        assertEquals(Lists.newArrayList("a"), values(expired));
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", 5);
+        assertTrue(wheel.cancel(timer));
+        assertFalse(wheel.cancel(timer));
+
+        List<TimingWheel.Timer<String>> expired = Lists.newArrayList();
+        wheel.advance(10, expired);
+        assertTrue(expired.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRescheduleExpiredTimer() {
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        TimingWheel.Timer<String> timer = wheel.schedule("a", 5);
+
+        List<TimingWheel.Timer<String>> expired = Lists.newArrayList();
+        wheel.advance(5, expired);
+        assertEquals(1, expired.size());
+        assertFalse(timer.isScheduled());
+
+        expired.clear();
+        wheel.reschedule(timer, 4000);
+        wheel.advance(3999, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advance(4000, expired);
+        assertEquals(Lists.newArrayList("a"), values(expired));
+    }
+
+    private static <T> List<T> values(List<TimingWheel.Timer<T>> timers) {
+        return timers.stream().map(TimingWheel.Timer::getValue).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.math;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Test;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.BlockRegion;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RegionCursorTest {
+
+    @Test
+    public void testMatchesRegionIterationOrder() {
+        Region3i region = Region3i.createFromMinAndSize(new Vector3i(-1, 2, 3), new Vector3i(2, 3, 4));
+        assertEquals(Lists.newArrayList(region), collect(new RegionCursor().set(region)));
+    }
+
+    @Test
+    public void testCenterExtents() {
+        Vector3i center = new Vector3i(5, -5, 0);
+        assertEquals(Lists.newArrayList(Region3i.createFromCenterExtents(center, 1)),
+                collect(new RegionCursor().setCenterExtents(center, 1)));
+    }
+
+    @Test
+    public void testChunkRegionAroundWorldPos() {
+        Vector3i worldPos = new Vector3i(31, 0, -1);
+        assertEquals(Lists.newArrayList(ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1)),
+                collect(ChunkMath.getChunkRegionAroundWorldPos(worldPos, 1, new RegionCursor())));
+    }
+
+    @Test
+    public void testBlockRegion() {
+        BlockRegion region = new BlockRegion(0, 0, 0, 1, 1, 1);
+        assertEquals(8, collect(new RegionCursor().set(region)).size());
+    }
+
+    @Test
+    public void testEmptyRegion() {
+        RegionCursor cursor = new RegionCursor().set(Region3i.empty());
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testReusesPosition() {
+        RegionCursor cursor = new RegionCursor().setCenterExtents(new Vector3i(), 1);
+        Vector3i position = cursor.position();
+        while (cursor.next()) {
+            assertSame(position, cursor.position());
+        }
+        assertFalse(cursor.next());
+    }
+
+    private static List<Vector3i> collect(RegionCursor cursor) {
+        List<Vector3i> result = Lists.newArrayList();
+        while (cursor.next()) {
+            result.add(new Vector3i(cursor.position()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.entity;
+
+import com.google.common.base.Strings;
+import org.junit.jupiter.api.Test;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.stubs.StringComponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class EntityMemorySamplerTest {
+
+    private final ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+
+    @Test
+    public void testEstimatesReferencedObjects() {
+        long stringBytes = estimator.getShallowSize(String.class) + 24;
+        assertEquals(16, estimator.getShallowSize(StringComponent.class));
+        assertEquals(16 + stringBytes, estimator.estimate(new StringComponent("abcd")));
+    }
+
+    @Test
+    public void testEstimatesStringsWithLayoutOfJvm() {
+        long shallowSize = estimator.getShallowSize(String.class);
+        long latin1Bytes = ObjectSizeEstimator.COMPACT_STRINGS ? 32 : 48;
+        assertEquals(shallowSize + latin1Bytes, estimator.estimate(Strings.repeat("\u00e9", 16)));
+        assertEquals(shallowSize + 48, estimator.estimate(Strings.repeat("\u4e2d", 16)));
+    }
+
+    @Test
+    public void testSharedComponentsOnlyCostTheirTableEntry() {
+        ComponentTable table = new ComponentTable(component -> new StringComponent(((StringComponent) component).value));
+        StringComponent prefabComponent = new StringComponent("abcd");
+        for (long id = 0; id < 10; id++) {
+            table.putShared(id, prefabComponent);
+            table.put(id + 10, new StringComponent("abcd"));
+        }
+
+        EntityMemorySampler sampler = new EntityMemorySampler(estimator, mock(ComponentLibrary.class), 64);
+        sampler.addPool(table);
+        EntityMemoryReport report = sampler.createReport(0, 0);
+
+        EntityMemoryReport.Entry entry = report.getComponentTypes().get(0);
+        long ownedBytes = estimator.estimate(prefabComponent) + EntityMemorySampler.TABLE_ENTRY_BYTES;
+        assertEquals(20, entry.getCount());
+        assertEquals(10, entry.getSharedCount());
+        assertEquals(10 * ownedBytes + 10 * EntityMemorySampler.TABLE_ENTRY_BYTES, entry.getEstimatedBytes());
+        assertEquals(EntityMemorySampler.UNKNOWN_MODULE, entry.getModule());
+    }
+}
@@ -0,0 +1,131 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.trace;
+
+import com.google.common.collect.Lists;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpanTracerTest {
+
+    @Test
+    public void testRecordsActivitiesOfEveryThread() throws Exception {
+        SpanTracer.begin("Not captured");
+        SpanTracer.end();
+
+        SpanTracer.startCapture();
+        assertTrue(SpanTracer.isRecording());
+        SpanTracer.begin("Outer");
+        SpanTracer.begin("Inner");
+        SpanTracer.end();
+        SpanTracer.end();
+        Thread worker = new Thread(() -> {
+            SpanTracer.begin("Worker");
+            SpanTracer.end();
+        }, "Span tracer test worker");
+        worker.start();
+        worker.join();
+        CapturedTrace trace = SpanTracer.stopCapture();
+        assertFalse(SpanTracer.isRecording());
+
+        JsonArray events = writeChromeTrace(trace);
+        assertEquals(Lists.newArrayList("B Outer", "B Inner", "E", "E"), getSpans(events, Thread.currentThread().getName()));
+        assertEquals(Lists.newArrayList("B Worker", "E"), getSpans(events, "Span tracer test worker"));
+    }
+
+    @Test
+    public void testCapturesCannotOverlap() {
+        assertThrows(IllegalStateException.class, SpanTracer::stopCapture);
+        SpanTracer.startCapture();
+        try {
+            assertThrows(IllegalStateException.class, SpanTracer::startCapture);
+        } finally {
+            SpanTracer.stopCapture();
+        }
+    }
+
+    @Test
+    public void testActivityIdsAreInterned() {
+        int id = SpanTracer.getActivityId("Interned activity");
+        assertEquals(id, SpanTracer.getActivityId(new String("Interned activity")));
+        assertEquals("Interned activity", SpanTracer.getActivityName(id));
+    }
+
+    @Test
+    public void testBufferKeepsMostRecentEvents() {
+        SpanBuffer buffer = new SpanBuffer(Thread.currentThread(), 4);
+        for (int i = 0; i < 6; i++) {
+            buffer.begin(i, 10 * i);
+        }
+
+        // The oldest event left in the buffer is the next to be overwritten, so it isn't read
+        SpanEvents events = buffer.read(0);
+        assertEquals(6, buffer.getPosition());
+        assertEquals(3, events.getEnd() - events.getStart());
+        assertEquals(3, events.getEvent(events.getStart()));
+        assertEquals(30, events.getTimestamp(events.getStart()));
+        assertEquals(5, events.getEvent(events.getEnd() - 1));
+        assertEquals(0, buffer.read(6).getEnd());
+    }
+
+    @Test
+    public void testExportCompletesSpans() throws IOException {
+        // An end whose begin was before the capture, then a span, then a span still running when the capture ended
+        int[] recorded = {SpanEvents.END, 1, SpanEvents.END, 2};
+        long[] timestamps = {1000, 2000, 5000, 6000};
+        SpanEvents spans = new SpanEvents("Main", recorded, timestamps, 0);
+        CapturedTrace trace = new CapturedTrace(new String[]{"(other)", "First", "Second"}, Lists.newArrayList(spans),
+                500, 10500);
+
+        JsonArray events = writeChromeTrace(trace);
+        assertEquals(1, trace.getThreadCount());
+        assertEquals(4, trace.getEventCount());
+        assertEquals(Lists.newArrayList("B First", "E", "B Second", "E"), getSpans(events, "Main"));
+        List<Double> times = Lists.newArrayList();
+        for (JsonElement element : events) {
+            JsonObject event = element.getAsJsonObject();
+            if (event.has("ts")) {
+                times.add(event.get("ts").getAsDouble());
+            }
+        }
+        assertEquals(Lists.newArrayList(1.5, 4.5, 5.5, 10.0), times);
+    }
+
+    private static JsonArray writeChromeTrace(CapturedTrace trace) throws IOException {
+        StringWriter writer = new StringWriter();
+        trace.writeChromeTrace(writer);
+        return new JsonParser().parse(writer.toString()).getAsJsonObject().getAsJsonArray("traceEvents");
+    }
+
+    /**
+     * @return the begin and end events of the thread, as the phase followed by the activity name of begin events
+     */
+    private static List<String> getSpans(JsonArray events, String threadName) {
+        Integer threadId = null;
+        List<String> spans = Lists.newArrayList();
+        for (JsonElement element : events) {
+            JsonObject event = element.getAsJsonObject();
+            String phase = event.get("ph").getAsString();
+            if (phase.equals("M")) {
+                if (event.getAsJsonObject("args").get("name").getAsString().equals(threadName)) {
+                    threadId = event.get("tid").getAsInt();
+                }
+            } else if (threadId != null && event.get("tid").getAsInt() == threadId) {
+                spans.add(phase.equals("B") ? "B " + event.get("name").getAsString() : "E");
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,44 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EntityUpdateSchedulerTest {
+
+    @Test
+    public void testOrdersByAccumulatedPriority() {
+        EntityUpdateScheduler scheduler = new EntityUpdateScheduler();
+        scheduler.accumulate(1, 1f, 0);
+        scheduler.accumulate(2, 3f, 0);
+        scheduler.accumulate(3, 0.5f, 0);
+        scheduler.accumulate(3, 5f, 50);
+
+        assertArrayEquals(new int[]{3, 2, 1}, scheduler.beginTick(100));
+    }
+
+    @Test
+    public void testDeferredUpdatesKeepWaiting() {
+        EntityUpdateScheduler scheduler = new EntityUpdateScheduler();
+        scheduler.accumulate(1, 2f, 0);
+        scheduler.accumulate(2, 1f, 0);
+
+        scheduler.beginTick(100);
+        scheduler.updated(1, 150);
+        assertFalse(scheduler.hasBudget());
+        assertEquals(1, scheduler.getDeferredUpdates());
+        assertEquals(100, scheduler.getLongestDelay(100));
+
+        // The debt of the oversized update is paid off first
+        scheduler.beginTick(100);
+        assertTrue(scheduler.hasBudget());
+        scheduler.updated(2, 10);
+        assertEquals(0, scheduler.getDeferredUpdates());
+        assertEquals(0, scheduler.getLongestDelay(150));
+    }
+}
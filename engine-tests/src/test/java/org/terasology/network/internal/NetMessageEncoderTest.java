@@ -0,0 +1,127 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.DefaultChannelFuture;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NetMessageEncoderTest {
+
+    private static final int MESSAGES = 1000;
+
+    @Test
+    public void testMessagesOfAClientAreWrittenInOrder() throws InterruptedException {
+        NetMessageEncoder encoder = new NetMessageEncoder(4);
+        List<List<Long>> written = Lists.newArrayList();
+        CountDownLatch done = new CountDownLatch(3 * MESSAGES);
+        List<NetMessageEncoder.ClientQueue> queues = Lists.newArrayList();
+        for (int client = 0; client < 3; client++) {
+            List<Long> times = Collections.synchronizedList(Lists.newArrayList());
+            written.add(times);
+            Channel channel = mock(Channel.class);
+            when(channel.write(any())).thenAnswer(invocation -> {
+                times.add(parse(invocation.getArgument(0)).getTime());
+                done.countDown();
+                return completedFuture(channel);
+            });
+            queues.add(encoder.createQueue(channel, new MetricRecordingHandler()));
+        }
+
+        for (long time = 0; time < MESSAGES; time++) {
+            long messageTime = time;
+            for (NetMessageEncoder.ClientQueue queue : queues) {
+                queue.send(() -> NetData.NetMessage.newBuilder().setTime(messageTime).build());
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        encoder.shutdown();
+        for (List<Long> times : written) {
+            assertEquals(MESSAGES, times.size());
+            for (int i = 0; i < MESSAGES; i++) {
+                assertEquals(i, (long) times.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testBufferIsReusedOnceWritten() {
+        List<ChannelBuffer> buffers = Lists.newArrayList();
+        List<DefaultChannelFuture> futures = Lists.newArrayList();
+        NetMessageEncoder.ClientQueue queue = createSynchronousQueue(buffers, futures);
+
+        queue.send(this::message);
+        queue.send(this::message);
+        assertNotSame(buffers.get(0), buffers.get(1));
+
+        futures.get(0).setSuccess();
+        queue.send(this::message);
+        assertSame(buffers.get(0), buffers.get(2));
+    }
+
+    @Test
+    public void testBufferIsReusedWhenWriteFails() {
+        List<ChannelBuffer> buffers = Lists.newArrayList();
+        List<DefaultChannelFuture> futures = Lists.newArrayList();
+        NetMessageEncoder.ClientQueue queue = createSynchronousQueue(buffers, futures);
+
+        queue.send(this::message);
+        futures.get(0).setFailure(new IOException("Connection reset"));
+        queue.send(this::message);
+        assertSame(buffers.get(0), buffers.get(1));
+    }
+
+    /**
+     * Creates a queue that writes its messages on the thread sending them, recording every written buffer and the
+     * future of its write, which the test completes.
+     */
+    private NetMessageEncoder.ClientQueue createSynchronousQueue(List<ChannelBuffer> buffers,
+                                                                 List<DefaultChannelFuture> futures) {
+        NetMessageEncoder encoder = new NetMessageEncoder(1);
+        encoder.shutdown();
+        Channel channel = mock(Channel.class);
+        when(channel.write(any())).thenAnswer(invocation -> {
+            buffers.add(invocation.getArgument(0));
+            DefaultChannelFuture future = new DefaultChannelFuture(channel, false);
+            futures.add(future);
+            return future;
+        });
+        return encoder.createQueue(channel, new MetricRecordingHandler());
+    }
+
+    private NetData.NetMessage message() {
+        return NetData.NetMessage.newBuilder().setTime(1).build();
+    }
+
+    private static ChannelFuture completedFuture(Channel channel) {
+        DefaultChannelFuture future = new DefaultChannelFuture(channel, false);
+        future.setSuccess();
+        return future;
+    }
+
+    private static NetData.NetMessage parse(ChannelBuffer buffer) throws InvalidProtocolBufferException {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return NetData.NetMessage.parseFrom(bytes);
+    }
+}
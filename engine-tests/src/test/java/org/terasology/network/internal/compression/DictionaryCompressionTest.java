@@ -0,0 +1,135 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal.compression;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.UnknownFieldSet;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.DefaultChannelFuture;
+import org.jboss.netty.handler.codec.compression.CompressionException;
+import org.junit.jupiter.api.Test;
+import org.terasology.protobuf.NetData;
+
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DictionaryCompressionTest {
+
+    private static final int MIN_COMPRESSED_SIZE = 64;
+
+    @Test
+    public void testMessagesOfAStreamRoundTrip() {
+        DictionaryDeflateEncoder encoder = new DictionaryDeflateEncoder(Deflater.DEFAULT_COMPRESSION, MIN_COMPRESSED_SIZE);
+        DictionaryInflateDecoder decoder = new DictionaryInflateDecoder();
+
+        List<byte[]> messages = Lists.newArrayList();
+        messages.add(NetData.NetMessage.newBuilder().setTime(1000).build().toByteArray());
+        messages.add(createServerInfo().toByteArray());
+        for (int tick = 0; tick < 5; tick++) {
+            messages.add(createTick(tick).toByteArray());
+        }
+
+        for (byte[] message : messages) {
+            ChannelBuffer encoded = (ChannelBuffer) encoder.encode(null, null, ChannelBuffers.wrappedBuffer(message));
+            byte mode = encoded.getByte(encoded.readerIndex());
+            assertEquals(message.length < MIN_COMPRESSED_SIZE ? DictionaryDeflateEncoder.STORED : DictionaryDeflateEncoder.DEFLATED, mode);
+            assertArrayEquals(message, toArray((ChannelBuffer) decoder.decode(null, null, encoded)));
+        }
+    }
+
+    @Test
+    public void testDictionaryPrimesFirstMessage() {
+        DictionaryDeflateEncoder encoder = new DictionaryDeflateEncoder(Deflater.DEFAULT_COMPRESSION, MIN_COMPRESSED_SIZE);
+        byte[] serverInfo = createServerInfo().toByteArray();
+
+        ChannelBuffer encoded = (ChannelBuffer) encoder.encode(null, null, ChannelBuffers.wrappedBuffer(serverInfo));
+
+        Deflater plainDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        plainDeflater.setInput(serverInfo);
+        byte[] plain = new byte[serverInfo.length * 2];
+        int plainLength = plainDeflater.deflate(plain, 0, plain.length, Deflater.SYNC_FLUSH);
+        plainDeflater.end();
+        assertTrue(encoded.readableBytes() - 1 < plainLength,
+                "Compressed to " + (encoded.readableBytes() - 1) + " bytes, without the dictionary " + plainLength);
+    }
+
+    @Test
+    public void testClosingTheChannelEndsTheCodec() {
+        Channel channel = mock(Channel.class);
+        DefaultChannelFuture closeFuture = new DefaultChannelFuture(channel, false);
+        when(channel.getCloseFuture()).thenReturn(closeFuture);
+        ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+        when(ctx.getChannel()).thenReturn(channel);
+
+        DictionaryDeflateEncoder encoder = new DictionaryDeflateEncoder(Deflater.DEFAULT_COMPRESSION, MIN_COMPRESSED_SIZE);
+        DictionaryInflateDecoder decoder = new DictionaryInflateDecoder();
+        encoder.afterAdd(ctx);
+        decoder.afterAdd(ctx);
+        byte[] message = createServerInfo().toByteArray();
+        ChannelBuffer encoded = (ChannelBuffer) encoder.encode(ctx, channel, ChannelBuffers.wrappedBuffer(message));
+        closeFuture.setSuccess();
+
+        ChannelBuffer afterClose = (ChannelBuffer) encoder.encode(ctx, channel, ChannelBuffers.wrappedBuffer(message));
+        assertEquals(DictionaryDeflateEncoder.STORED, afterClose.getByte(afterClose.readerIndex()));
+        assertThrows(CompressionException.class, () -> decoder.decode(ctx, channel, encoded));
+    }
+
+    @Test
+    public void testNegotiationRequiresTheSameDictionary() {
+        NetData.NetMessage announced = CompressionNegotiation.announceDictionary(NetData.NetMessage.newBuilder()).build();
+        assertTrue(CompressionNegotiation.hasDictionary(announced));
+        assertFalse(CompressionNegotiation.hasDictionary(NetData.NetMessage.newBuilder().build()));
+
+        NetData.NetMessage otherDictionary = NetData.NetMessage.newBuilder()
+                .setUnknownFields(UnknownFieldSet.newBuilder()
+                        .addField(5001, UnknownFieldSet.Field.newBuilder()
+                                .addFixed32(NetMessageDictionary.checksum() + 1)
+                                .build())
+                        .build())
+                .build();
+        assertFalse(CompressionNegotiation.hasDictionary(otherDictionary));
+    }
+
+    private static NetData.NetMessage createServerInfo() {
+        NetData.ServerInfoMessage.Builder serverInfo = NetData.ServerInfoMessage.newBuilder()
+                .setGameName("Test Game")
+                .setVersion("4.0.0-SNAPSHOT")
+                .setTime(2000000);
+        for (String module : new String[]{"engine", "CoreAssets", "CoreBlocks", "Core", "Health", "Inventory"}) {
+            serverInfo.addModule(NetData.ModuleInfo.newBuilder().setModuleId(module).setModuleVersion("1.0.0"));
+        }
+        for (String component : new String[]{"Location", "Character", "CharacterMovement", "DisplayName", "Health"}) {
+            serverInfo.addComponent(NetData.SerializationInfo.newBuilder().setName("engine:" + component)
+                    .setId(serverInfo.getComponentCount()).addFieldName("position").addFieldName("rotation"));
+        }
+        return NetData.NetMessage.newBuilder().setServerInfo(serverInfo).build();
+    }
+
+    private static NetData.NetMessage createTick(int tick) {
+        NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(2000000 + tick * 50);
+        for (int netId = 1; netId <= 4; netId++) {
+            message.addRemoveEntity(NetData.RemoveEntityMessage.newBuilder().setNetId(netId * 100 + tick));
+            message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                    .setPos(NetData.Vector3iData.newBuilder().setX(netId).setY(38 + tick).setZ(-netId))
+                    .setNewBlock(tick % 3));
+        }
+        return message.build();
+    }
+
+    private static byte[] toArray(ChannelBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
+    }
+}
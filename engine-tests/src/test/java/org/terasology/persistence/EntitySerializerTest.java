@@ -42,6 +42,8 @@
 import org.terasology.entitySystem.stubs.StringComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.serializers.EntitySerializer;
+import org.terasology.persistence.serializers.EntitySnapshot;
+import org.terasology.persistence.serializers.FieldSerializeCheck;
 import org.terasology.protobuf.EntityData;
 import org.terasology.recording.RecordAndReplayCurrentStatus;
 import org.terasology.registry.CoreRegistry;
@@ -164,6 +166,22 @@ public void testDeltaChangedComponent() throws Exception {
                 componentData.getFieldList());
     }
 
+    @Test
+    public void testSnapshotIsUnaffectedByLaterChanges() {
+        EntityRef entity = entityManager.create(prefab);
+        StringComponent comp = entity.getComponent(StringComponent.class);
+        comp.value = "Delta";
+        entity.saveComponent(comp);
+        EntityData.Entity expected = entitySerializer.serialize(entity);
+
+        EntitySnapshot snapshot = EntitySnapshot.of(entity, componentLibrary);
+        comp.value = "Changed";
+        entity.saveComponent(comp);
+        entity.addComponent(new IntegerComponent());
+
+        assertEquals(expected, entitySerializer.serialize(snapshot, true, FieldSerializeCheck.NullCheck.newInstance()));
+    }
+
     @Test
     public void testDeltaLoadNoChange() throws Exception {
         EntityRef entity = entityManager.create("test:Test");
@@ -36,6 +36,8 @@
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.stubs.EntityRefComponent;
 import org.terasology.entitySystem.stubs.StringComponent;
+import org.terasology.logic.delay.DelayedActionComponent;
+import org.terasology.logic.delay.DelayedActionSystem;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
@@ -55,6 +57,7 @@
 import org.terasology.recording.RecordedEventStore;
 import org.terasology.reflection.TypeRegistry;
 import org.terasology.registry.CoreRegistry;
+import org.terasology.registry.InjectionHelper;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
@@ -74,6 +77,7 @@
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -247,6 +251,36 @@ public void testGlobalEntitiesStoredAndRestored() throws Exception {
         assertEquals(entityId, entities.get(0).getId());
     }
 
+    @Test
+    public void testGlobalEntityChangesRestoredFromJournal() throws Exception {
+        EntityRef changedEntity = entityManager.create(new StringComponent("Before"));
+        EntityRef destroyedEntity = entityManager.create(new StringComponent("Destroyed"));
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+
+        changedEntity.saveComponent(new StringComponent("After"));
+        destroyedEntity.destroy();
+        EntityRef createdEntity = entityManager.create(new StringComponent("Created"));
+        esm.waitForCompletionOfPreviousSaveAndStartSaving();
+        esm.finishSavingAndShutdown();
+
+        try (Stream<Path> journal = Files.list(savePath.resolve("global-journal"))) {
+            assertTrue(journal.anyMatch(path -> path.toString().endsWith(".delta")));
+        }
+
+        EntitySystemSetupUtil.addReflectionBasedLibraries(context);
+        EntitySystemSetupUtil.addEntityManagementRelatedClasses(context);
+        EngineEntityManager newEntityManager = context.get(EngineEntityManager.class);
+
+        StorageManager newSM = new ReadWriteStorageManager(savePath, moduleEnvironment, newEntityManager, blockManager,
+                extraDataManager, false, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
+        newSM.loadGlobalStore();
+
+        List<EntityRef> entities = Lists.newArrayList(newEntityManager.getEntitiesWith(StringComponent.class));
+        assertEquals(2, entities.size());
+        assertEquals("After", newEntityManager.getEntity(changedEntity.getId()).getComponent(StringComponent.class).value);
+        assertEquals("Created", newEntityManager.getEntity(createdEntity.getId()).getComponent(StringComponent.class).value);
+    }
+
 
     @Test
     public void testReferenceRemainsValidOverStorageRestoral() throws Exception {
@@ -358,6 +392,25 @@ public void testEntitySurvivesStorageInChunkStore() throws Exception {
     }
 
 
+    @Test
+    public void testTriggeredDelayedActionIsNotStoredWithPlayer() {
+        DelayedActionSystem delayedActionSystem = new DelayedActionSystem();
+        InjectionHelper.inject(delayedActionSystem, context);
+        entityManager.getEventSystem().registerEventHandler(delayedActionSystem);
+        delayedActionSystem.addDelayedAction(character, "triggered", 100);
+        delayedActionSystem.addDelayedAction(character, "pending", 1000);
+        when(mockTime.getGameTimeInMs()).thenReturn(500L);
+        delayedActionSystem.update(0.5f);
+
+        esm.deactivatePlayer(createClientMock(PLAYER_ID, character));
+
+        PlayerStore restored = esm.loadPlayerStore(PLAYER_ID);
+        restored.restoreEntities();
+        DelayedActionComponent component = restored.getCharacter().getComponent(DelayedActionComponent.class);
+        assertFalse(component.containsActionId("triggered"));
+        assertTrue(component.containsActionId("pending"));
+    }
+
     @Test
     public void testCanSavePlayerWithoutUnloading() throws Exception {
         esm.waitForCompletionOfPreviousSaveAndStartSaving();
@@ -17,22 +17,40 @@
 
 import org.junit.jupiter.api.Test;
 import org.reflections.Reflections;
+import org.terasology.context.Context;
+import org.terasology.context.internal.ContextImpl;
+import org.terasology.engine.SimpleUri;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.stubs.StringComponent;
 import org.terasology.persistence.typeHandling.coreTypes.CollectionTypeHandler;
 import org.terasology.persistence.typeHandling.coreTypes.EnumTypeHandler;
 import org.terasology.persistence.typeHandling.coreTypes.ObjectFieldMapTypeHandler;
 import org.terasology.persistence.typeHandling.coreTypes.RuntimeDelegatingTypeHandler;
 import org.terasology.persistence.typeHandling.coreTypes.StringMapTypeHandler;
+import org.terasology.persistence.typeHandling.coreTypes.StringTypeHandler;
 import org.terasology.reflection.MappedContainer;
 import org.terasology.reflection.TypeInfo;
+import org.terasology.reflection.copy.CopyStrategyLibrary;
+import org.terasology.reflection.metadata.ClassMetadata;
+import org.terasology.reflection.reflect.ReflectFactory;
+import org.terasology.reflection.reflect.ReflectionReflectFactory;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 public class TypeHandlerLibraryTest {
     private final Reflections reflections = new Reflections(getClass().getClassLoader());
@@ -97,4 +115,50 @@ public void testGetBaseTypeHandler() {
 
         assertTrue(handler instanceof RuntimeDelegatingTypeHandler);
     }
+
+    @Test
+    public void testConcurrentRequestsShareTypeHandler() {
+        TypeInfo<Map<String, List<Integer>>> type = new TypeInfo<Map<String, List<Integer>>>() {};
+
+        Set<TypeHandler<?>> handlers = IntStream.range(0, 64).parallel()
+                .mapToObj(i -> typeHandlerLibrary.getTypeHandler(type).get())
+                .collect(Collectors.toSet());
+
+        assertEquals(1, handlers.size());
+    }
+
+    @Test
+    public void testCopyReusesWarmedUpSerializers() {
+        ClassMetadata<StringComponent, ?> metadata = createComponentLibrary().getMetadata(StringComponent.class);
+        typeHandlerLibrary.warmUp(Collections.singletonList(metadata));
+
+        TypeHandlerLibrary copy = new TypeHandlerLibrary(typeHandlerLibrary);
+
+        assertSame(typeHandlerLibrary.getSerializerFor(metadata), copy.getSerializerFor(metadata));
+        assertSame(typeHandlerLibrary.getTypeHandler(String.class).get(), copy.getTypeHandler(String.class).get());
+    }
+
+    @Test
+    public void testOverrideInCopyDiscardsSharedTypeHandlers() {
+        TypeInfo<List<String>> type = new TypeInfo<List<String>>() {};
+        TypeHandler<List<String>> original = typeHandlerLibrary.getTypeHandler(type).get();
+        TypeHandlerLibrary copy = new TypeHandlerLibrary(typeHandlerLibrary);
+        assertSame(original, copy.getTypeHandler(type).get());
+
+        copy.addTypeHandler(String.class, new StringTypeHandler());
+
+        assertNotSame(original, copy.getTypeHandler(type).get());
+        assertSame(original, typeHandlerLibrary.getTypeHandler(type).get());
+    }
+
+    private static ComponentLibrary createComponentLibrary() {
+        Context context = new ContextImpl();
+        ReflectFactory reflectFactory = new ReflectionReflectFactory();
+        context.put(ReflectFactory.class, reflectFactory);
+        context.put(CopyStrategyLibrary.class, new CopyStrategyLibrary(reflectFactory));
+        context.put(ModuleManager.class, mock(ModuleManager.class));
+        ComponentLibrary componentLibrary = new ComponentLibrary(context);
+        componentLibrary.register(new SimpleUri("test", "string"), StringComponent.class);
+        return componentLibrary;
+    }
 }
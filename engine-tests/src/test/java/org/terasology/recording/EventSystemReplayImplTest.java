@@ -19,9 +19,11 @@
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.reflections.Reflections;
 import org.terasology.context.internal.ContextImpl;
 import org.terasology.engine.module.ModuleManager;
+import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.event.AbstractConsumableEvent;
@@ -37,9 +39,11 @@
 import org.terasology.network.NetworkMode;
 import org.terasology.network.NetworkSystem;
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
-import org.terasology.reflection.TypeRegistry;
 import org.terasology.registry.CoreRegistry;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,7 +57,9 @@ public class EventSystemReplayImplTest {
     private EventSystem eventSystem;
     private TestEventHandler handler;
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
-
+    private RecordedEventStore eventStore;
+    private RecordAndReplayUtils recordAndReplayUtils;
+    private RecordAndReplaySerializer recordAndReplaySerializer;
 
 
     @BeforeEach
@@ -71,14 +77,15 @@ public void setup() {
         NetworkSystem networkSystem = mock(NetworkSystem.class);
         when(networkSystem.getMode()).thenReturn(NetworkMode.NONE);
         recordAndReplayCurrentStatus = new RecordAndReplayCurrentStatus();
-        RecordedEventStore eventStore = new RecordedEventStore();
-        RecordAndReplayUtils recordAndReplayUtils = new RecordAndReplayUtils();
+        eventStore = new RecordedEventStore();
+        recordAndReplayUtils = new RecordAndReplayUtils();
         CharacterStateEventPositionMap characterStateEventPositionMap = new CharacterStateEventPositionMap();
         DirectionAndOriginPosRecorderList directionAndOriginPosRecorderList = new DirectionAndOriginPosRecorderList();
         ModuleManager moduleManager = mock(ModuleManager.class);
         when(moduleManager.getEnvironment()).thenReturn(mock(ModuleEnvironment.class));
-        RecordAndReplaySerializer recordAndReplaySerializer = new RecordAndReplaySerializer(entityManager, eventStore,
-                recordAndReplayUtils, characterStateEventPositionMap, directionAndOriginPosRecorderList, moduleManager, mock(TypeRegistry.class));
+        recordAndReplaySerializer = new RecordAndReplaySerializer(entityManager, eventStore, recordAndReplayUtils,
+                characterStateEventPositionMap, directionAndOriginPosRecorderList, moduleManager,
+                RecordedEventSerializerTest.createTypeRegistry());
         recordAndReplayCurrentStatus.setStatus(RecordAndReplayStatus.REPLAYING);
         entity = entityManager.create();
         Long id = entity.getId();
@@ -153,6 +160,31 @@ public void testSendingAllowedEventDuringReplay() {
     }
 
 
+    @Test
+    public void testSeekReplaysFromTimestamp(@TempDir Path homePath) throws IOException {
+        PathManager.getInstance().useOverrideHomePath(homePath);
+        recordAndReplayUtils.setGameTitle("Seek");
+        Path recordingPath = PathManager.getInstance().getRecordingPath("Seek");
+        Files.createDirectories(recordingPath);
+        eventStore.popEvents();
+        long id = entity.getId();
+        eventStore.add(new RecordedEvent(id, new RecordedEventSerializerTest.CountedEvent(0), 1000, 1));
+        eventStore.add(new RecordedEvent(id, new RecordedEventSerializerTest.CountedEvent(1), 12000, 2));
+        eventStore.add(new RecordedEvent(id, new RecordedEventSerializerTest.CountedEvent(2), 12100, 3));
+        eventStore.add(new RecordedEvent(id, new RecordedEventSerializerTest.CountedEvent(3), 25000, 4));
+        recordAndReplaySerializer.serializeRecordedEvents(recordingPath.toString());
+        recordAndReplaySerializer.deserializeRecordAndReplayData();
+        assertEquals(3, recordAndReplayUtils.getFileAmount());
+
+        ((EventSystemReplayImpl) eventSystem).seek(12050);
+        long startTime = System.currentTimeMillis();
+        while ((System.currentTimeMillis() - startTime) < 200) {
+            eventSystem.process();
+        }
+        assertEquals(Lists.newArrayList(2), handler.receivedCounts);
+        assertEquals(0, handler.receivedAttackButtonList.size());
+        assertEquals(RecordAndReplayStatus.REPLAYING, recordAndReplayCurrentStatus.getStatus());
+    }
 
     @AfterEach
     public void cleanStates() {
@@ -163,6 +195,7 @@ public static class TestEventHandler extends BaseComponentSystem {
 
         List<Received> receivedAttackButtonList = Lists.newArrayList();
         List<Received> receivedTestEventList = Lists.newArrayList();
+        List<Integer> receivedCounts = Lists.newArrayList();
 
         @ReceiveEvent
         public void handleAttackButtonEvent(AttackButton event, EntityRef entity) {
@@ -173,6 +206,11 @@ public void handleAttackButtonEvent(AttackButton event, EntityRef entity) {
         public void handleTestEvent(TestEvent event, EntityRef entity) {
             receivedTestEventList.add(new Received(event, entity));
         }
+
+        @ReceiveEvent
+        public void handleCountedEvent(RecordedEventSerializerTest.CountedEvent event, EntityRef entity) {
+            receivedCounts.add(event.count);
+        }
     }
 
     public static class Received {
@@ -0,0 +1,117 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.CodedInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.terasology.engine.module.ModuleManager;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.module.ModuleEnvironment;
+import org.terasology.reflection.TypeRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RecordedEventSerializerTest {
+
+    @Test
+    public void testAppendedChunksRoundTrip(@TempDir Path recordingPath) throws IOException {
+        RecordedEventSerializer serializer = createSerializer();
+        List<RecordedEvent> events = Lists.newArrayList();
+        for (int i = 0; i < 30; i++) {
+            events.add(new RecordedEvent(1, new CountedEvent(i), i * 1000L, i));
+        }
+        serializer.appendRecordedEvents(events.subList(0, 15), new RecordingIndex(), recordingPath);
+        serializer.appendRecordedEvents(events.subList(15, 30), new RecordingIndex(), recordingPath);
+
+        RecordingIndex index = serializer.readIndex(recordingPath);
+        assertEquals(4, index.size());
+        assertEquals(10, index.get(0).getEventCount());
+        assertEquals(15000, index.get(2).getFirstTimestamp());
+        List<RecordedEvent> read = Lists.newArrayList();
+        for (int chunk = 0; chunk < index.size(); chunk++) {
+            read.addAll(serializer.deserializeRecordedEvents(recordingPath, index.get(chunk)));
+        }
+        assertEquals(events.size(), read.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i * 1000L, read.get(i).getTimestamp());
+            assertEquals(i, ((CountedEvent) read.get(i).getEvent()).count);
+        }
+    }
+
+    @Test
+    public void testChunksArePrecededByTheirLength(@TempDir Path recordingPath) throws IOException {
+        RecordedEventSerializer serializer = createSerializer();
+        List<RecordedEvent> events = Lists.newArrayList();
+        for (int i = 0; i < 3; i++) {
+            events.add(new RecordedEvent(1, new CountedEvent(i), i * RecordedEventSerializer.CHUNK_DURATION, i));
+        }
+        serializer.appendRecordedEvents(events, new RecordingIndex(), recordingPath);
+
+        RecordingIndex index = serializer.readIndex(recordingPath);
+        try (InputStream input = Files.newInputStream(recordingPath.resolve(RecordedEventSerializer.EVENTS_FILE))) {
+            CodedInputStream codedInput = CodedInputStream.newInstance(input);
+            for (int chunk = 0; chunk < index.size(); chunk++) {
+                int length = codedInput.readRawVarint32();
+                assertEquals(index.get(chunk).getOffset(), codedInput.getTotalBytesRead());
+                assertEquals(index.get(chunk).getLength(), length);
+                codedInput.skipRawBytes(length);
+            }
+            assertTrue(codedInput.isAtEnd());
+        }
+    }
+
+    @Test
+    public void testRejectsJsonRecording(@TempDir Path recordingPath) throws IOException {
+        Files.write(recordingPath.resolve(RecordedEventSerializer.LEGACY_EVENTS_FILE), "[]".getBytes());
+
+        assertThrows(IllegalStateException.class, () -> createSerializer().readIndex(recordingPath));
+    }
+
+    static RecordedEventSerializer createSerializer() {
+        ModuleManager moduleManager = mock(ModuleManager.class);
+        when(moduleManager.getEnvironment()).thenReturn(mock(ModuleEnvironment.class));
+        return new RecordedEventSerializer(mock(EngineEntityManager.class), moduleManager, createTypeRegistry());
+    }
+
+    /**
+     * Creates a type registry that loads any class of the classpath, as the events of the tests are not provided by a
+     * module.
+     */
+    static TypeRegistry createTypeRegistry() {
+        TypeRegistry typeRegistry = mock(TypeRegistry.class);
+        when(typeRegistry.load(anyString())).thenAnswer(invocation -> {
+            try {
+                return Optional.of(Class.forName(invocation.getArgument(0)));
+            } catch (ClassNotFoundException e) {
+                return Optional.empty();
+            }
+        });
+        return typeRegistry;
+    }
+
+    public static class CountedEvent implements Event {
+        public int count;
+
+        public CountedEvent() {
+        }
+
+        public CountedEvent(int count) {
+            this.count = count;
+        }
+    }
+}
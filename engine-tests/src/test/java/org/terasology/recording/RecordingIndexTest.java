@@ -0,0 +1,60 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RecordingIndexTest {
+
+    @Test
+    public void testReadsAppendedEntries(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve(RecordedEventSerializer.INDEX_FILE);
+        RecordingIndex index = new RecordingIndex();
+        index.append(path, new RecordingIndex.Entry(0, 900, 0, 120, 10));
+        index.append(path, new RecordingIndex.Entry(1000, 1500, 120, 80, 5));
+
+        RecordingIndex read = RecordingIndex.read(path);
+        assertEquals(2, read.size());
+        assertEquals(1000, read.get(1).getFirstTimestamp());
+        assertEquals(1500, read.get(1).getLastTimestamp());
+        assertEquals(120, read.get(1).getOffset());
+        assertEquals(80, read.get(1).getLength());
+        assertEquals(5, read.get(1).getEventCount());
+    }
+
+    @Test
+    public void testIgnoresIncompleteLastEntry(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve(RecordedEventSerializer.INDEX_FILE);
+        new RecordingIndex().append(path, new RecordingIndex.Entry(0, 900, 0, 120, 10));
+        try (OutputStream output = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            output.write(new byte[5]);
+        }
+
+        assertEquals(1, RecordingIndex.read(path).size());
+        assertEquals(0, RecordingIndex.read(directory.resolve("missing")).size());
+    }
+
+    @Test
+    public void testFindsChunkOfTimestamp(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve(RecordedEventSerializer.INDEX_FILE);
+        RecordingIndex index = new RecordingIndex();
+        index.append(path, new RecordingIndex.Entry(100, 900, 0, 120, 10));
+        index.append(path, new RecordingIndex.Entry(1000, 1500, 120, 80, 5));
+        index.append(path, new RecordingIndex.Entry(12000, 12000, 200, 20, 1));
+
+        assertEquals(0, index.findChunk(0));
+        assertEquals(0, index.findChunk(999));
+        assertEquals(1, index.findChunk(1000));
+        assertEquals(1, index.findChunk(5000));
+        assertEquals(2, index.findChunk(20000));
+    }
+}
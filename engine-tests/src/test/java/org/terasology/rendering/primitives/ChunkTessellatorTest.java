@@ -0,0 +1,323 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.primitives;
+
+import com.google.common.collect.Maps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
+import org.terasology.math.Region3i;
+import org.terasology.math.Side;
+import org.terasology.math.TeraMath;
+import org.terasology.math.geom.Vector2f;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.ChunkView;
+import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockAppearance;
+import org.terasology.world.block.BlockPart;
+import org.terasology.world.block.shapes.BlockMeshPart;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests greedy meshing on a synthetic view of a slab of 4x4 blocks at height 1, surrounded by air.
+ */
+public class ChunkTessellatorTest {
+
+    private static final float TILE_SIZE = 0.125f;
+    private static final float EPSILON = 1e-4f;
+    private static final int SLAB_SIZE = 4;
+    private static final int MESH_HEIGHT = 4;
+
+    private static final Vector3f UP = new Vector3f(0, 1, 0);
+    private static final Vector3f DOWN = new Vector3f(0, -1, 0);
+    private static final Vector3f LEFT = new Vector3f(-1, 0, 0);
+    private static final Vector3f RIGHT = new Vector3f(1, 0, 0);
+    private static final Vector3f FORWARD = new Vector3f(0, 0, 1);
+    private static final Vector3f BACKWARD = new Vector3f(0, 0, -1);
+
+    private Block air;
+    private Block stone;
+    private Block dirt;
+    private ChunkTessellator tessellator;
+
+    @BeforeEach
+    public void setup() {
+        air = new Block();
+        air.setTranslucent(true);
+        air.setShadowCasting(false);
+        stone = createCube(new Vector2f(0.25f, 0.5f));
+        dirt = createCube(new Vector2f(0.5f, 0.25f));
+        tessellator = new ChunkTessellator(new GLBufferPool(false));
+        tessellator.setGreedyMeshing(true);
+    }
+
+    @Test
+    public void testSlabMergesIntoOneQuadPerSide() {
+        ChunkMesh mesh = tessellator.generateMesh(new SlabView(pos -> stone, pos -> 15), MESH_HEIGHT, 0);
+
+        for (Vector3f normal : new Vector3f[]{UP, DOWN, LEFT, RIGHT, FORWARD, BACKWARD}) {
+            assertEquals(1, countQuads(mesh, normal), "Quads facing " + normal);
+        }
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        assertEquals(6 * 4, elements.vertexCount);
+        float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = 0; i < elements.vertexCount; i++) {
+            assertEquals(ChunkVertexFlag.TILED.getValue(), elements.flags.get(i));
+            for (int axis = 0; axis < 3; axis++) {
+                min[axis] = Math.min(min[axis], elements.vertices.get(i * 3 + axis));
+                max[axis] = Math.max(max[axis], elements.vertices.get(i * 3 + axis));
+            }
+        }
+        assertArrayEquals(new float[]{-0.5f, 0.5f, -0.5f}, min, EPSILON);
+        assertArrayEquals(new float[]{SLAB_SIZE - 0.5f, 1.5f, SLAB_SIZE - 0.5f}, max, EPSILON);
+    }
+
+    @Test
+    public void testLightGradientSplitsFaces() {
+        // The sunlight grows along x, so only the faces of the left and right side have the same light at all corners
+        ChunkMesh mesh = tessellator.generateMesh(new SlabView(pos -> stone, pos -> 5 + pos.x), MESH_HEIGHT, 0);
+
+        assertEquals(SLAB_SIZE * SLAB_SIZE, countQuads(mesh, UP));
+        assertEquals(SLAB_SIZE * SLAB_SIZE, countQuads(mesh, DOWN));
+        assertEquals(SLAB_SIZE, countQuads(mesh, FORWARD));
+        assertEquals(SLAB_SIZE, countQuads(mesh, BACKWARD));
+        assertEquals(1, countQuads(mesh, LEFT));
+        assertEquals(1, countQuads(mesh, RIGHT));
+
+        // Faces that aren't merged with anything are appended like without greedy meshing
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        for (int i = 0; i < elements.vertexCount; i++) {
+            boolean merged = elements.normals.get(i * 3) != 0;
+            int expectedFlag = merged ? ChunkVertexFlag.TILED.getValue() : ChunkVertexFlag.NORMAL.getValue();
+            assertEquals(expectedFlag, elements.flags.get(i));
+        }
+    }
+
+    @Test
+    public void testMixedBlocksSplitFaces() {
+        ChunkMesh mesh = tessellator.generateMesh(new SlabView(pos -> pos.x < SLAB_SIZE / 2 ? stone : dirt, pos -> 15),
+                MESH_HEIGHT, 0);
+
+        assertEquals(2, countQuads(mesh, UP));
+        assertEquals(2, countQuads(mesh, DOWN));
+        assertEquals(2, countQuads(mesh, FORWARD));
+        assertEquals(2, countQuads(mesh, BACKWARD));
+        assertEquals(1, countQuads(mesh, LEFT));
+        assertEquals(1, countQuads(mesh, RIGHT));
+    }
+
+    @Test
+    public void testMergedFacePacksRepeatsIntoTexCoords() {
+        ChunkMesh mesh = new ChunkMesh(null);
+        BlockMeshGeneratorSingleShape generator = (BlockMeshGeneratorSingleShape) stone.getMeshGenerator();
+        generator.appendMergedFace(mesh, Side.TOP, 2, 1, 3, 3, 1, 2);
+
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        assertEquals(4, elements.vertexCount);
+        BlockMeshPart part = stone.getPrimaryAppearance().getPart(BlockPart.TOP);
+        float minU = Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        for (int i = 0; i < part.size(); i++) {
+            minU = Math.min(minU, part.getTexCoord(i).x);
+            minV = Math.min(minV, part.getTexCoord(i).y);
+        }
+        for (int i = 0; i < elements.vertexCount; i++) {
+            float x = elements.vertices.get(i * 3);
+            float y = elements.vertices.get(i * 3 + 1);
+            float z = elements.vertices.get(i * 3 + 2);
+            assertEquals(1.5f, y, EPSILON);
+            assertEquals(x > 3 ? 4.5f : 1.5f, x, EPSILON);
+            assertEquals(z > 4 ? 4.5f : 2.5f, z, EPSILON);
+            // The texture of the top face runs along z for u and along x for v, repeating once per block
+            assertEquals(minU + (z > 4 ? 2 : 0), elements.tex.get(i * 2), EPSILON);
+            assertEquals(minV + (x > 3 ? 3 : 0), elements.tex.get(i * 2 + 1), EPSILON);
+            assertEquals(ChunkVertexFlag.TILED.getValue(), elements.flags.get(i));
+            assertEquals(0, elements.frames.get(i));
+        }
+    }
+
+    private static int countQuads(ChunkMesh mesh, Vector3f normal) {
+        ChunkMesh.VertexElements elements = mesh.getVertexElements(ChunkMesh.RenderType.OPAQUE);
+        int vertices = 0;
+        for (int i = 0; i < elements.vertexCount; i++) {
+            if (elements.normals.get(i * 3) == normal.x && elements.normals.get(i * 3 + 1) == normal.y
+                    && elements.normals.get(i * 3 + 2) == normal.z) {
+                vertices++;
+            }
+        }
+        return vertices / 4;
+    }
+
+    /**
+     * @return an opaque full cube with the texture at the given position of the atlas on all sides
+     */
+    private static Block createCube(Vector2f atlasPos) {
+        Block block = new Block();
+        Map<BlockPart, BlockMeshPart> parts = Maps.newEnumMap(BlockPart.class);
+        Map<BlockPart, Vector2f> atlasPositions = Maps.newEnumMap(BlockPart.class);
+        for (BlockPart part : BlockPart.values()) {
+            atlasPositions.put(part, atlasPos);
+        }
+        for (Side side : Side.getAllSides()) {
+            parts.put(BlockPart.fromSide(side), createFace(side).mapTexCoords(atlasPos, TILE_SIZE, 1));
+            block.setFullSide(side, true);
+        }
+        block.setPrimaryAppearance(new BlockAppearance(parts, atlasPositions));
+        block.setMeshGenerator(new BlockMeshGeneratorSingleShape(block));
+        return block;
+    }
+
+    /**
+     * @return a face of a unit cube, whose texture coordinates run along the two axes following the normal
+     */
+    private static BlockMeshPart createFace(Side side) {
+        Vector3i direction = side.getVector3i();
+        int axis = (direction.x != 0) ? 0 : ((direction.y != 0) ? 1 : 2);
+        float[] corner = new float[3];
+        corner[axis] = 0.5f * (direction.x + direction.y + direction.z);
+        Vector3f[] vertices = new Vector3f[4];
+        Vector3f[] normals = new Vector3f[4];
+        Vector2f[] texCoords = new Vector2f[4];
+        int[][] signs = {{-1, -1}, {1, -1}, {1, 1}, {-1, 1}};
+        for (int i = 0; i < 4; i++) {
+            corner[(axis + 1) % 3] = 0.5f * signs[i][0];
+            corner[(axis + 2) % 3] = 0.5f * signs[i][1];
+            vertices[i] = new Vector3f(corner[0], corner[1], corner[2]);
+            normals[i] = new Vector3f(direction.x, direction.y, direction.z);
+            texCoords[i] = new Vector2f((signs[i][0] + 1) / 2f, (signs[i][1] + 1) / 2f);
+        }
+        return new BlockMeshPart(vertices, normals, texCoords, new int[]{0, 1, 2, 0, 2, 3});
+    }
+
+    /**
+     * A view of a slab at height 1, from 0 to {@link #SLAB_SIZE} on x and z, with air everywhere else.
+     */
+    private class SlabView implements ChunkView {
+
+        private final ToIntFunction<Vector3i> sunlight;
+        private final Map<Vector3i, Block> blocks = Maps.newHashMap();
+
+        SlabView(Function<Vector3i, Block> slab, ToIntFunction<Vector3i> sunlight) {
+            this.sunlight = sunlight;
+            for (int x = 0; x < SLAB_SIZE; x++) {
+                for (int z = 0; z < SLAB_SIZE; z++) {
+                    Vector3i pos = new Vector3i(x, 1, z);
+                    blocks.put(pos, slab.apply(pos));
+                }
+            }
+        }
+
+        @Override
+        public Block getBlock(float x, float y, float z) {
+            return getBlock(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+        }
+
+        @Override
+        public Block getBlock(Vector3i pos) {
+            return blocks.getOrDefault(pos, air);
+        }
+
+        @Override
+        public Block getBlock(int x, int y, int z) {
+            return getBlock(new Vector3i(x, y, z));
+        }
+
+        @Override
+        public byte getSunlight(float x, float y, float z) {
+            return getSunlight(TeraMath.floorToInt(x + 0.5f), TeraMath.floorToInt(y + 0.5f), TeraMath.floorToInt(z + 0.5f));
+        }
+
+        @Override
+        public byte getSunlight(Vector3i pos) {
+            return (byte) sunlight.applyAsInt(pos);
+        }
+
+        @Override
+        public byte getSunlight(int x, int y, int z) {
+            return getSunlight(new Vector3i(x, y, z));
+        }
+
+        @Override
+        public byte getLight(float x, float y, float z) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public byte getLight(int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public void setBlock(Vector3i pos, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, Block type) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getExtraData(int index, int x, int y, int z) {
+            return 0;
+        }
+
+        @Override
+        public int getExtraData(int index, Vector3i pos) {
+            return 0;
+        }
+
+        @Override
+        public void setExtraData(int index, int x, int y, int z, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setExtraData(int index, Vector3i pos, int value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Vector3i toWorldPos(Vector3i localPos) {
+            return new Vector3i(localPos);
+        }
+
+        @Override
+        public Region3i getWorldRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Region3i getChunkRegion() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDirtyAround(Vector3i blockPos) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setDirtyAround(Region3i blockRegion) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isValidView() {
+            return true;
+        }
+    }
+}
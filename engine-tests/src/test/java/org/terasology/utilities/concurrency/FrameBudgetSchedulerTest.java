@@ -0,0 +1,67 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FrameBudgetSchedulerTest {
+
+    @Test
+    public void testEveryCategoryRunsOnceWhenOutOfBudget() {
+        FrameBudgetScheduler scheduler = new FrameBudgetScheduler(0, TimeUnit.MILLISECONDS);
+        List<String> ran = new ArrayList<>();
+        DeferredTaskQueue low = scheduler.addTaskQueue("low", FrameBudgetScheduler.PRIORITY_LOW, 0, TimeUnit.MILLISECONDS);
+        DeferredTaskQueue high = scheduler.addTaskQueue("high", FrameBudgetScheduler.PRIORITY_HIGH, 0, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 3; i++) {
+            low.submit(() -> ran.add("low"));
+            high.submit(() -> ran.add("high"));
+        }
+
+        scheduler.runFrame();
+
+        assertEquals(2, ran.size());
+        assertEquals("high", ran.get(0));
+        assertEquals("low", ran.get(1));
+        assertEquals(4, scheduler.getBacklog());
+        assertEquals(1, scheduler.getCategories().get(0).getFramesBehind());
+    }
+
+    @Test
+    public void testRunAllRunsWorkGivenRiseTo() {
+        FrameBudgetScheduler scheduler = new FrameBudgetScheduler(0, TimeUnit.MILLISECONDS);
+        List<String> ran = new ArrayList<>();
+        DeferredTaskQueue first = scheduler.addTaskQueue("first", FrameBudgetScheduler.PRIORITY_NORMAL, 0, TimeUnit.MILLISECONDS);
+        DeferredTaskQueue second = scheduler.addTaskQueue("second", FrameBudgetScheduler.PRIORITY_HIGH, 0, TimeUnit.MILLISECONDS);
+        first.submit(() -> second.submit(() -> ran.add("second")));
+
+        scheduler.runAll();
+
+        assertEquals(1, ran.size());
+        assertEquals(0, scheduler.getBacklog());
+    }
+
+    @Test
+    public void testOverrunIsCarriedOver() {
+        FrameBudgetScheduler scheduler = new FrameBudgetScheduler(10, TimeUnit.MILLISECONDS);
+        DeferredTaskQueue queue = scheduler.addTaskQueue("slow", FrameBudgetScheduler.PRIORITY_NORMAL, 1, TimeUnit.MILLISECONDS);
+        queue.submit(() -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        scheduler.runFrame();
+
+        FrameBudgetScheduler.Category category = scheduler.getCategories().get(0);
+        assertEquals(1, category.getExecutedLastFrame());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), category.getCarriedOver());
+    }
+}
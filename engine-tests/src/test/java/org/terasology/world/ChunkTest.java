@@ -38,6 +38,9 @@
 import org.terasology.world.chunks.internal.ChunkImpl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ChunkTest extends TerasologyTestingEnvironment {
 
@@ -71,6 +74,48 @@ public void testChangeBlock() {
         assertEquals(solid, chunk.getBlock(new Vector3i(1, 2, 3)));
     }
 
+    @Test
+    public void testChangeVersionOnlyIncreasesWithChanges() {
+        ChunkImpl chunkImpl = (ChunkImpl) chunk;
+        assertEquals(ChunkImpl.NOT_PERSISTED, chunkImpl.getPersistedVersion());
+        int version = chunkImpl.getChangeVersion();
+
+        chunk.setBlock(new Vector3i(1, 2, 3), chunk.getBlock(new Vector3i(1, 2, 3)));
+        assertEquals(version, chunkImpl.getChangeVersion());
+
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        assertNotEquals(version, chunkImpl.getChangeVersion());
+    }
+
+    @Test
+    public void testPinnedVersionIsNotAffectedByLaterChanges() {
+        Block air = chunk.getBlock(new Vector3i(1, 2, 3));
+        Chunk pinned = chunk.pinVersion();
+
+        chunk.setBlock(new Vector3i(1, 2, 3), solid);
+        chunk.setLight(new Vector3i(1, 40, 3), ChunkConstants.MAX_LIGHT);
+
+        assertEquals(air, pinned.getBlock(new Vector3i(1, 2, 3)));
+        assertEquals(0, pinned.getLight(new Vector3i(1, 40, 3)));
+        assertEquals(solid, chunk.pinVersion().getBlock(new Vector3i(1, 2, 3)));
+        assertThrows(UnsupportedOperationException.class, () -> pinned.setBlock(new Vector3i(1, 2, 3), solid));
+    }
+
+    @Test
+    public void testSetDirtyBetweenMarksOnlyTouchedSections() {
+        chunk.setDirty(false);
+
+        chunk.setDirtyBetween(ChunkConstants.SECTION_SIZE_Y + 1, ChunkConstants.SECTION_SIZE_Y + 3);
+        assertEquals(0b10, chunk.getDirtySections());
+
+        chunk.setDirtyBetween(-2, 0);
+        assertEquals(0b11, chunk.clearDirtySections());
+
+        chunk.setDirtyBetween(ChunkConstants.SIZE_Y - 1, ChunkConstants.SIZE_Y + 1);
+        assertEquals(1 << (ChunkConstants.SECTION_COUNT - 1), chunk.clearDirtySections());
+        assertFalse(chunk.isDirty());
+    }
+
     @Test
     public void testGetAabb() {
         assertEquals(new Vector3f(0, 0, 0), chunk.getAABB().getMin());
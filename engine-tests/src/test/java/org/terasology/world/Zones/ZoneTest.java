@@ -17,12 +17,24 @@
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkConstants;
+import org.terasology.world.chunks.CoreChunk;
+import org.terasology.world.generation.Region;
+import org.terasology.world.generation.WorldRasterizer;
 import org.terasology.world.zones.Zone;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class ZoneTest {
 
@@ -49,5 +61,36 @@ public void testGetChildZones() {
         assertEquals(child, zone.getChildZone("Child"));
     }
 
+    @Test
+    public void testNestedZoneOnlyChangesBlocksInAllZones() {
+        Block block = mock(Block.class);
+        CoreChunk chunk = mock(CoreChunk.class);
+        Zone lowZone = new Zone("Low", pos -> pos.y() < 10);
+        Zone edgeZone = new Zone("Edge", pos -> pos.x() == 0);
+        lowZone.addZone(edgeZone);
+        edgeZone.addRasterizer(new WorldRasterizer() {
+            @Override
+            public void initialize() {
+            }
+
+            @Override
+            public void generateChunk(CoreChunk zoneChunk, Region chunkRegion) {
+                for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
+                    for (int y = 0; y < ChunkConstants.SIZE_Y; y++) {
+                        for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
+                            zoneChunk.setBlock(x, y, z, block);
+                        }
+                    }
+                }
+            }
+        });
+
+        lowZone.generateChunk(chunk, null);
+
+        verify(chunk, times(10 * ChunkConstants.SIZE_Z)).setBlock(anyInt(), anyInt(), anyInt(), any(Block.class));
+        verify(chunk, never()).setBlock(eq(1), anyInt(), anyInt(), any(Block.class));
+        verify(chunk, never()).setBlock(anyInt(), eq(10), anyInt(), any(Block.class));
+    }
+
 
 }
@@ -0,0 +1,130 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.collect.Sets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TeraArrayPoolTest {
+
+    private static final int SIZE = 4;
+    private static final int CAPACITY = 2;
+
+    private TeraArrayPool pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = new TeraArrayPool(SIZE, SIZE, SIZE, CAPACITY);
+    }
+
+    @Test
+    public void testRecycledArrayIsReusedAndCleared() {
+        TeraDenseArray16Bit array = pool.createDense16Bit();
+        short[] data = array.data;
+        array.set(1, 2, 3, 42);
+        pool.recycle(array);
+        assertNull(array.data);
+        assertEquals(1, pool.getPooledShortArrays());
+
+        TeraDenseArray16Bit reused = pool.createDense16Bit();
+        assertSame(data, reused.data);
+        assertEquals(0, reused.get(1, 2, 3));
+        assertEquals(0, pool.getPooledShortArrays());
+    }
+
+    @Test
+    public void testRecyclingTwiceReturnsArrayOnce() {
+        TeraDenseArray8Bit array = pool.createDense8Bit();
+        pool.recycle(array);
+        pool.recycle(array);
+        assertEquals(1, pool.getPooledByteArrays());
+    }
+
+    @Test
+    public void testElementTypesArePooledSeparately() {
+        pool.recycle(pool.createDense16Bit());
+        pool.recycle(pool.createDense8Bit());
+        assertEquals(1, pool.getPooledShortArrays());
+        assertEquals(1, pool.getPooledByteArrays());
+
+        TeraDenseArray8Bit array = pool.createDense8Bit();
+        array.set(0, 0, 0, 7);
+        assertEquals(7, array.get(0, 0, 0));
+        assertEquals(1, pool.getPooledShortArrays());
+        assertEquals(0, pool.getPooledByteArrays());
+    }
+
+    @Test
+    public void testArraysOfOtherSizesAreIgnored() {
+        TeraDenseArray16Bit array = new TeraDenseArray16Bit(SIZE, SIZE * 2, SIZE);
+        pool.recycle(array);
+        assertEquals(0, pool.getPooledShortArrays());
+        assertNotNull(array.data);
+
+        pool.recycle(new TeraSparseArray16Bit(SIZE, SIZE, SIZE));
+        assertEquals(0, pool.getPooledShortArrays());
+    }
+
+    @Test
+    public void testPoolRetainsAtMostCapacity() {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            pool.recycle(new TeraDenseArray16Bit(SIZE, SIZE, SIZE));
+        }
+        assertEquals(CAPACITY, pool.getPooledShortArrays());
+
+        short[] first = pool.acquireShortArray();
+        short[] second = pool.acquireShortArray();
+        short[] allocated = pool.acquireShortArray();
+        assertNotSame(first, second);
+        assertEquals(SIZE * SIZE * SIZE, allocated.length);
+        assertEquals(0, pool.getPooledShortArrays());
+    }
+
+    @Test
+    public void testArraysAreNeverHandedOutTwiceConcurrently() throws InterruptedException, ExecutionException {
+        Set<short[]> inUse = Sets.newConcurrentHashSet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Boolean>> tasks = IntStream.range(0, 4).<Callable<Boolean>>mapToObj(thread -> () -> {
+                for (int i = 0; i < 10000; i++) {
+                    TeraDenseArray16Bit array = pool.createDense16Bit();
+                    short[] data = array.data;
+                    if (!inUse.add(data)) {
+                        return false;
+                    }
+                    array.set(0, 0, 0, thread);
+                    if (array.get(0, 0, 0) != thread) {
+                        return false;
+                    }
+                    inUse.remove(data);
+                    pool.recycle(array);
+                }
+                return true;
+            }).collect(Collectors.toList());
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(pool.getPooledShortArrays() <= CAPACITY);
+    }
+}
@@ -31,6 +31,7 @@
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.persistence.ChunkStore;
+import org.terasology.utilities.concurrency.FrameBudgetScheduler;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
@@ -44,6 +45,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -66,6 +68,7 @@ public class LocalChunkProviderTest {
     private BlockEntityRegistry blockEntityRegistry;
     private EntityRef worldEntity;
     private ChunkCache chunkCache;
+    private FrameBudgetScheduler scheduler;
 
     @BeforeEach
     public void setUp() {
@@ -76,8 +79,9 @@ public void setUp() {
         blockEntityRegistry = mock(BlockEntityRegistry.class);
         worldEntity = mock(EntityRef.class);
         chunkCache = new ConcurrentMapChunkCache();
+        scheduler = new FrameBudgetScheduler(10, TimeUnit.MILLISECONDS);
         chunkProvider = new LocalChunkProvider(null,
-                entityManager, null, blockManager, extraDataManager, chunkFinalizer, null, chunkCache);
+                entityManager, null, blockManager, extraDataManager, chunkFinalizer, null, chunkCache, scheduler);
         chunkProvider.setBlockEntityRegistry(blockEntityRegistry);
         chunkProvider.setWorldEntity(worldEntity);
     }
@@ -89,6 +93,7 @@ public void testCompleteUpdateMarksChunkReady() throws Exception {
         when(chunkFinalizer.completeFinalization()).thenReturn(Collections.singletonList(readyChunkInfo));
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         verify(chunk).markReady();
     }
@@ -100,6 +105,7 @@ public void testCompleteUpdateHandlesFinalizedChunkIfReady() throws Exception {
         when(chunkFinalizer.completeFinalization()).thenReturn(Collections.singletonList(readyChunkInfo));
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         final InOrder inOrderVerification = inOrder(worldEntity);
         inOrderVerification.verify(worldEntity).send(any(OnChunkGenerated.class));
@@ -118,6 +124,7 @@ public void testCompleteUpdateGeneratesStoredEntities() throws Exception {
         when(entityManager.create()).thenReturn(mockEntity);
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         verify(mockEntity).addComponent(eq(testComponent));
     }
@@ -135,6 +142,7 @@ public void testCompleteUpdateGeneratesStoredEntitiesFromPrefab() throws Excepti
         when(entityManager.create(any(Prefab.class))).thenReturn(mockEntity);
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         verify(entityManager).create(eq(prefab));
         verify(mockEntity).addComponent(eq(testComponent));
@@ -148,6 +156,7 @@ public void testCompleteUpdateRestoresEntitiesForRestoredChunks() throws Excepti
         when(chunkFinalizer.completeFinalization()).thenReturn(Collections.singletonList(readyChunkInfo));
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         verify(chunkStore).restoreEntities();
     }
@@ -164,6 +173,7 @@ public void testCompleteUpdateSendsBlockAddedEvents() throws Exception {
         when(chunkFinalizer.completeFinalization()).thenReturn(Collections.singletonList(readyChunkInfo));
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         final ArgumentCaptor<Event> eventArgumentCaptor = ArgumentCaptor.forClass(Event.class);
         verify(blockEntity, atLeastOnce()).send(eventArgumentCaptor.capture());
@@ -185,6 +195,7 @@ public void testCompleteUpdateSendsBlockActivatedEvents() throws Exception {
         when(chunkFinalizer.completeFinalization()).thenReturn(Collections.singletonList(readyChunkInfo));
 
         chunkProvider.completeUpdate();
+        scheduler.runAll();
 
         final ArgumentCaptor<Event> eventArgumentCaptor = ArgumentCaptor.forClass(Event.class);
         verify(blockEntity, atLeastOnce()).send(eventArgumentCaptor.capture());
@@ -0,0 +1,102 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChunkGenerationPipelineTest {
+
+    private ChunkGenerationPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        pipeline = new ChunkGenerationPipeline((a, b) -> 0, 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testThreadsAreSplitBetweenStages() {
+        assertEquals(1, ChunkPipelineStage.LOAD.getThreadCount(4));
+        assertEquals(2, ChunkPipelineStage.GENERATE.getThreadCount(4));
+        assertEquals(1, ChunkPipelineStage.LIGHT.getThreadCount(4));
+        assertEquals(1, ChunkPipelineStage.LOAD.getThreadCount(1));
+    }
+
+    @Test
+    public void testFullStageRefusesNewTasks() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(pipeline.offer(new BlockingTask(new Vector3i(i, 0, 0), release, finished)));
+        }
+
+        assertFalse(pipeline.hasCapacity());
+        assertFalse(pipeline.offer(new BlockingTask(Vector3i.zero(), release, finished)));
+
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        waitForStageToDrain(ChunkPipelineStage.LOAD);
+
+        assertTrue(pipeline.hasCapacity());
+        assertEquals(8, getStatistics(ChunkPipelineStage.LOAD).getCompletedTasks());
+    }
+
+    private void waitForStageToDrain(ChunkPipelineStage stage) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (getStatistics(stage).getOccupancy() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private ChunkPipelineStageStatistics getStatistics(ChunkPipelineStage stage) {
+        return pipeline.getStatistics().stream()
+                .filter(statistics -> statistics.getStage() == stage)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static class BlockingTask extends AbstractChunkTask {
+        private final CountDownLatch release;
+        private final CountDownLatch finished;
+
+        BlockingTask(Vector3i position, CountDownLatch release, CountDownLatch finished) {
+            super(position);
+            this.release = release;
+            this.finished = finished;
+        }
+
+        @Override
+        public String getName() {
+            return "Blocking Task";
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.LOAD;
+        }
+
+        @Override
+        public void run() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        }
+    }
+}
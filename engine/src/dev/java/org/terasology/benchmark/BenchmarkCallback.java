@@ -1,38 +0,0 @@
-/*
- * Copyright 2013 MovingBlocks
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package org.terasology.benchmark;
-
-/**
- * BenchmarkCallback allows to watch the progress of the execution of one or many benchmarks.
- *
- */
-public interface BenchmarkCallback {
-
-    void begin(Benchmark benchmark, int benchmarkIndex, int benchmarkCount);
-
-    void warmup(Benchmark benchmark, boolean finished);
-
-    void progress(Benchmark benchmark, double percent);
-
-    void success(BenchmarkResult result);
-
-    void aborted(BenchmarkResult result);
-
-    void error(BenchmarkError.Type type, Exception e, BenchmarkResult result);
-
-    void fatal(Exception e);
-
-}
@@ -19,6 +19,7 @@
 import com.google.common.collect.Lists;
 
 import org.terasology.engine.TerasologyConstants;
+import org.terasology.network.NetworkCompression;
 
 import java.util.Collections;
 import java.util.List;
@@ -49,6 +50,16 @@ public class NetworkConfig {
      */
     private String masterServer = "meta.terasology.org";
 
+    /**
+     * How the server compresses the messages it sends, for clients that support it
+     */
+    private NetworkCompression compression = NetworkCompression.DICTIONARY_FAST;
+
+    /**
+     * Messages smaller than this amount of bytes are sent uncompressed when compressing with a dictionary
+     */
+    private int minCompressedMessageSize = 64;
+
     public void clear() {
         servers.clear();
     }
@@ -96,4 +107,20 @@ public String getMasterServer() {
     public void setMasterServer(String masterServer) {
         this.masterServer = masterServer;
     }
+
+    public NetworkCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(NetworkCompression compression) {
+        this.compression = compression;
+    }
+
+    public int getMinCompressedMessageSize() {
+        return minCompressedMessageSize;
+    }
+
+    public void setMinCompressedMessageSize(int minCompressedMessageSize) {
+        this.minCompressedMessageSize = minCompressedMessageSize;
+    }
 }
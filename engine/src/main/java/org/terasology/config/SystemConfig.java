@@ -31,6 +31,7 @@ public class SystemConfig {
     private boolean monitoringEnabled;
     private boolean writeSaveGamesEnabled;
     private long chunkGenerationFailTimeoutInMs;
+    private int chunkWorkerThreads;
     private String locale;
 
     public long getDayNightLengthInMs() {
@@ -101,6 +102,18 @@ public void setChunkGenerationFailTimeoutInMs(long chunkGenerationFailTimeoutInM
         this.chunkGenerationFailTimeoutInMs = chunkGenerationFailTimeoutInMs;
     }
 
+    /**
+     * @return the number of worker threads of the chunk generation pipeline, or 0 to derive it from the available
+     * processors
+     */
+    public int getChunkWorkerThreads() {
+        return chunkWorkerThreads;
+    }
+
+    public void setChunkWorkerThreads(int chunkWorkerThreads) {
+        this.chunkWorkerThreads = chunkWorkerThreads;
+    }
+
     public Locale getLocale() {
         if (locale == null) {
             setLocale(Locale.getDefault(Category.DISPLAY));
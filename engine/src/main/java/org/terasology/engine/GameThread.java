@@ -15,12 +15,11 @@
  */
 package org.terasology.engine;
 
-import com.google.common.collect.Lists;
-import com.google.common.collect.Queues;
+import org.terasology.utilities.concurrency.DeferredTaskQueue;
+import org.terasology.utilities.concurrency.FrameBudgetScheduler;
 
-import java.util.List;
-import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Information and access to the GameThread - the main thread of Terasology. Certain updates can only occur on the GameThread:
@@ -29,12 +28,21 @@
  * <li>Entity changes</li>
  * <li>Some asset acquisition (if it involves a Display or Audio context)</li>
  * </ul>
- *
+ * Work deferred to the GameThread is run by its {@link FrameBudgetScheduler}, which limits the time spent on it each
+ * frame.
  */
 public final class GameThread {
 
+    /**
+     * The time per frame spent on deferred work, across all its categories.
+     */
+    private static final long DEFERRED_WORK_BUDGET_MS = 10;
+    private static final long PENDING_PROCESSES_BUDGET_MS = 2;
+
     private static volatile Thread gameThread;
-    private static BlockingDeque<Runnable> pendingRunnables = Queues.newLinkedBlockingDeque();
+    private static final FrameBudgetScheduler SCHEDULER = new FrameBudgetScheduler(DEFERRED_WORK_BUDGET_MS, TimeUnit.MILLISECONDS);
+    private static final DeferredTaskQueue PENDING_PROCESSES = SCHEDULER.addTaskQueue("Pending GameThread processes",
+            FrameBudgetScheduler.PRIORITY_HIGH, PENDING_PROCESSES_BUDGET_MS, TimeUnit.MILLISECONDS);
 
     private GameThread() {
     }
@@ -55,7 +63,7 @@ public static boolean isCurrentThread() {
      */
     public static void asynch(Runnable process) {
         if (Thread.currentThread() != gameThread) {
-            pendingRunnables.push(process);
+            PENDING_PROCESSES.submit(process);
         } else {
             process.run();
         }
@@ -71,7 +79,7 @@ public static void asynch(Runnable process) {
     public static void synch(Runnable process) throws InterruptedException {
         if (Thread.currentThread() != gameThread) {
             BlockingProcess blockingProcess = new BlockingProcess(process);
-            pendingRunnables.push(blockingProcess);
+            PENDING_PROCESSES.submit(blockingProcess);
             blockingProcess.waitForCompletion();
         } else {
             process.run();
@@ -79,13 +87,28 @@ public static void synch(Runnable process) throws InterruptedException {
     }
 
     /**
-     * Runs all pending processes submitted from other threads
+     * @return The scheduler of work deferred to the game thread, to which further categories of work can be added
+     */
+    public static FrameBudgetScheduler getScheduler() {
+        return SCHEDULER;
+    }
+
+    /**
+     * Runs pending processes submitted from other threads and other deferred work, as much as fits into the budget
+     * of a frame
      */
     public static void processWaitingProcesses() {
         if (Thread.currentThread() == gameThread) {
-            List<Runnable> processes = Lists.newArrayList();
-            pendingRunnables.drainTo(processes);
-            processes.forEach(Runnable::run);
+            SCHEDULER.runFrame();
+        }
+    }
+
+    /**
+     * Runs all pending processes submitted from other threads and all other deferred work, regardless of the budget
+     */
+    public static void processAllWaitingProcesses() {
+        if (Thread.currentThread() == gameThread) {
+            SCHEDULER.runAll();
         }
     }
 
@@ -94,7 +117,7 @@ public static void processWaitingProcesses() {
      */
     public static void clearWaitingProcesses() {
         if (gameThread == Thread.currentThread()) {
-            pendingRunnables.clear();
+            PENDING_PROCESSES.clear();
         }
     }
 
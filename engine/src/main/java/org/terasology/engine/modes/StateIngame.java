@@ -124,7 +124,7 @@ public void dispose(boolean shuttingDown) {
         networkSystem.shutdown();
         // TODO: Shutdown background threads
         eventSystem.process();
-        GameThread.processWaitingProcesses();
+        GameThread.processAllWaitingProcesses();
         nuiManager.clear();
 
         context.get(AudioManager.class).stopAllSounds();
@@ -56,6 +56,7 @@
 import org.terasology.engine.modes.loadProcesses.SetupLocalPlayer;
 import org.terasology.engine.modes.loadProcesses.SetupRemotePlayer;
 import org.terasology.engine.modes.loadProcesses.StartServer;
+import org.terasology.engine.modes.loadProcesses.WarmUpTypeHandlers;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.game.Game;
 import org.terasology.game.GameManifest;
@@ -161,6 +162,7 @@ private void initClient() {
         loadProcesses.add(new RegisterInputSystem(context));
         loadProcesses.add(new RegisterSystems(context, netMode));
         loadProcesses.add(new InitialiseCommandSystem(context));
+        loadProcesses.add(new WarmUpTypeHandlers(context));
         loadProcesses.add(new InitialiseRemoteWorld(context, gameManifest));
         loadProcesses.add(new InitialisePhysics(context));
         loadProcesses.add(new InitialiseSystems(context));
@@ -184,6 +186,7 @@ private void initHost() {
         loadProcesses.add(new RegisterInputSystem(context));
         loadProcesses.add(new RegisterSystems(context, netMode));
         loadProcesses.add(new InitialiseCommandSystem(context));
+        loadProcesses.add(new WarmUpTypeHandlers(context));
         loadProcesses.add(new LoadExtraBlockData(context));
         loadProcesses.add(new InitialiseWorld(gameManifest, context));
         loadProcesses.add(new RegisterBlockFamilies(context));
@@ -0,0 +1,46 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.engine.modes.loadProcesses;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.terasology.context.Context;
+import org.terasology.engine.modes.SingleStepLoadProcess;
+import org.terasology.entitySystem.metadata.EntitySystemLibrary;
+import org.terasology.reflection.metadata.ClassMetadata;
+
+import java.util.List;
+
+/**
+ * Builds the serializers of all registered component and event types in parallel while loading, so that the first time
+ * an entity or event of each type is stored or sent doesn't have to. The network builds its own serializers, see
+ * {@link org.terasology.network.internal.NetworkSystemImpl}.
+ */
+public class WarmUpTypeHandlers extends SingleStepLoadProcess {
+
+    private final Context context;
+
+    public WarmUpTypeHandlers(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Preparing Serializers...";
+    }
+
+    @Override
+    public boolean step() {
+        EntitySystemLibrary library = context.get(EntitySystemLibrary.class);
+        List<ClassMetadata<?, ?>> types = Lists.newArrayList();
+        Iterables.addAll(types, library.getComponentLibrary());
+        Iterables.addAll(types, library.getEventLibrary());
+        library.getSerializationLibrary().warmUp(types);
+        return true;
+    }
+
+    @Override
+    public int getExpectedCost() {
+        return 1;
+    }
+}
@@ -15,11 +15,14 @@
  */
 package org.terasology.entitySystem.entity;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.MutableComponentContainer;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.EngineEntityPool;
 import org.terasology.entitySystem.entity.internal.EntityInfoComponent;
@@ -32,6 +35,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * An entity builder provides the ability to set up an entity before creating it. This prevents events being sent
@@ -44,6 +48,8 @@ public class EntityBuilder implements MutableComponentContainer {
     private static final Logger logger = LoggerFactory.getLogger(EntityBuilder.class);
 
     private Map<Class<? extends Component>, Component> components = Maps.newHashMap();
+    // Components of the prefab that have not been accessed, which the entity shares with the prefab
+    private Set<Class<? extends Component>> sharedComponents = Sets.newHashSet();
     private EngineEntityPool pool;
     private EngineEntityManager entityManager;
 
@@ -81,7 +87,8 @@ public boolean addPrefab(String prefabName) {
         }
     }
     /**
-     * Adds all of the components from a prefab to this builder
+     * Adds all of the components from a prefab to this builder. The components are not copied until they are accessed,
+     * so the built entity shares the components it does not access with the prefab.
      *
      * @param prefab the prefab to add
      * @return whether the prefab was successfully added
@@ -89,7 +96,8 @@ public boolean addPrefab(String prefabName) {
     public void addPrefab(Prefab prefab) {
         if (prefab != null) {
             for (Component component : prefab.iterateComponents()) {
-                addComponent(entityManager.getComponentLibrary().copy(component));
+                addComponent(component);
+                sharedComponents.add(component.getClass());
             }
             addComponent(new EntityInfoComponent(prefab, prefab.isPersisted(), prefab.isAlwaysRelevant()));
         } else {
@@ -108,7 +116,14 @@ public EntityRef build() {
         }
         long finalId = id.orElse(entityManager.createEntity());
 
-        components.values().forEach(c -> entityManager.getComponentStore().put(finalId, c));
+        ComponentTable componentStore = entityManager.getComponentStore();
+        for (Component component : components.values()) {
+            if (sharedComponents.contains(component.getClass())) {
+                componentStore.putShared(finalId, component);
+            } else {
+                componentStore.put(finalId, component);
+            }
+        }
 
         entityManager.assignToPool(finalId, pool);
 
@@ -121,7 +136,7 @@ public EntityRef build() {
         }
 
         //Retrieve the components again in case they were modified by the previous events
-        for (Component component : entityManager.iterateComponents(entity.getId())) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entity.getId())) {
             entityManager.notifyComponentAdded(entity, component.getClass());
         }
 
@@ -152,12 +167,16 @@ public boolean hasAllComponents(List<Class<? extends Component>> filterComponent
 
     @Override
     public <T extends Component> T getComponent(Class<T> componentClass) {
+        if (sharedComponents.remove(componentClass)) {
+            components.put(componentClass, entityManager.getComponentLibrary().copy(components.get(componentClass)));
+        }
         return componentClass.cast(components.get(componentClass));
     }
 
     @Override
     public <T extends Component> T addComponent(T component) {
         components.put(component.getClass(), component);
+        sharedComponents.remove(component.getClass());
         return component;
     }
 
@@ -169,15 +188,20 @@ public void addComponents(Iterable<? extends Component> components) {
     @Override
     public void removeComponent(Class<? extends Component> componentClass) {
         components.remove(componentClass);
+        sharedComponents.remove(componentClass);
     }
 
     @Override
     public void saveComponent(Component component) {
         components.put(component.getClass(), component);
+        sharedComponents.remove(component.getClass());
     }
 
     @Override
     public Iterable<Component> iterateComponents() {
+        for (Class<? extends Component> componentClass : Lists.newArrayList(sharedComponents)) {
+            getComponent(componentClass);
+        }
         return components.values();
     }
 
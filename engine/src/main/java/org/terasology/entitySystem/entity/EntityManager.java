@@ -27,6 +27,13 @@
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Creates entities and manages their components.
+ * <p>
+ * The entity manager is not thread safe and must only be used from the main thread. This includes reading components:
+ * the first {@link EntityRef#getComponent} of a component an entity still shares with its prefab gives the entity a
+ * copy of its own, which changes the component store.
+ */
 public interface EntityManager extends EntityPool {
 
     /**
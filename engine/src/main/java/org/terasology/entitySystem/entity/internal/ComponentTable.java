@@ -21,21 +21,56 @@
 import gnu.trove.iterator.TLongObjectIterator;
 import gnu.trove.map.TLongObjectMap;
 import gnu.trove.map.hash.TLongObjectHashMap;
+import gnu.trove.procedure.TLongObjectProcedure;
 import gnu.trove.set.TLongSet;
 import gnu.trove.set.hash.TLongHashSet;
 import org.terasology.entitySystem.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 /**
  * A table for storing entities and components. Focused on allowing iteration across a components of a given type
- *
+ * <p>
+ * Entities created from a prefab share the component instances of the prefab until they access them: a shared
+ * component is replaced by a copy of its own the first time it is handed out by a method that allows modifying it.
+ * Methods that only allow reading, like {@link #peek} and {@link #iterateComponentsReadOnly}, hand out shared components
+ * as they are.
+ * <p>
+ * The table is not thread safe. As {@link #get}, {@link #componentIterator} and {@link #iterateComponents} may replace
+ * the component of an entity with a copy, they change the table just like {@link #put} and {@link #remove}, and must
+ * only be called from the main thread like them.
  */
 public class ComponentTable {
     private Map<Class<?>, TLongObjectMap<Component>> store = Maps.newConcurrentMap();
+    private Map<Class<?>, TLongSet> shared = Maps.newConcurrentMap();
+    private final UnaryOperator<Component> copyStrategy;
+
+    /**
+     * @param copyStrategy Copies shared components for the entities that access them
+     */
+    public ComponentTable(UnaryOperator<Component> copyStrategy) {
+        this.copyStrategy = copyStrategy;
+    }
 
     public <T extends Component> T get(long entityId, Class<T> componentClass) {
+        TLongObjectMap<Component> entityMap = store.get(componentClass);
+        if (entityMap != null) {
+            Component component = entityMap.get(entityId);
+            if (component != null && isShared(entityId, componentClass)) {
+                component = unshare(entityId, component, entityMap);
+            }
+            return componentClass.cast(component);
+        }
+        return null;
+    }
+
+    /**
+     * @return the component of the entity, which may be shared with other entities and must not be modified
+     */
+    public <T extends Component> T peek(long entityId, Class<T> componentClass) {
         TLongObjectMap<Component> entityMap = store.get(componentClass);
         if (entityMap != null) {
             return componentClass.cast(entityMap.get(entityId));
@@ -49,9 +84,58 @@ public Component put(long entityId, Component component) {
             entityMap = new TLongObjectHashMap<>();
             store.put(component.getClass(), entityMap);
         }
+        TLongSet sharedIds = shared.get(component.getClass());
+        if (sharedIds != null) {
+            sharedIds.remove(entityId);
+        }
         return entityMap.put(entityId, component);
     }
 
+    /**
+     * Adds a component of a prefab to an entity without copying it. The entity gets a copy of its own once it accesses
+     * the component.
+     *
+     * @param component The component of the prefab, which must not be modified
+     */
+    public void putShared(long entityId, Component component) {
+        put(entityId, component);
+        shared.computeIfAbsent(component.getClass(), k -> new TLongHashSet()).add(entityId);
+    }
+
+    /**
+     * @return the amount of components that are still shared with a prefab
+     */
+    public int getSharedComponentCount() {
+        int count = 0;
+        for (TLongSet sharedIds : shared.values()) {
+            count += sharedIds.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return the amount of components of the type that are still shared with a prefab
+     */
+    public int getSharedComponentCount(Class<? extends Component> componentClass) {
+        TLongSet sharedIds = shared.get(componentClass);
+        return (sharedIds == null) ? 0 : sharedIds.size();
+    }
+
+    /**
+     * @return whether the component of the entity is still shared with a prefab
+     */
+    public boolean isShared(long entityId, Class<?> componentClass) {
+        TLongSet sharedIds = shared.get(componentClass);
+        return sharedIds != null && sharedIds.contains(entityId);
+    }
+
+    private Component unshare(long entityId, Component component, TLongObjectMap<Component> entityMap) {
+        Component copy = copyStrategy.apply(component);
+        entityMap.put(entityId, copy);
+        shared.get(component.getClass()).remove(entityId);
+        return copy;
+    }
+
     /**
      *
      * @return removes the component with the specified class from the entity and returns it.
@@ -60,20 +144,20 @@ public Component put(long entityId, Component component) {
     public <T extends Component> Component remove(long entityId, Class<T> componentClass) {
         TLongObjectMap<Component> entityMap = store.get(componentClass);
         if (entityMap != null) {
-            return entityMap.remove(entityId);
+            Component component = entityMap.get(entityId);
+            if (component != null && isShared(entityId, componentClass)) {
+                component = unshare(entityId, component, entityMap);
+            }
+            entityMap.remove(entityId);
+            return component;
         }
         return null;
     }
 
 
     public List<Component> removeAndReturnComponentsOf(long entityId) {
-        List<Component> componentList = Lists.newArrayList();
-        for (TLongObjectMap<Component> entityMap : store.values()) {
-            Component component = entityMap.remove(entityId);
-            if (component != null) {
-                componentList.add(component);
-            }
-        }
+        List<Component> componentList = getComponentsInNewList(entityId);
+        remove(entityId);
         return componentList;
     }
 
@@ -81,10 +165,35 @@ public void remove(long entityId) {
         for (TLongObjectMap<Component> entityMap : store.values()) {
             entityMap.remove(entityId);
         }
+        for (TLongSet sharedIds : shared.values()) {
+            sharedIds.remove(entityId);
+        }
     }
 
     public void clear() {
         store.clear();
+        shared.clear();
+    }
+
+    /**
+     * @return the types of the components in the table, including types of which all components have been removed
+     */
+    @SuppressWarnings("unchecked")
+    public Set<Class<? extends Component>> getComponentClasses() {
+        return (Set<Class<? extends Component>>) (Set<?>) store.keySet();
+    }
+
+    /**
+     * Passes every component of the type to the procedure without copying shared components, until the procedure
+     * returns false. The components must not be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Component> void forEachComponentReadOnly(Class<T> componentClass,
+                                                              TLongObjectProcedure<? super T> procedure) {
+        TLongObjectMap<Component> entityMap = store.get(componentClass);
+        if (entityMap != null) {
+            entityMap.forEachEntry((TLongObjectProcedure) procedure);
+        }
     }
 
     public int getComponentCount(Class<? extends Component> componentClass) {
@@ -112,16 +221,44 @@ public List<Component> getComponentsInNewList(long entityId) {
         for (TLongObjectMap<Component> componentMap : store.values()) {
             Component comp = componentMap.get(entityId);
             if (comp != null) {
+                if (isShared(entityId, comp.getClass())) {
+                    comp = unshare(entityId, comp, componentMap);
+                }
                 components.add(comp);
             }
         }
         return components;
     }
 
+    /**
+     * @return the components of the entity, which may be shared with other entities and must not be modified
+     */
+    public List<Component> iterateComponentsReadOnly(long entityId) {
+        List<Component> components = Lists.newArrayList();
+        for (TLongObjectMap<Component> componentMap : store.values()) {
+            Component comp = componentMap.get(entityId);
+            if (comp != null) {
+                components.add(comp);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * @return an iterator over the components of the type, which may be modified. Every entity that still shares its
+     *         component of the type with a prefab gets a copy of its own first.
+     */
     public <T extends Component> TLongObjectIterator<T> componentIterator(Class<T> componentClass) {
-        TLongObjectMap<T> entityMap = (TLongObjectMap<T>) store.get(componentClass);
+        TLongObjectMap<Component> entityMap = store.get(componentClass);
         if (entityMap != null) {
-            return entityMap.iterator();
+            // The components are handed out to be modified
+            TLongSet sharedIds = shared.get(componentClass);
+            if (sharedIds != null && !sharedIds.isEmpty()) {
+                for (long entityId : sharedIds.toArray()) {
+                    unshare(entityId, entityMap.get(entityId), entityMap);
+                }
+            }
+            return (TLongObjectIterator<T>) entityMap.iterator();
         }
         return null;
     }
@@ -167,4 +167,15 @@ public interface EngineEntityManager extends LowLevelEntityManager, EngineEntity
      */
     void assignToPool(long entityId, EngineEntityPool pool);
 
+    /**
+     * Iterates over the components of an entity without giving it copies of the components it still shares with its
+     * prefab. The components must not be modified.
+     *
+     * This method is designed for internal use by serializers.
+     *
+     * @param entityId the id of the entity
+     * @return the components of the entity
+     */
+    Iterable<Component> iterateComponentsReadOnly(long entityId);
+
 }
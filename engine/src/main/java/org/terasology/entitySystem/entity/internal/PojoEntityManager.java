@@ -480,8 +480,8 @@ public void setNextId(long id) {
      */
     @Override
     public boolean hasComponent(long entityId, Class<? extends Component> componentClass) {
-        return globalPool.getComponentStore().get(entityId, componentClass) != null
-                || getCurrentWorldPool().getComponentStore().get(entityId, componentClass) != null
+        return globalPool.getComponentStore().peek(entityId, componentClass) != null
+                || getCurrentWorldPool().getComponentStore().peek(entityId, componentClass) != null
                 || sectorManager.hasComponent(entityId, componentClass);
     }
 
@@ -510,6 +510,13 @@ public Iterable<Component> iterateComponents(long entityId) {
                 .orElse(Collections.emptyList());
     }
 
+    @Override
+    public Iterable<Component> iterateComponentsReadOnly(long entityId) {
+        return getPool(entityId)
+                .map(pool -> (Iterable<Component>) pool.getComponentStore().iterateComponentsReadOnly(entityId))
+                .orElse(Collections.emptyList());
+    }
+
     @Override
     public void destroy(long entityId) {
         getPool(entityId).ifPresent(pool -> pool.destroy(entityId));
@@ -517,7 +524,7 @@ public void destroy(long entityId) {
 
     protected void notifyComponentRemovalAndEntityDestruction(long entityId, EntityRef ref) {
         getPool(entityId)
-                .map(pool -> pool.getComponentStore().iterateComponents(entityId))
+                .map(pool -> pool.getComponentStore().iterateComponentsReadOnly(entityId))
                 .orElse(Collections.emptyList())
                 .forEach(comp -> notifyComponentRemoved(ref, comp.getClass()));
 
@@ -47,7 +47,7 @@ public class PojoEntityPool implements EngineEntityPool {
     private static final Logger logger = LoggerFactory.getLogger(PojoEntityPool.class);
 
     private Map<Long, BaseEntityRef> entityStore = new MapMaker().weakValues().concurrencyLevel(4).initialCapacity(1000).makeMap();
-    private ComponentTable componentStore = new ComponentTable();
+    private ComponentTable componentStore = new ComponentTable(component -> entityManager.getComponentLibrary().copy(component));
 
     public PojoEntityPool(PojoEntityManager entityManager) {
         this.entityManager = entityManager;
@@ -318,7 +318,7 @@ public final Iterable<EntityRef> getEntitiesWith(Class<? extends Component>... c
         return () -> entityStore.keySet().stream()
                 //Keep entities which have all of the required components
                 .filter(id -> Arrays.stream(componentClasses)
-                        .allMatch(component -> componentStore.get(id, component) != null))
+                        .allMatch(component -> componentStore.peek(id, component) != null))
                 .map(id -> getEntity(id))
                 .iterator();
     }
@@ -347,7 +347,7 @@ public Iterable<EntityRef> getAllEntities() {
 
     @Override
     public boolean hasComponent(long entityId, Class<? extends Component> componentClass) {
-        return componentStore.get(entityId, componentClass) != null;
+        return componentStore.peek(entityId, componentClass) != null;
     }
 
     @Override
@@ -0,0 +1,149 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.characters;
+
+import org.terasology.math.geom.Vector3f;
+
+/**
+ * The most recent states of a character on the server, oldest first.
+ * <p>
+ * Besides the states themselves, their times, positions and velocities are kept in primitive rings, so that the state
+ * at a time is found by binary search and positions can be looked up without touching the state objects. The times are
+ * kept in order: a state older than the one before it, e.g. from a teleport while input is buffered ahead, counts as
+ * happening at the same time as the one before it.
+ */
+final class CharacterStateHistory {
+
+    private final CharacterStateEvent[] states;
+    private final long[] times;
+    private final float[] positions;
+    private final float[] velocities;
+    private int start;
+    private int size;
+
+    CharacterStateHistory(int capacity) {
+        states = new CharacterStateEvent[capacity];
+        times = new long[capacity];
+        positions = new float[capacity * 3];
+        velocities = new float[capacity * 3];
+    }
+
+    void add(CharacterStateEvent state) {
+        int slot;
+        if (size < states.length) {
+            slot = (start + size) % states.length;
+            size++;
+        } else {
+            slot = start;
+            start = (start + 1) % states.length;
+        }
+        long time = state.getTime();
+        if (size > 1) {
+            time = Math.max(time, times[slot(size - 2)]);
+        }
+        states[slot] = state;
+        times[slot] = time;
+        Vector3f position = state.getPosition();
+        positions[slot * 3] = position.x;
+        positions[slot * 3 + 1] = position.y;
+        positions[slot * 3 + 2] = position.z;
+        Vector3f velocity = state.getVelocity();
+        velocities[slot * 3] = velocity.x;
+        velocities[slot * 3 + 1] = velocity.y;
+        velocities[slot * 3 + 2] = velocity.z;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of the state, 0 being the oldest
+     */
+    CharacterStateEvent get(int index) {
+        return states[slot(index)];
+    }
+
+    CharacterStateEvent getLast() {
+        return get(size - 1);
+    }
+
+    /**
+     * @return the index of the last state at or before the time, or -1 if all states are later
+     */
+    int indexAt(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (times[slot(mid)] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Computes where the character was at a time, interpolating between the states around it or extrapolating the last
+     * state like {@link CharacterMovementSystemUtility#setToExtrapolateState} does.
+     *
+     * @param output The vector to store the position in
+     * @return whether there is a state at or before the time
+     */
+    boolean getPositionAt(long time, Vector3f output) {
+        int index = indexAt(time);
+        if (index < 0) {
+            return false;
+        }
+        int a = slot(index);
+        if (index + 1 < size) {
+            int b = slot(index + 1);
+            float t = (float) (time - times[a]) / (times[b] - times[a]);
+            output.set(positions[a * 3] + t * (positions[b * 3] - positions[a * 3]),
+                    positions[a * 3 + 1] + t * (positions[b * 3 + 1] - positions[a * 3 + 1]),
+                    positions[a * 3 + 2] + t * (positions[b * 3 + 2] - positions[a * 3 + 2]));
+        } else {
+            float t = (time - times[a]) * 0.0001f;
+            output.set(positions[a * 3] + t * velocities[a * 3],
+                    positions[a * 3 + 1] + t * velocities[a * 3 + 1],
+                    positions[a * 3 + 2] + t * velocities[a * 3 + 2]);
+        }
+        return true;
+    }
+
+    /**
+     * @return whether any position the character passed through since the time, including the one at the time, may lie
+     * within the range of a point
+     */
+    boolean mayHaveBeenWithin(long since, Vector3f point, float range) {
+        if (size == 0) {
+            return false;
+        }
+        int first = Math.max(indexAt(since), 0);
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float maxZ = Float.NEGATIVE_INFINITY;
+        for (int i = first; i < size; i++) {
+            int slot = slot(i);
+            minX = Math.min(minX, positions[slot * 3]);
+            minY = Math.min(minY, positions[slot * 3 + 1]);
+            minZ = Math.min(minZ, positions[slot * 3 + 2]);
+            maxX = Math.max(maxX, positions[slot * 3]);
+            maxY = Math.max(maxY, positions[slot * 3 + 1]);
+            maxZ = Math.max(maxZ, positions[slot * 3 + 2]);
+        }
+        float dx = Math.max(0, Math.max(minX - point.x, point.x - maxX));
+        float dy = Math.max(0, Math.max(minY - point.y, point.y - maxY));
+        float dz = Math.max(0, Math.max(minZ - point.z, point.z - maxZ));
+        return dx * dx + dy * dy + dz * dz <= range * range;
+    }
+
+    private int slot(int index) {
+        return (start + index) % states.length;
+    }
+}
@@ -18,6 +18,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.logic.characters.events.FootstepEvent;
 import org.terasology.logic.characters.events.HorizontalCollisionEvent;
 import org.terasology.logic.characters.events.JumpEvent;
@@ -39,6 +40,7 @@
 import org.terasology.world.block.Block;
 
 import java.math.RoundingMode;
+import java.util.List;
 
 /**
  * Calculates character movement using a physics-engine provided CharacterCollider.
@@ -89,6 +91,10 @@ public class KinematicCharacterMover implements CharacterMover {
     private WorldProvider worldProvider;
     private PhysicsEngine physics;
 
+    // Set while stepping without the event system, see stepDeferred
+    private List<Event> deferredEvents;
+    private MovementModifiers modifiers;
+
     public KinematicCharacterMover(WorldProvider wp, PhysicsEngine physicsEngine) {
         this.worldProvider = wp;
         physics = physicsEngine;
@@ -96,7 +102,64 @@ public KinematicCharacterMover(WorldProvider wp, PhysicsEngine physicsEngine) {
 
     @Override
     public CharacterStateEvent step(CharacterStateEvent initial, CharacterMoveInputEvent input, EntityRef entity) {
-        CharacterMovementComponent characterMovementComponent = entity.getComponent(CharacterMovementComponent.class);
+        return step(initial, input, entity, entity.getComponent(CharacterMovementComponent.class));
+    }
+
+    /**
+     * Steps a character like {@link #step(CharacterStateEvent, CharacterMoveInputEvent, EntityRef)}, but without using
+     * the event system, so that several characters can be stepped on different threads while the main thread waits for
+     * them. The events the step sends are added to a list instead, to be sent on the main thread afterwards, and the
+     * values other systems modify through events are taken from modifiers queried beforehand.
+     * <p>
+     * A mover can only step one character at a time.
+     *
+     * @param movementComp The movement component of the character, which the step updates like step does
+     * @param stepModifiers The modifiers queried for the character, see {@link #queryModifiers}
+     * @param events The list to add the events of the step to
+     * @return the new state, or null if the character is no longer in the movement mode the modifiers were queried for
+     */
+    public CharacterStateEvent stepDeferred(CharacterStateEvent initial, CharacterMoveInputEvent input, EntityRef entity,
+                                            CharacterMovementComponent movementComp, MovementModifiers stepModifiers,
+                                            List<Event> events) {
+        if (movementComp.mode != stepModifiers.mode) {
+            return null;
+        }
+        deferredEvents = events;
+        modifiers = stepModifiers;
+        try {
+            return step(initial, input, entity, movementComp);
+        } finally {
+            deferredEvents = null;
+            modifiers = null;
+        }
+    }
+
+    /**
+     * Queries the values other systems modify through events for the next steps of a character, as long as it stays in
+     * its current movement mode. Also takes the position the character follows while it is attached to a parent, so
+     * that the steps don't need to read its components.
+     *
+     * @param jumping Whether one of the next steps may jump
+     */
+    public static MovementModifiers queryModifiers(EntityRef character, CharacterMovementComponent movementComp, boolean jumping) {
+        LocationComponent location = character.getComponent(LocationComponent.class);
+        Vector3f attachedPosition = null;
+        if (location != null && !location.getParent().equals(EntityRef.NULL)) {
+            attachedPosition = location.getWorldPosition();
+        }
+        GetMaxSpeedEvent speedEvent = character.send(new GetMaxSpeedEvent(movementComp.mode.maxSpeed, movementComp.mode));
+        float jumpForce = 0;
+        int numberOfJumpsMax = movementComp.numberOfJumpsMax;
+        if (jumping) {
+            jumpForce = character.send(new AffectJumpForceEvent(movementComp.jumpSpeed)).getResultValue();
+            numberOfJumpsMax = (int) character.send(new AffectMultiJumpEvent(movementComp.baseNumberOfJumpsMax)).getResultValue();
+        }
+        return new MovementModifiers(movementComp.mode, Math.max(0, speedEvent.getResultValue()), jumpForce, numberOfJumpsMax,
+                attachedPosition);
+    }
+
+    private CharacterStateEvent step(CharacterStateEvent initial, CharacterMoveInputEvent input, EntityRef entity,
+                                     CharacterMovementComponent characterMovementComponent) {
         CharacterStateEvent result = new CharacterStateEvent(initial);
         result.setSequenceNumber(input.getSequenceNumber());
         if (worldProvider.isBlockRelevant(initial.getPosition())) {
@@ -124,11 +187,42 @@ public CharacterStateEvent step(CharacterStateEvent initial, CharacterMoveInputE
     }
 
     private float getMaxSpeed(EntityRef character, CharacterMovementComponent characterMovement) {
+        if (modifiers != null) {
+            return modifiers.maxSpeed;
+        }
         GetMaxSpeedEvent speedEvent = new GetMaxSpeedEvent(characterMovement.mode.maxSpeed, characterMovement.mode);
         character.send(speedEvent);
         return Math.max(0, speedEvent.getResultValue());
     }
 
+    private float getJumpForce(EntityRef character, CharacterMovementComponent movementComp) {
+        if (modifiers != null) {
+            return modifiers.jumpForce;
+        }
+        // Send event to allow for other systems to modify the jump force.
+        AffectJumpForceEvent affectJumpForceEvent = new AffectJumpForceEvent(movementComp.jumpSpeed);
+        character.send(affectJumpForceEvent);
+        return affectJumpForceEvent.getResultValue();
+    }
+
+    private int getNumberOfJumpsMax(EntityRef character, CharacterMovementComponent movementComp) {
+        if (modifiers != null) {
+            return modifiers.numberOfJumpsMax;
+        }
+        // Send event to allow for other systems to modify the max number of jumps.
+        AffectMultiJumpEvent affectMultiJumpEvent = new AffectMultiJumpEvent(movementComp.baseNumberOfJumpsMax);
+        character.send(affectMultiJumpEvent);
+        return (int) affectMultiJumpEvent.getResultValue();
+    }
+
+    private void send(EntityRef entity, Event event) {
+        if (deferredEvents != null) {
+            deferredEvents.add(event);
+        } else {
+            entity.send(event);
+        }
+    }
+
     /*
      * Figure out if our position has put us into a new set of blocks and fire the appropriate events.
      */
@@ -142,21 +236,12 @@ private void checkBlockEntry(EntityRef entity, Vector3i oldPosition, Vector3i ne
         if (!oldPosition.equals(newPosition)) {
             int characterHeightInBlocks = (int) Math.ceil(characterHeight);
 
-            // get the old position's blocks
-            Block[] oldBlocks = new Block[characterHeightInBlocks];
-            for (int y = 0; y < characterHeightInBlocks; y++) {
-                oldBlocks[y] = worldProvider.getBlock(oldPosition.x, oldPosition.y + y, oldPosition.z);
-            }
-
-            // get the new position's blocks
-            Block[] newBlocks = new Block[characterHeightInBlocks];
-            for (int y = 0; y < characterHeightInBlocks; y++) {
-                newBlocks[y] = worldProvider.getBlock(newPosition.x, newPosition.y + y, newPosition.z);
-            }
-
+            // look up the old and new block of each column cell directly, without collecting them first
             for (int y = 0; y < characterHeightInBlocks; y++) {
+                Block oldBlock = worldProvider.getBlock(oldPosition.x, oldPosition.y + y, oldPosition.z);
+                Block newBlock = worldProvider.getBlock(newPosition.x, newPosition.y + y, newPosition.z);
                 // send a block enter/leave event for this character
-                entity.send(new OnEnterBlockEvent(oldBlocks[y], newBlocks[y], new Vector3i(0, y, 0)));
+                send(entity, new OnEnterBlockEvent(oldBlock, newBlock, new Vector3i(0, y, 0)));
             }
         }
     }
@@ -336,12 +421,18 @@ private Vector3f extractResidualMovement(Vector3f hitNormal, Vector3f direction,
     }
 
     private void followToParent(final CharacterStateEvent state, EntityRef entity) {
-        LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
-        if (!locationComponent.getParent().equals(EntityRef.NULL)) {
-            Vector3f velocity = new Vector3f(locationComponent.getWorldPosition());
+        Vector3f attachedPosition;
+        if (modifiers != null) {
+            attachedPosition = modifiers.attachedPosition;
+        } else {
+            LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
+            attachedPosition = locationComponent.getParent().equals(EntityRef.NULL) ? null : locationComponent.getWorldPosition();
+        }
+        if (attachedPosition != null) {
+            Vector3f velocity = new Vector3f(attachedPosition);
             velocity.sub(state.getPosition());
             state.getVelocity().set(velocity);
-            state.getPosition().set(locationComponent.getWorldPosition());
+            state.getPosition().set(attachedPosition);
         }
     }
 
@@ -642,7 +733,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
         distanceMoved.sub(state.getPosition());
         state.getPosition().set(moveResult.getFinalPosition());
         if (input.isFirstRun() && distanceMoved.length() > 0) {
-            entity.send(new MovedEvent(new ImmutableVector3f(distanceMoved), new ImmutableVector3f(state.getPosition())));
+            send(entity, new MovedEvent(new ImmutableVector3f(distanceMoved), new ImmutableVector3f(state.getPosition())));
         }
 
         // Upon hitting solid ground, reset the number of jumps back to the maximum value.
@@ -656,7 +747,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
                     Vector3f landVelocity = new Vector3f(state.getVelocity());
                     landVelocity.y += (distanceMoved.y / moveDelta.y) * (endVelocity.y - state.getVelocity().y);
                     logger.debug("Landed at " + landVelocity);
-                    entity.send(new VerticalCollisionEvent(state.getPosition(), landVelocity));
+                    send(entity, new VerticalCollisionEvent(state.getPosition(), landVelocity));
                 }
                 state.setGrounded(true);
                 movementComp.numberOfJumpsLeft = movementComp.numberOfJumpsMax;
@@ -668,18 +759,11 @@ private void walk(final CharacterMovementComponent movementComp, final Character
 
                 state.setGrounded(false);
 
-                // Send event to allow for other systems to modify the jump force.
-                AffectJumpForceEvent affectJumpForceEvent = new AffectJumpForceEvent(movementComp.jumpSpeed);
-                entity.send(affectJumpForceEvent);
-                endVelocity.y += affectJumpForceEvent.getResultValue();
+                endVelocity.y += getJumpForce(entity, movementComp);
                 if (input.isFirstRun()) {
-                    entity.send(new JumpEvent());
+                    send(entity, new JumpEvent());
                 }
-
-                // Send event to allow for other systems to modify the max number of jumps.
-                AffectMultiJumpEvent affectMultiJumpEvent = new AffectMultiJumpEvent(movementComp.baseNumberOfJumpsMax);
-                entity.send(affectMultiJumpEvent);
-                movementComp.numberOfJumpsMax = (int) affectMultiJumpEvent.getResultValue();
+                movementComp.numberOfJumpsMax = getNumberOfJumpsMax(entity, movementComp);
 
                 movementComp.numberOfJumpsLeft--;
             }
@@ -689,7 +773,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
                     Vector3f hitVelocity = new Vector3f(state.getVelocity());
                     hitVelocity.y += (distanceMoved.y / moveDelta.y) * (endVelocity.y - state.getVelocity().y);
                     logger.debug("Hit at " + hitVelocity);
-                    entity.send(new VerticalCollisionEvent(state.getPosition(), hitVelocity));
+                    send(entity, new VerticalCollisionEvent(state.getPosition(), hitVelocity));
                 }
                 endVelocity.y = -0.0f * endVelocity.y;
             }
@@ -698,18 +782,11 @@ private void walk(final CharacterMovementComponent movementComp, final Character
             if (input.isJumpRequested() && movementComp.numberOfJumpsLeft > 0) {
                 state.setGrounded(false);
 
-                // Send event to allow for other systems to modify the jump force.
-                AffectJumpForceEvent affectJumpForceEvent = new AffectJumpForceEvent(movementComp.jumpSpeed);
-                entity.send(affectJumpForceEvent);
-                endVelocity.y += affectJumpForceEvent.getResultValue();
+                endVelocity.y += getJumpForce(entity, movementComp);
                 if (input.isFirstRun()) {
-                    entity.send(new JumpEvent());
+                    send(entity, new JumpEvent());
                 }
-
-                // Send event to allow for other systems to modify the max number of jumps.
-                AffectMultiJumpEvent affectMultiJumpEvent = new AffectMultiJumpEvent(movementComp.baseNumberOfJumpsMax);
-                entity.send(affectMultiJumpEvent);
-                movementComp.numberOfJumpsMax = (int) affectMultiJumpEvent.getResultValue();
+                movementComp.numberOfJumpsMax = getNumberOfJumpsMax(entity, movementComp);
 
                 movementComp.numberOfJumpsLeft--;
             }
@@ -724,7 +801,7 @@ private void walk(final CharacterMovementComponent movementComp, final Character
             hitVelocity.x += (distanceMoved.x / moveDelta.x) * (endVelocity.x - state.getVelocity().x);
             hitVelocity.z += (distanceMoved.z / moveDelta.z) * (endVelocity.z - state.getVelocity().z);
             logger.debug("Hit at " + hitVelocity);
-            entity.send(new HorizontalCollisionEvent(state.getPosition(), hitVelocity));
+            send(entity, new HorizontalCollisionEvent(state.getPosition(), hitVelocity));
         }
         state.getVelocity().set(endVelocity);
         if (state.isGrounded() || movementComp.mode == MovementMode.SWIMMING || movementComp.mode == MovementMode.DIVING) {
@@ -736,11 +813,11 @@ private void walk(final CharacterMovementComponent movementComp, final Character
                     switch (movementComp.mode) {
                         case CROUCHING:
                         case WALKING:
-                            entity.send(new FootstepEvent());
+                            send(entity, new FootstepEvent());
                             break;
                         case DIVING:
                         case SWIMMING:
-                            entity.send(new SwimStrokeEvent(worldProvider.getBlock(state.getPosition())));
+                            send(entity, new SwimStrokeEvent(worldProvider.getBlock(state.getPosition())));
                             break;
                         case CLIMBING:
                         case FLYING:
@@ -817,6 +894,27 @@ private void climb(final CharacterStateEvent state, CharacterMoveInputEvent inpu
         }
     }
 
+    /**
+     * The values other systems modify through events for the steps of a character in a movement mode.
+     */
+    public static final class MovementModifiers {
+        private final MovementMode mode;
+        private final float maxSpeed;
+        private final float jumpForce;
+        private final int numberOfJumpsMax;
+        // The world position of a character attached to a parent, which it follows, or null
+        private final Vector3f attachedPosition;
+
+        private MovementModifiers(MovementMode mode, float maxSpeed, float jumpForce, int numberOfJumpsMax,
+                                  Vector3f attachedPosition) {
+            this.mode = mode;
+            this.maxSpeed = maxSpeed;
+            this.jumpForce = jumpForce;
+            this.numberOfJumpsMax = numberOfJumpsMax;
+            this.attachedPosition = attachedPosition;
+        }
+    }
+
     /**
      * Holds the result of movement.
      */
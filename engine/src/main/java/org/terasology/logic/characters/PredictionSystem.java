@@ -32,4 +32,11 @@ public interface PredictionSystem {
     void lagCompensate(EntityRef client, long timeMs);
 
     void restoreToPresent();
+
+    /**
+     * Brings the characters up to date with all movement input received so far. Called before an event received from a
+     * client is processed, so that the event sees the characters where their inputs have moved them.
+     */
+    default void stepPendingInputs() {
+    }
 }
@@ -16,13 +16,16 @@
 
 package org.terasology.logic.characters;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.event.Event;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterMode;
@@ -32,6 +35,7 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkSystem;
 import org.terasology.physics.engine.CharacterCollider;
 import org.terasology.physics.engine.PhysicsEngine;
@@ -40,10 +44,16 @@
 import org.terasology.recording.RecordAndReplayStatus;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
-import org.terasology.utilities.collection.CircularBuffer;
 import org.terasology.world.WorldProvider;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(PredictionSystem.class)
@@ -80,22 +90,42 @@ public class ServerCharacterPredictionSystem extends BaseComponentSystem impleme
     private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
 
     private CharacterMover characterMover;
-    private Map<EntityRef, CircularBuffer<CharacterStateEvent>> characterStates = Maps.newHashMap();
+    private Map<EntityRef, CharacterStateHistory> characterStates = Maps.newHashMap();
     private Map<EntityRef, CharacterMoveInputEvent> lastInputEvent = Maps.newHashMap();
+    private List<PendingInput> pendingInputs = Lists.newArrayList();
+    private List<EntityRef> lagCompensated = Lists.newArrayList();
+    private EntityRef lagCompensatedClient = EntityRef.NULL;
     private long nextSendState;
     private CharacterMovementSystemUtility characterMovementSystemUtility;
+    private ExecutorService stepExecutor;
 
     @Override
     public void initialise() {
         characterMover = new KinematicCharacterMover(worldProvider, physics);
         nextSendState = time.getGameTimeInMs() + TIME_BETWEEN_STATE_REPLICATE;
         characterMovementSystemUtility = new CharacterMovementSystemUtility(physics);
+        stepExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("Character mover %d")
+                        .setDaemon(true)
+                        .build());
+    }
+
+    @Override
+    public void shutdown() {
+        stepExecutor.shutdownNow();
+    }
+
+    // ONLY use this for testing. DO NOT use this during regular usage.
+    void setStepExecutor(ExecutorService executor) {
+        stepExecutor.shutdownNow();
+        stepExecutor = executor;
     }
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onCreate(final OnActivatedComponent event, final EntityRef entity) {
         physics.getCharacterCollider(entity);
-        CircularBuffer<CharacterStateEvent> stateBuffer = CircularBuffer.create(BUFFER_SIZE);
+        CharacterStateHistory stateBuffer = new CharacterStateHistory(BUFFER_SIZE);
         stateBuffer.add(createInitialState(entity));
         characterStates.put(entity, stateBuffer);
     }
@@ -109,7 +139,8 @@ public void onDestroy(final BeforeDeactivateComponent event, final EntityRef ent
 
     @ReceiveEvent(components = {AliveCharacterComponent.class})
     public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef character, CharacterMovementComponent movementComponent) {
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(character);
+        stepPendingInputs();
+        CharacterStateHistory stateBuffer = characterStates.get(character);
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setSequenceNumber(lastState.getSequenceNumber());
@@ -122,6 +153,10 @@ public void onSetMovementModeEvent(SetMovementModeEvent event, EntityRef charact
         characterMovementSystemUtility.setToState(character, newState);
     }
 
+    /**
+     * Queues the input of a remote character, to be stepped along with the inputs of the other characters on the next
+     * update. The input of the local player is stepped right away.
+     */
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
         CharacterCollider characterCollider = physics.getCharacterCollider(entity);
@@ -129,32 +164,130 @@ public void onPlayerInput(CharacterMoveInputEvent input, EntityRef entity) {
             logger.debug("Skipping input, collision not yet established");
             return;
         }
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
-        CharacterStateEvent lastState = stateBuffer.getLast();
+        if (entity.equals(localPlayer.getCharacterEntity())) {
+            stepPendingInputs();
+            stepInput(input, entity);
+        } else {
+            pendingInputs.add(new PendingInput(entity, input));
+        }
+    }
+
+    /**
+     * Steps the queued inputs. The characters are stepped in parallel, each on its own on a worker thread, while the
+     * main thread waits, so that the world and the entities do not change meanwhile. The workers only sweep the
+     * colliders of the characters, see {@link CharacterCollider#sweep}, and read the blocks of the world. Everything
+     * they need from the components of the characters is taken on the main thread beforehand.
+     * <p>
+     * The events of the steps are collected, and the results are then applied and their events sent on the main thread
+     * in the order the inputs were received. Inputs that would need to query other systems again, because the character
+     * changed its movement mode, are stepped on the main thread at that point.
+     */
+    @Override
+    public void stepPendingInputs() {
+        if (pendingInputs.isEmpty()) {
+            return;
+        }
+        Map<EntityRef, CharacterMoves> moves = Maps.newLinkedHashMap();
+        for (PendingInput pending : pendingInputs) {
+            CharacterMoves characterMoves = moves.get(pending.entity);
+            if (characterMoves == null) {
+                CharacterStateHistory history = characterStates.get(pending.entity);
+                CharacterMovementComponent movementComp = pending.entity.getComponent(CharacterMovementComponent.class);
+                if (history == null || movementComp == null) {
+                    continue;
+                }
+                characterMoves = new CharacterMoves(pending.entity, history.getLast(), movementComp);
+                moves.put(pending.entity, characterMoves);
+            }
+            characterMoves.inputs.add(pending);
+        }
+        for (CharacterMoves characterMoves : moves.values()) {
+            characterMoves.queryModifiers();
+        }
+        if (moves.size() > 1) {
+            stepInParallel(moves.values());
+        } else {
+            moves.values().forEach(CharacterMoves::step);
+        }
+
+        List<PendingInput> inputs = Lists.newArrayList(pendingInputs);
+        pendingInputs.clear();
+        for (PendingInput pending : inputs) {
+            if (!characterStates.containsKey(pending.entity)) {
+                continue;
+            }
+            if (!pending.stepped) {
+                stepInput(pending.input, pending.entity);
+            } else if (pending.result != null) {
+                for (Event event : pending.events) {
+                    pending.entity.send(event);
+                }
+                applyState(pending.input, pending.entity, pending.result);
+            }
+        }
+    }
+
+    /**
+     * Steps the moves of several characters on the step executor, and waits for all of them. Inputs a worker failed to
+     * step are left to the main thread.
+     */
+    private void stepInParallel(Collection<CharacterMoves> moves) {
+        List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(moves.size());
+        for (CharacterMoves characterMoves : moves) {
+            tasks.add(() -> {
+                characterMoves.step();
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : stepExecutor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    logger.error("Failed to step character inputs", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stepInput(CharacterMoveInputEvent input, EntityRef entity) {
+        CharacterStateEvent lastState = characterStates.get(entity).getLast();
+        if (isInputAccepted(input, lastState, entity)) {
+            applyState(input, entity, stepState(input, lastState, entity));
+        }
+    }
+
+    private boolean isInputAccepted(CharacterMoveInputEvent input, CharacterStateEvent lastState, EntityRef entity) {
         float delta = input.getDeltaMs() + lastState.getTime() - (time.getGameTimeInMs() + MAX_INPUT_OVERFLOW );
         if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.REPLAYING) {
             delta -= MAX_INPUT_OVERFLOW_REPLAY_INCREASE;
         }
-        if (delta < 0) {
-            CharacterStateEvent newState = stepState(input, lastState, entity);
-            stateBuffer.add(newState);
-
-            if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.REPLAYING)  {
-                characterStateEventPositionMap.updateCharacterStateEvent(newState);
-            } else if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.RECORDING) {
-                characterStateEventPositionMap.add(newState.getSequenceNumber(), newState.getPosition(), newState.getVelocity());
-            }
-
-            characterMovementSystemUtility.setToState(entity, newState);
-            lastInputEvent.put(entity, input);
-        } else {
+        if (delta >= 0) {
             logger.warn("Received too much input from {}, dropping input. Delta difference: {}", entity, delta);
+            return false;
+        }
+        return true;
+    }
+
+    private void applyState(CharacterMoveInputEvent input, EntityRef entity, CharacterStateEvent newState) {
+        characterStates.get(entity).add(newState);
+
+        if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.REPLAYING)  {
+            characterStateEventPositionMap.updateCharacterStateEvent(newState);
+        } else if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.RECORDING) {
+            characterStateEventPositionMap.add(newState.getSequenceNumber(), newState.getPosition(), newState.getVelocity());
         }
+
+        characterMovementSystemUtility.setToState(entity, newState);
+        lastInputEvent.put(entity, input);
     }
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
+        stepPendingInputs();
+        CharacterStateHistory stateBuffer = characterStates.get(entity);
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setPosition(new Vector3f(event.getTargetPosition()));
@@ -166,9 +299,10 @@ public void onTeleport(CharacterTeleportEvent event, EntityRef entity) {
 
     @ReceiveEvent(components = {CharacterMovementComponent.class, LocationComponent.class, AliveCharacterComponent.class})
     public void onImpulse(CharacterImpulseEvent event, EntityRef entity) {
+        stepPendingInputs();
         Vector3f impulse = event.getDirection();
 
-        CircularBuffer<CharacterStateEvent> stateBuffer = characterStates.get(entity);
+        CharacterStateHistory stateBuffer = characterStates.get(entity);
         CharacterStateEvent lastState = stateBuffer.getLast();
         CharacterStateEvent newState = new CharacterStateEvent(lastState);
         newState.setVelocity(impulse.add(newState.getVelocity()));
@@ -189,9 +323,10 @@ private CharacterStateEvent stepState(CharacterMoveInputEvent input, CharacterSt
 
     @Override
     public void update(float delta) {
+        stepPendingInputs();
         if (nextSendState < time.getGameTimeInMs()) {
             long lastSendTime = nextSendState - TIME_BETWEEN_STATE_REPLICATE;
-            for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
+            for (Map.Entry<EntityRef, CharacterStateHistory> entry : characterStates.entrySet()) {
                 if (entry.getValue().size() > 0) {
                     CharacterStateEvent state = entry.getValue().getLast();
                     if (state.getTime() >= lastSendTime) {
@@ -210,7 +345,7 @@ public void update(float delta) {
             nextSendState += TIME_BETWEEN_STATE_REPLICATE;
         }
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
+        for (Map.Entry<EntityRef, CharacterStateHistory> entry : characterStates.entrySet()) {
             if (entry.getKey().equals(localPlayer.getCharacterEntity())) {
                 continue;
             }
@@ -219,42 +354,134 @@ public void update(float delta) {
         }
     }
 
-    private void setToTime(long renderTime, EntityRef entity, CircularBuffer<CharacterStateEvent> buffer) {
-        CharacterStateEvent previous = null;
-        CharacterStateEvent next = null;
-        for (CharacterStateEvent state : buffer) {
-            if (state.getTime() <= renderTime) {
-                previous = state;
+    private void setToTime(long renderTime, EntityRef entity, CharacterStateHistory history) {
+        int index = history.indexAt(renderTime);
+        if (index >= 0) {
+            if (index + 1 < history.size()) {
+                characterMovementSystemUtility.setToInterpolateState(entity, history.get(index), history.get(index + 1), renderTime);
             } else {
-                next = state;
-                break;
-            }
-        }
-        if (previous != null) {
-            if (next != null) {
-                characterMovementSystemUtility.setToInterpolateState(entity, previous, next, renderTime);
-            } else {
-                characterMovementSystemUtility.setToExtrapolateState(entity, previous, renderTime);
+                characterMovementSystemUtility.setToExtrapolateState(entity, history.get(index), renderTime);
             }
         }
     }
 
+    /**
+     * Moves the characters of the client to their latest state, and the colliders of the other characters that may
+     * have been within interaction range of them to where the client saw them. Only the colliders are moved, so that
+     * hit checks see the past while the components stay as they are.
+     */
     @Override
     public void lagCompensate(EntityRef client, long timeMs) {
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            if (networkSystem.getOwnerEntity(entry.getKey()).equals(client)) {
-                characterMovementSystemUtility.setToState(entry.getKey(), entry.getValue().getLast());
-            } else {
-                setToTime(timeMs - RENDER_DELAY, entry.getKey(), entry.getValue());
+        stepPendingInputs();
+        long rewindTime = timeMs - RENDER_DELAY;
+        Vector3f queryPosition = null;
+        float queryRange = 0;
+        ClientComponent clientComponent = client.getComponent(ClientComponent.class);
+        if (clientComponent != null) {
+            CharacterStateHistory history = characterStates.get(clientComponent.character);
+            CharacterComponent character = clientComponent.character.getComponent(CharacterComponent.class);
+            if (history != null && character != null) {
+                queryPosition = history.getLast().getPosition();
+                queryRange = character.interactionRange;
+            }
+        }
+
+        Vector3f position = new Vector3f();
+        for (Map.Entry<EntityRef, CharacterStateHistory> entry : characterStates.entrySet()) {
+            EntityRef entity = entry.getKey();
+            CharacterStateHistory history = entry.getValue();
+            if (networkSystem.getOwnerEntity(entity).equals(client)) {
+                characterMovementSystemUtility.setToState(entity, history.getLast());
+                continue;
+            }
+            if (queryPosition != null) {
+                CharacterMovementComponent movement = entity.getComponent(CharacterMovementComponent.class);
+                float size = movement != null ? movement.height + movement.radius : 0;
+                if (!history.mayHaveBeenWithin(rewindTime, queryPosition, queryRange + size)) {
+                    continue;
+                }
+            }
+            if (history.getPositionAt(rewindTime, position)) {
+                physics.getCharacterCollider(entity).setLocation(position);
+                lagCompensated.add(entity);
             }
         }
+        lagCompensatedClient = client;
     }
 
     @Override
     public void restoreToPresent() {
         long renderTime = time.getGameTimeInMs() - RENDER_DELAY;
-        for (Map.Entry<EntityRef, CircularBuffer<CharacterStateEvent>> entry : characterStates.entrySet()) {
-            setToTime(renderTime, entry.getKey(), entry.getValue());
+        for (Map.Entry<EntityRef, CharacterStateHistory> entry : characterStates.entrySet()) {
+            if (networkSystem.getOwnerEntity(entry.getKey()).equals(lagCompensatedClient)) {
+                setToTime(renderTime, entry.getKey(), entry.getValue());
+            }
+        }
+        for (EntityRef entity : lagCompensated) {
+            LocationComponent location = entity.getComponent(LocationComponent.class);
+            if (location != null && entity.exists()) {
+                physics.getCharacterCollider(entity).setLocation(location.getWorldPosition());
+            }
+        }
+        lagCompensated.clear();
+        lagCompensatedClient = EntityRef.NULL;
+    }
+
+    private static final class PendingInput {
+        private final EntityRef entity;
+        private final CharacterMoveInputEvent input;
+        private final List<Event> events = Lists.newArrayList();
+        private boolean stepped;
+        private CharacterStateEvent result;
+
+        private PendingInput(EntityRef entity, CharacterMoveInputEvent input) {
+            this.entity = entity;
+            this.input = input;
+        }
+    }
+
+    /**
+     * The queued inputs of a character, which are stepped one after another on the same thread.
+     */
+    private final class CharacterMoves {
+        private final EntityRef entity;
+        private final CharacterStateEvent initial;
+        private final CharacterMovementComponent movementComp;
+        private final List<PendingInput> inputs = Lists.newArrayList();
+        private KinematicCharacterMover.MovementModifiers modifiers;
+
+        private CharacterMoves(EntityRef entity, CharacterStateEvent initial, CharacterMovementComponent movementComp) {
+            this.entity = entity;
+            this.initial = initial;
+            this.movementComp = movementComp;
+        }
+
+        private void queryModifiers() {
+            boolean jumping = inputs.stream().anyMatch(pending -> pending.input.isJumpRequested());
+            modifiers = KinematicCharacterMover.queryModifiers(entity, movementComp, jumping);
+        }
+
+        private void step() {
+            KinematicCharacterMover mover = new KinematicCharacterMover(worldProvider, physics);
+            CharacterStateEvent lastState = initial;
+            for (PendingInput pending : inputs) {
+                if (!isInputAccepted(pending.input, lastState, entity)) {
+                    pending.stepped = true;
+                    continue;
+                }
+                CharacterStateEvent result = mover.stepDeferred(lastState, pending.input, entity, movementComp, modifiers, pending.events);
+                if (result == null) {
+                    return;
+                }
+                pending.stepped = true;
+                pending.result = result;
+                // What setToState would do to the movement component before the next step
+                movementComp.mode = result.getMode();
+                movementComp.setVelocity(result.getVelocity());
+                movementComp.grounded = result.isGrounded();
+                movementComp.footstepDelta = result.getFootstepDelta();
+                lastState = result;
+            }
         }
     }
 }
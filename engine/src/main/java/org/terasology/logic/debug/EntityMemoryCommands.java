@@ -0,0 +1,84 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.debug;
+
+import org.terasology.engine.paths.PathManager;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.monitoring.entity.EntityMemoryMonitor;
+import org.terasology.monitoring.entity.EntityMemoryReport;
+import org.terasology.registry.In;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commands to find out which component types, prefabs and modules use the heap of the entity system. Also makes the
+ * reports requested by the advanced monitor.
+ */
+@RegisterSystem
+public class EntityMemoryCommands extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final int DEFAULT_LISTED_ENTRIES = 10;
+
+    @In
+    private EntityManager entityManager;
+
+    @Override
+    public void update(float delta) {
+        if (EntityMemoryMonitor.takeSampleRequest()) {
+            EntityMemoryMonitor.sample((EngineEntityManager) entityManager);
+        }
+    }
+
+    @Command(shortDescription = "Estimates the heap used by the entities",
+            helpText = "Lists the component types, prefabs and modules whose components use the most heap, "
+                    + "estimated from a sample of the components of every type",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String entityMemory(@CommandParam(value = "entries", required = false) Integer entries) {
+        int listed = (entries != null) ? entries : DEFAULT_LISTED_ENTRIES;
+        EntityMemoryReport report = EntityMemoryMonitor.sample((EngineEntityManager) entityManager);
+        StringBuilder result = new StringBuilder();
+        double samplingMillis = report.getSamplingNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        result.append(String.format(Locale.ROOT, "Estimated %s in %.1fms", formatBytes(report.getTotalEstimatedBytes()),
+                samplingMillis));
+        append(result, "Component types", report.getComponentTypes(), listed);
+        append(result, "Prefabs", report.getPrefabs(), listed);
+        append(result, "Modules", report.getModules(), listed);
+        return result.toString();
+    }
+
+    @Command(shortDescription = "Writes an estimate of the heap used by the entities to a file",
+            helpText = "Estimates the heap used by every component type, prefab and module, and writes it as comma "
+                    + "separated values to a file in the log directory",
+            runOnServer = true, requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String exportEntityMemory() throws IOException {
+        EntityMemoryReport report = EntityMemoryMonitor.sample((EngineEntityManager) entityManager);
+        String timestamp = new SimpleDateFormat("yyMMddHHmmss").format(new Date(report.getTime()));
+        Path path = PathManager.getInstance().getLogPath().resolve("entity-memory-" + timestamp + ".csv");
+        report.write(path);
+        return "Wrote the estimate of " + formatBytes(report.getTotalEstimatedBytes()) + " to " + path;
+    }
+
+    private static void append(StringBuilder result, String title, List<EntityMemoryReport.Entry> entries, int listed) {
+        result.append("\n").append(title).append(":");
+        for (EntityMemoryReport.Entry entry : entries.subList(0, Math.min(Math.max(listed, 0), entries.size()))) {
+            result.append(String.format(Locale.ROOT, "\n  %s: %s (%d, %d shared)", entry.getName(),
+                    formatBytes(entry.getEstimatedBytes()), entry.getCount(), entry.getSharedCount()));
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024.0);
+    }
+}
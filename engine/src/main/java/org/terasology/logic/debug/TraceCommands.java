@@ -0,0 +1,66 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.debug;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.paths.PathManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.monitoring.trace.CapturedTrace;
+import org.terasology.monitoring.trace.SpanTracer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commands to record what the threads of the engine spend their time on.
+ */
+@RegisterSystem
+public class TraceCommands extends BaseComponentSystem {
+    private static final Logger logger = LoggerFactory.getLogger(TraceCommands.class);
+    private static final int MAX_CAPTURE_SECONDS = 60;
+
+    @Command(shortDescription = "Captures a trace of the activities of all threads",
+            helpText = "Records the performance monitor and thread monitor activities of all threads for the given "
+                    + "number of seconds, and writes them to a file in the log directory that can be opened with "
+                    + "chrome://tracing",
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String captureTrace(@CommandParam("seconds") int seconds) {
+        if (seconds <= 0 || seconds > MAX_CAPTURE_SECONDS) {
+            return "The duration must be between 1 and " + MAX_CAPTURE_SECONDS + " seconds";
+        }
+        if (SpanTracer.isRecording()) {
+            return "A trace is being captured already";
+        }
+        String timestamp = new SimpleDateFormat("yyMMddHHmmss").format(new Date());
+        Path path = PathManager.getInstance().getLogPath().resolve("trace-" + timestamp + ".json");
+
+        SpanTracer.startCapture();
+        Thread captureThread = new Thread(() -> finishCapture(seconds, path), "Trace-Capture");
+        captureThread.setDaemon(true);
+        captureThread.start();
+        return "Capturing a trace for " + seconds + " seconds into " + path;
+    }
+
+    private static void finishCapture(int seconds, Path path) {
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        CapturedTrace trace = SpanTracer.stopCapture();
+        try {
+            trace.writeChromeTrace(path);
+            logger.info("Wrote trace of {} events on {} threads to {}", trace.getEventCount(), trace.getThreadCount(), path);
+        } catch (IOException e) {
+            logger.error("Failed to write trace to {}", path, e);
+        }
+    }
+}
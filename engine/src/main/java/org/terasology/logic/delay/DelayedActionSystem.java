@@ -15,9 +15,6 @@
  */
 package org.terasology.logic.delay;
 
-import com.google.common.collect.Ordering;
-import com.google.common.collect.SortedSetMultimap;
-import com.google.common.collect.TreeMultimap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.Time;
@@ -29,16 +26,23 @@
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.persistence.event.BeforeEntityStore;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Provides support for scheduling events that will trigger at some point in the future.
+ * <p>
+ * The schedule is kept in a {@link TimingWheel}. The {@link DelayedActionComponent} and {@link PeriodicActionComponent}
+ * of an entity are only brought up to date when it gets saved, stored or deactivated, not every time one of its
+ * actions triggers.
  */
 @RegisterSystem(RegisterMode.AUTHORITY)
 @Share(value = DelayManager.class)
@@ -48,8 +52,13 @@ public class DelayedActionSystem extends BaseComponentSystem implements UpdateSu
     @In
     private Time time;
 
-    private SortedSetMultimap<Long, EntityRef> delayedOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
-    private SortedSetMultimap<Long, EntityRef> periodicOperationsSortedByTime = TreeMultimap.create(Ordering.natural(), Ordering.arbitrary());
+    private TimingWheel<ScheduledAction> timingWheel;
+    private final Map<EntityRef, Map<String, TimingWheel.Timer<ScheduledAction>>> delayedActions = new HashMap<>();
+    private final Map<EntityRef, Map<String, TimingWheel.Timer<ScheduledAction>>> periodicActions = new HashMap<>();
+    // Entities whose components don't match the schedule anymore
+    private final Set<EntityRef> dirtyDelayedEntities = new HashSet<>();
+    private final Set<EntityRef> dirtyPeriodicEntities = new HashSet<>();
+    private final List<TimingWheel.Timer<ScheduledAction>> expiredTimers = new ArrayList<>();
 
     // ONLY use this for testing. DO NOT use this during regular usage.
     void setTime(Time t) {
@@ -59,121 +68,117 @@ void setTime(Time t) {
     @Override
     public void update(float delta) {
         final long currentWorldTime = time.getGameTimeInMs();
-        invokeDelayedOperations(currentWorldTime);
-        invokePeriodicOperations(currentWorldTime);
-    }
-
-    private void invokeDelayedOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = delayedOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(delayedOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+        getTimingWheel().advance(currentWorldTime, expiredTimers);
+        for (TimingWheel.Timer<ScheduledAction> timer : expiredTimers) {
+            invokeAction(timer, currentWorldTime);
         }
-
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(delayedEntity -> {
-            final DelayedActionComponent delayedActions = delayedEntity.getComponent(DelayedActionComponent.class);
-
-            // If there is a DelayedActionComponent, proceed. Else report an error to the log.
-            if (delayedActions != null) {
-                final Set<String> actionIds = delayedActions.removeActionsUpTo(currentWorldTime);
-                saveOrRemoveComponent(delayedEntity, delayedActions);
-
-                if (!delayedActions.isEmpty()) {
-                    delayedOperationsSortedByTime.put(delayedActions.getLowestWakeUp(), delayedEntity);
-                }
-
-                for (String actionId : actionIds) {
-                    delayedEntity.send(new DelayedActionTriggeredEvent(actionId));
-                }
-            } else {
-                logger.error("ERROR: This entity is missing a DelayedActionComponent: {}. " +
-                        "So skipping delayed actions for this entity.", delayedEntity);
-            }
-        });
+        expiredTimers.clear();
     }
 
-    private void invokePeriodicOperations(long currentWorldTime) {
-        List<EntityRef> operationsToInvoke = new LinkedList<>();
-        Iterator<Long> scheduledOperationsIterator = periodicOperationsSortedByTime.keySet().iterator();
-        long processedTime;
-        while (scheduledOperationsIterator.hasNext()) {
-            processedTime = scheduledOperationsIterator.next();
-            if (processedTime > currentWorldTime) {
-                break;
-            }
-            operationsToInvoke.addAll(periodicOperationsSortedByTime.get(processedTime));
-            scheduledOperationsIterator.remove();
+    private void invokeAction(TimingWheel.Timer<ScheduledAction> timer, long currentWorldTime) {
+        ScheduledAction action = timer.getValue();
+        EntityRef entity = action.entity;
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions =
+                (action.periodic ? periodicActions : delayedActions).get(entity);
+        if (entityActions == null || entityActions.get(action.actionId) != timer) {
+            // cancelled or replaced by an action triggered earlier in the same update
+            return;
+        }
+        if (!entity.exists()) {
+            logger.debug("Dropping action {} of entity {} that no longer exists", action.actionId, entity);
+            removeAction(entity, action.actionId, action.periodic);
+            return;
+        }
+        if (action.periodic) {
+            getTimingWheel().reschedule(timer, currentWorldTime + action.period);
+            dirtyPeriodicEntities.add(entity);
+            entity.send(new PeriodicActionTriggeredEvent(action.actionId));
+        } else {
+            removeAction(entity, action.actionId, false);
+            entity.send(new DelayedActionTriggeredEvent(action.actionId));
         }
-
-        operationsToInvoke.stream().filter(EntityRef::exists).forEach(periodicEntity -> {
-            final PeriodicActionComponent periodicActionComponent = periodicEntity.getComponent(PeriodicActionComponent.class);
-
-            // If there is a PeriodicActionComponent, proceed. Else report an error to the log.
-            if (periodicActionComponent != null) {
-                final Set<String> actionIds = periodicActionComponent.getTriggeredActionsAndReschedule(currentWorldTime);
-                saveOrRemoveComponent(periodicEntity, periodicActionComponent);
-
-                if (!periodicActionComponent.isEmpty()) {
-                    periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), periodicEntity);
-                }
-
-                for (String actionId : actionIds) {
-                    periodicEntity.send(new PeriodicActionTriggeredEvent(actionId));
-                }
-            } else {
-                logger.error("ERROR: This entity is missing a DelayedActionComponent: {}. " +
-                        "So skipping delayed actions for this entity", periodicEntity);
-            }
-        });
     }
 
     @ReceiveEvent
     public void delayedComponentActivated(OnActivatedComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.put(delayedActionComponent.getLowestWakeUp(), entity);
+        for (Map.Entry<String, Long> entry : delayedActionComponent.getActionIdsWakeUp().entrySet()) {
+            if (!hasDelayedAction(entity, entry.getKey())) {
+                scheduleAction(entity, entry.getKey(), entry.getValue(), 0, false);
+            }
+        }
     }
 
     @ReceiveEvent
     public void periodicComponentActivated(OnActivatedComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        periodicOperationsSortedByTime.put(periodicActionComponent.getLowestWakeUp(), entity);
+        Map<String, Long> periods = periodicActionComponent.getActionIdsPeriod();
+        for (Map.Entry<String, Long> entry : periodicActionComponent.getActionIdsWakeUp().entrySet()) {
+            if (!hasPeriodicAction(entity, entry.getKey())) {
+                scheduleAction(entity, entry.getKey(), entry.getValue(), periods.get(entry.getKey()), true);
+            }
+        }
     }
 
     @ReceiveEvent
     public void delayedComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, DelayedActionComponent delayedActionComponent) {
-        delayedOperationsSortedByTime.remove(delayedActionComponent.getLowestWakeUp(), entity);
+        if (dirtyDelayedEntities.remove(entity)) {
+            // The component is about to be stored, so it has to be up to date. It is changed in place, as saving it
+            // isn't possible during deactivation.
+            writeDelayedActions(entity, delayedActionComponent);
+        }
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = delayedActions.remove(entity);
+        if (entityActions != null) {
+            entityActions.values().forEach(getTimingWheel()::cancel);
+        }
     }
 
     @ReceiveEvent
     public void periodicComponentDeactivated(BeforeDeactivateComponent event, EntityRef entity, PeriodicActionComponent periodicActionComponent) {
-        delayedOperationsSortedByTime.remove(periodicActionComponent.getLowestWakeUp(), entity);
+        if (dirtyPeriodicEntities.remove(entity)) {
+            writePeriodicActions(entity, periodicActionComponent);
+        }
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = periodicActions.remove(entity);
+        if (entityActions != null) {
+            entityActions.values().forEach(getTimingWheel()::cancel);
+        }
+    }
+
+    /**
+     * Brings the components up to date before the entity is stored with its chunk or player.
+     */
+    @ReceiveEvent(components = DelayedActionComponent.class)
+    public void beforeDelayedEntityStore(BeforeEntityStore event, EntityRef entity) {
+        if (dirtyDelayedEntities.remove(entity)) {
+            updateDelayedComponent(entity);
+        }
+    }
+
+    @ReceiveEvent(components = PeriodicActionComponent.class)
+    public void beforePeriodicEntityStore(BeforeEntityStore event, EntityRef entity) {
+        if (dirtyPeriodicEntities.remove(entity)) {
+            updatePeriodicComponent(entity);
+        }
+    }
+
+    @Override
+    public void preSave() {
+        updateComponents();
+    }
+
+    @Override
+    public void preAutoSave() {
+        updateComponents();
     }
 
     @Override
     public void addDelayedAction(EntityRef entity, String actionId, long delay) {
         long scheduleTime = time.getGameTimeInMs() + delay;
+        scheduleAction(entity, actionId, scheduleTime, 0, false);
 
-        DelayedActionComponent delayedActionComponent = entity.getComponent(DelayedActionComponent.class);
-        if (delayedActionComponent != null) {
-            final long oldWakeUp = delayedActionComponent.getLowestWakeUp();
-            delayedActionComponent.addActionId(actionId, scheduleTime);
-            entity.saveComponent(delayedActionComponent);
-            final long newWakeUp = delayedActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-                delayedOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                delayedOperationsSortedByTime.put(scheduleTime, entity);
-            }
+        if (entity.hasComponent(DelayedActionComponent.class)) {
+            dirtyDelayedEntities.add(entity);
         } else {
-            delayedActionComponent = new DelayedActionComponent();
-            delayedActionComponent.addActionId(actionId, scheduleTime);
+            DelayedActionComponent delayedActionComponent = new DelayedActionComponent();
+            writeDelayedActions(entity, delayedActionComponent);
             entity.addComponent(delayedActionComponent);
         }
     }
@@ -181,83 +186,138 @@ public void addDelayedAction(EntityRef entity, String actionId, long delay) {
     @Override
     public void addPeriodicAction(EntityRef entity, String actionId, long initialDelay, long period) {
         long scheduleTime = time.getGameTimeInMs() + initialDelay;
+        scheduleAction(entity, actionId, scheduleTime, period, true);
 
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        if (periodicActionComponent != null) {
-            final long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
-            entity.saveComponent(periodicActionComponent);
-            final long newWakeUp = periodicActionComponent.getLowestWakeUp();
-            if (oldWakeUp < newWakeUp) {
-                periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-                periodicOperationsSortedByTime.put(newWakeUp, entity);
-            } else {
-                // Even if the oldWakeUp time is greater than or equal to the new one, the next action should still be added
-                // to the delayedOperationsSortedByTime mapping.
-                periodicOperationsSortedByTime.put(scheduleTime, entity);
-            }
+        if (entity.hasComponent(PeriodicActionComponent.class)) {
+            dirtyPeriodicEntities.add(entity);
         } else {
-            periodicActionComponent = new PeriodicActionComponent();
-            periodicActionComponent.addScheduledActionId(actionId, scheduleTime, period);
+            PeriodicActionComponent periodicActionComponent = new PeriodicActionComponent();
+            writePeriodicActions(entity, periodicActionComponent);
             entity.addComponent(periodicActionComponent);
         }
     }
 
     @Override
     public void cancelDelayedAction(EntityRef entity, String actionId) {
-        DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        long oldWakeUp = delayedComponent.getLowestWakeUp();
-        delayedComponent.removeActionId(actionId);
-        long newWakeUp = delayedComponent.getLowestWakeUp();
-        if (!delayedComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-            delayedOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (delayedComponent.isEmpty()) {
-            delayedOperationsSortedByTime.remove(oldWakeUp, entity);
-        }
-        saveOrRemoveComponent(entity, delayedComponent);
+        removeAction(entity, actionId, false);
     }
 
     @Override
     public void cancelPeriodicAction(EntityRef entity, String actionId) {
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        long oldWakeUp = periodicActionComponent.getLowestWakeUp();
-        periodicActionComponent.removeScheduledActionId(actionId);
-        long newWakeUp = periodicActionComponent.getLowestWakeUp();
-        if (!periodicActionComponent.isEmpty() && oldWakeUp < newWakeUp) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-            periodicOperationsSortedByTime.put(newWakeUp, entity);
-        } else if (periodicActionComponent.isEmpty()) {
-            periodicOperationsSortedByTime.remove(oldWakeUp, entity);
-        }
-        saveOrRemoveComponent(entity, periodicActionComponent);
+        removeAction(entity, actionId, true);
     }
 
     @Override
     public boolean hasDelayedAction(EntityRef entity, String actionId) {
-        DelayedActionComponent delayedComponent = entity.getComponent(DelayedActionComponent.class);
-        return delayedComponent != null && delayedComponent.containsActionId(actionId);
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = delayedActions.get(entity);
+        return entityActions != null && entityActions.containsKey(actionId);
     }
 
     @Override
     public boolean hasPeriodicAction(EntityRef entity, String actionId) {
-        PeriodicActionComponent periodicActionComponent = entity.getComponent(PeriodicActionComponent.class);
-        return periodicActionComponent != null && periodicActionComponent.containsActionId(actionId);
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = periodicActions.get(entity);
+        return entityActions != null && entityActions.containsKey(actionId);
     }
 
-    private void saveOrRemoveComponent(EntityRef delayedEntity, DelayedActionComponent delayedActionComponent) {
-        if (delayedActionComponent.isEmpty()) {
-            delayedEntity.removeComponent(DelayedActionComponent.class);
+    private TimingWheel<ScheduledAction> getTimingWheel() {
+        if (timingWheel == null) {
+            timingWheel = new TimingWheel<>(time.getGameTimeInMs());
+        }
+        return timingWheel;
+    }
+
+    private void scheduleAction(EntityRef entity, String actionId, long wakeUp, long period, boolean periodic) {
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions =
+                (periodic ? periodicActions : delayedActions).computeIfAbsent(entity, e -> new HashMap<>());
+        TimingWheel.Timer<ScheduledAction> timer = getTimingWheel().schedule(new ScheduledAction(entity, actionId, period, periodic), wakeUp);
+        TimingWheel.Timer<ScheduledAction> replacedTimer = entityActions.put(actionId, timer);
+        if (replacedTimer != null) {
+            getTimingWheel().cancel(replacedTimer);
+        }
+    }
+
+    private void removeAction(EntityRef entity, String actionId, boolean periodic) {
+        Map<EntityRef, Map<String, TimingWheel.Timer<ScheduledAction>>> actions = periodic ? periodicActions : delayedActions;
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = actions.get(entity);
+        if (entityActions == null) {
+            return;
+        }
+        TimingWheel.Timer<ScheduledAction> timer = entityActions.remove(actionId);
+        if (timer != null) {
+            getTimingWheel().cancel(timer);
+            (periodic ? dirtyPeriodicEntities : dirtyDelayedEntities).add(entity);
+        }
+        if (entityActions.isEmpty()) {
+            actions.remove(entity);
+        }
+    }
+
+    /**
+     * Saves the schedule of all entities that changed since the last update of their components, and removes the
+     * components of entities that have no actions left.
+     */
+    private void updateComponents() {
+        List<EntityRef> entities = new ArrayList<>(dirtyDelayedEntities);
+        dirtyDelayedEntities.clear();
+        entities.forEach(this::updateDelayedComponent);
+
+        entities = new ArrayList<>(dirtyPeriodicEntities);
+        dirtyPeriodicEntities.clear();
+        entities.forEach(this::updatePeriodicComponent);
+    }
+
+    private void updateDelayedComponent(EntityRef entity) {
+        if (!entity.exists()) {
+            return;
+        }
+        DelayedActionComponent component = entity.getComponent(DelayedActionComponent.class);
+        if (!delayedActions.containsKey(entity)) {
+            if (component != null) {
+                entity.removeComponent(DelayedActionComponent.class);
+            }
+        } else if (component != null) {
+            writeDelayedActions(entity, component);
+            entity.saveComponent(component);
         } else {
-            delayedEntity.saveComponent(delayedActionComponent);
+            component = new DelayedActionComponent();
+            writeDelayedActions(entity, component);
+            entity.addComponent(component);
         }
     }
 
-    private void saveOrRemoveComponent(EntityRef periodicEntity, PeriodicActionComponent periodicActionComponent) {
-        if (periodicActionComponent.isEmpty()) {
-            periodicEntity.removeComponent(PeriodicActionComponent.class);
+    private void updatePeriodicComponent(EntityRef entity) {
+        if (!entity.exists()) {
+            return;
+        }
+        PeriodicActionComponent component = entity.getComponent(PeriodicActionComponent.class);
+        if (!periodicActions.containsKey(entity)) {
+            if (component != null) {
+                entity.removeComponent(PeriodicActionComponent.class);
+            }
+        } else if (component != null) {
+            writePeriodicActions(entity, component);
+            entity.saveComponent(component);
         } else {
-            periodicEntity.saveComponent(periodicActionComponent);
+            component = new PeriodicActionComponent();
+            writePeriodicActions(entity, component);
+            entity.addComponent(component);
+        }
+    }
+
+    private void writeDelayedActions(EntityRef entity, DelayedActionComponent component) {
+        component.clear();
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = delayedActions.get(entity);
+        if (entityActions != null) {
+            entityActions.forEach((actionId, timer) -> component.addActionId(actionId, timer.getDeadline()));
+        }
+    }
+
+    private void writePeriodicActions(EntityRef entity, PeriodicActionComponent component) {
+        component.clear();
+        Map<String, TimingWheel.Timer<ScheduledAction>> entityActions = periodicActions.get(entity);
+        if (entityActions != null) {
+            entityActions.forEach((actionId, timer) ->
+                    component.addScheduledActionId(actionId, timer.getDeadline(), timer.getValue().period));
         }
     }
 
@@ -276,4 +336,18 @@ public void cancelDelayedAction(CancelDelayedActionEvent event, EntityRef entity
     public void addDelayedAction(AddDelayedActionEvent event, EntityRef entity) {
         addDelayedAction(entity, event.getActionId(), event.getDelay());
     }
+
+    private static final class ScheduledAction {
+        private final EntityRef entity;
+        private final String actionId;
+        private final long period;
+        private final boolean periodic;
+
+        private ScheduledAction(EntityRef entity, String actionId, long period, boolean periodic) {
+            this.entity = entity;
+            this.actionId = actionId;
+            this.period = period;
+            this.periodic = periodic;
+        }
+    }
 }
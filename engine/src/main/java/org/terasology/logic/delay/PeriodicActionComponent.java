@@ -18,6 +18,7 @@
 import org.terasology.entitySystem.Component;
 import org.terasology.world.block.ForceBlockActive;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -83,6 +84,26 @@ private long findSmallestWakeUp() {
         return result;
     }
 
+    /**
+     * @return the next wake up time of each scheduled action
+     */
+    public Map<String, Long> getActionIdsWakeUp() {
+        return Collections.unmodifiableMap(actionIdsWakeUp);
+    }
+
+    /**
+     * @return the period of each scheduled action
+     */
+    public Map<String, Long> getActionIdsPeriod() {
+        return Collections.unmodifiableMap(actionIdsPeriod);
+    }
+
+    public void clear() {
+        actionIdsWakeUp.clear();
+        actionIdsPeriod.clear();
+        lowestWakeUp = Long.MAX_VALUE;
+    }
+
     public boolean isEmpty() {
         return actionIdsWakeUp.isEmpty();
     }
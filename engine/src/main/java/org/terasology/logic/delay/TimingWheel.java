@@ -0,0 +1,246 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.logic.delay;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel with a resolution of one millisecond.
+ * <p>
+ * Scheduling and cancelling a timer takes constant time. Each level of the wheel has {@link #SLOTS} slots, and a
+ * slot on level n covers 64<sup>n</sup> milliseconds. Timers are placed on the lowest level that can tell their
+ * deadline apart from the current time and move down a level each time the wheel turns past their slot, so every
+ * timer is touched at most once per level.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <T> the type of the values attached to the timers
+ */
+final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    /**
+     * Six levels cover 2^36 milliseconds (a bit more than two years), later deadlines wait in {@link #overflow}.
+     */
+    private static final int LEVELS = 6;
+
+    private final Timer<T>[][] wheels;
+    private final Timer<T> overflow = Timer.createSentinel();
+    private final Timer<T> due = Timer.createSentinel();
+    private final List<Timer<T>> cascadeBuffer = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTime) {
+        this.currentTime = startTime;
+        wheels = new Timer[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = Timer.createSentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules a new timer. Timers with a deadline that is not after the current time expire on the next call of
+     * {@link #advance(long, List)}.
+     */
+    Timer<T> schedule(T value, long deadline) {
+        Timer<T> timer = new Timer<>(value);
+        timer.deadline = deadline;
+        insert(timer);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Moves a timer to a new deadline. The timer does not need to be scheduled, so expired timers can be reused.
+     */
+    void reschedule(Timer<T> timer, long deadline) {
+        cancel(timer);
+        timer.deadline = deadline;
+        insert(timer);
+        size++;
+    }
+
+    /**
+     * @return false if the timer wasn't scheduled
+     */
+    boolean cancel(Timer<T> timer) {
+        if (!timer.isScheduled()) {
+            return false;
+        }
+        timer.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * Turns the wheel to the given time.
+     *
+     * @param time   the new current time
+     * @param output receives all timers with a deadline up to the given time, in the order of their deadlines. They
+     *               are no longer scheduled.
+     */
+    void advance(long time, List<Timer<T>> output) {
+        expireDue(output);
+        if (time <= currentTime) {
+            return;
+        }
+        if (size == 0) {
+            currentTime = time;
+        } else if (time - currentTime > Math.max(size, SLOTS)) {
+            // Stepping through every millisecond would take longer than placing each timer again
+            rebuild(time, output);
+        } else {
+            while (currentTime < time) {
+                currentTime++;
+                turn();
+                expireDue(output);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long getCurrentTime() {
+        return currentTime;
+    }
+
+    private void turn() {
+        int highestLevel = 0;
+        while (highestLevel < LEVELS && (currentTime & ((1L << (SLOT_BITS * (highestLevel + 1))) - 1)) == 0) {
+            highestLevel++;
+        }
+        if (highestLevel == LEVELS) {
+            cascade(overflow);
+            highestLevel--;
+        }
+        for (int level = highestLevel; level > 0; level--) {
+            cascade(wheels[level][slotIndex(currentTime, level)]);
+        }
+        Timer<T> slot = wheels[0][slotIndex(currentTime, 0)];
+        while (slot.next != slot) {
+            Timer<T> timer = slot.next;
+            timer.unlink();
+            due.append(timer);
+        }
+    }
+
+    private void cascade(Timer<T> slot) {
+        // Timers that still don't fit the wheel go back into the overflow list, so it is emptied before placing them
+        cascadeBuffer.clear();
+        moveAll(slot, cascadeBuffer);
+        for (Timer<T> timer : cascadeBuffer) {
+            insert(timer);
+        }
+        cascadeBuffer.clear();
+    }
+
+    private void insert(Timer<T> timer) {
+        long deadline = timer.deadline;
+        if (deadline <= currentTime) {
+            due.append(timer);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int bits = SLOT_BITS * (level + 1);
+            if ((deadline >> bits) == (currentTime >> bits)) {
+                wheels[level][slotIndex(deadline, level)].append(timer);
+                return;
+            }
+        }
+        overflow.append(timer);
+    }
+
+    private void rebuild(long time, List<Timer<T>> output) {
+        List<Timer<T>> timers = new ArrayList<>(size);
+        for (Timer<T>[] wheel : wheels) {
+            for (Timer<T> slot : wheel) {
+                moveAll(slot, timers);
+            }
+        }
+        moveAll(overflow, timers);
+        currentTime = time;
+        timers.sort(Comparator.comparingLong(timer -> timer.deadline));
+        for (Timer<T> timer : timers) {
+            insert(timer);
+        }
+        expireDue(output);
+    }
+
+    private void expireDue(List<Timer<T>> output) {
+        size -= moveAll(due, output);
+    }
+
+    private static <T> int moveAll(Timer<T> list, List<Timer<T>> output) {
+        int count = 0;
+        while (list.next != list) {
+            Timer<T> timer = list.next;
+            timer.unlink();
+            output.add(timer);
+            count++;
+        }
+        return count;
+    }
+
+    private static int slotIndex(long time, int level) {
+        return (int) (time >> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+
+    /**
+     * A scheduled value. Timers are nodes of the intrusive, circular lists that make up the slots of the wheel.
+     */
+    static final class Timer<T> {
+        private final T value;
+        private long deadline;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T value) {
+            this.value = value;
+        }
+
+        private static <T> Timer<T> createSentinel() {
+            Timer<T> sentinel = new Timer<>(null);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        long getDeadline() {
+            return deadline;
+        }
+
+        boolean isScheduled() {
+            return next != null;
+        }
+
+        private void append(Timer<T> timer) {
+            Preconditions.checkState(!timer.isScheduled(), "Timer is already scheduled");
+            timer.previous = previous;
+            timer.next = this;
+            previous.next = timer;
+            previous = timer;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = null;
+            next = null;
+        }
+    }
+}
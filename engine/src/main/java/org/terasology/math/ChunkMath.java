@@ -178,6 +178,17 @@ public static Region3i getChunkRegionAroundWorldPos(Vector3i pos, int extent) {
         return Region3i.createFromMinMax(minChunk, maxChunk);
     }
 
+    /**
+     * Allocation-free variant of {@link #getChunkRegionAroundWorldPos(Vector3i, int)}.
+     *
+     * @param cursor the cursor to reset to the chunk positions around the given world position
+     * @return the given cursor
+     */
+    public static RegionCursor getChunkRegionAroundWorldPos(Vector3i pos, int extent, RegionCursor cursor) {
+        return cursor.set(calcChunkPosX(pos.x - extent), calcChunkPosY(pos.y - extent), calcChunkPosZ(pos.z - extent),
+                calcChunkPosX(pos.x + extent), calcChunkPosY(pos.y + extent), calcChunkPosZ(pos.z + extent));
+    }
+
     // TODO: This doesn't belong in this class, move it.
     public static Side getSecondaryPlacementDirection(Vector3f direction, Vector3f normal) {
         Side surfaceDir = Side.inDirection(normal);
@@ -0,0 +1,133 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.math;
+
+import org.terasology.math.geom.BaseVector3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.BlockRegion;
+
+/**
+ * A reusable cursor over the positions of an axis-aligned integer region.
+ * <p>
+ * Unlike iterating a {@link Region3i} or a {@link org.terasology.world.block.BlockRegionIterable}, stepping a cursor
+ * allocates nothing: {@link #position()} always returns the same mutable vector, which is updated by {@link #next()}.
+ * A cursor can be kept in a field and reset for every region, but it is not thread-safe.
+ * <p>
+ * Positions are visited in the same order as {@link Region3i#iterator()}: z fastest, then y, then x.
+ * <pre>
+ * cursor.set(region);
+ * while (cursor.next()) {
+ *     doSomething(cursor.position());
+ * }
+ * </pre>
+ */
+public final class RegionCursor {
+    private final Vector3i position = new Vector3i();
+
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+    private boolean started;
+
+    /**
+     * Resets the cursor to the positions between the given corners, both inclusive. The region is empty if any max
+     * coordinate is smaller than the matching min coordinate.
+     *
+     * @return this cursor
+     */
+    public RegionCursor set(int newMinX, int newMinY, int newMinZ, int newMaxX, int newMaxY, int newMaxZ) {
+        this.minX = newMinX;
+        this.minY = newMinY;
+        this.minZ = newMinZ;
+        this.maxX = newMaxX;
+        this.maxY = newMaxY;
+        this.maxZ = newMaxZ;
+        this.started = false;
+        return this;
+    }
+
+    /**
+     * Resets the cursor to the positions of the given region.
+     *
+     * @return this cursor
+     */
+    public RegionCursor set(Region3i region) {
+        return set(region.minX(), region.minY(), region.minZ(), region.maxX(), region.maxY(), region.maxZ());
+    }
+
+    /**
+     * Resets the cursor to the blocks of the given region.
+     *
+     * @return this cursor
+     */
+    public RegionCursor set(BlockRegion region) {
+        return set(region.getMinX(), region.getMinY(), region.getMinZ(), region.getMaxX(), region.getMaxY(), region.getMaxZ());
+    }
+
+    /**
+     * Resets the cursor to the same positions as {@link Region3i#createFromCenterExtents(BaseVector3i, int)}.
+     *
+     * @return this cursor
+     */
+    public RegionCursor setCenterExtents(BaseVector3i center, int extent) {
+        return set(center.getX() - extent, center.getY() - extent, center.getZ() - extent,
+                center.getX() + extent, center.getY() + extent, center.getZ() + extent);
+    }
+
+    /**
+     * Advances the cursor to the next position.
+     *
+     * @return false once all positions have been visited
+     */
+    public boolean next() {
+        if (!started) {
+            started = true;
+            if (minX > maxX || minY > maxY || minZ > maxZ) {
+                position.x = maxX + 1;
+                return false;
+            }
+            position.set(minX, minY, minZ);
+            return true;
+        }
+        if (position.x > maxX) {
+            return false;
+        }
+        if (position.z < maxZ) {
+            position.z++;
+        } else if (position.y < maxY) {
+            position.z = minZ;
+            position.y++;
+        } else if (position.x < maxX) {
+            position.z = minZ;
+            position.y = minY;
+            position.x++;
+        } else {
+            // mark as exhausted, so further calls keep returning false
+            position.x = maxX + 1;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the current position. The same instance is returned for every position; copy it to keep it.
+     */
+    public Vector3i position() {
+        return position;
+    }
+
+    public int x() {
+        return position.x;
+    }
+
+    public int y() {
+        return position.y;
+    }
+
+    public int z() {
+        return position.z;
+    }
+}
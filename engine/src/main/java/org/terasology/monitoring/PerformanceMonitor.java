@@ -19,6 +19,7 @@
 import org.terasology.monitoring.impl.NullPerformanceMonitor;
 import org.terasology.monitoring.impl.PerformanceMonitorImpl;
 import org.terasology.monitoring.impl.PerformanceMonitorInternal;
+import org.terasology.monitoring.trace.SpanTracer;
 
 /**
  * Maintains a running average of execution times and memory allocated by different activities.
@@ -31,6 +32,10 @@
  * activities being started and ended on other threads at this time.
  */
 public final class PerformanceMonitor {
+    /**
+     * Returned while a trace is being captured, so that closing the activity also ends its span.
+     */
+    private static final Activity TRACED_ACTIVITY = PerformanceMonitor::endActivity;
     private static PerformanceMonitorInternal instance;
 
     static {
@@ -76,10 +81,18 @@ private PerformanceMonitor() {
      * PerformanceMonitor.endActivity()
      * </pre>
      *
+     * Activities started on other threads than the main thread are ignored, except while a trace is being captured by
+     * {@link SpanTracer}.
+     *
      * @param activityName the name of the activity starting.
      */
     public static Activity startActivity(String activityName) {
-        return instance.startActivity(activityName);
+        Activity activity = instance.startActivity(activityName);
+        if (SpanTracer.isRecording()) {
+            SpanTracer.begin(activityName);
+            return TRACED_ACTIVITY;
+        }
+        return activity;
     }
 
     /**
@@ -87,6 +100,18 @@ public static Activity startActivity(String activityName) {
      */
     public static void endActivity() {
         instance.endActivity();
+        SpanTracer.end();
+    }
+
+    /**
+     * Adds time spent on an activity that is not measured with startActivity()/endActivity(), e.g. work done by
+     * background threads on behalf of the main thread. Like all other calls, it is only accepted from the main thread.
+     *
+     * @param activityName the name of the activity
+     * @param timeMs the time spent on the activity during the current cycle, in milliseconds
+     */
+    public static void addActivityTime(String activityName, long timeMs) {
+        instance.addActivityTime(activityName, timeMs);
     }
 
     /**
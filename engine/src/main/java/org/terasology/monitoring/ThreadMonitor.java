@@ -23,6 +23,7 @@
 import org.terasology.monitoring.impl.SingleThreadMonitorImpl;
 import org.terasology.monitoring.impl.ThreadActivityInternal;
 import org.terasology.monitoring.impl.ThreadMonitorEvent;
+import org.terasology.monitoring.trace.SpanTracer;
 
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ private ThreadMonitor() {
     public static ThreadActivity startThreadActivity(String activityName) {
         SingleThreadMonitor monitor = getMonitor();
         monitor.beginTask(activityName);
+        SpanTracer.begin(activityName);
         return new ThreadActivityInternal(monitor);
 
     }
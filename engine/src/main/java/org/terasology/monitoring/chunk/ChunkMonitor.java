@@ -22,7 +22,10 @@
 import org.terasology.rendering.primitives.ChunkMesh;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkProvider;
+import org.terasology.world.chunks.pipeline.ChunkPipelineStageStatistics;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +33,8 @@ public final class ChunkMonitor {
 
     private static final EventBus EVENT_BUS = new EventBus("ChunkMonitor");
     private static final Map<Vector3i, ChunkMonitorEntry> CHUNKS = Maps.newConcurrentMap();
+    private static volatile Collection<ChunkPipelineStageStatistics> pipelineStatistics = Collections.emptyList();
+    private static volatile int deactivationBacklog;
 
     private ChunkMonitor() {
     }
@@ -92,6 +97,29 @@ public static void fireChunkTessellated(Vector3i chunkPos, ChunkMesh mesh) {
         post(new ChunkMonitorEvent.Tessellated(chunkPos, mesh));
     }
 
+    public static void firePipelineStatistics(Collection<ChunkPipelineStageStatistics> statistics) {
+        Preconditions.checkNotNull(statistics, "The parameter 'statistics' must not be null");
+        pipelineStatistics = statistics;
+    }
+
+    /**
+     * @return the per-stage statistics of the chunk generation pipeline that is currently in use
+     */
+    public static Collection<ChunkPipelineStageStatistics> getPipelineStatistics() {
+        return pipelineStatistics;
+    }
+
+    public static void fireDeactivationBacklog(int backlog) {
+        deactivationBacklog = backlog;
+    }
+
+    /**
+     * @return the number of unloaded chunks that are still waiting to be encoded for storage
+     */
+    public static int getDeactivationBacklog() {
+        return deactivationBacklog;
+    }
+
     public static synchronized void getChunks(List<ChunkMonitorEntry> output) {
         Preconditions.checkNotNull(output, "The parameter 'output' must not be null");
         output.addAll(CHUNKS.values());
@@ -0,0 +1,77 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.entity;
+
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
+import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.EngineEntityPool;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the latest estimate of the heap used by the components of all entities.
+ * <p>
+ * An estimate measures no more than {@link #SAMPLES_PER_TYPE} components of every type, so that it takes little time
+ * even with many entities and can be made on a live server. It still walks the component tables once without
+ * measuring, to count the entities of every prefab and to spread the samples across all components of a type. It has
+ * to be made on the main thread, so other threads, like the one of the advanced monitor, request it with
+ * {@link #requestSample()}.
+ */
+public final class EntityMemoryMonitor {
+
+    public static final int SAMPLES_PER_TYPE = 64;
+
+    private static final ObjectSizeEstimator ESTIMATOR = new ObjectSizeEstimator();
+    private static final AtomicBoolean SAMPLE_REQUESTED = new AtomicBoolean();
+    private static volatile EntityMemoryReport latestReport;
+
+    private EntityMemoryMonitor() {
+    }
+
+    /**
+     * Estimates the heap used by the components of all entities of the entity manager. Must be called on the main
+     * thread.
+     *
+     * @return the new report, which is also the latest report from now on
+     */
+    public static EntityMemoryReport sample(EngineEntityManager entityManager) {
+        long start = System.nanoTime();
+        EntityMemorySampler sampler = new EntityMemorySampler(ESTIMATOR, entityManager.getComponentLibrary(),
+                SAMPLES_PER_TYPE);
+        Set<ComponentTable> tables = Sets.newIdentityHashSet();
+        tables.add(entityManager.getGlobalPool().getComponentStore());
+        for (EngineEntityPool pool : entityManager.getWorldPools()) {
+            tables.add(pool.getComponentStore());
+        }
+        tables.add(entityManager.getSectorManager().getComponentStore());
+        for (ComponentTable table : tables) {
+            sampler.addPool(table);
+        }
+        EntityMemoryReport report = sampler.createReport(System.currentTimeMillis(), System.nanoTime() - start);
+        latestReport = report;
+        return report;
+    }
+
+    /**
+     * @return the latest report, or null if no report has been made yet
+     */
+    public static EntityMemoryReport getLatestReport() {
+        return latestReport;
+    }
+
+    /**
+     * Asks for a report to be made on the main thread as soon as possible.
+     */
+    public static void requestSample() {
+        SAMPLE_REQUESTED.set(true);
+    }
+
+    /**
+     * @return whether a report was requested since the last call
+     */
+    public static boolean takeSampleRequest() {
+        return SAMPLE_REQUESTED.getAndSet(false);
+    }
+}
@@ -0,0 +1,147 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.entity;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The estimated heap usage of the components of all entities at one point in time, broken down by component type, by
+ * the prefab of the entities and by the module that provides the component types.
+ */
+public final class EntityMemoryReport {
+
+    private final long time;
+    private final long samplingNanos;
+    private final List<Entry> componentTypes;
+    private final List<Entry> prefabs;
+    private final List<Entry> modules;
+
+    EntityMemoryReport(long time, long samplingNanos, List<Entry> componentTypes, List<Entry> prefabs,
+                       List<Entry> modules) {
+        this.time = time;
+        this.samplingNanos = samplingNanos;
+        this.componentTypes = sorted(componentTypes);
+        this.prefabs = sorted(prefabs);
+        this.modules = sorted(modules);
+    }
+
+    private static List<Entry> sorted(List<Entry> entries) {
+        return ImmutableList.sortedCopyOf(Comparator.comparingLong(Entry::getEstimatedBytes).reversed(), entries);
+    }
+
+    /**
+     * @return the time the report was made at, in milliseconds since the epoch
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return how long it took to make the report, in nanoseconds
+     */
+    public long getSamplingNanos() {
+        return samplingNanos;
+    }
+
+    /**
+     * @return the component types, largest first. The count of an entry is the amount of components of the type.
+     */
+    public List<Entry> getComponentTypes() {
+        return componentTypes;
+    }
+
+    /**
+     * @return the prefabs, largest first. The count of an entry is the amount of entities created from the prefab.
+     */
+    public List<Entry> getPrefabs() {
+        return prefabs;
+    }
+
+    /**
+     * @return the modules, largest first. The count of an entry is the amount of components of types of the module.
+     */
+    public List<Entry> getModules() {
+        return modules;
+    }
+
+    public long getTotalEstimatedBytes() {
+        long total = 0;
+        for (Entry entry : componentTypes) {
+            total += entry.getEstimatedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Writes the report as comma separated values, with a line per component type, prefab and module.
+     */
+    public void write(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("kind,name,module,count,shared,estimatedBytes");
+            writer.newLine();
+            write(writer, "component", componentTypes);
+            write(writer, "prefab", prefabs);
+            write(writer, "module", modules);
+        }
+    }
+
+    private static void write(BufferedWriter writer, String kind, List<Entry> entries) throws IOException {
+        for (Entry entry : entries) {
+            writer.write(String.format(Locale.ROOT, "%s,%s,%s,%d,%d,%d", kind, entry.getName(), entry.getModule(),
+                    entry.getCount(), entry.getSharedCount(), entry.getEstimatedBytes()));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * The estimated heap usage of one component type, prefab or module.
+     */
+    public static final class Entry {
+        private final String name;
+        private final String module;
+        private final int count;
+        private final int sharedCount;
+        private final long estimatedBytes;
+
+        Entry(String name, String module, int count, int sharedCount, long estimatedBytes) {
+            this.name = name;
+            this.module = module;
+            this.count = count;
+            this.sharedCount = sharedCount;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getModule() {
+            return module;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the amount of the components that are still shared with their prefab, and so take up no space of
+         * their own
+         */
+        public int getSharedCount() {
+            return sharedCount;
+        }
+
+        public long getEstimatedBytes() {
+            return estimatedBytes;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.entity;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.internal.ComponentTable;
+import org.terasology.entitySystem.entity.internal.EntityInfoComponent;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.entitySystem.prefab.Prefab;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the heap used by the components of entity pools by sampling a limited amount of components of every type.
+ * <p>
+ * The estimated size of the sampled components of a type is scaled up to all components of the type that are not
+ * shared with a prefab. Shared components only cost their entry in the component table. The estimate of a prefab is
+ * made up of the sampled components of its entities in the same way.
+ */
+final class EntityMemorySampler {
+
+    /**
+     * The bytes used by an entry of a component table, which holds a long key, a reference and a state byte and is at
+     * most half full.
+     */
+    static final int TABLE_ENTRY_BYTES = 26;
+    static final String NO_PREFAB = "(none)";
+    static final String UNKNOWN_MODULE = "(unknown)";
+
+    private final ObjectSizeEstimator estimator;
+    private final ComponentLibrary componentLibrary;
+    private final int samplesPerType;
+
+    private final Map<Class<? extends Component>, Stats> typeStats = Maps.newHashMap();
+    private final Map<String, Stats> prefabStats = Maps.newHashMap();
+    private final Map<String, String> prefabModules = Maps.newHashMap();
+
+    EntityMemorySampler(ObjectSizeEstimator estimator, ComponentLibrary componentLibrary, int samplesPerType) {
+        this.estimator = estimator;
+        this.componentLibrary = componentLibrary;
+        this.samplesPerType = samplesPerType;
+    }
+
+    /**
+     * Samples the components of a pool. Must be called on the main thread, as the tables are not thread safe.
+     */
+    void addPool(ComponentTable table) {
+        countEntities(table);
+        for (Class<? extends Component> type : table.getComponentClasses()) {
+            sampleType(table, type);
+        }
+    }
+
+    private void countEntities(ComponentTable table) {
+        table.forEachComponentReadOnly(EntityInfoComponent.class, (entityId, info) -> {
+            getPrefabStats(info.parentPrefab).count++;
+            return true;
+        });
+    }
+
+    private void sampleType(ComponentTable table, Class<? extends Component> type) {
+        int count = table.getComponentCount(type);
+        if (count == 0) {
+            return;
+        }
+        int sharedCount = table.getSharedComponentCount(type);
+        int stride = Math.max(1, count / samplesPerType);
+        Map<Prefab, long[]> sampledBytesByPrefab = Maps.newHashMap();
+        long[] sampled = new long[2];
+        int[] index = new int[1];
+        table.forEachComponentReadOnly(type, (entityId, component) -> {
+            // Takes the first component that is not shared at or after every stride
+            if (index[0]++ < sampled[1] * stride || table.isShared(entityId, type)) {
+                return true;
+            }
+            long bytes = estimator.estimate(component) + TABLE_ENTRY_BYTES;
+            sampled[0] += bytes;
+            sampled[1]++;
+            EntityInfoComponent info = table.peek(entityId, EntityInfoComponent.class);
+            Prefab prefab = (info != null) ? info.parentPrefab : null;
+            sampledBytesByPrefab.computeIfAbsent(prefab, k -> new long[1])[0] += bytes;
+            return sampled[1] < samplesPerType;
+        });
+
+        int ownedCount = count - sharedCount;
+        double scale = (sampled[1] == 0) ? 0 : (double) ownedCount / sampled[1];
+        Stats stats = typeStats.computeIfAbsent(type, k -> new Stats());
+        stats.count += count;
+        stats.sharedCount += sharedCount;
+        stats.bytes += Math.round(sampled[0] * scale) + (long) sharedCount * TABLE_ENTRY_BYTES;
+        for (Map.Entry<Prefab, long[]> entry : sampledBytesByPrefab.entrySet()) {
+            getPrefabStats(entry.getKey()).bytes += Math.round(entry.getValue()[0] * scale);
+        }
+    }
+
+    private Stats getPrefabStats(Prefab prefab) {
+        String name = (prefab != null) ? prefab.getName() : NO_PREFAB;
+        if (prefab != null) {
+            prefabModules.putIfAbsent(name, prefab.getUrn().getModuleName().toString());
+        }
+        return prefabStats.computeIfAbsent(name, k -> new Stats());
+    }
+
+    EntityMemoryReport createReport(long time, long samplingNanos) {
+        List<EntityMemoryReport.Entry> types = Lists.newArrayList();
+        Map<String, Stats> moduleStats = Maps.newHashMap();
+        for (Map.Entry<Class<? extends Component>, Stats> entry : typeStats.entrySet()) {
+            Stats stats = entry.getValue();
+            ComponentMetadata<?> metadata = componentLibrary.getMetadata(entry.getKey());
+            String name = (metadata != null) ? metadata.getUri().toString() : entry.getKey().getName();
+            String module = (metadata != null) ? metadata.getUri().getModuleName().toString() : UNKNOWN_MODULE;
+            types.add(stats.toEntry(name, module));
+            Stats moduleTotal = moduleStats.computeIfAbsent(module, k -> new Stats());
+            moduleTotal.count += stats.count;
+            moduleTotal.sharedCount += stats.sharedCount;
+            moduleTotal.bytes += stats.bytes;
+        }
+        List<EntityMemoryReport.Entry> prefabs = Lists.newArrayList();
+        for (Map.Entry<String, Stats> entry : prefabStats.entrySet()) {
+            String module = prefabModules.getOrDefault(entry.getKey(), UNKNOWN_MODULE);
+            prefabs.add(entry.getValue().toEntry(entry.getKey(), module));
+        }
+        List<EntityMemoryReport.Entry> modules = Lists.newArrayList();
+        for (Map.Entry<String, Stats> entry : moduleStats.entrySet()) {
+            modules.add(entry.getValue().toEntry(entry.getKey(), entry.getKey()));
+        }
+        return new EntityMemoryReport(time, samplingNanos, types, prefabs, modules);
+    }
+
+    private static final class Stats {
+        private int count;
+        private int sharedCount;
+        private long bytes;
+
+        private EntityMemoryReport.Entry toEntry(String name, String module) {
+            return new EntityMemoryReport.Entry(name, module, count, sharedCount, bytes);
+        }
+    }
+}
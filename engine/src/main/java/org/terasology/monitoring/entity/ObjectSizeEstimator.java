@@ -0,0 +1,254 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.entity;
+
+import com.google.common.collect.Lists;
+import org.terasology.assets.Asset;
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates how many bytes of heap an object retains, assuming a 64 bit JVM with compressed references.
+ * <p>
+ * The shallow size and the reference fields of every class are worked out once and kept with the class in a
+ * {@link ClassValue}, so an estimate only reads the references of the objects it visits, and the classes of unloaded
+ * modules can still be collected. Objects that are shared by design, like entity refs, assets, classes and
+ * enum constants, are not counted. The estimate follows references only a few levels deep and looks at only the first
+ * elements of large arrays and collections, scaling their size up to the full length. Classes of the JDK are not
+ * looked into, apart from strings, boxed primitives, collections and maps. The characters of strings are counted with
+ * the layout of the running JVM, see {@link #COMPACT_STRINGS}.
+ */
+final class ObjectSizeEstimator {
+
+    static final int OBJECT_HEADER_BYTES = 12;
+    static final int ARRAY_HEADER_BYTES = 16;
+    static final int REFERENCE_BYTES = 4;
+    static final int ALIGNMENT = 8;
+    // The size of a node of a hash map or a linked list
+    private static final int NODE_BYTES = 32;
+    private static final int MAX_DEPTH = 4;
+    private static final int MAX_ELEMENTS = 32;
+    private static final int MAX_LATIN1 = 0xFF;
+
+    /**
+     * Whether strings keep their characters in a byte array, with one byte per character if all of them are Latin-1,
+     * like since Java 9 unless compact strings are turned off. Otherwise strings use a char array.
+     */
+    static final boolean COMPACT_STRINGS = detectCompactStrings();
+
+    private final ClassValue<Layout> layouts = new ClassValue<Layout>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return createLayout(type);
+        }
+    };
+
+    /**
+     * @return the estimated bytes retained by the object, including the object itself
+     */
+    long estimate(Object object) {
+        return estimate(object, 0, new IdentityHashMap<>());
+    }
+
+    /**
+     * @return the size of instances of the class itself, without the objects they reference
+     */
+    long getShallowSize(Class<?> type) {
+        return getLayout(type).shallowSize;
+    }
+
+    private long estimate(Object object, int depth, Map<Object, Boolean> visited) {
+        if (object == null || isShared(object) || visited.put(object, Boolean.TRUE) != null) {
+            return 0;
+        }
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return estimateArray(object, depth, visited);
+        }
+        if (object instanceof String) {
+            return getLayout(type).shallowSize + align(ARRAY_HEADER_BYTES + getCharactersSize((String) object));
+        }
+        if (object instanceof Collection) {
+            Collection<?> collection = (Collection<?>) object;
+            long size = getLayout(type).shallowSize + estimateContainer(collection, collection.size());
+            if (depth < MAX_DEPTH) {
+                size += estimateElements(collection, collection.size(), depth, visited);
+            }
+            return size;
+        }
+        if (object instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) object;
+            long size = getLayout(type).shallowSize + estimateContainer(map.keySet(), map.size());
+            if (depth < MAX_DEPTH) {
+                size += estimateElements(map.keySet(), map.size(), depth, visited);
+                size += estimateElements(map.values(), map.size(), depth, visited);
+            }
+            return size;
+        }
+
+        Layout layout = getLayout(type);
+        long size = layout.shallowSize;
+        if (depth < MAX_DEPTH) {
+            for (Field field : layout.references) {
+                try {
+                    size += estimate(field.get(object), depth + 1, visited);
+                } catch (IllegalAccessException e) {
+                    // The layout only holds fields that were made accessible
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return size;
+    }
+
+    private long estimateArray(Object array, int depth, Map<Object, Boolean> visited) {
+        int length = Array.getLength(array);
+        Class<?> componentType = array.getClass().getComponentType();
+        if (componentType.isPrimitive()) {
+            return align(ARRAY_HEADER_BYTES + (long) length * getPrimitiveSize(componentType));
+        }
+        long size = align(ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES);
+        if (depth < MAX_DEPTH && length > 0) {
+            int sampled = Math.min(length, MAX_ELEMENTS);
+            long elementsSize = 0;
+            for (int i = 0; i < sampled; i++) {
+                elementsSize += estimate(Array.get(array, i), depth + 1, visited);
+            }
+            size += elementsSize * length / sampled;
+        }
+        return size;
+    }
+
+    /**
+     * @return the estimated size of the internal structure of a collection, assuming an array of references for lists
+     * and a table of nodes for everything else
+     */
+    private long estimateContainer(Collection<?> elements, int count) {
+        if (elements instanceof List) {
+            return align(ARRAY_HEADER_BYTES + (long) count * REFERENCE_BYTES);
+        }
+        // Hash tables are at most three quarters full
+        long tableLength = Math.max(16, Long.highestOneBit(Math.max(1, count * 4L / 3)) * 2);
+        return align(ARRAY_HEADER_BYTES + tableLength * REFERENCE_BYTES) + (long) count * NODE_BYTES;
+    }
+
+    private long estimateElements(Collection<?> elements, int count, int depth, Map<Object, Boolean> visited) {
+        if (count == 0) {
+            return 0;
+        }
+        long elementsSize = 0;
+        int sampled = 0;
+        // Iterators are used even for lists, as some lists are expensive to access by index
+        Iterator<?> iterator = elements.iterator();
+        while (sampled < MAX_ELEMENTS && iterator.hasNext()) {
+            elementsSize += estimate(iterator.next(), depth + 1, visited);
+            sampled++;
+        }
+        return (sampled == 0) ? 0 : elementsSize * count / sampled;
+    }
+
+    private static long getCharactersSize(String string) {
+        int length = string.length();
+        if (COMPACT_STRINGS) {
+            for (int i = 0; i < length; i++) {
+                if (string.charAt(i) > MAX_LATIN1) {
+                    return 2L * length;
+                }
+            }
+            return length;
+        }
+        return 2L * length;
+    }
+
+    private static boolean detectCompactStrings() {
+        boolean byteArray;
+        try {
+            byteArray = String.class.getDeclaredField("value").getType() == byte[].class;
+        } catch (NoSuchFieldException | SecurityException e) {
+            // Java 8 is the only supported version that stores strings as char arrays
+            byteArray = !System.getProperty("java.specification.version").startsWith("1.");
+        }
+        return byteArray && !ManagementFactory.getRuntimeMXBean().getInputArguments().contains("-XX:-CompactStrings");
+    }
+
+    private static boolean isShared(Object object) {
+        return object instanceof EntityRef || object instanceof Asset || object instanceof Class || object instanceof Enum;
+    }
+
+    private Layout getLayout(Class<?> type) {
+        return layouts.get(type);
+    }
+
+    private static Layout createLayout(Class<?> type) {
+        long fieldBytes = 0;
+        List<Field> references = Lists.newArrayList();
+        boolean followReferences = !isJdkClass(type);
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (fieldType.isPrimitive()) {
+                    fieldBytes += getPrimitiveSize(fieldType);
+                } else {
+                    fieldBytes += REFERENCE_BYTES;
+                    if (followReferences && makeAccessible(field)) {
+                        references.add(field);
+                    }
+                }
+            }
+        }
+        return new Layout(align(OBJECT_HEADER_BYTES + fieldBytes), references.toArray(new Field[0]));
+    }
+
+    private static boolean makeAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            // The field belongs to a module that is not open to us, so the objects it references are not counted
+            return false;
+        }
+    }
+
+    private static boolean isJdkClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.") || name.startsWith("jdk.");
+    }
+
+    private static int getPrimitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else {
+            return 1;
+        }
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static final class Layout {
+        private final long shallowSize;
+        private final Field[] references;
+
+        private Layout(long shallowSize, Field[] references) {
+            this.shallowSize = shallowSize;
+            this.references = references;
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class AdvancedMonitor extends JFrame {
     private final ThreadMonitorPanel threadMonitor;
     private final ChunkMonitorPanel chunkMonitor;
     private final PerformanceMonitorPanel performanceMonitor;
+    private final EntityMemoryPanel entityMemoryMonitor;
 
     public AdvancedMonitor() {
         this("Advanced Monitoring Tool", 10, 10, 800, 600);
@@ -46,9 +47,13 @@ public AdvancedMonitor(String title, int x, int y, int width, int height) {
         performanceMonitor = new PerformanceMonitorPanel();
         performanceMonitor.setVisible(true);
 
+        entityMemoryMonitor = new EntityMemoryPanel();
+        entityMemoryMonitor.setVisible(true);
+
         tabs.add("Threads", threadMonitor);
         tabs.add("Chunks", chunkMonitor);
         tabs.add("Performance", performanceMonitor);
+        tabs.add("Entity Memory", entityMemoryMonitor);
 
         add(tabs, BorderLayout.CENTER);
     }
@@ -68,5 +73,6 @@ public void close() {
         threadMonitor.stopThread();
         chunkMonitor.stopThread();
         performanceMonitor.stopThread();
+        entityMemoryMonitor.stopThread();
     }
 }
@@ -0,0 +1,154 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.gui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.ThreadMonitor;
+import org.terasology.monitoring.entity.EntityMemoryMonitor;
+import org.terasology.monitoring.entity.EntityMemoryReport;
+
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.text.DateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows the latest estimate of the heap used by the entities, by component type, prefab or module.
+ */
+@SuppressWarnings("serial")
+public class EntityMemoryPanel extends JPanel {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityMemoryPanel.class);
+    private static final String[] VIEWS = {"Component types", "Prefabs", "Modules"};
+
+    private final EntryTableModel model = new EntryTableModel();
+    private final JComboBox<String> view = new JComboBox<>(VIEWS);
+    private final JLabel summary = new JLabel("No estimate yet");
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private EntityMemoryReport report;
+
+    // If true, the active monitoring thread in executor service should stop.
+    private boolean stopThread;
+
+    public EntityMemoryPanel() {
+        setLayout(new BorderLayout());
+
+        JButton sample = new JButton("Estimate");
+        sample.addActionListener(e -> EntityMemoryMonitor.requestSample());
+        view.addActionListener(e -> showReport());
+
+        JPanel header = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 2));
+        header.add(sample);
+        header.add(view);
+        header.add(summary);
+        add(header, BorderLayout.PAGE_START);
+        add(new JScrollPane(new JTable(model)), BorderLayout.CENTER);
+
+        executor.execute(() -> {
+            Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+            try {
+                while (!stopThread) {
+                    Thread.sleep(1000);
+                    try (ThreadActivity ignored = ThreadMonitor.startThreadActivity("Poll")) {
+                        EntityMemoryReport latest = EntityMemoryMonitor.getLatestReport();
+                        if (latest != null) {
+                            SwingUtilities.invokeLater(() -> {
+                                if (latest != report) {
+                                    report = latest;
+                                    showReport();
+                                }
+                            });
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                ThreadMonitor.addError(e);
+                LOGGER.error("Error executing entity memory monitor update", e);
+            }
+
+            executor.shutdownNow();
+        });
+    }
+
+    public void stopThread() {
+        stopThread = true;
+    }
+
+    private void showReport() {
+        if (report == null) {
+            return;
+        }
+        summary.setText(String.format(Locale.ROOT, "%.1f KiB at %s, took %d ms",
+                report.getTotalEstimatedBytes() / 1024.0, DateFormat.getTimeInstance().format(new Date(report.getTime())),
+                TimeUnit.NANOSECONDS.toMillis(report.getSamplingNanos())));
+        switch (view.getSelectedIndex()) {
+            case 1:
+                model.setEntries(report.getPrefabs());
+                break;
+            case 2:
+                model.setEntries(report.getModules());
+                break;
+            default:
+                model.setEntries(report.getComponentTypes());
+                break;
+        }
+    }
+
+    private static final class EntryTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Name", "Module", "Count", "Shared", "Estimated KiB"};
+
+        private List<EntityMemoryReport.Entry> entries = Collections.emptyList();
+
+        private void setEntries(List<EntityMemoryReport.Entry> entries) {
+            this.entries = entries;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            EntityMemoryReport.Entry entry = entries.get(row);
+            switch (column) {
+                case 0:
+                    return entry.getName();
+                case 1:
+                    return entry.getModule();
+                case 2:
+                    return entry.getCount();
+                case 3:
+                    return entry.getSharedCount();
+                default:
+                    return entry.getEstimatedBytes() / 1024;
+            }
+        }
+    }
+}
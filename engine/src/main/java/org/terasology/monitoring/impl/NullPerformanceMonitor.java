@@ -38,6 +38,10 @@ public Activity startActivity(String activity) {
     public void endActivity() {
     }
 
+    @Override
+    public void addActivityTime(String activity, long timeMs) {
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         return metrics;
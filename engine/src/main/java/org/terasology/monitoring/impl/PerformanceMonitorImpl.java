@@ -157,6 +157,14 @@ public void endActivity() {
         }
     }
 
+    @Override
+    public void addActivityTime(String activityName, long timeMs) {
+        if (Thread.currentThread() != mainThread || timeMs <= 0) {
+            return;
+        }
+        currentExecutionData.adjustOrPutValue(activityName, timeMs, timeMs);
+    }
+
     @Override
     public TObjectDoubleMap<String> getRunningMean() {
         TObjectDoubleMap<String> activityToMeanMap = new TObjectDoubleHashMap<>();
@@ -29,6 +29,8 @@ public interface PerformanceMonitorInternal {
 
     void endActivity();
 
+    void addActivityTime(String activity, long timeMs);
+
     TObjectDoubleMap<String> getRunningMean();
 
     TObjectDoubleMap<String> getDecayingSpikes();
@@ -16,6 +16,7 @@
 package org.terasology.monitoring.impl;
 
 import org.terasology.monitoring.ThreadActivity;
+import org.terasology.monitoring.trace.SpanTracer;
 
 /**
  */
@@ -30,5 +31,6 @@ public ThreadActivityInternal(SingleThreadMonitor monitor) {
     @Override
     public void close() {
         monitor.endTask();
+        SpanTracer.end();
     }
 }
@@ -0,0 +1,114 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.trace;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The activities recorded by {@link SpanTracer} between the start and the end of a capture.
+ */
+public final class CapturedTrace {
+    private static final int PROCESS_ID = 1;
+
+    private final String[] activityNames;
+    private final List<SpanEvents> threads;
+    private final long startTime;
+    private final long endTime;
+
+    CapturedTrace(String[] activityNames, List<SpanEvents> threads, long startTime, long endTime) {
+        this.activityNames = activityNames;
+        this.threads = threads;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return the number of threads that recorded at least one event
+     */
+    public int getThreadCount() {
+        return threads.size();
+    }
+
+    /**
+     * @return the number of recorded begin and end events
+     */
+    public int getEventCount() {
+        int count = 0;
+        for (SpanEvents events : threads) {
+            count += events.getEnd() - events.getStart();
+        }
+        return count;
+    }
+
+    public void writeChromeTrace(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeChromeTrace(writer);
+        }
+    }
+
+    /**
+     * Writes the trace in the Trace Event Format that chrome://tracing and other trace viewers can open.
+     * <p>
+     * Ends without a begin in the capture are left out, and activities still running at the end of the capture are
+     * ended there, so that every span is complete.
+     */
+    public void writeChromeTrace(Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("displayTimeUnit").value("ms");
+        json.name("traceEvents").beginArray();
+        for (int threadId = 0; threadId < threads.size(); threadId++) {
+            SpanEvents events = threads.get(threadId);
+            writeThreadName(json, threadId, events.getThreadName());
+
+            int depth = 0;
+            for (int i = events.getStart(); i < events.getEnd(); i++) {
+                int event = events.getEvent(i);
+                if (event != SpanEvents.END) {
+                    writeEvent(json, threadId, "B", activityNames[event], events.getTimestamp(i));
+                    depth++;
+                } else if (depth > 0) {
+                    writeEvent(json, threadId, "E", null, events.getTimestamp(i));
+                    depth--;
+                }
+            }
+            for (; depth > 0; depth--) {
+                writeEvent(json, threadId, "E", null, endTime);
+            }
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    private void writeThreadName(JsonWriter json, int threadId, String threadName) throws IOException {
+        json.beginObject();
+        json.name("name").value("thread_name");
+        json.name("ph").value("M");
+        json.name("pid").value(PROCESS_ID);
+        json.name("tid").value(threadId);
+        json.name("args").beginObject().name("name").value(threadName).endObject();
+        json.endObject();
+    }
+
+    private void writeEvent(JsonWriter json, int threadId, String phase, String name, long timestamp) throws IOException {
+        json.beginObject();
+        if (name != null) {
+            json.name("name").value(name);
+        }
+        json.name("ph").value(phase);
+        json.name("pid").value(PROCESS_ID);
+        json.name("tid").value(threadId);
+        // Microseconds since the start of the capture
+        json.name("ts").value((timestamp - startTime) / 1000.0);
+        json.endObject();
+    }
+}
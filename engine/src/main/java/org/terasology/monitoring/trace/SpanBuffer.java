@@ -0,0 +1,89 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.trace;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ring buffer of the span events of a single thread.
+ * <p>
+ * Only the owning thread writes to the buffer. Other threads can read it at any time without locking: events that got
+ * overwritten while they were read are detected and dropped.
+ */
+final class SpanBuffer {
+    private final WeakReference<Thread> thread;
+    private final String threadName;
+    private final int mask;
+    /**
+     * Activity id for begin events, or {@link SpanEvents#END} for end events.
+     */
+    private final int[] events;
+    private final long[] timestamps;
+    /**
+     * Total number of events written so far. Published with release semantics after each event is complete.
+     */
+    private final AtomicLong position = new AtomicLong();
+
+    /**
+     * @param capacity the number of events kept, must be a power of two
+     */
+    SpanBuffer(Thread thread, int capacity) {
+        this.thread = new WeakReference<>(thread);
+        this.threadName = thread.getName();
+        this.mask = capacity - 1;
+        this.events = new int[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    void begin(int activityId, long time) {
+        add(activityId, time);
+    }
+
+    void end(long time) {
+        add(SpanEvents.END, time);
+    }
+
+    private void add(int event, long time) {
+        long index = position.get();
+        int slot = (int) index & mask;
+        events[slot] = event;
+        timestamps[slot] = time;
+        position.lazySet(index + 1);
+    }
+
+    long getPosition() {
+        return position.get();
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    boolean isThreadAlive() {
+        Thread owner = thread.get();
+        return owner != null && owner.isAlive();
+    }
+
+    /**
+     * Copies the events written since the given position that are still in the buffer.
+     *
+     * @return the events, begin events with their activity id and end events with {@link SpanEvents#END}
+     */
+    SpanEvents read(long fromPosition) {
+        long end = position.get();
+        long start = Math.max(fromPosition, end - events.length);
+        int count = (int) (end - start);
+        int[] copiedEvents = new int[count];
+        long[] copiedTimestamps = new long[count];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (start + i) & mask;
+            copiedEvents[i] = events[slot];
+            copiedTimestamps[i] = timestamps[slot];
+        }
+        // The writer may be overwriting the slot of the event after the ones that are published
+        long firstIntact = position.get() - events.length + 1;
+        int skipped = (int) Math.max(0, Math.min(count, firstIntact - start));
+        return new SpanEvents(threadName, copiedEvents, copiedTimestamps, skipped);
+    }
+}
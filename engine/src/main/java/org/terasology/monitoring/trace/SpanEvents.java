@@ -0,0 +1,48 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.trace;
+
+/**
+ * The span events a thread recorded during a capture, copied out of its {@link SpanBuffer}.
+ */
+final class SpanEvents {
+    /**
+     * Event value of the end of a span. Begin events are stored as the id of their activity.
+     */
+    static final int END = -1;
+
+    private final String threadName;
+    private final int[] events;
+    private final long[] timestamps;
+    private final int start;
+
+    /**
+     * @param start the index of the first valid event, the ones before got overwritten while being read
+     */
+    SpanEvents(String threadName, int[] events, long[] timestamps, int start) {
+        this.threadName = threadName;
+        this.events = events;
+        this.timestamps = timestamps;
+        this.start = start;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    int getStart() {
+        return start;
+    }
+
+    int getEnd() {
+        return events.length;
+    }
+
+    int getEvent(int index) {
+        return events[index];
+    }
+
+    long getTimestamp(int index) {
+        return timestamps[index];
+    }
+}
@@ -0,0 +1,159 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.monitoring.trace;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the begin and end of activities on all threads while a capture is running.
+ * <p>
+ * Every thread writes into its own {@link SpanBuffer}, so recording takes no locks and allocates nothing once the
+ * activity name is known. Activity names are interned into ids the first time they are seen. While no capture is
+ * running, {@link #begin(String)} and {@link #end()} only read a volatile flag.
+ * <p>
+ * {@link org.terasology.monitoring.PerformanceMonitor} and {@link org.terasology.monitoring.ThreadMonitor} forward
+ * their activities to this class, so there is normally no need to call it directly.
+ */
+public final class SpanTracer {
+    /**
+     * Events kept per thread. A capture only contains the most recent ones of each thread.
+     */
+    private static final int BUFFER_CAPACITY = 1 << 15;
+    /**
+     * Activity names are never forgotten, so the number of distinct names is limited. Names seen after that are
+     * recorded as {@link #OTHER_ACTIVITY}.
+     */
+    private static final int MAX_ACTIVITIES = 4096;
+    /**
+     * Names recorded as {@link #OTHER_ACTIVITY} are remembered as well, up to this many names in total, so that they
+     * don't need to be looked up again.
+     */
+    private static final int MAX_CACHED_NAMES = 4 * MAX_ACTIVITIES;
+    private static final String OTHER_ACTIVITY = "(other)";
+
+    private static final Map<String, Integer> ACTIVITY_IDS = new ConcurrentHashMap<>();
+    private static volatile String[] activityNames = {OTHER_ACTIVITY};
+
+    private static final List<SpanBuffer> BUFFERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<SpanBuffer> THREAD_BUFFER = ThreadLocal.withInitial(() -> {
+        SpanBuffer buffer = new SpanBuffer(Thread.currentThread(), BUFFER_CAPACITY);
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    private static volatile boolean recording;
+    private static Map<SpanBuffer, Long> captureStartPositions;
+    private static long captureStartTime;
+
+    private SpanTracer() {
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Records the begin of an activity on the current thread, if a capture is running.
+     */
+    public static void begin(String activityName) {
+        if (recording) {
+            THREAD_BUFFER.get().begin(getActivityId(activityName), System.nanoTime());
+        }
+    }
+
+    /**
+     * Records the end of the last activity begun on the current thread, if a capture is running.
+     */
+    public static void end() {
+        if (recording) {
+            THREAD_BUFFER.get().end(System.nanoTime());
+        }
+    }
+
+    /**
+     * Starts recording the activities of all threads.
+     *
+     * @throws IllegalStateException if a capture is running already
+     */
+    public static synchronized void startCapture() {
+        Preconditions.checkState(!recording, "A trace is being captured already");
+        captureStartPositions = new IdentityHashMap<>();
+        for (SpanBuffer buffer : BUFFERS) {
+            captureStartPositions.put(buffer, buffer.getPosition());
+        }
+        captureStartTime = System.nanoTime();
+        recording = true;
+    }
+
+    /**
+     * Stops recording and collects what got recorded since {@link #startCapture()}.
+     *
+     * @throws IllegalStateException if no capture is running
+     */
+    public static synchronized CapturedTrace stopCapture() {
+        Preconditions.checkState(recording, "No trace is being captured");
+        recording = false;
+        long captureEndTime = System.nanoTime();
+
+        List<SpanEvents> threads = Lists.newArrayList();
+        for (SpanBuffer buffer : BUFFERS) {
+            // Buffers created during the capture start at 0
+            SpanEvents events = buffer.read(captureStartPositions.getOrDefault(buffer, 0L));
+            if (events.getEnd() > events.getStart()) {
+                threads.add(events);
+            }
+            if (!buffer.isThreadAlive()) {
+                BUFFERS.remove(buffer);
+            }
+        }
+        captureStartPositions = null;
+        return new CapturedTrace(activityNames, threads, captureStartTime, captureEndTime);
+    }
+
+    static int getActivityId(String activityName) {
+        Integer id = ACTIVITY_IDS.get(activityName);
+        if (id != null) {
+            return id;
+        }
+        if (activityNames.length >= MAX_ACTIVITIES) {
+            // No new names are added anymore, so there is no need to take the lock
+            return addOtherActivity(activityName);
+        }
+        return addActivity(activityName);
+    }
+
+    private static synchronized int addActivity(String activityName) {
+        Integer id = ACTIVITY_IDS.get(activityName);
+        if (id != null) {
+            return id;
+        }
+        if (activityNames.length >= MAX_ACTIVITIES) {
+            return addOtherActivity(activityName);
+        }
+        String[] names = Arrays.copyOf(activityNames, activityNames.length + 1);
+        names[activityNames.length] = activityName;
+        // Publish the name before the id, so that every recorded id can be resolved
+        activityNames = names;
+        ACTIVITY_IDS.put(activityName, activityNames.length - 1);
+        return activityNames.length - 1;
+    }
+
+    private static int addOtherActivity(String activityName) {
+        if (ACTIVITY_IDS.size() < MAX_CACHED_NAMES) {
+            ACTIVITY_IDS.putIfAbsent(activityName, 0);
+        }
+        return 0;
+    }
+
+    static String getActivityName(int id) {
+        return activityNames[id];
+    }
+}
@@ -42,4 +42,25 @@ public interface NetMetricSource {
      * @return The amount of bytes sent since last time this method was called
      */
     int getSentBytesSinceLastCall();
+
+    /**
+     * @return The time spent assembling and serializing outgoing messages since last time this method was called, in
+     * milliseconds
+     */
+    float getSerializationTimeSinceLastCall();
+
+    /**
+     * @return The amount of outgoing messages that are waiting to be serialized and sent
+     */
+    int getQueuedMessages();
+
+    /**
+     * @return The amount of dirty entities whose update was deferred to a later net tick, as of the last net tick
+     */
+    int getDeferredEntityUpdates();
+
+    /**
+     * @return How long the longest deferred entity update has been waiting, as of the last net tick, in milliseconds
+     */
+    long getLongestEntityUpdateDelay();
 }
@@ -0,0 +1,51 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network;
+
+import java.util.zip.Deflater;
+
+/**
+ * How a server compresses the messages it sends to its clients. The dictionary modes are only used for clients that
+ * announce support for them during the handshake, all other clients get {@link #ZLIB}.
+ */
+public enum NetworkCompression {
+    /**
+     * A single zlib stream per connection at the default level, which every client understands.
+     */
+    ZLIB(Deflater.DEFAULT_COMPRESSION),
+
+    /**
+     * Deflate primed with the preset dictionary of the engine, at the fastest level.
+     */
+    DICTIONARY_FAST(Deflater.BEST_SPEED),
+
+    /**
+     * Deflate primed with the preset dictionary of the engine, trading some speed for smaller messages.
+     */
+    DICTIONARY_BALANCED(5),
+
+    /**
+     * Deflate primed with the preset dictionary of the engine, at the smallest size.
+     */
+    DICTIONARY_BEST(Deflater.BEST_COMPRESSION);
+
+    private final int level;
+
+    NetworkCompression(int level) {
+        this.level = level;
+    }
+
+    /**
+     * @return The {@link Deflater} level of the mode
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return Whether the mode needs the client to support the preset dictionary of the engine
+     */
+    public boolean usesDictionary() {
+        return this != ZLIB;
+    }
+}
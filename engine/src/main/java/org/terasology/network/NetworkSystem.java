@@ -17,6 +17,7 @@
 package org.terasology.network;
 
 import org.terasology.context.Context;
+import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.metadata.EventLibrary;
@@ -65,6 +66,36 @@ public interface NetworkSystem extends BlockRegistrationListener {
 
     int getOutgoingBytesDelta();
 
+    /**
+     * @return The time spent serializing outgoing messages since last request, in milliseconds
+     */
+    float getSerializationTimeDelta();
+
+    /**
+     * @return The amount of outgoing messages waiting to be serialized and sent
+     */
+    int getQueuedOutgoingMessages();
+
+    /**
+     * @return The amount of entity updates deferred over all clients because their bandwidth was used up
+     */
+    int getDeferredEntityUpdates();
+
+    /**
+     * @return The longest time an entity update of any client has been deferred, in milliseconds
+     */
+    long getLongestEntityUpdateDelay();
+
+    /**
+     * Sets how important changes to a type of component are for clients. Entities with changes gain priority to be
+     * updated by the highest weight of their changed components, so that updates with low weights are delayed first
+     * when the bandwidth of a client is used up. The default weight is 1.
+     *
+     * @param componentType The type of component
+     * @param weight The weight of changes to the component, greater than 0
+     */
+    void setComponentUpdateWeight(Class<? extends Component> componentType, float weight);
+
     void forceDisconnect(Client client);
 
     void setContext(Context context);
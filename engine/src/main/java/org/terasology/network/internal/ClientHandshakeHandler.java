@@ -32,6 +32,7 @@
 import org.terasology.identity.IdentityConstants;
 import org.terasology.identity.PrivateIdentityCertificate;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.network.internal.compression.CompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.BadPaddingException;
@@ -81,12 +82,25 @@ public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         if (message.hasHandshakeHello()) {
             processServerHello(message.getHandshakeHello(), ctx);
         } else if (message.hasProvisionIdentity()) {
+            acceptCompression(message, ctx);
             processNewIdentity(message.getProvisionIdentity(), ctx);
         } else if (message.hasHandshakeVerification()) {
+            acceptCompression(message, ctx);
             processHandshakeVerification(message.getHandshakeVerification(), ctx);
         }
     }
 
+    /**
+     * The server compresses every message after its last handshake message with the dictionary if that message
+     * announces it, so the decoder has to be switched before the next message arrives.
+     */
+    private void acceptCompression(NetData.NetMessage message, ChannelHandlerContext ctx) {
+        if (CompressionNegotiation.hasDictionary(message)) {
+            logger.info("Server compresses messages with the preset dictionary");
+            CompressionNegotiation.useDictionaryDecoder(ctx.getPipeline());
+        }
+    }
+
     /**
      * Process the handshake verification, checking that both the server and client have attempted it. If successful marks the channel as Authenticated.
      * @param handshakeVerification
@@ -242,10 +256,10 @@ private void sendCertificate(NetData.HandshakeHello helloMessage, ChannelHandler
         byte[] dataToSign = Bytes.concat(helloMessage.toByteArray(), clientHello.toByteArray());
         byte[] signature = identity.getPlayerPrivateCertificate().sign(dataToSign);
 
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        ctx.getChannel().write(CompressionNegotiation.announceDictionary(NetData.NetMessage.newBuilder()
                 .setHandshakeHello(clientHello)
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
-                        .setSignature(ByteString.copyFrom(signature)))
+                        .setSignature(ByteString.copyFrom(signature))))
                 .build());
     }
 
@@ -262,10 +276,10 @@ private void requestIdentity(ChannelHandlerContext ctx) {
 
         masterSecret = HandshakeCommon.generateMasterSecret(preMasterSecret, clientRandom, serverRandom);
 
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        ctx.getChannel().write(CompressionNegotiation.announceDictionary(NetData.NetMessage.newBuilder()
                 .setNewIdentityRequest(NetData.NewIdentityRequest.newBuilder()
                         .setPreMasterSecret(ByteString.copyFrom(encryptedPreMasterSecret))
-                        .setRandom(ByteString.copyFrom(clientRandom)))
+                        .setRandom(ByteString.copyFrom(clientRandom))))
                 .build());
         requestedCertificate = true;
     }
@@ -0,0 +1,116 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import gnu.trove.map.TIntFloatMap;
+import gnu.trove.map.TIntLongMap;
+import gnu.trove.map.hash.TIntFloatHashMap;
+import gnu.trove.map.hash.TIntLongHashMap;
+import gnu.trove.procedure.TLongProcedure;
+
+import java.util.Arrays;
+
+/**
+ * Decides which of the dirty entities of a client are updated on a net tick.
+ * <p>
+ * Every tick an entity stays dirty, its priority grows by how important its update currently is, so that near and
+ * important entities are updated first and every other entity is updated eventually. The updates are sent in order of
+ * priority until the byte budget of the tick is used up. Unused budget is carried over for a few ticks, and the update
+ * exceeding the budget is sent anyway and paid for by the following ticks.
+ */
+final class EntityUpdateScheduler {
+
+    private static final int MAX_SAVED_TICKS = 4;
+
+    private final TIntFloatMap priorities = new TIntFloatHashMap();
+    private final TIntLongMap dirtySince = new TIntLongHashMap();
+    private float budget;
+
+    /**
+     * Adds to the priority of a dirty entity.
+     *
+     * @param time The current game time, in milliseconds
+     */
+    void accumulate(int netId, float priority, long time) {
+        priorities.adjustOrPutValue(netId, priority, priority);
+        dirtySince.putIfAbsent(netId, time);
+    }
+
+    /**
+     * Starts a net tick.
+     *
+     * @param tickBudget The bytes of entity updates the client can receive per tick
+     * @return the dirty entities, in the order they should be updated
+     */
+    int[] beginTick(float tickBudget) {
+        budget = Math.min(budget + tickBudget, tickBudget * MAX_SAVED_TICKS);
+        int[] netIds = priorities.keys();
+        // Priorities are positive, so their bits sort like them. Sorting them along with their index avoids boxing.
+        long[] order = new long[netIds.length];
+        for (int i = 0; i < netIds.length; i++) {
+            order[i] = ((long) Float.floatToIntBits(priorities.get(netIds[i])) << 32) | i;
+        }
+        Arrays.sort(order);
+        int[] result = new int[netIds.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = netIds[(int) order[order.length - 1 - i]];
+        }
+        return result;
+    }
+
+    /**
+     * @return whether there is budget left for another update this tick
+     */
+    boolean hasBudget() {
+        return budget > 0;
+    }
+
+    /**
+     * Records that an entity was updated, which resets its priority.
+     *
+     * @param bytes The size of the update
+     */
+    void updated(int netId, int bytes) {
+        budget -= bytes;
+        remove(netId);
+    }
+
+    /**
+     * Forgets an entity that is no longer relevant to the client.
+     */
+    void remove(int netId) {
+        priorities.remove(netId);
+        dirtySince.remove(netId);
+    }
+
+    /**
+     * @return the amount of dirty entities waiting for an update
+     */
+    int getDeferredUpdates() {
+        return priorities.size();
+    }
+
+    /**
+     * @param time The current game time, in milliseconds
+     * @return how long the entity that has waited the longest has been waiting for its update, in milliseconds
+     */
+    long getLongestDelay(long time) {
+        OldestProcedure oldest = new OldestProcedure(time);
+        dirtySince.forEachValue(oldest);
+        return time - oldest.since;
+    }
+
+    private static final class OldestProcedure implements TLongProcedure {
+        private long since;
+
+        private OldestProcedure(long time) {
+            this.since = time;
+        }
+
+        @Override
+        public boolean execute(long value) {
+            since = Math.min(since, value);
+            return true;
+        }
+    }
+}
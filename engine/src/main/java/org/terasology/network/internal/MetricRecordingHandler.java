@@ -22,10 +22,13 @@
 import org.jboss.netty.channel.SimpleChannelHandler;
 import org.terasology.network.NetMetricSource;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * A generic Netty handler for recording metrics on sent and received bytes and messages.
+ * A generic Netty handler for recording metrics on sent and received bytes and messages. It also keeps the metrics
+ * {@link NetMessageEncoder} records while serializing the outgoing messages of a client.
  *
  */
 public class MetricRecordingHandler extends SimpleChannelHandler implements NetMetricSource {
@@ -36,6 +39,10 @@ public class MetricRecordingHandler extends SimpleChannelHandler implements NetM
     private AtomicInteger receivedBytes = new AtomicInteger();
     private AtomicInteger sentMessages = new AtomicInteger();
     private AtomicInteger sentBytes = new AtomicInteger();
+    private AtomicLong serializationNanos = new AtomicLong();
+    private AtomicInteger queuedMessages = new AtomicInteger();
+    private volatile int deferredEntityUpdates;
+    private volatile long longestEntityUpdateDelay;
 
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
@@ -53,6 +60,20 @@ public void writeRequested(ChannelHandlerContext ctx, MessageEvent e) throws Exc
         ctx.sendDownstream(e);
     }
 
+    void messageQueued() {
+        queuedMessages.incrementAndGet();
+    }
+
+    void messageSerialized(long nanos) {
+        queuedMessages.decrementAndGet();
+        serializationNanos.addAndGet(nanos);
+    }
+
+    void entityUpdatesScheduled(int deferred, long longestDelay) {
+        deferredEntityUpdates = deferred;
+        longestEntityUpdateDelay = longestDelay;
+    }
+
     @Override
     public int getReceivedMessagesSinceLastCall() {
         return receivedMessages.getAndSet(0);
@@ -72,4 +93,24 @@ public int getSentMessagesSinceLastCall() {
     public int getSentBytesSinceLastCall() {
         return sentBytes.getAndSet(0);
     }
+
+    @Override
+    public float getSerializationTimeSinceLastCall() {
+        return (float) serializationNanos.getAndSet(0) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public int getQueuedMessages() {
+        return queuedMessages.get();
+    }
+
+    @Override
+    public int getDeferredEntityUpdates() {
+        return deferredEntityUpdates;
+    }
+
+    @Override
+    public long getLongestEntityUpdateDelay() {
+        return longestEntityUpdateDelay;
+    }
 }
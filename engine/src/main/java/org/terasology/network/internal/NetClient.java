@@ -38,10 +38,13 @@
 import org.terasology.entitySystem.metadata.EventMetadata;
 import org.terasology.entitySystem.metadata.NetworkEventType;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.logic.characters.CharacterMoveInputEvent;
 import org.terasology.logic.characters.PredictionSystem;
 import org.terasology.logic.common.DisplayNameComponent;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
+import org.terasology.math.JomlUtil;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
@@ -64,9 +67,11 @@
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.chunks.Chunk;
+import org.terasology.world.propagation.BlockChange;
 
 import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +86,10 @@
 public class NetClient extends AbstractClient implements WorldChangeListener {
     private static final Logger logger = LoggerFactory.getLogger(NetClient.class);
     private static final float NET_TICK_RATE = 0.05f;
+    private static final float BYTES_PER_KILOBIT = 1000f / 8;
+    private static final float OWNED_UPDATE_WEIGHT = 4f;
+    private static final float STRUCTURAL_UPDATE_WEIGHT = 2f;
+    private static final float UPDATE_DISTANCE_FALLOFF = 16f;
 
     private Time time;
     private NetworkSystemImpl networkSystem;
@@ -88,7 +97,8 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private NetworkEntitySerializer entitySerializer;
     private EventSerializer eventSerializer;
     private EventLibrary eventLibrary;
-    private NetMetricSource metricSource;
+    private MetricRecordingHandler metricSource;
+    private NetMessageEncoder.ClientQueue outgoing;
 
     // Relevance
     private Set<Vector3i> relevantChunks = Sets.newHashSet();
@@ -101,6 +111,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private SetMultimap<Integer, Class<? extends Component>> dirtyComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> addedComponents = LinkedHashMultimap.create();
     private SetMultimap<Integer, Class<? extends Component>> removedComponents = LinkedHashMultimap.create();
+    private EntityUpdateScheduler updateScheduler = new EntityUpdateScheduler();
 
     private String preferredName = "Player";
     private long lastReceivedTime;
@@ -112,7 +123,7 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     private PublicIdentityCertificate identity;
 
     // Outgoing messages
-    private BlockingQueue<NetData.BlockChangeMessage> queuedOutgoingBlockChanges = Queues.newLinkedBlockingQueue();
+    private final Map<Vector3i, Map<Vector3i, Integer>> queuedOutgoingBlockChanges = Maps.newLinkedHashMap();
     private BlockingQueue<NetData.ExtraDataChangeMessage> queuedOutgoingExtraDataChanges = Queues.newLinkedBlockingQueue();
     private List<NetData.EventMessage> queuedOutgoingEvents = Lists.newArrayList();
     private final List<BlockFamily> newlyRegisteredFamilies = Lists.newArrayList();
@@ -127,8 +138,6 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
     // Metrics
     private AtomicInteger receivedMessages = new AtomicInteger();
     private AtomicInteger receivedBytes = new AtomicInteger();
-    private AtomicInteger sentMessages = new AtomicInteger();
-    private AtomicInteger sentBytes = new AtomicInteger();
     private Color color;
 
     /**
@@ -139,8 +148,9 @@ public class NetClient extends AbstractClient implements WorldChangeListener {
      */
     public NetClient(Channel channel, NetworkSystemImpl networkSystem, PublicIdentityCertificate identity) {
         this.channel = channel;
-        metricSource = (NetMetricSource) channel.getPipeline().get(MetricRecordingHandler.NAME);
+        metricSource = (MetricRecordingHandler) channel.getPipeline().get(MetricRecordingHandler.NAME);
         this.networkSystem = networkSystem;
+        this.outgoing = networkSystem.getMessageEncoder().createQueue(channel, metricSource);
         this.time = CoreRegistry.get(Time.class);
         this.identity = identity;
         WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
@@ -204,7 +214,8 @@ public void disconnect() {
         super.disconnect();
 
         if (channel.isOpen()) {
-            channel.close().awaitUninterruptibly();
+            // Lets the messages queued before, e.g. why the client was kicked, reach the client first
+            outgoing.close();
         }
 
         WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
@@ -213,19 +224,30 @@ public void disconnect() {
         }
     }
 
+    /**
+     * On a net tick, captures everything that changed for this client since the last one. Only the entities are
+     * serialized on the main thread, as they keep being modified. New chunks are pinned and encoded by the message
+     * encoder, which also assembles, serializes and writes the message.
+     */
     @Override
     public void update(boolean netTick) {
         if (netTick) {
             NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder();
             message.setTime(time.getGameTimeInMs());
+            List<Chunk> newChunks = Lists.newArrayListWithCapacity(1);
             sendRegisteredBlocks(message);
             sendChunkInvalidations(message);
-            sendNewChunks(message);
+            sendNewChunks(newChunks);
             sendRemovedEntities(message);
             sendInitialEntities(message);
             sendDirtyEntities(message);
             sendEvents(message);
-            send(message.build());
+            outgoing.send(() -> {
+                for (Chunk chunk : newChunks) {
+                    message.addChunkInfo(chunk.encode());
+                }
+                return message.build();
+            });
         }
         processReceivedMessages();
     }
@@ -244,7 +266,7 @@ private void sendRegisteredBlocks(NetData.NetMessage.Builder message) {
         }
     }
 
-    private void sendNewChunks(NetData.NetMessage.Builder message) {
+    private void sendNewChunks(List<Chunk> newChunks) {
         if (!readyChunks.isEmpty()) {
             chunkSendCounter += chunkSendRate * NET_TICK_RATE * networkSystem.getBandwidthPerClient();
             if (chunkSendCounter > 1.0f) {
@@ -265,7 +287,7 @@ private void sendNewChunks(NetData.NetMessage.Builder message) {
                 }
                 Chunk chunk = readyChunks.remove(pos);
                 relevantChunks.add(pos);
-                message.addChunkInfo(chunk.encode());
+                newChunks.add(chunk.pinVersion());
             }
         } else {
             chunkSendCounter = 1.0f;
@@ -296,6 +318,7 @@ public void setNetRemoved(int netId) {
         removedComponents.keySet().remove(netId);
         netDirty.remove(netId);
         netRelevant.remove(netId);
+        updateScheduler.remove(netId);
     }
 
     public void setComponentAdded(int networkId, Class<? extends Component> component) {
@@ -372,10 +395,7 @@ public boolean isLocal() {
     }
 
     void send(NetData.NetMessage data) {
-        logger.trace("Sending packet with size {}", data.getSerializedSize());
-        sentMessages.incrementAndGet();
-        sentBytes.addAndGet(data.getSerializedSize());
-        channel.write(data);
+        outgoing.send(() -> data);
     }
 
     @Override
@@ -394,10 +414,21 @@ public void onChunkIrrelevant(Vector3i pos) {
     public void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock) {
         Vector3i chunkPos = ChunkMath.calcChunkPos(pos);
         if (relevantChunks.contains(chunkPos)) {
-            queuedOutgoingBlockChanges.add(NetData.BlockChangeMessage.newBuilder()
-                    .setPos(NetMessageUtil.convert(pos))
-                    .setNewBlock(newBlock.getId())
-                    .build());
+            synchronized (queuedOutgoingBlockChanges) {
+                queuedOutgoingBlockChanges.computeIfAbsent(chunkPos, k -> Maps.newLinkedHashMap()).put(pos, (int) newBlock.getId());
+            }
+        }
+    }
+
+    @Override
+    public void onBlocksChanged(Vector3i chunkPos, Collection<BlockChange> changes) {
+        if (relevantChunks.contains(chunkPos)) {
+            synchronized (queuedOutgoingBlockChanges) {
+                Map<Vector3i, Integer> chunkDelta = queuedOutgoingBlockChanges.computeIfAbsent(chunkPos, k -> Maps.newLinkedHashMap());
+                for (BlockChange change : changes) {
+                    chunkDelta.put(JomlUtil.from(change.getPosition()), (int) change.getTo().getId());
+                }
+            }
         }
     }
 
@@ -427,10 +458,18 @@ private void processReceivedMessages() {
     }
 
     private void sendEvents(NetData.NetMessage.Builder message) {
-        List<NetData.BlockChangeMessage> blockChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingBlockChanges.size());
-        queuedOutgoingBlockChanges.drainTo(blockChanges);
-        message.addAllBlockChange(blockChanges);
-        
+        synchronized (queuedOutgoingBlockChanges) {
+            // Changes are grouped per chunk and only the latest block per position is sent
+            for (Map<Vector3i, Integer> chunkDelta : queuedOutgoingBlockChanges.values()) {
+                for (Map.Entry<Vector3i, Integer> change : chunkDelta.entrySet()) {
+                    message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                            .setPos(NetMessageUtil.convert(change.getKey()))
+                            .setNewBlock(change.getValue()));
+                }
+            }
+            queuedOutgoingBlockChanges.clear();
+        }
+
         List<NetData.ExtraDataChangeMessage> extraDataChanges = Lists.newArrayListWithExpectedSize(queuedOutgoingExtraDataChanges.size());
         queuedOutgoingExtraDataChanges.drainTo(extraDataChanges);
         message.addAllExtraDataChange(extraDataChanges);
@@ -449,10 +488,22 @@ private void processEntityUpdates(NetData.NetMessage message) {
         }
     }
 
+    /**
+     * Sends the updates of the dirty entities with the highest priority that fit into the share of the bandwidth of
+     * this client. The others stay dirty, gaining priority, until a later tick.
+     */
     private void sendDirtyEntities(NetData.NetMessage.Builder message) {
+        long now = time.getGameTimeInMs();
+        Vector3f viewPosition = getViewPosition();
         TIntIterator dirtyIterator = netDirty.iterator();
         while (dirtyIterator.hasNext()) {
             int netId = dirtyIterator.next();
+            updateScheduler.accumulate(netId, getUpdatePriority(netId, viewPosition), now);
+        }
+
+        int[] byPriority = updateScheduler.beginTick(NET_TICK_RATE * networkSystem.getBandwidthPerClient() * BYTES_PER_KILOBIT);
+        for (int i = 0; i < byPriority.length && updateScheduler.hasBudget(); i++) {
+            int netId = byPriority[i];
             EntityRef entity = networkSystem.getEntity(netId);
             if (!entity.exists()) {
                 logger.error("Sending non-existent entity update for netId {}", netId);
@@ -460,14 +511,63 @@ private void sendDirtyEntities(NetData.NetMessage.Builder message) {
             boolean isOwner = networkSystem.getOwner(entity) == this;
             EntityData.PackedEntity entityData = entitySerializer.serialize(entity, addedComponents.get(netId), dirtyComponents.get(netId), removedComponents.get(netId),
                     new ServerComponentFieldCheck(isOwner, false));
+            int size = 0;
             if (entityData != null) {
                 message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setEntity(entityData).setNetId(netId));
+                size = entityData.getSerializedSize();
             }
+            updateScheduler.updated(netId, size);
+            netDirty.remove(netId);
+            addedComponents.removeAll(netId);
+            removedComponents.removeAll(netId);
+            dirtyComponents.removeAll(netId);
         }
-        netDirty.clear();
-        addedComponents.clear();
-        removedComponents.clear();
-        dirtyComponents.clear();
+        metricSource.entityUpdatesScheduled(updateScheduler.getDeferredUpdates(), updateScheduler.getLongestDelay(now));
+    }
+
+    /**
+     * @return how much the update of a dirty entity gains in priority per tick: the highest weight of its changed
+     * components, more if it is owned by this client, less the farther it is from the character of this client
+     */
+    private float getUpdatePriority(int netId, Vector3f viewPosition) {
+        float weight = 0;
+        for (Class<? extends Component> componentType : dirtyComponents.get(netId)) {
+            weight = Math.max(weight, networkSystem.getComponentUpdateWeight(componentType));
+        }
+        for (Class<? extends Component> componentType : addedComponents.get(netId)) {
+            weight = Math.max(weight, STRUCTURAL_UPDATE_WEIGHT * networkSystem.getComponentUpdateWeight(componentType));
+        }
+        for (Class<? extends Component> componentType : removedComponents.get(netId)) {
+            weight = Math.max(weight, STRUCTURAL_UPDATE_WEIGHT * networkSystem.getComponentUpdateWeight(componentType));
+        }
+        if (weight <= 0) {
+            weight = 1;
+        }
+
+        EntityRef entity = networkSystem.getEntity(netId);
+        if (networkSystem.getOwner(entity) == this) {
+            weight *= OWNED_UPDATE_WEIGHT;
+        }
+        LocationComponent location = entity.getComponent(LocationComponent.class);
+        if (viewPosition != null && location != null) {
+            Vector3f position = location.getWorldPosition();
+            if (!Float.isNaN(position.x)) {
+                weight /= 1 + position.distanceSquared(viewPosition) / (UPDATE_DISTANCE_FALLOFF * UPDATE_DISTANCE_FALLOFF);
+            }
+        }
+        return weight;
+    }
+
+    private Vector3f getViewPosition() {
+        ClientComponent client = getEntity().getComponent(ClientComponent.class);
+        if (client == null) {
+            return null;
+        }
+        LocationComponent location = client.character.getComponent(LocationComponent.class);
+        if (location == null || Float.isNaN(location.getWorldPosition().x)) {
+            return null;
+        }
+        return location.getWorldPosition();
     }
 
     private void sendRemovedEntities(NetData.NetMessage.Builder message) {
@@ -513,6 +613,9 @@ private void processEvents(NetData.NetMessage message) {
                     logger.warn("Received non-server event '{}' from client '{}'", metadata, getName());
                     continue;
                 }
+                if (predictionSystem != null && !(event instanceof CharacterMoveInputEvent)) {
+                    predictionSystem.stepPendingInputs();
+                }
                 if (!lagCompensated && metadata.isLagCompensated()) {
                     if (predictionSystem != null) {
                         predictionSystem.lagCompensate(getEntity(), lastReceivedTime);
@@ -0,0 +1,168 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.CodedOutputStream;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.protobuf.NetData;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Assembles, serializes and writes the outgoing messages of net clients on a pool of worker threads, so that the main
+ * thread only has to capture what changed for each client.
+ * <p>
+ * Each client gets its own {@link ClientQueue}, whose messages are written in the order they were queued. Messages are
+ * serialized into pooled buffers, which are returned to the pool once the channel has written them.
+ */
+final class NetMessageEncoder {
+    private static final Logger logger = LoggerFactory.getLogger(NetMessageEncoder.class);
+
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final int MIN_BUFFER_SIZE = 4096;
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+
+    private final ExecutorService executor;
+    private final BlockingQueue<ChannelBuffer> bufferPool = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    NetMessageEncoder(int threads) {
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("Net message encoder %d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Creates the queue of outgoing messages of a client.
+     *
+     * @param channel The channel to write the messages of the client to
+     * @param metrics The metrics to record the serialization time and queue depth of the client in
+     */
+    ClientQueue createQueue(Channel channel, MetricRecordingHandler metrics) {
+        return new ClientQueue(channel, metrics);
+    }
+
+    /**
+     * Stops the worker threads. Messages queued afterwards are written by the thread queueing them.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void schedule(ClientQueue queue) {
+        try {
+            executor.execute(queue::drain);
+        } catch (RejectedExecutionException e) {
+            queue.drain();
+        }
+    }
+
+    private ChannelBuffer acquireBuffer(int size) {
+        ChannelBuffer buffer = bufferPool.poll();
+        if (buffer == null || buffer.capacity() < size) {
+            buffer = ChannelBuffers.buffer(Math.max(size, MIN_BUFFER_SIZE));
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private void releaseBuffer(ChannelBuffer buffer) {
+        if (buffer.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+            bufferPool.offer(buffer);
+        }
+    }
+
+    /**
+     * The outgoing messages of a single client. At most one worker drains a queue at a time.
+     */
+    final class ClientQueue {
+        private final Channel channel;
+        private final MetricRecordingHandler metrics;
+        private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private ClientQueue(Channel channel, MetricRecordingHandler metrics) {
+            this.channel = channel;
+            this.metrics = metrics;
+        }
+
+        /**
+         * Queues a message, which is assembled on a worker thread. The supplier must only use data that no other thread
+         * modifies anymore.
+         */
+        void send(Supplier<NetData.NetMessage> message) {
+            metrics.messageQueued();
+            submit(() -> write(message));
+        }
+
+        /**
+         * Closes the channel once all messages queued before have been written.
+         */
+        void close() {
+            submit(channel::close);
+        }
+
+        private void submit(Runnable task) {
+            pending.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                schedule(this);
+            }
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = pending.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to send message", e);
+                }
+            }
+            scheduled.set(false);
+            // A task may have been queued after the last poll, but before this worker gave up the queue
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                schedule(this);
+            }
+        }
+
+        private void write(Supplier<NetData.NetMessage> messageSupplier) {
+            long start = System.nanoTime();
+            ChannelBuffer buffer;
+            try {
+                NetData.NetMessage message = messageSupplier.get();
+                int size = message.getSerializedSize();
+                buffer = acquireBuffer(size);
+                CodedOutputStream output = CodedOutputStream.newInstance(buffer.array(), buffer.arrayOffset(), size);
+                message.writeTo(output);
+                output.checkNoSpaceLeft();
+                buffer.writerIndex(size);
+                logger.trace("Sending packet with size {}", size);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to serialize message", e);
+            } finally {
+                metrics.messageSerialized(System.nanoTime() - start);
+            }
+            // The protobuf encoder of the pipeline passes the serialized message on as it is. The buffer is returned to
+            // the pool whether or not the write succeeded.
+            try {
+                channel.write(buffer).addListener(future -> releaseBuffer(buffer));
+            } catch (RuntimeException e) {
+                releaseBuffer(buffer);
+                throw e;
+            }
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package org.terasology.network.internal;
 
 import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
@@ -114,6 +116,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private static final int OWNER_DEPTH_LIMIT = 50;
     private static final int NET_TICK_RATE = 50;
     private static final int NULL_NET_ID = 0;
+    private static final int MESSAGE_ENCODER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
 
     // Shared
     private Context context;
@@ -125,6 +128,7 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
     private EventLibrary eventLibrary;
     private EventSerializer eventSerializer;
     private NetworkEntitySerializer entitySerializer;
+    private TypeHandlerLibrary typeHandlerLibrary;
     private BlockManager blockManager;
     private OwnershipHelper ownershipHelper;
 
@@ -138,6 +142,8 @@ public class NetworkSystemImpl implements EntityChangeSubscriber, NetworkSystem
 
     // Server only
     private ChannelGroup allChannels = new DefaultChannelGroup("tera-channels");
+    private NetMessageEncoder messageEncoder;
+    private final Map<Class<? extends Component>, Float> componentUpdateWeights = Maps.newConcurrentMap();
     private BlockingQueue<NetClient> newClients = Queues.newLinkedBlockingQueue();
     private BlockingQueue<NetClient> disconnectedClients = Queues.newLinkedBlockingQueue();
     private int nextNetId = 1;
@@ -169,6 +175,10 @@ public void host(int port, boolean dedicatedServer) throws HostingFailedExceptio
                     registerNetworkEntity(entity);
                 }
                 generateSerializationTables();
+                if (typeHandlerLibrary != null) {
+                    warmUpSerializers();
+                }
+                messageEncoder = new NetMessageEncoder(MESSAGE_ENCODER_THREADS);
 
                 factory = new NioServerSocketChannelFactory(Executors.newCachedThreadPool(), Executors.newCachedThreadPool());
                 ServerBootstrap bootstrap = new ServerBootstrap(factory);
@@ -260,6 +270,9 @@ public void shutdown() {
         }
         processPendingDisconnects();
         clientList.forEach(this::processRemovedClient);
+        if (messageEncoder != null) {
+            messageEncoder.shutdown();
+        }
         server = null;
         nextNetId = 1;
         netIdToEntityId.clear();
@@ -534,13 +547,16 @@ public void connectToEntitySystem(EngineEntityManager newEntityManager, EventLib
 
         context.get(ComponentSystemManager.class).register(new NetworkEntitySystem(this), "engine:networkEntitySystem");
 
-        TypeHandlerLibrary typeHandlerLibrary = new TypeHandlerLibrary(entityManager.getTypeSerializerLibrary());
+        typeHandlerLibrary = new TypeHandlerLibrary(entityManager.getTypeSerializerLibrary());
         typeHandlerLibrary.addTypeHandler(EntityRef.class, new NetEntityRefTypeHandler(this, blockEntityRegistry));
         // TODO: Add network override types here (that use id lookup tables)
 
         eventSerializer = new EventSerializer(eventLibrary, typeHandlerLibrary);
         entitySerializer = new NetworkEntitySerializer(newEntityManager, entityManager.getComponentLibrary(), typeHandlerLibrary);
         entitySerializer.setComponentSerializeCheck(new NetComponentSerializeCheck());
+        if (mode != NetworkMode.NONE) {
+            warmUpSerializers();
+        }
 
         if (mode == NetworkMode.CLIENT) {
             entityManager.setEntityRefStrategy(new NetworkClientRefStrategy(this));
@@ -721,6 +737,52 @@ public int getOutgoingBytesDelta() {
         }
     }
 
+    @Override
+    public float getSerializationTimeDelta() {
+        float total = 0;
+        for (NetClient client : netClientList) {
+            total += client.getMetrics().getSerializationTimeSinceLastCall();
+        }
+        return total;
+    }
+
+    @Override
+    public int getQueuedOutgoingMessages() {
+        int total = 0;
+        for (NetClient client : netClientList) {
+            total += client.getMetrics().getQueuedMessages();
+        }
+        return total;
+    }
+
+    @Override
+    public int getDeferredEntityUpdates() {
+        int total = 0;
+        for (NetClient client : netClientList) {
+            total += client.getMetrics().getDeferredEntityUpdates();
+        }
+        return total;
+    }
+
+    @Override
+    public long getLongestEntityUpdateDelay() {
+        long longest = 0;
+        for (NetClient client : netClientList) {
+            longest = Math.max(longest, client.getMetrics().getLongestEntityUpdateDelay());
+        }
+        return longest;
+    }
+
+    @Override
+    public void setComponentUpdateWeight(Class<? extends Component> componentType, float weight) {
+        Preconditions.checkArgument(weight > 0, "Update weight must be greater than 0");
+        componentUpdateWeights.put(componentType, weight);
+    }
+
+    float getComponentUpdateWeight(Class<? extends Component> componentType) {
+        return componentUpdateWeights.getOrDefault(componentType, 1f);
+    }
+
     long getEntityId(int netId) {
         return netIdToEntityId.get(netId);
     }
@@ -763,6 +825,13 @@ void removeKickedClient(NetClient client) {
         disconnectedClients.offer(client);
     }
 
+    /**
+     * @return the encoder that assembles and writes the outgoing messages of net clients while hosting
+     */
+    NetMessageEncoder getMessageEncoder() {
+        return messageEncoder;
+    }
+
     void registerChannel(Channel channel) {
         allChannels.add(channel);
     }
@@ -980,6 +1049,18 @@ private <T> Map<Class<? extends T>, Integer> applySerializationInfo(List<NetData
 
     }
 
+    /**
+     * Builds the network serializers of all component and event types, so that the first client to join doesn't have
+     * to. They can't be taken from the warmed up library of the entity system, as the network overrides the type
+     * handler of entity refs.
+     */
+    private void warmUpSerializers() {
+        List<ClassMetadata<?, ?>> types = Lists.newArrayList();
+        Iterables.addAll(types, componentLibrary);
+        Iterables.addAll(types, eventLibrary);
+        typeHandlerLibrary.warmUp(types);
+    }
+
     /**
      * Used for testing only
      */
@@ -23,12 +23,14 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.config.Config;
+import org.terasology.config.NetworkConfig;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.identity.BadEncryptedDataException;
 import org.terasology.identity.CertificateGenerator;
 import org.terasology.identity.CertificatePair;
 import org.terasology.identity.IdentityConstants;
 import org.terasology.identity.PublicIdentityCertificate;
+import org.terasology.network.internal.compression.CompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 import javax.crypto.BadPaddingException;
@@ -50,6 +52,7 @@ public class ServerHandshakeHandler extends SimpleChannelUpstreamHandler {
     private ServerConnectionHandler serverConnectionHandler;
     private byte[] serverRandom = new byte[IdentityConstants.SERVER_CLIENT_RANDOM_LENGTH];
     private NetData.HandshakeHello serverHello;
+    private boolean clientHasDictionary;
 
     @Override
     public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
@@ -78,6 +81,7 @@ public void channelConnected(ChannelHandlerContext ctx, ChannelStateEvent e) thr
     @Override
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) {
         NetData.NetMessage message = (NetData.NetMessage) e.getMessage();
+        clientHasDictionary = CompressionNegotiation.hasDictionary(message);
         if (message.hasNewIdentityRequest()) {
             processNewIdentityRequest(message.getNewIdentityRequest(), ctx);
         } else if (message.hasHandshakeHello() && message.hasHandshakeVerification()) {
@@ -105,9 +109,9 @@ private void processClientHandshake(NetData.HandshakeHello clientHello, NetData.
 
         logger.info("Sending server verification");
         byte[] serverSignature = config.getSecurity().getServerPrivateCertificate().sign(signatureData);
-        ctx.getChannel().write(NetData.NetMessage.newBuilder()
+        writeLastHandshakeMessage(ctx, NetData.NetMessage.newBuilder()
                 .setHandshakeVerification(NetData.HandshakeVerification.newBuilder()
-                        .setSignature(ByteString.copyFrom(serverSignature))).build());
+                        .setSignature(ByteString.copyFrom(serverSignature))));
 
         // Identity has been established, inform the server handler and withdraw from the pipeline
         ctx.getPipeline().remove(this);
@@ -140,10 +144,9 @@ private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityReq
                 return;
             }
 
-            ctx.getChannel().write(NetData.NetMessage.newBuilder()
+            writeLastHandshakeMessage(ctx, NetData.NetMessage.newBuilder()
                     .setProvisionIdentity(NetData.ProvisionIdentity.newBuilder()
-                            .setEncryptedCertificates(ByteString.copyFrom(encryptedCert)))
-                    .build());
+                            .setEncryptedCertificates(ByteString.copyFrom(encryptedCert))));
 
             // Identity has been established, inform the server handler and withdraw from the pipeline
             ctx.getPipeline().remove(this);
@@ -153,4 +156,22 @@ private void processNewIdentityRequest(NetData.NewIdentityRequest newIdentityReq
             ctx.getChannel().close();
         }
     }
+
+    /**
+     * Writes the last message of the handshake. If both ends support the dictionary compression, the message announces
+     * it and every message written afterwards is compressed with it.
+     */
+    private void writeLastHandshakeMessage(ChannelHandlerContext ctx, NetData.NetMessage.Builder message) {
+        NetworkConfig networkConfig = config.getNetwork();
+        boolean useDictionary = clientHasDictionary && networkConfig.getCompression().usesDictionary();
+        if (useDictionary) {
+            CompressionNegotiation.announceDictionary(message);
+        }
+        ctx.getChannel().write(message.build());
+        if (useDictionary) {
+            logger.info("Compressing messages with {}", networkConfig.getCompression());
+            CompressionNegotiation.useDictionaryEncoder(ctx.getPipeline(), networkConfig.getCompression(),
+                    networkConfig.getMinCompressedMessageSize());
+        }
+    }
 }
@@ -57,9 +57,6 @@
 import org.terasology.world.block.BlockUri;
 import org.terasology.world.block.BlockUriParseException;
 import org.terasology.world.block.internal.BlockManagerImpl;
-import org.terasology.world.chunks.Chunk;
-import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
-import org.terasology.world.chunks.internal.ChunkSerializer;
 import org.terasology.world.chunks.remoteChunkProvider.RemoteChunkProvider;
 
 import java.net.InetSocketAddress;
@@ -90,11 +87,10 @@ public class ServerImpl implements Server {
     private NetworkEntitySerializer entitySerializer;
     private EventSerializer eventSerializer;
     private BlockManagerImpl blockManager;
-    private ExtraBlockDataManager extraDataManager;
 
     private BlockEntityRegistry blockEntityRegistry;
     private RemoteChunkProvider remoteWorldProvider;
-    private BlockingQueue<Chunk> chunkQueue = Queues.newLinkedBlockingQueue();
+    private BlockingQueue<EntityData.ChunkStore> chunkQueue = Queues.newLinkedBlockingQueue();
     private TIntSet netDirty = new TIntHashSet();
     private SetMultimap<Integer, Class<? extends Component>> changedComponents = HashMultimap.create();
     private ListMultimap<Vector3i, NetData.BlockChangeMessage> awaitingChunkReadyBlockUpdates = ArrayListMultimap.create();
@@ -117,7 +113,6 @@ void connectToEntitySystem(EngineEntityManager newEntityManager, NetworkEntitySe
         this.entitySerializer = newEntitySerializer;
         this.blockEntityRegistry = newBlockEntityRegistry;
         blockManager = (BlockManagerImpl) CoreRegistry.get(BlockManager.class);
-        extraDataManager = CoreRegistry.get(ExtraBlockDataManager.class);
     }
 
     void setServerInfo(NetData.ServerInfoMessage serverInfo) {
@@ -194,9 +189,9 @@ private void sendEvents(NetData.NetMessage.Builder message) {
 
     private void processReceivedChunks() {
         if (remoteWorldProvider != null) {
-            List<Chunk> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
+            List<EntityData.ChunkStore> chunks = Lists.newArrayListWithExpectedSize(chunkQueue.size());
             chunkQueue.drainTo(chunks);
-            for (Chunk chunk : chunks) {
+            for (EntityData.ChunkStore chunk : chunks) {
                 remoteWorldProvider.receiveChunk(chunk);
             }
         }
@@ -335,10 +330,8 @@ private void processInvalidatedChunks(NetData.NetMessage message) {
     }
 
     private void processReceivedChunks(NetData.NetMessage message) {
-        for (EntityData.ChunkStore chunkInfo : message.getChunkInfoList()) {
-            Chunk chunk = ChunkSerializer.decode(chunkInfo, blockManager, extraDataManager);
-            chunkQueue.offer(chunk);
-        }
+        // Decoding happens on the chunk pipeline, see RemoteChunkProvider
+        chunkQueue.addAll(message.getChunkInfoList());
     }
 
     private void processBlockRegistrations(NetData.NetMessage message) {
@@ -0,0 +1,77 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal.compression;
+
+import com.google.protobuf.UnknownFieldSet;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.terasology.network.NetworkCompression;
+import org.terasology.protobuf.NetData;
+
+import java.util.List;
+
+/**
+ * Negotiates the dictionary compression of the messages a server sends during the handshake.
+ * <p>
+ * The client announces the checksum of the bytes of its {@link NetMessageDictionary} in its answer to the server hello.
+ * If the server compresses with a dictionary and has the same checksum, it repeats the checksum in its last handshake
+ * message, and both ends switch to the dictionary codec right after that message. Otherwise both ends keep using plain
+ * deflate. The checksum is sent as a field of the extension range of {@link NetData.NetMessage}, which peers without
+ * dictionary support ignore.
+ */
+public final class CompressionNegotiation {
+
+    /**
+     * The name of the handler compressing the messages a server sends.
+     */
+    public static final String DEFLATE_ENCODER = "deflateEncoder";
+
+    /**
+     * The name of the handler decompressing the messages a client receives.
+     */
+    public static final String INFLATE_DECODER = "inflateDecoder";
+
+    private static final int DICTIONARY_CHECKSUM_FIELD = 5001;
+
+    private CompressionNegotiation() {
+    }
+
+    /**
+     * Adds the checksum of the dictionary of the engine to a handshake message.
+     */
+    public static NetData.NetMessage.Builder announceDictionary(NetData.NetMessage.Builder message) {
+        return message.setUnknownFields(UnknownFieldSet.newBuilder(message.getUnknownFields())
+                .addField(DICTIONARY_CHECKSUM_FIELD, UnknownFieldSet.Field.newBuilder()
+                        .addFixed32(NetMessageDictionary.checksum())
+                        .build())
+                .build());
+    }
+
+    /**
+     * @return whether the handshake message announces a dictionary with the same bytes as the one of the engine
+     */
+    public static boolean hasDictionary(NetData.NetMessage message) {
+        UnknownFieldSet.Field field = message.getUnknownFields().getField(DICTIONARY_CHECKSUM_FIELD);
+        List<Integer> checksums = field.getFixed32List();
+        return !checksums.isEmpty() && checksums.get(checksums.size() - 1) == NetMessageDictionary.checksum();
+    }
+
+    /**
+     * Switches the server end of a connection to compressing with the dictionary.
+     *
+     * @param pipeline The pipeline of the connection, which must not be writing anything at the time
+     * @param compression The dictionary compression mode to use
+     * @param minCompressedSize The size in bytes from which on messages are compressed
+     */
+    public static void useDictionaryEncoder(ChannelPipeline pipeline, NetworkCompression compression, int minCompressedSize) {
+        pipeline.replace(DEFLATE_ENCODER, DEFLATE_ENCODER, new DictionaryDeflateEncoder(compression.getLevel(), minCompressedSize));
+    }
+
+    /**
+     * Switches the client end of a connection to decompressing with the dictionary.
+     *
+     * @param pipeline The pipeline of the connection, after the message announcing the switch has been decoded
+     */
+    public static void useDictionaryDecoder(ChannelPipeline pipeline) {
+        pipeline.replace(INFLATE_DECODER, INFLATE_DECODER, new DictionaryInflateDecoder());
+    }
+}
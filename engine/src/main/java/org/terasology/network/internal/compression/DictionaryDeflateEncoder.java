@@ -0,0 +1,111 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.LifeCycleAwareChannelHandler;
+import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
+
+import java.util.zip.Deflater;
+
+/**
+ * Compresses each message of a connection with a single raw deflate stream that is primed with the
+ * {@link NetMessageDictionary}, so that messages find matches both in the dictionary and in the messages sent before
+ * them. Every message is flushed on its own, so {@link DictionaryInflateDecoder} can decode it as soon as it arrives.
+ * <p>
+ * Messages smaller than the minimum size are sent as they are, as compressing them costs more time than it saves bytes.
+ * Each message starts with a byte telling which of both happened.
+ * <p>
+ * The native memory of the deflater is released when the channel closes or the encoder is removed from the pipeline.
+ * Messages encoded after that are sent uncompressed.
+ */
+public class DictionaryDeflateEncoder extends OneToOneEncoder implements LifeCycleAwareChannelHandler {
+
+    static final byte STORED = 0;
+    static final byte DEFLATED = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Deflater deflater;
+    private final int minCompressedSize;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private boolean ended;
+
+    /**
+     * @param level The {@link Deflater} level to compress with
+     * @param minCompressedSize The size in bytes from which on messages are compressed
+     */
+    public DictionaryDeflateEncoder(int level, int minCompressedSize) {
+        this.deflater = new Deflater(level, true);
+        this.minCompressedSize = minCompressedSize;
+        NetMessageDictionary.applyTo(deflater);
+    }
+
+    @Override
+    protected Object encode(ChannelHandlerContext ctx, Channel channel, Object msg) {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        ChannelBuffer input = (ChannelBuffer) msg;
+        int length = input.readableBytes();
+        if (length < minCompressedSize) {
+            return store(input);
+        }
+
+        byte[] data = new byte[length];
+        input.readBytes(data);
+        // Messages of a client are written by one thread at a time, but not always by the same one
+        synchronized (deflater) {
+            if (ended) {
+                return store(ChannelBuffers.wrappedBuffer(data));
+            }
+            ChannelBuffer output = ChannelBuffers.dynamicBuffer(length / 2 + 16);
+            output.writeByte(DEFLATED);
+            deflater.setInput(data);
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                output.writeBytes(buffer, 0, written);
+            } while (written == buffer.length);
+            return output;
+        }
+    }
+
+    private static ChannelBuffer store(ChannelBuffer input) {
+        return ChannelBuffers.wrappedBuffer(ChannelBuffers.wrappedBuffer(new byte[]{STORED}), input);
+    }
+
+    private void end() {
+        synchronized (deflater) {
+            if (!ended) {
+                ended = true;
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public void beforeAdd(ChannelHandlerContext ctx) {
+    }
+
+    @Override
+    public void afterAdd(ChannelHandlerContext ctx) {
+        // Only added to the pipelines of open channels, see CompressionNegotiation
+        Channel channel = ctx.getChannel();
+        if (channel != null) {
+            channel.getCloseFuture().addListener(future -> end());
+        }
+    }
+
+    @Override
+    public void beforeRemove(ChannelHandlerContext ctx) {
+    }
+
+    @Override
+    public void afterRemove(ChannelHandlerContext ctx) {
+        end();
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal.compression;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.LifeCycleAwareChannelHandler;
+import org.jboss.netty.handler.codec.compression.CompressionException;
+import org.jboss.netty.handler.codec.oneone.OneToOneDecoder;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the messages written by {@link DictionaryDeflateEncoder}. Expects to receive each message as a frame of
+ * its own, in the order they were written.
+ * <p>
+ * The native memory of the inflater is released when the channel closes or the decoder is removed from the pipeline.
+ */
+public class DictionaryInflateDecoder extends OneToOneDecoder implements LifeCycleAwareChannelHandler {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private boolean ended;
+
+    public DictionaryInflateDecoder() {
+        NetMessageDictionary.applyTo(inflater);
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, Channel channel, Object msg) {
+        if (!(msg instanceof ChannelBuffer)) {
+            return msg;
+        }
+        ChannelBuffer input = (ChannelBuffer) msg;
+        byte mode = input.readByte();
+        if (mode == DictionaryDeflateEncoder.STORED) {
+            return input;
+        }
+        if (mode != DictionaryDeflateEncoder.DEFLATED) {
+            throw new CompressionException("Unknown compression mode " + mode);
+        }
+
+        byte[] data = new byte[input.readableBytes()];
+        input.readBytes(data);
+        synchronized (inflater) {
+            if (ended) {
+                throw new CompressionException("Received a message after the channel was closed");
+            }
+            inflater.setInput(data);
+            ChannelBuffer output = ChannelBuffers.dynamicBuffer(data.length * 4);
+            try {
+                while (true) {
+                    int read = inflater.inflate(buffer);
+                    if (read == 0 && (inflater.needsInput() || inflater.finished() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    output.writeBytes(buffer, 0, read);
+                }
+            } catch (DataFormatException e) {
+                throw new CompressionException("Received invalid compressed message", e);
+            }
+            return output;
+        }
+    }
+
+    private void end() {
+        synchronized (inflater) {
+            if (!ended) {
+                ended = true;
+                inflater.end();
+            }
+        }
+    }
+
+    @Override
+    public void beforeAdd(ChannelHandlerContext ctx) {
+    }
+
+    @Override
+    public void afterAdd(ChannelHandlerContext ctx) {
+        // Only added to the pipelines of open channels, see CompressionNegotiation
+        Channel channel = ctx.getChannel();
+        if (channel != null) {
+            channel.getCloseFuture().addListener(future -> end());
+        }
+    }
+
+    @Override
+    public void beforeRemove(ChannelHandlerContext ctx) {
+    }
+
+    @Override
+    public void afterRemove(ChannelHandlerContext ctx) {
+        end();
+    }
+}
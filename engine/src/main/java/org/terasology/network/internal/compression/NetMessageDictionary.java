@@ -0,0 +1,182 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.network.internal.compression;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
+import org.terasology.protobuf.EntityData;
+import org.terasology.protobuf.NetData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The preset dictionary that primes the deflate streams of connections using a dictionary
+ * {@link org.terasology.network.NetworkCompression}, so that even the first, small messages of a connection find
+ * matches.
+ * <p>
+ * The dictionary consists of length delimited messages as they are written to the wire: the serialization tables and
+ * module list of a server info message, followed by the entity updates, events and block changes of a typical net
+ * tick. Deflate finds matches closer to the end of the dictionary with shorter codes, so the most frequent messages come
+ * last. Both ends of a connection must use the same dictionary, so they compare its {@link #checksum()} before using it.
+ */
+public final class NetMessageDictionary {
+
+    private static final String[] MODULES = {"engine", "CoreAssets", "CoreBlocks", "CoreWorlds", "Core", "Health",
+        "Inventory", "CoreAdvancedAssets", "BiomesAPI", "ChrisVolume1OST"};
+    private static final String[] COMPONENTS = {"Location", "Network", "Character", "CharacterMovement",
+        "CharacterSound", "DisplayName", "Client", "ClientInfo", "Color", "Block", "BlockRegion", "Health", "Inventory",
+        "Item", "Mesh", "SkeletalMesh", "Alive", "PlayerCharacter", "Gaze", "Light", "Trigger", "Rigidbody"};
+    private static final String[] EVENTS = {"CharacterState", "ActivationRequest", "AttackRequest", "JumpEvent",
+        "FootstepEvent", "OnChangedBlock", "ChatMessageEvent", "PingEvent", "SetMovementMode", "ActivateEvent",
+        "PlaySoundEvent", "DoDamageEvent"};
+    private static final String[] FIELDS = {"position", "rotation", "scale", "parent", "children", "velocity",
+        "yaw", "pitch", "mode", "grounded", "footstepDelta", "sequenceNumber", "time", "name", "color", "character",
+        "clientInfo", "local", "owner", "currentHealth", "maxHealth", "itemSlots", "stackCount", "instigator"};
+    private static final String[] BLOCKS = {"engine:air", "engine:unloaded", "CoreAssets:Stone", "CoreAssets:Dirt",
+        "CoreAssets:Grass", "CoreAssets:Snow", "CoreAssets:Sand", "CoreAssets:Water", "CoreAssets:Lava",
+        "CoreAssets:Ice", "CoreAssets:Torch", "CoreAssets:Chest", "CoreAssets:OakTrunk", "CoreAssets:GreenLeaf"};
+
+    private static final byte[] DICTIONARY = createDictionary();
+    private static final int CHECKSUM = computeChecksum(DICTIONARY);
+
+    private NetMessageDictionary() {
+    }
+
+    /**
+     * Sets the dictionary of a raw deflater, before it compresses anything.
+     */
+    public static void applyTo(Deflater deflater) {
+        deflater.setDictionary(DICTIONARY);
+    }
+
+    /**
+     * Sets the dictionary of a raw inflater, before it decompresses anything.
+     */
+    public static void applyTo(Inflater inflater) {
+        inflater.setDictionary(DICTIONARY);
+    }
+
+    /**
+     * @return the size of the dictionary in bytes
+     */
+    public static int size() {
+        return DICTIONARY.length;
+    }
+
+    /**
+     * @return the CRC32 of the bytes of the dictionary, which clients announce during the handshake
+     */
+    public static int checksum() {
+        return CHECKSUM;
+    }
+
+    private static int computeChecksum(byte[] dictionary) {
+        CRC32 crc = new CRC32();
+        crc.update(dictionary, 0, dictionary.length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] createDictionary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeDelimited(createServerInfo(), out);
+        for (int tick = 0; tick < 4; tick++) {
+            writeDelimited(createTick(tick), out);
+        }
+        return out.toByteArray();
+    }
+
+    private static NetData.NetMessage createServerInfo() {
+        NetData.ServerInfoMessage.Builder serverInfo = NetData.ServerInfoMessage.newBuilder()
+                .setGameName("Game Title")
+                .setVersion("4.0.0-SNAPSHOT")
+                .setTime(1000000)
+                .setOnlinePlayersAmount(1);
+        for (String module : MODULES) {
+            serverInfo.addModule(NetData.ModuleInfo.newBuilder().setModuleId(module).setModuleVersion("1.0.0"));
+        }
+        for (int i = 0; i < BLOCKS.length; i++) {
+            serverInfo.addBlockId(i);
+            serverInfo.addBlockName(BLOCKS[i]);
+            serverInfo.addRegisterBlockFamily(BLOCKS[i]);
+        }
+        for (int i = 0; i < COMPONENTS.length; i++) {
+            serverInfo.addComponent(createSerializationInfo("engine:" + COMPONENTS[i], i));
+        }
+        for (int i = 0; i < EVENTS.length; i++) {
+            serverInfo.addEvent(createSerializationInfo("engine:" + EVENTS[i], i));
+        }
+        return NetData.NetMessage.newBuilder().setServerInfo(serverInfo).build();
+    }
+
+    private static NetData.SerializationInfo createSerializationInfo(String name, int id) {
+        NetData.SerializationInfo.Builder info = NetData.SerializationInfo.newBuilder().setName(name).setId(id);
+        byte[] fieldIds = new byte[4];
+        for (int i = 0; i < fieldIds.length; i++) {
+            info.addFieldName(FIELDS[(id + i) % FIELDS.length]);
+            fieldIds[i] = (byte) i;
+        }
+        return info.setFieldIds(ByteString.copyFrom(fieldIds)).build();
+    }
+
+    /**
+     * A net tick of a client watching a few moving characters, which send their movement as events, in a world where
+     * the odd block changes.
+     */
+    private static NetData.NetMessage createTick(int tick) {
+        NetData.NetMessage.Builder message = NetData.NetMessage.newBuilder().setTime(1000000 + tick * 50);
+        for (int netId = 1; netId <= 3; netId++) {
+            float x = 12.5f * netId + tick * 0.2f;
+            EntityData.PackedEntity entity = EntityData.PackedEntity.newBuilder()
+                    .addComponentId(0)
+                    .addComponentId(3)
+                    .setComponentFieldCounts(ByteString.copyFrom(new byte[]{2, 2}))
+                    .setFieldIds(ByteString.copyFrom(new byte[]{0, 1, 5, 6}))
+                    .addFieldValue(floats(x, 41.62f, -7.5f))
+                    .addFieldValue(floats(0f, 0.38268343f, 0f, 0.9238795f))
+                    .addFieldValue(floats(4f, -0.5f, 0f))
+                    .addFieldValue(floats(tick * 3.5f))
+                    .build();
+            message.addUpdateEntity(NetData.UpdateEntityMessage.newBuilder().setNetId(netId).setEntity(entity));
+
+            EntityData.Event event = EntityData.Event.newBuilder()
+                    .setType(0)
+                    .setFieldIds(ByteString.copyFrom(new byte[]{0, 1, 2, 5, 6, 7, 8, 11, 12}))
+                    .addFieldValue(floats(x, 41.62f, -7.5f))
+                    .addFieldValue(floats(0f, 0.38268343f, 0f, 0.9238795f))
+                    .addFieldValue(floats(4f, -0.5f, 0f))
+                    .addFieldValue(floats(tick * 3.5f))
+                    .addFieldValue(floats(-12.5f))
+                    .addFieldValue(EntityData.Value.newBuilder().addInteger(0))
+                    .addFieldValue(EntityData.Value.newBuilder().addBoolean(true))
+                    .addFieldValue(EntityData.Value.newBuilder().addInteger(tick * 3 + netId))
+                    .addFieldValue(EntityData.Value.newBuilder().addLong(1000000 + tick * 50))
+                    .build();
+            message.addEvent(NetData.EventMessage.newBuilder().setTargetId(netId).setEvent(event));
+        }
+        message.addBlockChange(NetData.BlockChangeMessage.newBuilder()
+                .setPos(NetData.Vector3iData.newBuilder().setX(tick - 20).setY(38).setZ(17 * tick))
+                .setNewBlock(tick % 2 == 0 ? 0 : 2));
+        return message.build();
+    }
+
+    private static EntityData.Value floats(float... values) {
+        EntityData.Value.Builder value = EntityData.Value.newBuilder();
+        for (float v : values) {
+            value.addFloat(v);
+        }
+        return value.build();
+    }
+
+    private static void writeDelimited(MessageLite message, ByteArrayOutputStream out) {
+        try {
+            message.writeDelimitedTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -30,6 +30,7 @@
 import org.terasology.network.internal.JoinStatusImpl;
 import org.terasology.network.internal.MetricRecordingHandler;
 import org.terasology.network.internal.NetworkSystemImpl;
+import org.terasology.network.internal.compression.CompressionNegotiation;
 import org.terasology.protobuf.NetData;
 
 import static org.jboss.netty.channel.Channels.pipeline;
@@ -50,18 +51,28 @@ public TerasologyClientPipelineFactory(NetworkSystemImpl networkSystem) {
     public ChannelPipeline getPipeline() throws Exception {
         JoinStatusImpl joinStatus = new JoinStatusImpl();
         ChannelPipeline p = pipeline();
+        addTransportHandlers(p);
+        p.addLast("authenticationHandler", new ClientHandshakeHandler(joinStatus));
+        p.addLast("connectionHandler", new ClientConnectionHandler(joinStatus, networkSystem));
+        p.addLast("handler", new ClientHandler(networkSystem));
+        return p;
+    }
+
+    /**
+     * Adds the metrics, framing, compression and protobuf handlers of the client side of a connection, so that the
+     * handlers added after them receive and send {@link NetData.NetMessage}s.
+     *
+     * @param p the pipeline to add the handlers to
+     */
+    public static void addTransportHandlers(ChannelPipeline p) {
         p.addLast(MetricRecordingHandler.NAME, new MetricRecordingHandler());
 
         p.addLast("lengthFrameDecoder", new LengthFieldBasedFrameDecoder(8388608, 0, 3, 0, 3));
-        p.addLast("inflateDecoder", new ZlibDecoder());
+        p.addLast(CompressionNegotiation.INFLATE_DECODER, new ZlibDecoder());
         p.addLast("frameDecoder", new ProtobufVarint32FrameDecoder());
         p.addLast("protobufDecoder", new ProtobufDecoder(NetData.NetMessage.getDefaultInstance()));
 
         p.addLast("frameEncoder", new ProtobufVarint32LengthFieldPrepender());
         p.addLast("protobufEncoder", new ProtobufEncoder());
-        p.addLast("authenticationHandler", new ClientHandshakeHandler(joinStatus));
-        p.addLast("connectionHandler", new ClientConnectionHandler(joinStatus, networkSystem));
-        p.addLast("handler", new ClientHandler(networkSystem));
-        return p;
     }
 }
@@ -0,0 +1,24 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.event;
+
+import org.terasology.entitySystem.event.Event;
+
+/**
+ * Sent to an entity right before it is stored with the chunk or player it belongs to, and before it gets deactivated.
+ * Systems that keep the state of components outside of the entity can write it back to the components here.
+ * <br><br>
+ * The entities owned by a stored entity receive this event as well. It is not sent when the whole game is saved,
+ * use {@link org.terasology.entitySystem.systems.ComponentSystem#preSave()} for that.
+ */
+public final class BeforeEntityStore implements Event {
+
+    private static BeforeEntityStore instance = new BeforeEntityStore();
+
+    private BeforeEntityStore() {
+    }
+
+    public static BeforeEntityStore newInstance() {
+        return instance;
+    }
+}
@@ -30,6 +30,7 @@
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.PlayerStore;
 import org.terasology.persistence.StorageManager;
+import org.terasology.persistence.event.BeforeEntityStore;
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
 import org.terasology.world.block.BlockManager;
@@ -85,11 +86,13 @@ public AbstractStorageManager(Path savePath, ModuleEnvironment environment, Engi
     public void loadGlobalStore() throws IOException {
         Path globalDataFile = storagePathProvider.getGlobalEntityStorePath();
         if (Files.isRegularFile(globalDataFile)) {
+            EntityData.GlobalStore store;
             try (InputStream in = new BufferedInputStream(Files.newInputStream(globalDataFile))) {
-                EntityData.GlobalStore store = EntityData.GlobalStore.parseFrom(in);
-                GlobalStoreLoader loader = new GlobalStoreLoader(environment, entityManager, prefabSerializer);
-                loader.load(store);
+                store = EntityData.GlobalStore.parseFrom(in);
             }
+            List<GlobalStoreJournal.Segment> journal = GlobalStoreJournal.readSegments(storagePathProvider);
+            GlobalStoreLoader loader = new GlobalStoreLoader(environment, entityManager, prefabSerializer);
+            loader.load(store, journal);
         }
     }
 
@@ -197,6 +200,21 @@ protected Collection<EntityRef> getEntitiesOfChunk(Chunk chunk) {
         return entitiesToStore;
     }
 
+    /**
+     * Lets the systems bring the components of an entity, and of the persistent entities it owns, up to date before
+     * they get stored.
+     */
+    protected void sendBeforeStoreRecursive(EntityRef entity) {
+        if (entity.isActive()) {
+            entity.send(BeforeEntityStore.newInstance());
+            for (EntityRef ownedEntity : helper.listOwnedEntities(entity)) {
+                if (!ownedEntity.isAlwaysRelevant() && ownedEntity.isPersistent()) {
+                    sendBeforeStoreRecursive(ownedEntity);
+                }
+            }
+        }
+    }
+
     protected void deactivateOrDestroyEntityRecursive(EntityRef entity) {
         if (entity.isActive()) {
             for (EntityRef ownedEntity : helper.listOwnedEntities(entity)) {
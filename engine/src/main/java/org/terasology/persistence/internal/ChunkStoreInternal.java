@@ -22,6 +22,7 @@
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.internal.ChunkImpl;
 import org.terasology.world.chunks.internal.ChunkSerializer;
 
 /**
@@ -54,6 +55,18 @@ public Chunk getChunk() {
         return chunk;
     }
 
+    /**
+     * Marks the chunk as unchanged since it got stored, so that saves skip it until it changes. Chunks stored with
+     * entities are excluded: an entity that gets restored and destroyed before the next save is unknown to the save,
+     * so it could not tell that the chunk on disk still contains it.
+     */
+    void markPersisted() {
+        if (entityStore.getEntityCount() == 0 && chunk instanceof ChunkImpl) {
+            ChunkImpl chunkImpl = (ChunkImpl) chunk;
+            chunkImpl.setPersistedVersion(chunkImpl.getChangeVersion());
+        }
+    }
+
     @Override
     public void restoreEntities() {
         new EntityRestorer(entityManager).restore(entityStore);
@@ -17,6 +17,7 @@
 
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.protobuf.EntityData;
 import org.terasology.world.chunks.internal.ChunkImpl;
 
@@ -33,6 +34,7 @@
  */
 public class CompressedChunkBuilder {
     private EntityData.EntityStore entityStore;
+    private EntityStorer pendingStorer;
     private ChunkImpl chunk;
     private boolean viaSnapshot;
     private byte[] result;
@@ -60,6 +62,25 @@ public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk
         }
     }
 
+    /**
+     * Creates a builder for an unloaded chunk that only takes snapshots of the entities right away. Serializing
+     * the entities happens together with the encoding of the chunk in {@link #buildEncodedChunk()}, which can be
+     * called from another thread.
+     *
+     * @param entitiesToSave  all persistent entities within the given chunk
+     * @param snapshotLibrary the component library used to copy the components of the entities, see
+     *                        {@link EntityStorer#snapshot(EntityRef, ComponentLibrary)}
+     */
+    public CompressedChunkBuilder(EngineEntityManager entityManager, ChunkImpl chunk,
+                                  Collection<EntityRef> entitiesToSave, ComponentLibrary snapshotLibrary) {
+        EntityStorer storer = new EntityStorer(entityManager);
+        entitiesToSave.stream().filter(EntityRef::isPersistent).forEach(entity -> storer.snapshot(entity, snapshotLibrary));
+        storedEntities = storer.getStoredEntities();
+        this.pendingStorer = storer;
+        this.chunk = chunk;
+        this.viaSnapshot = false;
+    }
+
     /**
      *
      * @param entityStore encoded entities to be stored.
@@ -74,6 +95,10 @@ public CompressedChunkBuilder(EntityData.EntityStore entityStore, ChunkImpl chun
 
     public synchronized byte[] buildEncodedChunk() {
         if (result == null) {
+            if (pendingStorer != null) {
+                entityStore = pendingStorer.finaliseStore();
+                pendingStorer = null;
+            }
 
             EntityData.ChunkStore.Builder encoded;
             if (viaSnapshot) {
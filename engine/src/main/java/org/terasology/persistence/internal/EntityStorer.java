@@ -15,17 +15,22 @@
  */
 package org.terasology.persistence.internal;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.OwnershipHelper;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.persistence.serializers.EntitySerializer;
+import org.terasology.persistence.serializers.EntitySnapshot;
 import org.terasology.persistence.serializers.FieldSerializeCheck;
+import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.protobuf.EntityData;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,12 +43,17 @@ final class EntityStorer {
     private final EntitySerializer serializer;
     private final EntityData.EntityStore.Builder entityStoreBuilder;
     private final OwnershipHelper helper;
+    private final ComponentLibrary componentLibrary;
+    private final TypeHandlerLibrary typeHandlerLibrary;
     private Set<EntityRef> storedEntities = Sets.newHashSet();
+    private List<EntitySnapshot> snapshots = Lists.newArrayList();
 
     EntityStorer(EngineEntityManager entityManager) {
         this.entityStoreBuilder = EntityData.EntityStore.newBuilder();
         this.serializer = new EntitySerializer(entityManager);
         this.helper = new OwnershipHelper(entityManager.getComponentLibrary());
+        this.componentLibrary = entityManager.getComponentLibrary();
+        this.typeHandlerLibrary = entityManager.getTypeSerializerLibrary();
 
         Map<Class<? extends Component>, Integer> componentIds = Maps.newHashMap();
 
@@ -74,7 +84,35 @@ public void store(EntityRef entity, String name) {
         }
     }
 
+    /**
+     * Takes a snapshot of the given entity and the entities it owns, like {@link #store(EntityRef)} does, but leaves
+     * the serialization of the snapshots to {@link #finaliseStore()}. This allows the entities to be deactivated
+     * right away and the store to be finalised on another thread.
+     *
+     * @param snapshotLibrary the component library used to copy the components of the entities. It has to capture
+     *                        entity references in a way that can be serialized without the entity manager.
+     */
+    public void snapshot(EntityRef entity, ComponentLibrary snapshotLibrary) {
+        if (entity.isActive()) {
+            for (EntityRef ownedEntity : helper.listOwnedEntities(entity)) {
+                if (!ownedEntity.isAlwaysRelevant() && ownedEntity.isPersistent()) {
+                    snapshot(ownedEntity, snapshotLibrary);
+                }
+            }
+            for (Component component : entity.iterateComponents()) {
+                // Creating a serializer isn't thread safe, so make sure the one needed later already exists
+                typeHandlerLibrary.getSerializerFor(componentLibrary.getMetadata(component.getClass()));
+            }
+            snapshots.add(EntitySnapshot.of(entity, snapshotLibrary));
+            storedEntities.add(entity);
+        }
+    }
+
     public EntityData.EntityStore finaliseStore() {
+        for (EntitySnapshot snapshot : snapshots) {
+            entityStoreBuilder.addEntity(serializer.serialize(snapshot, true, FieldSerializeCheck.NullCheck.<Component>newInstance()));
+        }
+        snapshots.clear();
         return entityStoreBuilder.build();
     }
 
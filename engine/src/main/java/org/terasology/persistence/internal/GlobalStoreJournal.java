@@ -0,0 +1,284 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.internal;
+
+import com.google.common.collect.Lists;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.protobuf.EntityData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Append-only journal of the changes to the global entity store.
+ * <p>
+ * The global store file holds a base snapshot. Saves that don't rewrite it add a segment to the journal directory
+ * instead, with the entities of the global store that changed since the previous save and the ids of the entities that
+ * left it. Loading replays the segments on top of the base snapshot. Segments are written into the directory of the
+ * {@link SaveTransaction}, so they only become visible together with the rest of the save.
+ * <p>
+ * Once the journal gets long compared to the base snapshot, the next save compacts it by writing a new base snapshot.
+ * A marker file next to the segments records the sequence number up to which segments are included in the base
+ * snapshot. Older segments are ignored when loading and deleted once the save got merged.
+ * <p>
+ * Apart from {@link #readSegments(StoragePathProvider)}, an instance must only be used by the thread of the currently
+ * running save transaction.
+ */
+final class GlobalStoreJournal {
+    private static final Logger logger = LoggerFactory.getLogger(GlobalStoreJournal.class);
+
+    private static final String SEGMENT_EXTENSION = ".delta";
+    private static final String BASE_MARKER = "base";
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Compact after this many segments, even if they are small, to keep loading quick.
+     */
+    private static final int MAX_SEGMENTS = 32;
+
+    private final StoragePathProvider storagePathProvider;
+
+    private boolean sequenceKnown;
+    private long lastSequence;
+    /**
+     * Ids of the entities in the global store as of the last successful save, or null if they are unknown. In that
+     * case the next save writes a new base snapshot.
+     */
+    private TLongSet storedEntityIds;
+    private int segmentCount;
+    private long segmentBytes;
+    private long baseBytes;
+
+    // State of the running save transaction:
+    private boolean pendingBase;
+    private long pendingSequence;
+    private long pendingBytes;
+
+    GlobalStoreJournal(StoragePathProvider storagePathProvider) {
+        this.storagePathProvider = storagePathProvider;
+    }
+
+    /**
+     * @return true if the next save should write a new base snapshot instead of a segment
+     */
+    boolean isCompactionDue() {
+        return storedEntityIds == null || segmentCount >= MAX_SEGMENTS || segmentBytes > baseBytes;
+    }
+
+    /**
+     * @return the ids of the entities in the global store as of the last successful save. Must not be called when
+     * {@link #isCompactionDue()} returns true.
+     */
+    TLongSet getStoredEntityIds() {
+        return storedEntityIds;
+    }
+
+    /**
+     * Writes a new base snapshot into the directory of the save transaction.
+     */
+    void writeBase(EntityData.GlobalStore store) throws IOException {
+        pendingSequence = nextSequence();
+        pendingBase = true;
+
+        Path path = storagePathProvider.getGlobalEntityStoreTempPath();
+        try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            store.writeTo(out);
+        }
+        pendingBytes = Files.size(path);
+
+        Path journalPath = storagePathProvider.getGlobalEntityJournalTempPath();
+        Files.createDirectories(journalPath);
+        Files.write(journalPath.resolve(BASE_MARKER), Long.toString(pendingSequence).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a segment into the directory of the save transaction.
+     *
+     * @param store           the entities that changed since the last save, and the prefabs and component classes
+     *                        needed to load them
+     * @param removedEntities the ids of the entities that are no longer part of the global store
+     */
+    void writeSegment(EntityData.GlobalStore store, TLongSet removedEntities) throws IOException {
+        pendingSequence = nextSequence();
+        pendingBase = false;
+
+        Path journalPath = storagePathProvider.getGlobalEntityJournalTempPath();
+        Files.createDirectories(journalPath);
+        Path path = journalPath.resolve(getSegmentFilename(pendingSequence));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(removedEntities.size());
+            for (long id : removedEntities.toArray()) {
+                out.writeLong(id);
+            }
+            store.writeTo(out);
+        }
+        pendingBytes = Files.size(path);
+    }
+
+    /**
+     * Must be called after the save transaction got merged.
+     *
+     * @param entityIds the ids of all entities that are part of the global store now
+     */
+    void commit(TLongSet entityIds) {
+        storedEntityIds = entityIds;
+        lastSequence = pendingSequence;
+        if (pendingBase) {
+            baseBytes = pendingBytes;
+            segmentCount = 0;
+            segmentBytes = 0;
+            deleteSegmentsUpTo(pendingSequence);
+        } else {
+            segmentCount++;
+            segmentBytes += pendingBytes;
+        }
+    }
+
+    /**
+     * Must be called when a save transaction failed. The next save will write a new base snapshot, as the changes
+     * recorded for the failed save are lost.
+     */
+    void reset() {
+        storedEntityIds = null;
+        sequenceKnown = false;
+    }
+
+    private long nextSequence() throws IOException {
+        if (!sequenceKnown) {
+            lastSequence = readBaseSequence(storagePathProvider);
+            for (Path segment : listSegments(storagePathProvider.getGlobalEntityJournalPath())) {
+                lastSequence = Math.max(lastSequence, getSequence(segment));
+            }
+            sequenceKnown = true;
+        }
+        return lastSequence + 1;
+    }
+
+    private void deleteSegmentsUpTo(long sequence) {
+        try {
+            for (Path segment : listSegments(storagePathProvider.getGlobalEntityJournalPath())) {
+                if (getSequence(segment) <= sequence) {
+                    Files.delete(segment);
+                }
+            }
+        } catch (IOException e) {
+            // Harmless, they get ignored when loading and deleted after the next compaction
+            logger.warn("Failed to delete compacted journal segments", e);
+        }
+    }
+
+    /**
+     * @return the segments that need to be applied on top of the base snapshot, in the order they were written
+     */
+    static List<Segment> readSegments(StoragePathProvider storagePathProvider) throws IOException {
+        long baseSequence = readBaseSequence(storagePathProvider);
+        List<Segment> result = Lists.newArrayList();
+        for (Path path : listSegments(storagePathProvider.getGlobalEntityJournalPath())) {
+            long sequence = getSequence(path);
+            if (sequence > baseSequence) {
+                result.add(readSegment(path, sequence));
+            }
+        }
+        result.sort(Comparator.comparingLong(Segment::getSequence));
+        return result;
+    }
+
+    private static Segment readSegment(Path path, long sequence) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported journal segment version " + version + " in " + path);
+            }
+            int removedCount = in.readInt();
+            TLongSet removedEntities = new TLongHashSet(removedCount);
+            for (int i = 0; i < removedCount; i++) {
+                removedEntities.add(in.readLong());
+            }
+            return new Segment(sequence, removedEntities, EntityData.GlobalStore.parseFrom(in));
+        }
+    }
+
+    private static long readBaseSequence(StoragePathProvider storagePathProvider) throws IOException {
+        Path marker = storagePathProvider.getGlobalEntityJournalPath().resolve(BASE_MARKER);
+        if (!Files.isRegularFile(marker)) {
+            // Saved before the journal existed, the base snapshot is all there is
+            return 0;
+        }
+        String content = new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(content);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid journal marker " + marker, e);
+        }
+    }
+
+    private static List<Path> listSegments(Path journalPath) throws IOException {
+        List<Path> segments = Lists.newArrayList();
+        if (!Files.isDirectory(journalPath)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalPath, "*" + SEGMENT_EXTENSION)) {
+            stream.forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static String getSegmentFilename(long sequence) {
+        return String.format("%019d%s", sequence, SEGMENT_EXTENSION);
+    }
+
+    private static long getSequence(Path segment) throws IOException {
+        String filename = segment.getFileName().toString();
+        try {
+            return Long.parseLong(filename.substring(0, filename.length() - SEGMENT_EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid journal segment name " + segment, e);
+        }
+    }
+
+    /**
+     * The changes to the global store made by one save.
+     */
+    static final class Segment {
+        private final long sequence;
+        private final TLongSet removedEntities;
+        private final EntityData.GlobalStore store;
+
+        Segment(long sequence, TLongSet removedEntities, EntityData.GlobalStore store) {
+            this.sequence = sequence;
+            this.removedEntities = removedEntities;
+            this.store = store;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return the ids of the entities that left the global store. They were destroyed or are stored elsewhere.
+         */
+        TLongSet getRemovedEntities() {
+            return removedEntities;
+        }
+
+        /**
+         * @return the entities that changed or joined the global store, with the prefabs and component classes needed
+         * to load them
+         */
+        EntityData.GlobalStore getStore() {
+            return store;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package org.terasology.persistence.internal;
 
 import com.google.common.collect.Maps;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.utilities.Assets;
@@ -35,6 +37,7 @@
 import org.terasology.persistence.serializers.PrefabSerializer;
 import org.terasology.protobuf.EntityData;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -60,15 +63,47 @@ final class GlobalStoreLoader {
         this.prefabSerializer = prefabSerializer;
     }
 
-    public void load(EntityData.GlobalStore globalStore) {
+    /**
+     * @param globalStore the base snapshot of the global store
+     * @param journal     the segments of the journal to apply on top of the base snapshot, in the order they were
+     *                    written
+     */
+    public void load(EntityData.GlobalStore globalStore, List<GlobalStoreJournal.Segment> journal) {
+        // Find the latest state of every entity first, so that each entity gets deserialized only once
+        TLongObjectMap<EntityData.Entity> latestEntityData = new TLongObjectHashMap<>();
+        long nextEntityId = globalStore.getNextEntityId();
+        for (EntityData.Entity entityData : globalStore.getEntityList()) {
+            latestEntityData.put(entityData.getId(), entityData);
+        }
+        for (GlobalStoreJournal.Segment segment : journal) {
+            segment.getRemovedEntities().forEach(id -> {
+                latestEntityData.remove(id);
+                return true;
+            });
+            for (EntityData.Entity entityData : segment.getStore().getEntityList()) {
+                latestEntityData.put(entityData.getId(), entityData);
+            }
+            nextEntityId = Math.max(nextEntityId, segment.getStore().getNextEntityId());
+        }
+
         entityManager.clear();
-        entityManager.setNextId(globalStore.getNextEntityId());
+        entityManager.setNextId(nextEntityId);
 
-        loadComponentMapping(globalStore);
-        loadMissingPrefabs(globalStore);
+        loadEntities(globalStore, latestEntityData);
+        for (GlobalStoreJournal.Segment segment : journal) {
+            loadEntities(segment.getStore(), latestEntityData);
+        }
+    }
 
-        for (EntityData.Entity entityData : globalStore.getEntityList()) {
-            entitySerializer.deserialize(entityData);
+    private void loadEntities(EntityData.GlobalStore store, TLongObjectMap<EntityData.Entity> latestEntityData) {
+        // Each store has its own component id table
+        loadComponentMapping(store);
+        loadMissingPrefabs(store);
+
+        for (EntityData.Entity entityData : store.getEntityList()) {
+            if (latestEntityData.get(entityData.getId()) == entityData) {
+                entitySerializer.deserialize(entityData);
+            }
         }
     }
 
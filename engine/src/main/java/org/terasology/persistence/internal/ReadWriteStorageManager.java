@@ -41,9 +41,11 @@
 import org.terasology.module.Module;
 import org.terasology.module.ModuleEnvironment;
 import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.network.Client;
 import org.terasology.network.ClientComponent;
 import org.terasology.network.NetworkSystem;
+import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.protobuf.EntityData;
 import org.terasology.recording.RecordAndReplayCurrentStatus;
@@ -73,6 +75,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -81,7 +84,13 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
     private static final Logger logger = LoggerFactory.getLogger(ReadWriteStorageManager.class);
 
     private final TaskMaster<Task> saveThreadManager;
+    private final TaskMaster<Task> chunkStoringThreadManager;
+    /**
+     * Number of deactivated chunks whose entities and block data have not been encoded by the chunk storing thread yet.
+     */
+    private final AtomicInteger deactivationBacklog = new AtomicInteger();
     private final SaveTransactionHelper saveTransactionHelper;
+    private final GlobalStoreJournal globalStoreJournal;
 
     /**
      * This lock should be hold during read and write operation in the world directory. Currently it is being hold
@@ -119,6 +128,11 @@ public final class ReadWriteStorageManager extends AbstractStorageManager implem
      * that will use the privateEntityManager.
      */
     private ComponentLibrary entityRefReplacingComponentLibrary;
+    /**
+     * A component library that provides a copy() method that replaces {@link EntityRef}s with {@link StoredEntityRef}s,
+     * so that the copies can be serialized on the chunk storing thread.
+     */
+    private ComponentLibrary entityRefStoringComponentLibrary;
 
     public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, EngineEntityManager entityManager, BlockManager blockManager
             , ExtraBlockDataManager extraDataManager, RecordAndReplaySerializer recordAndReplaySerializer,
@@ -139,11 +153,15 @@ public ReadWriteStorageManager(Path savePath, ModuleEnvironment environment, Eng
         this.privateEntityManager = createPrivateEntityManager(entityManager.getComponentLibrary());
         Files.createDirectories(getStoragePathProvider().getStoragePathDirectory());
         this.saveTransactionHelper = new SaveTransactionHelper(getStoragePathProvider());
+        this.globalStoreJournal = new GlobalStoreJournal(getStoragePathProvider());
         this.saveThreadManager = TaskMaster.createFIFOTaskMaster("Saving", 1);
+        this.chunkStoringThreadManager = TaskMaster.createFIFOTaskMaster("Chunk-Storing", 1);
         this.config = CoreRegistry.get(Config.class);
         this.entityRefReplacingComponentLibrary = privateEntityManager.getComponentLibrary()
                 .createCopyUsingCopyStrategy(EntityRef.class, new DelayedEntityRefCopyStrategy(this));
         this.entitySetDeltaRecorder = new EntitySetDeltaRecorder(this.entityRefReplacingComponentLibrary);
+        this.entityRefStoringComponentLibrary = entityManager.getComponentLibrary()
+                .createCopyUsingCopyStrategy(EntityRef.class, new DelayedEntityRefCopyStrategy(StoredEntityRef::new));
         this.recordAndReplaySerializer = recordAndReplaySerializer;
         this.recordAndReplayUtils = recordAndReplayUtils;
         this.recordAndReplayCurrentStatus = recordAndReplayCurrentStatus;
@@ -162,6 +180,8 @@ public void finishSavingAndShutdown() {
         if (recordAndReplayCurrentStatus.getStatus() == RecordAndReplayStatus.RECORDING) {
             recordAndReplayUtils.setShutdownRequested(true);
         }
+        // Pending chunks are encoded by the save transaction if the chunk storing thread hasn't done it yet
+        chunkStoringThreadManager.shutdown(new ShutdownTask(), false);
         saveThreadManager.shutdown(new ShutdownTask(), true);
         checkSaveTransactionAndClearUpIfItIsDone();
     }
@@ -184,11 +204,13 @@ private void checkSaveTransactionAndClearUpIfItIsDone() {
     private void addGlobalStoreBuilderToSaveTransaction(SaveTransactionBuilder transactionBuilder) {
         GlobalStoreBuilder globalStoreBuilder = new GlobalStoreBuilder(getEntityManager(), getPrefabSerializer());
         transactionBuilder.setGlobalStoreBuilder(globalStoreBuilder);
+        transactionBuilder.setGlobalStoreJournal(globalStoreJournal);
     }
 
     @Override
     public void deactivatePlayer(Client client) {
         EntityRef character = client.getEntity().getComponent(ClientComponent.class).character;
+        sendBeforeStoreRecursive(character);
         PlayerStoreBuilder playerStoreBuilder = createPlayerStore(client, character);
         EntityData.PlayerStore playerStore = playerStoreBuilder.build(getEntityManager());
         deactivateOrDestroyEntityRecursive(character);
@@ -326,13 +348,37 @@ private PlayerStoreBuilder createPlayerStore(Client client, EntityRef character)
     @Override
     public void deactivateChunk(Chunk chunk) {
         Collection<EntityRef> entitiesOfChunk = getEntitiesOfChunk(chunk);
+        entitiesOfChunk.forEach(this::sendBeforeStoreRecursive);
         ChunkImpl chunkImpl = (ChunkImpl) chunk; // storage manager only works with ChunkImpl
-        unloadedAndUnsavedChunkMap.put(chunk.getPosition(), new CompressedChunkBuilder(getEntityManager(), chunkImpl,
-                entitiesOfChunk, true));
+        // Only snapshots are taken here, the expensive encoding happens on the chunk storing thread
+        CompressedChunkBuilder chunkBuilder = new CompressedChunkBuilder(getEntityManager(), chunkImpl, entitiesOfChunk,
+                entityRefStoringComponentLibrary);
+        unloadedAndUnsavedChunkMap.put(chunk.getPosition(), chunkBuilder);
+        ChunkMonitor.fireDeactivationBacklog(deactivationBacklog.incrementAndGet());
+        chunkStoringThreadManager.offer(new EncodeChunkTask(chunk.getPosition(), chunkBuilder));
 
         entitiesOfChunk.forEach(this::deactivateOrDestroyEntityRecursive);
     }
 
+    /**
+     * @return the number of deactivated chunks that are still waiting to be encoded in the background
+     */
+    public int getDeactivationBacklog() {
+        return deactivationBacklog.get();
+    }
+
+    @Override
+    public ChunkStore loadChunkStore(Vector3i chunkPos) {
+        // Chunks that were unloaded but not saved yet are loaded from memory, they don't match the data on disk
+        boolean storedOnDisk = !unloadedAndUnsavedChunkMap.containsKey(chunkPos)
+                && !unloadedAndSavingChunkMap.containsKey(chunkPos);
+        ChunkStore store = super.loadChunkStore(chunkPos);
+        if (store != null && storedOnDisk) {
+            ((ChunkStoreInternal) store).markPersisted();
+        }
+        return store;
+    }
+
     @Override
     protected byte[] loadCompressedChunk(Vector3i chunkPos) {
         CompressedChunkBuilder disposedUnsavedChunk = unloadedAndUnsavedChunkMap.get(chunkPos);
@@ -542,4 +588,37 @@ public DelayedEntityRef createDelayedEntityRef(long id) {
         entitySetDeltaRecorder.registerDelayedEntityRef(delayedEntityRef);
         return delayedEntityRef;
     }
+
+    private class EncodeChunkTask implements Task {
+        private final Vector3i position;
+        private final CompressedChunkBuilder chunkBuilder;
+
+        EncodeChunkTask(Vector3i position, CompressedChunkBuilder chunkBuilder) {
+            this.position = position;
+            this.chunkBuilder = chunkBuilder;
+        }
+
+        @Override
+        public String getName() {
+            // A constant name, as the name is recorded as the activity of the thread running the task
+            return "Encode chunk";
+        }
+
+        @Override
+        public void run() {
+            try {
+                chunkBuilder.buildEncodedChunk();
+            } catch (RuntimeException e) {
+                // The save transaction tries again and reports the failure
+                logger.error("Failed to encode deactivated chunk {}", position, e);
+            } finally {
+                ChunkMonitor.fireDeactivationBacklog(deactivationBacklog.decrementAndGet());
+            }
+        }
+
+        @Override
+        public boolean isTerminateSignal() {
+            return false;
+        }
+    }
 }
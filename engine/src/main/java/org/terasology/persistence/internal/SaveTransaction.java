@@ -18,12 +18,15 @@
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import gnu.trove.set.TLongSet;
+import gnu.trove.set.hash.TLongHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.paths.PathManager;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
+import org.terasology.entitySystem.entity.internal.OwnershipHelper;
 import org.terasology.game.GameManifest;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.ChunkMath;
@@ -55,6 +58,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -82,11 +86,26 @@ public class SaveTransaction extends AbstractTask {
     private final Map<Vector3i, CompressedChunkBuilder> unloadedChunks;
     private final Map<Vector3i, ChunkImpl> loadedChunks;
     private final GlobalStoreBuilder globalStoreBuilder;
+    private final GlobalStoreJournal globalStoreJournal;
 
     // processed data:
     private EntityData.GlobalStore globalStore;
+    private TLongSet globalStoreEntityIds;
+    /**
+     * Ids of the entities that left the global store since the last save, or null if a new base snapshot of the
+     * global store gets written.
+     */
+    private TLongSet removedGlobalStoreEntityIds;
     private Map<String, EntityData.PlayerStore> allPlayers;
     private Map<Vector3i, CompressedChunkBuilder> allChunks;
+    /**
+     * Chunks that contained entities that changed or got destroyed, as of the last save.
+     */
+    private Set<Vector3i> chunksWithChangedEntities = new HashSet<>();
+    /**
+     * The loaded chunks that get written, with the change version read before their snapshot got taken.
+     */
+    private Map<ChunkImpl, Integer> writtenChunkVersions = new IdentityHashMap<>();
 
 
     // Save parameters:
@@ -105,6 +124,7 @@ public class SaveTransaction extends AbstractTask {
     public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaRecorder deltaToSave,
                            Map<String, EntityData.PlayerStore> unloadedPlayers,
                            Map<String, PlayerStoreBuilder> loadedPlayers, GlobalStoreBuilder globalStoreBuilder,
+                           GlobalStoreJournal globalStoreJournal,
                            Map<Vector3i, CompressedChunkBuilder> unloadedChunks, Map<Vector3i, ChunkImpl> loadedChunks,
                            GameManifest gameManifest, boolean storeChunksInZips,
                            StoragePathProvider storagePathProvider, Lock worldDirectoryWriteLock,
@@ -118,6 +138,7 @@ public SaveTransaction(EngineEntityManager privateEntityManager, EntitySetDeltaR
         this.unloadedChunks = unloadedChunks;
         this.loadedChunks = loadedChunks;
         this.globalStoreBuilder = globalStoreBuilder;
+        this.globalStoreJournal = globalStoreJournal;
         this.gameManifest = gameManifest;
         this.storeChunksInZips = storeChunksInZips;
         this.storagePathProvider = storagePathProvider;
@@ -155,11 +176,14 @@ public void run() {
             saveGameManifest();
             perpareChangesForMerge();
             mergeChanges();
+            writtenChunkVersions.forEach(ChunkImpl::setPersistedVersion);
+            globalStoreJournal.commit(globalStoreEntityIds);
             result = SaveTransactionResult.createSuccessResult();
             logger.info("Save game finished");
             saveRecordingData();
         } catch (IOException | RuntimeException t) {
             logger.error("Save game creation failed", t);
+            globalStoreJournal.reset();
             result = SaveTransactionResult.createFailureResult(t);
         }
     }
@@ -209,7 +233,39 @@ private void prepareChunksPlayersAndGlobalStore() {
         }
         preparePlayerStores(unsavedEntities);
         prepareCompressedChunkBuilders(unsavedEntities);
-        this.globalStore = globalStoreBuilder.build(privateEntityManager, unsavedEntities);
+        prepareGlobalStore(unsavedEntities);
+    }
+
+    /**
+     * @param globalStoreEntities the entities that are neither stored with a player nor with a chunk
+     */
+    private void prepareGlobalStore(Set<EntityRef> globalStoreEntities) {
+        globalStoreEntityIds = new TLongHashSet(globalStoreEntities.size());
+        for (EntityRef entity : globalStoreEntities) {
+            globalStoreEntityIds.add(entity.getId());
+        }
+        if (globalStoreJournal.isCompactionDue()) {
+            removedGlobalStoreEntityIds = null;
+            globalStore = globalStoreBuilder.build(privateEntityManager, globalStoreEntities);
+            return;
+        }
+
+        TLongSet storedEntityIds = globalStoreJournal.getStoredEntityIds();
+        List<EntityRef> changedEntities = Lists.newArrayList();
+        for (EntityRef entity : globalStoreEntities) {
+            long id = entity.getId();
+            if (!storedEntityIds.contains(id) || deltaToSave.getEntityDeltas().containsKey(id)) {
+                changedEntities.add(entity);
+            }
+        }
+        removedGlobalStoreEntityIds = new TLongHashSet();
+        storedEntityIds.forEach(id -> {
+            if (!globalStoreEntityIds.contains(id)) {
+                removedGlobalStoreEntityIds.add(id);
+            }
+            return true;
+        });
+        globalStore = globalStoreBuilder.build(privateEntityManager, changedEntities);
     }
 
 
@@ -219,20 +275,78 @@ private void prepareChunksPlayersAndGlobalStore() {
      */
     private void prepareCompressedChunkBuilders(Set<EntityRef> unsavedEntities) {
         Map<Vector3i, Collection<EntityRef>> chunkPosToEntitiesMap = createChunkPosToUnsavedOwnerLessEntitiesMap();
+        OwnershipHelper ownershipHelper = new OwnershipHelper(privateEntityManager.getComponentLibrary());
 
         allChunks = Maps.newHashMap();
         allChunks.putAll(unloadedChunks);
+        int unchangedChunkCount = 0;
         for (Map.Entry<Vector3i, ChunkImpl> chunkEntry : loadedChunks.entrySet()) {
             Collection<EntityRef> entitiesToStore = chunkPosToEntitiesMap.get(chunkEntry.getKey());
             if (entitiesToStore == null) {
                 entitiesToStore = Collections.emptySet();
             }
             ChunkImpl chunk = chunkEntry.getValue();
-            unsavedEntities.removeAll(entitiesToStore);
+            // Read before the snapshot gets taken, so that changes made in between get saved next time
+            int changeVersion = chunk.getChangeVersion();
+            Set<EntityRef> storedEntities = new HashSet<>();
+            boolean entitiesChanged = chunksWithChangedEntities.contains(chunkEntry.getKey());
+            for (EntityRef entity : entitiesToStore) {
+                entitiesChanged |= collectEntitiesStoredWith(entity, ownershipHelper, storedEntities);
+            }
+            unsavedEntities.removeAll(storedEntities);
+            if (!entitiesChanged && changeVersion == chunk.getPersistedVersion()) {
+                unchangedChunkCount++;
+                continue;
+            }
             CompressedChunkBuilder compressedChunkBuilder = new CompressedChunkBuilder(privateEntityManager, chunk,
                     entitiesToStore, false);
-            unsavedEntities.removeAll(compressedChunkBuilder.getStoredEntities());
             allChunks.put(chunkEntry.getKey(), compressedChunkBuilder);
+            writtenChunkVersions.put(chunk, changeVersion);
+        }
+        logger.debug("Skipping {} of {} loaded chunks, as they are unchanged", unchangedChunkCount, loadedChunks.size());
+    }
+
+    /**
+     * Collects the entities that get stored when the given entity gets stored, the same way {@link EntityStorer} does.
+     *
+     * @return true if any of them changed since the last save
+     */
+    private boolean collectEntitiesStoredWith(EntityRef entity, OwnershipHelper ownershipHelper, Set<EntityRef> result) {
+        if (!entity.isActive() || !result.add(entity)) {
+            return false;
+        }
+        boolean changed = deltaToSave.getEntityDeltas().containsKey(entity.getId());
+        for (EntityRef ownedEntity : ownershipHelper.listOwnedEntities(entity)) {
+            if (!ownedEntity.isAlwaysRelevant() && ownedEntity.isPersistent()) {
+                changed |= collectEntitiesStoredWith(ownedEntity, ownershipHelper, result);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Remembers the chunks that stored entities which changed, got destroyed or moved elsewhere, based on the state of
+     * the entities at the last save. Must be called before the changes get applied to the private entity manager.
+     */
+    private void collectChunksWithChangedEntities() {
+        deltaToSave.getEntityDeltas().forEachKey(entityId -> {
+            addChunkOfStoredEntity(entityId);
+            return true;
+        });
+        deltaToSave.getDestroyedEntities().forEach(entityId -> {
+            addChunkOfStoredEntity(entityId);
+            return true;
+        });
+    }
+
+    private void addChunkOfStoredEntity(long entityId) {
+        if (!privateEntityManager.isActiveEntity(entityId)) {
+            return;
+        }
+        LocationComponent locationComponent = privateEntityManager.getEntity(entityId).getComponent(LocationComponent.class);
+        if (locationComponent != null) {
+            Vector3f loc = locationComponent.getWorldPosition();
+            chunksWithChangedEntities.add(ChunkMath.calcChunkPos((int) loc.x, (int) loc.y, (int) loc.z));
         }
     }
 
@@ -283,6 +397,7 @@ private Map<Vector3i, Collection<EntityRef>> createChunkPosToUnsavedOwnerLessEnt
 
 
     private void applyDeltaToPrivateEntityManager() {
+        collectChunksWithChangedEntities();
         deltaToSave.getEntityDeltas().forEachEntry((entityId, delta) -> {
             if (entityId >= privateEntityManager.getNextId()) {
                 privateEntityManager.setNextId(entityId + 1);
@@ -393,9 +508,10 @@ private void writePlayerStores() throws IOException {
     }
 
     private void writeGlobalStore() throws IOException {
-        Path path = storagePathProvider.getGlobalEntityStoreTempPath();
-        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
-            globalStore.writeTo(out);
+        if (removedGlobalStoreEntityIds == null) {
+            globalStoreJournal.writeBase(globalStore);
+        } else {
+            globalStoreJournal.writeSegment(globalStore, removedGlobalStoreEntityIds);
         }
     }
 
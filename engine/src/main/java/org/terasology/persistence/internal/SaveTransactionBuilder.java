@@ -41,6 +41,7 @@ class SaveTransactionBuilder {
     private Map<Vector3i, CompressedChunkBuilder> unloadedChunks = Maps.newHashMap();
     private Map<Vector3i, ChunkImpl> loadedChunks = Maps.newHashMap();
     private GlobalStoreBuilder globalStoreBuilder;
+    private GlobalStoreJournal globalStoreJournal;
     private final boolean storeChunksInZips;
     private final StoragePathProvider storagePathProvider;
     private GameManifest gameManifest;
@@ -75,6 +76,10 @@ void setGlobalStoreBuilder(GlobalStoreBuilder globalStoreBuilder) {
         this.globalStoreBuilder = globalStoreBuilder;
     }
 
+    void setGlobalStoreJournal(GlobalStoreJournal globalStoreJournal) {
+        this.globalStoreJournal = globalStoreJournal;
+    }
+
     void addUnloadedChunk(final Vector3i chunkPosition, final CompressedChunkBuilder b) {
         unloadedChunks.put(chunkPosition, b);
     }
@@ -86,7 +91,7 @@ void addLoadedChunk(final Vector3i chunkPosition, final ChunkImpl chunk) {
 
     public SaveTransaction build() {
         return new SaveTransaction(privateEntityManager, deltaToSave, unloadedPlayers, loadedPlayers, globalStoreBuilder,
-                unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
+                globalStoreJournal, unloadedChunks, loadedChunks, gameManifest, storeChunksInZips, storagePathProvider,
                 worldDirectoryWriteLock, recordAndReplaySerializer, recordAndReplayUtils, recordAndReplayCurrentStatus);
 
     }
@@ -29,6 +29,7 @@ public class StoragePathProvider {
     private static final String PREVIEWS_PATH = "previews";
     private static final String PLAYER_STORE_EXTENSION = ".player";
     private static final String GLOBAL_ENTITY_STORE = "global.dat";
+    private static final String GLOBAL_ENTITY_JOURNAL = "global-journal";
     private static final String UNFINISHED_SAVE_TRANSACTION = "unfinished-save-transaction";
     private static final String UNMERGED_CHANGED = "unmerged-changes";
     private static final int CHUNK_ZIP_DIM = 32;
@@ -105,6 +106,14 @@ public Path getGlobalEntityStoreTempPath() {
         return unfinishedSaveTransactionPath.resolve(GLOBAL_ENTITY_STORE);
     }
 
+    public Path getGlobalEntityJournalPath() {
+        return storagePathDirectory.resolve(GLOBAL_ENTITY_JOURNAL);
+    }
+
+    public Path getGlobalEntityJournalTempPath() {
+        return unfinishedSaveTransactionPath.resolve(GLOBAL_ENTITY_JOURNAL);
+    }
+
     public String getChunkFilename(Vector3i pos) {
         return String.format("%d.%d.%d.chunk", pos.x, pos.y, pos.z);
     }
@@ -0,0 +1,27 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.internal;
+
+/**
+ * A reference to a persistent entity, captured on the main thread so that the component holding it can be serialized
+ * off the main thread without accessing the entity manager.
+ * <p>
+ * Only the methods needed for serialization work. It is never bound, so everything else fails like an unbound
+ * {@link DelayedEntityRef}.
+ */
+class StoredEntityRef extends DelayedEntityRef {
+
+    StoredEntityRef(long id) {
+        super(id);
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+}
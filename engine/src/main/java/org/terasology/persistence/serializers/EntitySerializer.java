@@ -23,6 +23,7 @@
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
 import org.terasology.entitySystem.entity.internal.EntityInfoComponent;
 import org.terasology.entitySystem.entity.internal.EntityScope;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
 import org.terasology.entitySystem.metadata.ComponentLibrary;
 import org.terasology.entitySystem.metadata.ComponentMetadata;
 import org.terasology.entitySystem.prefab.Prefab;
@@ -156,11 +157,35 @@ public EntityData.Entity serialize(EntityRef entityRef, FieldSerializeCheck<Comp
      * @return The serialized entity
      */
     public EntityData.Entity serialize(EntityRef entityRef, boolean deltaAgainstPrefab, FieldSerializeCheck<Component> fieldCheck) {
+        EntityRef owner = entityRef.getOwner();
+        long ownerId = owner.exists() ? owner.getId() : PojoEntityManager.NULL_ID;
         Prefab prefab = entityRef.getParentPrefab();
         if (prefab != null && deltaAgainstPrefab) {
-            return serializeEntityDelta(entityRef, prefab, fieldCheck);
+            return serializeEntityDelta(entityRef.getId(), entityRef.isAlwaysRelevant(), ownerId, entityRef.getScope(),
+                    entityManager.iterateComponentsReadOnly(entityRef.getId()), prefab, fieldCheck);
+        } else {
+            return serializeEntityFull(entityRef.getId(), entityRef.isAlwaysRelevant(), ownerId, entityRef.getScope(),
+                    entityManager.iterateComponentsReadOnly(entityRef.getId()), fieldCheck);
+        }
+    }
+
+    /**
+     * Serializes a previously taken snapshot of an entity. Unlike the other serialize methods this does not access
+     * the entity itself, so it can be used off the main thread.
+     *
+     * @param snapshot
+     * @param deltaAgainstPrefab Whether the serialized entity should be a delta against its prefab (if any)
+     * @param fieldCheck Used to check whether each field in each component of the entity should be serialized.
+     * @return The serialized entity
+     */
+    public EntityData.Entity serialize(EntitySnapshot snapshot, boolean deltaAgainstPrefab, FieldSerializeCheck<Component> fieldCheck) {
+        Prefab prefab = snapshot.getParentPrefab();
+        if (prefab != null && deltaAgainstPrefab) {
+            return serializeEntityDelta(snapshot.getId(), snapshot.isAlwaysRelevant(), snapshot.getOwnerId(), snapshot.getScope(),
+                    snapshot.getComponents(), prefab, fieldCheck);
         } else {
-            return serializeEntityFull(entityRef, fieldCheck);
+            return serializeEntityFull(snapshot.getId(), snapshot.isAlwaysRelevant(), snapshot.getOwnerId(), snapshot.getScope(),
+                    snapshot.getComponents(), fieldCheck);
         }
     }
 
@@ -253,17 +278,16 @@ private void deserializeOntoComponents(EntityData.Entity entityData, Map<Class<?
         }
     }
 
-    private EntityData.Entity serializeEntityFull(EntityRef entityRef, FieldSerializeCheck<Component> fieldCheck) {
+    private EntityData.Entity serializeEntityFull(long id, boolean alwaysRelevant, long ownerId, EntityScope scope,
+                                                  Iterable<Component> components, FieldSerializeCheck<Component> fieldCheck) {
         EntityData.Entity.Builder entity = EntityData.Entity.newBuilder();
         if (!ignoringEntityId) {
-            entity.setId(entityRef.getId());
+            entity.setId(id);
         }
-        entity.setAlwaysRelevant(entityRef.isAlwaysRelevant());
-        EntityRef owner = entityRef.getOwner();
-        if (owner.exists()) {
-            entity.setOwner(owner.getId());
+        entity.setAlwaysRelevant(alwaysRelevant);
+        if (ownerId != PojoEntityManager.NULL_ID) {
+            entity.setOwner(ownerId);
         }
-        EntityScope scope = entityRef.getScope();
         if (scope != null) {
             switch (scope) {
                 case GLOBAL:
@@ -279,7 +303,7 @@ private EntityData.Entity serializeEntityFull(EntityRef entityRef, FieldSerializ
             }
         }
 
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : components) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -292,20 +316,20 @@ private EntityData.Entity serializeEntityFull(EntityRef entityRef, FieldSerializ
         return entity.build();
     }
 
-    private EntityData.Entity serializeEntityDelta(EntityRef entityRef, Prefab prefab, FieldSerializeCheck<Component> fieldCheck) {
+    private EntityData.Entity serializeEntityDelta(long id, boolean alwaysRelevant, long ownerId, EntityScope scope,
+                                                   Iterable<Component> components, Prefab prefab,
+                                                   FieldSerializeCheck<Component> fieldCheck) {
         EntityData.Entity.Builder entity = EntityData.Entity.newBuilder();
         if (!ignoringEntityId) {
-            entity.setId(entityRef.getId());
+            entity.setId(id);
         }
         entity.setParentPrefab(prefab.getName());
-        if (entityRef.isAlwaysRelevant() != prefab.isAlwaysRelevant()) {
-            entity.setAlwaysRelevant(entityRef.isAlwaysRelevant());
+        if (alwaysRelevant != prefab.isAlwaysRelevant()) {
+            entity.setAlwaysRelevant(alwaysRelevant);
         }
-        EntityRef owner = entityRef.getOwner();
-        if (owner.exists()) {
-            entity.setOwner(owner.getId());
+        if (ownerId != PojoEntityManager.NULL_ID) {
+            entity.setOwner(ownerId);
         }
-        EntityScope scope = entityRef.getScope();
         if (scope != null) {
             switch (scope) {
                 case GLOBAL:
@@ -322,7 +346,7 @@ private EntityData.Entity serializeEntityDelta(EntityRef entityRef, Prefab prefa
 
 
         Set<Class<? extends Component>> presentClasses = Sets.newHashSet();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : components) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -0,0 +1,79 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.persistence.serializers;
+
+import com.google.common.collect.ImmutableList;
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.internal.EntityScope;
+import org.terasology.entitySystem.entity.internal.PojoEntityManager;
+import org.terasology.entitySystem.metadata.ComponentLibrary;
+import org.terasology.entitySystem.prefab.Prefab;
+
+import java.util.List;
+
+/**
+ * A detached copy of everything {@link EntitySerializer} reads from an entity.
+ * <p>
+ * Taking a snapshot is cheap compared to serializing the entity, and the snapshot does not change when the entity
+ * does, so it can be serialized later or on another thread.
+ */
+public final class EntitySnapshot {
+    private final long id;
+    private final boolean alwaysRelevant;
+    private final long ownerId;
+    private final EntityScope scope;
+    private final Prefab parentPrefab;
+    private final List<Component> components;
+
+    private EntitySnapshot(EntityRef entity, List<Component> components) {
+        this.id = entity.getId();
+        this.alwaysRelevant = entity.isAlwaysRelevant();
+        EntityRef owner = entity.getOwner();
+        this.ownerId = owner.exists() ? owner.getId() : PojoEntityManager.NULL_ID;
+        this.scope = entity.getScope();
+        this.parentPrefab = entity.getParentPrefab();
+        this.components = components;
+    }
+
+    /**
+     * @param entity           the entity to take a snapshot of
+     * @param componentLibrary the library used to copy the components. Its copy strategy for {@link EntityRef}s
+     *                         decides how references to other entities are captured.
+     * @return a snapshot of the current state of the entity
+     */
+    public static EntitySnapshot of(EntityRef entity, ComponentLibrary componentLibrary) {
+        ImmutableList.Builder<Component> components = ImmutableList.builder();
+        for (Component component : entity.iterateComponents()) {
+            components.add(componentLibrary.copy(component));
+        }
+        return new EntitySnapshot(entity, components.build());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public boolean isAlwaysRelevant() {
+        return alwaysRelevant;
+    }
+
+    /**
+     * @return the id of the owner, or {@link PojoEntityManager#NULL_ID} if the entity has no owner
+     */
+    public long getOwnerId() {
+        return ownerId;
+    }
+
+    public EntityScope getScope() {
+        return scope;
+    }
+
+    public Prefab getParentPrefab() {
+        return parentPrefab;
+    }
+
+    public List<Component> getComponents() {
+        return components;
+    }
+}
@@ -92,7 +92,7 @@ private EntityData.PackedEntity.Builder serializeEntityFull(EntityRef entityRef,
         EntityData.PackedEntity.Builder entity = EntityData.PackedEntity.newBuilder();
         ByteString.Output fieldIds = ByteString.newOutput();
         ByteString.Output componentFieldCounts = ByteString.newOutput();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef.getId())) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -112,7 +112,7 @@ private EntityData.PackedEntity.Builder serializeEntityDelta(EntityRef entityRef
 
         ByteString.Output fieldIds = ByteString.newOutput();
         ByteString.Output componentFieldCounts = ByteString.newOutput();
-        for (Component component : entityRef.iterateComponents()) {
+        for (Component component : entityManager.iterateComponentsReadOnly(entityRef.getId())) {
             if (!componentSerializeCheck.serialize(componentLibrary.getMetadata(component.getClass()))) {
                 continue;
             }
@@ -16,8 +16,11 @@
 
 package org.terasology.persistence.typeHandling;
 
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.joml.Quaternionf;
 import org.reflections.Reflections;
 import org.slf4j.Logger;
@@ -82,24 +85,38 @@
 import org.terasology.rendering.nui.Color;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A library of type handlers. This is used for the construction of class metadata.
  * This library should be initialised by adding a number of base type handlers, describing how to serialize each supported type.
  * It will then produce serializers for classes (through their ClassMetadata) on request.
+ * <p>
+ * Type handlers and serializers can be requested from any thread. Generated type handlers are published in immutable
+ * snapshots of the cache, so looking up a cached type handler never locks. The first request for a type is costly, as
+ * its handler is built through reflection; {@link #warmUp(Collection)} builds the serializers of known types up front.
  */
 public class TypeHandlerLibrary {
     private static final Logger logger = LoggerFactory.getLogger(TypeHandlerLibrary.class);
 
     private SerializationSandbox sandbox;
 
-    private List<TypeHandlerFactory> typeHandlerFactories = Lists.newArrayList();
+    private List<TypeHandlerFactory> typeHandlerFactories = Lists.newCopyOnWriteArrayList();
 
-    private Map<TypeInfo<?>, TypeHandler<?>> typeHandlerCache = Maps.newHashMap();
+    /**
+     * The type handlers generated so far. The map is replaced with a copy that includes a new type handler whenever
+     * one is generated, while holding the lock of {@link #typeHandlerCacheLock}.
+     */
+    private volatile Map<TypeInfo<?>, TypeHandler<?>> typeHandlerCache = ImmutableMap.of();
+    private final Object typeHandlerCacheLock = new Object();
 
     /**
      * In certain object graphs, creating a {@link TypeHandler} for a type may recursively
@@ -110,10 +127,10 @@ public class TypeHandlerLibrary {
      */
     private final ThreadLocal<Map<TypeInfo<?>, FutureTypeHandler<?>>> futureTypeHandlers = new ThreadLocal<>();
 
-    private Map<Type, InstanceCreator<?>> instanceCreators = Maps.newHashMap();
+    private Map<Type, InstanceCreator<?>> instanceCreators = Maps.newConcurrentMap();
     private ConstructorLibrary constructorLibrary;
 
-    private Map<ClassMetadata<?, ?>, Serializer> serializerMap = Maps.newHashMap();
+    private Map<ClassMetadata<?, ?>, Serializer> serializerMap = Maps.newConcurrentMap();
 
     private TypeHandlerLibrary(SerializationSandbox sandbox) {
         this.sandbox = sandbox;
@@ -161,8 +178,9 @@ public TypeHandlerLibrary(ModuleManager moduleManager, TypeRegistry typeRegistry
     }
 
     /**
-     * Creates a copy of an existing serialization library. This copy is initialised with all type handlers that were added to the original, but does not retain any
-     * serializers or type handlers that were generated. This can be used to override specific types handlers from another type serializer.
+     * Creates a copy of an existing serialization library. This copy is initialised with all type handlers that were added to the original, and shares the
+     * serializers and type handlers the original generated so far, e.g. during {@link #warmUp(Collection)}. This can be used to override specific types
+     * handlers from another type serializer: adding a type handler or factory to the copy discards the shared ones, as they may depend on the overridden type.
      *
      * @param original The original type serialization library to copy.
      */
@@ -170,6 +188,8 @@ public TypeHandlerLibrary(TypeHandlerLibrary original) {
         this.typeHandlerFactories.addAll(original.typeHandlerFactories);
         this.instanceCreators.putAll(original.instanceCreators);
         this.sandbox = original.sandbox;
+        this.typeHandlerCache = original.typeHandlerCache;
+        this.serializerMap.putAll(original.serializerMap);
     }
 
     public static TypeHandlerLibrary withReflections(Reflections reflections) {
@@ -229,17 +249,77 @@ public Serializer getSerializerFor(ClassMetadata<?, ?> type) {
         if (serializer == null) {
             Map<FieldMetadata<?, ?>, TypeHandler> fieldHandlerMap = getFieldHandlerMap(type);
             serializer = new Serializer(type, fieldHandlerMap);
-            serializerMap.put(type, serializer);
+            // Another thread may have built a serializer for the same type meanwhile, everyone gets the first one
+            Serializer existing = serializerMap.putIfAbsent(type, serializer);
+            if (existing != null) {
+                serializer = existing;
+            }
         }
         return serializer;
     }
 
+    /**
+     * Builds the serializers of the given types, and the type handlers of their fields, in parallel. This moves the
+     * reflective work that the first serialization of each type would do otherwise to a point of the caller's choosing,
+     * e.g. loading a game. Types whose serializer can't be built are logged and skipped.
+     * <p>
+     * Type handlers may be built by module code, which must not run on threads of the common pool. The serializers are
+     * built on threads of their own instead, which use the context class loader of the calling thread and are stopped
+     * before this method returns.
+     *
+     * @param types The types to build serializers for, e.g. all components and events
+     * @return The time the warm-up took, in milliseconds
+     */
+    public long warmUp(Collection<? extends ClassMetadata<?, ?>> types) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<Callable<Void>> tasks = Lists.newArrayListWithCapacity(types.size());
+        for (ClassMetadata<?, ?> type : types) {
+            tasks.add(() -> {
+                try {
+                    getSerializerFor(type);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to build the serializer of '{}'", type.getUri(), e);
+                }
+                return null;
+            });
+        }
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        int threads = Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat("Type handler warm-up %d")
+                .setDaemon(true)
+                .setThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setContextClassLoader(contextClassLoader);
+                    return thread;
+                })
+                .build());
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while building serializers, the remaining ones are built on first use");
+        } finally {
+            executor.shutdownNow();
+        }
+        long millis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        logger.info("Built the serializers of {} types in {}ms", types.size(), millis);
+        return millis;
+    }
+
     /**
      * Adds a new {@link TypeHandlerFactory} to the {@link TypeHandlerLibrary}. Factories
      * added later are given a higher priority during {@link TypeHandler} generation.
      */
     public void addTypeHandlerFactory(TypeHandlerFactory typeHandlerFactory) {
         typeHandlerFactories.add(typeHandlerFactory);
+        // Handlers generated before may have been built from a factory the new one overrides
+        if (!typeHandlerCache.isEmpty() || !serializerMap.isEmpty()) {
+            synchronized (typeHandlerCacheLock) {
+                typeHandlerCache = ImmutableMap.of();
+            }
+            serializerMap.clear();
+        }
     }
 
     /**
@@ -353,12 +433,13 @@ public <T> Optional<TypeHandler<T>> getTypeHandler(Class<T> typeClass) {
      */
     @SuppressWarnings("unchecked")
     public <T> Optional<TypeHandler<T>> getTypeHandler(TypeInfo<T> type) {
-        TypeHandlerContext context = new TypeHandlerContext(this, sandbox);
-
-        if (typeHandlerCache.containsKey(type)) {
-            return Optional.of((TypeHandler<T>) typeHandlerCache.get(type));
+        TypeHandler<T> cachedHandler = (TypeHandler<T>) typeHandlerCache.get(type);
+        if (cachedHandler != null) {
+            return Optional.of(cachedHandler);
         }
 
+        TypeHandlerContext context = new TypeHandlerContext(this, sandbox);
+
         Map<TypeInfo<?>, FutureTypeHandler<?>> futures = futureTypeHandlers.get();
         boolean cleanupFutureTypeHandlers = false;
 
@@ -390,7 +471,7 @@ public <T> Optional<TypeHandler<T>> getTypeHandler(TypeInfo<T> type) {
                         continue;
                     }
 
-                    typeHandlerCache.put(type, handler);
+                    handler = publishTypeHandler(type, handler);
                     future.typeHandler = handler;
 
                     return Optional.of(handler);
@@ -407,6 +488,26 @@ public <T> Optional<TypeHandler<T>> getTypeHandler(TypeInfo<T> type) {
         }
     }
 
+    /**
+     * Adds the given type handler to the cache, unless another thread cached a type handler for the type first.
+     *
+     * @return The cached type handler for the type
+     */
+    @SuppressWarnings("unchecked")
+    private <T> TypeHandler<T> publishTypeHandler(TypeInfo<T> type, TypeHandler<T> handler) {
+        synchronized (typeHandlerCacheLock) {
+            TypeHandler<T> existing = (TypeHandler<T>) typeHandlerCache.get(type);
+            if (existing != null) {
+                return existing;
+            }
+            typeHandlerCache = ImmutableMap.<TypeInfo<?>, TypeHandler<?>>builder()
+                    .putAll(typeHandlerCache)
+                    .put(type, handler)
+                    .build();
+            return handler;
+        }
+    }
+
     /**
      * Returns a {@link TypeHandler} that can handle all types deriving from {@link T}.
      *
@@ -930,6 +930,9 @@ public BulletSweepCallback sweep(org.terasology.math.geom.Vector3f startPos, org
             callback.collisionFilterGroup = collider.getBroadphaseHandle().collisionFilterGroup;
             callback.collisionFilterMask = collider.getBroadphaseHandle().collisionFilterMask;
             callback.collisionFilterMask = (short) (callback.collisionFilterMask & (~StandardCollisionGroup.SENSOR.getFlag()));
+            // Only reads the overlapping pairs of the ghost object and the shapes of the collision objects. jBullet takes
+            // the temporary objects of the test from thread-local pools (ObjectPool and Stack), and the callback is
+            // created for this sweep, so sweeps of different colliders can run on different threads.
             collider.convexSweepTest((ConvexShape) (collider.getCollisionShape()), startTransform, endTransform, callback, allowedPenetration);
             return callback;
         }
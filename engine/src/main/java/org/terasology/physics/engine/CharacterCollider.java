@@ -43,6 +43,9 @@ public interface CharacterCollider {
 
     /**
      * A sweep is like a ray trace, except it moves the character collider from startPos to endPos, detecting any intersections as it moves.
+     * <br><br>
+     * Sweeps only read the physics world, so the colliders of different characters may be swept on different threads
+     * at the same time, as long as nothing changes the physics world meanwhile.
      *
      * @param startPos
      * @param endPos
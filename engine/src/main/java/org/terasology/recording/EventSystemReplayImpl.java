@@ -231,6 +231,28 @@ private void loadNextRecordedEventFile() {
         fillRecordedEvents();
     }
 
+    /**
+     * Moves the replay to a timestamp of the recording. Only the chunk of recorded events holding the timestamp is
+     * deserialized, and the recorded events before the timestamp are not replayed.
+     *
+     * @param timestamp the time since the start of the recording, in milliseconds.
+     */
+    public void seek(long timestamp) {
+        String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
+        recordedEvents.clear();
+        recordAndReplaySerializer.deserializeRecordedEventsFrom(recordingPath, timestamp);
+        fillRecordedEvents();
+        this.areRecordedEventsLoaded = true;
+        replayEventsLoadTime = System.currentTimeMillis() - timestamp;
+    }
+
+    /**
+     * @return the time since the start of the recording up to which recorded events are replayed, in milliseconds.
+     */
+    public long getReplayTime() {
+        return this.areRecordedEventsLoaded ? System.currentTimeMillis() - replayEventsLoadTime : 0;
+    }
+
     private void initialiseReplayData() {
         fillRecordedEvents();
         this.areRecordedEventsLoaded = true;
@@ -32,6 +32,7 @@
 import java.io.FileWriter;
 import java.io.FileReader;
 import java.lang.reflect.Type;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -42,9 +43,7 @@
 public final class RecordAndReplaySerializer {
 
     private static final Logger logger = LoggerFactory.getLogger(RecordAndReplaySerializer.class);
-    private static final String EVENT_DIR = "/events";
     private static final String JSON = ".json";
-    private static final String FILE_AMOUNT = "/file_amount" + JSON;
     private static final String STATE_EVENT_POSITION = "/state_event_position" + JSON;
     private static final String DIRECTION_ORIGIN_LIST = "/direction_origin_list" + JSON;
 
@@ -53,6 +52,7 @@ public final class RecordAndReplaySerializer {
     private CharacterStateEventPositionMap characterStateEventPositionMap;
     private DirectionAndOriginPosRecorderList directionAndOriginPosRecorderList;
     private RecordedEventSerializer recordedEventSerializer;
+    private RecordingIndex recordingIndex = new RecordingIndex();
 
     public RecordAndReplaySerializer(EntityManager manager, RecordedEventStore store,
                                      RecordAndReplayUtils recordAndReplayUtils,
@@ -72,68 +72,62 @@ public RecordAndReplaySerializer(EntityManager manager, RecordedEventStore store
     public void serializeRecordAndReplayData() {
         String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
         serializeRecordedEvents(recordingPath);
+        recordingIndex = new RecordingIndex();
         Gson gson = new GsonBuilder().create();
-        serializeFileAmount(gson, recordingPath);
         serializeCharacterStateEventPositionMap(gson, recordingPath);
         serializeAttackEventExtraRecorder(gson, recordingPath);
     }
 
     /**
-     * Serialize RecordedEvents.
+     * Serialize RecordedEvents, appending them to the events recorded before.
      * @param recordingPath path where the data should be saved.
      */
     public void serializeRecordedEvents(String recordingPath) {
-        String filepath = recordingPath + EVENT_DIR + recordAndReplayUtils.getFileCount() + JSON;
-        recordAndReplayUtils.setFileAmount(recordAndReplayUtils.getFileAmount() + 1);
-        recordAndReplayUtils.setFileCount(recordAndReplayUtils.getFileCount() + 1);
-        recordedEventSerializer.serializeRecordedEvents(recordedEventStore.popEvents(), filepath);
+        recordedEventSerializer.appendRecordedEvents(recordedEventStore.popEvents(), recordingIndex,
+                Paths.get(recordingPath));
         logger.info("RecordedEvents Serialization completed!");
     }
 
     /**
      * Deserialize recorded data.
+     * @throws IllegalStateException if the recording was made before the events were stored in chunks.
      */
     public void deserializeRecordAndReplayData() {
         String recordingPath = PathManager.getInstance().getRecordingPath(recordAndReplayUtils.getGameTitle()).toString();
+        recordingIndex = recordedEventSerializer.readIndex(Paths.get(recordingPath));
+        recordAndReplayUtils.setFileAmount(recordingIndex.size());
         deserializeRecordedEvents(recordingPath);
         Gson gson = new GsonBuilder().create();
-        deserializeFileAmount(gson, recordingPath);
         deserializeCharacterStateEventPositionMap(gson, recordingPath);
         deserializeAttackEventExtraRecorder(gson, recordingPath);
     }
 
     /**
-     * Deserialize RecordedEvents.
+     * Deserialize the next chunk of RecordedEvents.
      * @param recordingPath path where the data was saved.
      */
     void deserializeRecordedEvents(String recordingPath) {
-        String filepath = recordingPath + EVENT_DIR + recordAndReplayUtils.getFileCount() + JSON;
+        int chunk = recordAndReplayUtils.getFileCount() - 1;
         recordAndReplayUtils.setFileCount(recordAndReplayUtils.getFileCount() + 1);
-        recordedEventStore.setEvents(recordedEventSerializer.deserializeRecordedEvents(filepath));
-        logger.info("RecordedEvents Deserialization completed!");
-    }
-
-    private void serializeFileAmount(Gson gson, String recordingPath) {
-        try {
-            JsonWriter writer = new JsonWriter(new FileWriter(recordingPath + FILE_AMOUNT));
-            gson.toJson(recordAndReplayUtils.getFileAmount(), Integer.class, writer);
-            writer.close();
-            logger.info("File Amount Serialization completed!");
-        } catch (Exception e) {
-            logger.error("Error while serializing file amount:", e);
+        if (chunk < recordingIndex.size()) {
+            recordedEventStore.setEvents(recordedEventSerializer.deserializeRecordedEvents(Paths.get(recordingPath),
+                    recordingIndex.get(chunk)));
+        } else {
+            recordedEventStore.setEvents(new ArrayList<>());
         }
+        logger.info("RecordedEvents Deserialization completed!");
     }
 
-    private void deserializeFileAmount(Gson gson, String recordingPath) {
-        try (FileReader fileReader = new FileReader(recordingPath + FILE_AMOUNT)){
-            JsonParser parser = new JsonParser();
-            JsonElement jsonElement = parser.parse(fileReader);
-            Type typeOfCount = new TypeToken<Integer>() { }.getType();
-            recordAndReplayUtils.setFileAmount(gson.fromJson(jsonElement, typeOfCount));
-            logger.info("File Amount Deserialization completed!");
-        } catch (Exception e) {
-            logger.error("Error while deserializing file amount:", e);
-        }
+    /**
+     * Deserialize the RecordedEvents from a timestamp on, reading only the chunk that holds the timestamp. The
+     * following chunks are read by {@link #deserializeRecordedEvents(String)}.
+     * @param recordingPath path where the data was saved.
+     * @param timestamp the timestamp of the first event to deserialize.
+     */
+    void deserializeRecordedEventsFrom(String recordingPath, long timestamp) {
+        recordAndReplayUtils.setFileCount(recordingIndex.findChunk(timestamp) + 1);
+        deserializeRecordedEvents(recordingPath);
+        recordedEventStore.getEvents().removeIf(event -> event.getTimestamp() < timestamp);
     }
 
     private void serializeCharacterStateEventPositionMap(Gson gson, String recordingPath) {
@@ -23,9 +23,9 @@ public class RecordAndReplayUtils {
     private String gameTitle;
     /** If a shutdown was requested. */
     private boolean shutdownRequested;
-    /** The number of the current "event" file that is being recorded or replayed. */
+    /** The number of the next chunk of recorded events to be replayed. */
     private int fileCount;
-    /** The total amount of "event" files of a recording. */
+    /** The total amount of chunks of recorded events of a recording. */
     private int fileAmount;
 
     public RecordAndReplayUtils() {
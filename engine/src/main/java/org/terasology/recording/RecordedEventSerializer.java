@@ -15,68 +15,136 @@
  */
 package org.terasology.recording;
 
+import com.google.protobuf.CodedOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.module.ModuleManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.entity.internal.EngineEntityManager;
-import org.terasology.persistence.serializers.GsonSerializer;
+import org.terasology.persistence.serializers.ProtobufSerializer;
 import org.terasology.persistence.typeHandling.SerializationException;
 import org.terasology.persistence.typeHandling.TypeHandlerLibrary;
 import org.terasology.persistence.typeHandling.extensionTypes.EntityRefTypeHandler;
 import org.terasology.reflection.TypeInfo;
 import org.terasology.reflection.TypeRegistry;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Serializes and deserializes RecordedEvents.
+ * <p>
+ * The events of a recording are stored in a single binary file as protobuf chunks, each holding the events of a span
+ * of time of at most {@link #CHUNK_DURATION} milliseconds. Every chunk is preceded by its length as a varint, so the
+ * chunks can still be told apart without the index. An index file next to it holds the span and position of every
+ * chunk, so the events around a point in time can be read without reading the events before. The offset of an index
+ * entry points past the length of its chunk.
  */
 class RecordedEventSerializer {
 
+    static final String EVENTS_FILE = "events.bin";
+    static final String INDEX_FILE = "events.idx";
+    /** The first file of recorded events of recordings made before the events were stored in chunks. */
+    static final String LEGACY_EVENTS_FILE = "events1.json";
+    /** The longest span of time covered by a chunk of recorded events, in milliseconds. */
+    static final long CHUNK_DURATION = 10000;
+    /** The most events stored in a chunk, to limit the memory needed to read a chunk. */
+    static final int MAX_CHUNK_EVENTS = 4096;
+
     private static final Logger logger = LoggerFactory.getLogger(RecordedEventSerializer.class);
+    private static final TypeInfo<List<RecordedEvent>> EVENT_LIST_TYPE = new TypeInfo<List<RecordedEvent>>() {};
 
-    private GsonSerializer gsonSerializer;
+    private ProtobufSerializer protobufSerializer;
 
     public RecordedEventSerializer(EntityManager entityManager, ModuleManager moduleManager, TypeRegistry typeRegistry) {
         TypeHandlerLibrary typeHandlerLibrary = TypeHandlerLibrary.forModuleEnvironment(moduleManager, typeRegistry);
         typeHandlerLibrary.addTypeHandler(EntityRef.class, new EntityRefTypeHandler((EngineEntityManager) entityManager));
 
-        gsonSerializer = new GsonSerializer(typeHandlerLibrary);
+        protobufSerializer = new ProtobufSerializer(typeHandlerLibrary);
     }
 
     /**
-     * Serializes RecordedEvent's list.
+     * Appends RecordedEvents to the recording, in chunks split by time.
      *
-     * @param events RecordedEvent's list.
-     * @param filePath path where the data should be saved.
+     * @param events RecordedEvent's list, in the order they were recorded.
+     * @param index the index of the recording, which the new chunks are added to.
+     * @param recordingPath the directory of the recording.
      */
-    public void serializeRecordedEvents(List<RecordedEvent> events, String filePath) {
-        try {
-            gsonSerializer.writeJson(events, new TypeInfo<List<RecordedEvent>>() {}, filePath);
+    public void appendRecordedEvents(List<RecordedEvent> events, RecordingIndex index, Path recordingPath) {
+        try (OutputStream output = Files.newOutputStream(recordingPath.resolve(EVENTS_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long offset = Files.size(recordingPath.resolve(EVENTS_FILE));
+            CodedOutputStream codedOutput = CodedOutputStream.newInstance(output);
+            int start = 0;
+            while (start < events.size()) {
+                int end = start + 1;
+                long firstTimestamp = events.get(start).getTimestamp();
+                while (end < events.size() && end - start < MAX_CHUNK_EVENTS
+                        && events.get(end).getTimestamp() - firstTimestamp < CHUNK_DURATION) {
+                    end++;
+                }
+                byte[] chunk = protobufSerializer.toBytes(events.subList(start, end), EVENT_LIST_TYPE);
+                codedOutput.writeRawVarint32(chunk.length);
+                codedOutput.writeRawBytes(chunk);
+                codedOutput.flush();
+                offset += CodedOutputStream.computeRawVarint32Size(chunk.length);
+                index.append(recordingPath.resolve(INDEX_FILE), new RecordingIndex.Entry(firstTimestamp,
+                        events.get(end - 1).getTimestamp(), offset, chunk.length, end - start));
+                offset += chunk.length;
+                start = end;
+            }
         } catch (IOException | SerializationException e) {
             logger.error("Error while serializing recorded events", e);
         }
     }
 
     /**
-     * Deserializes RecordedEvent's list.
+     * Reads the index of a recording.
      *
-     * @param filePath path where the data should be saved.
+     * @param recordingPath the directory of the recording.
+     * @return the index, which is empty if the recording has no events or could not be read.
+     * @throws IllegalStateException if the recording was made before the events were stored in chunks.
      */
-    public List<RecordedEvent> deserializeRecordedEvents(String filePath) {
-        List<RecordedEvent> events = new ArrayList<>();
-
+    public RecordingIndex readIndex(Path recordingPath) {
+        if (!Files.exists(recordingPath.resolve(INDEX_FILE)) && Files.exists(recordingPath.resolve(LEGACY_EVENTS_FILE))) {
+            throw new IllegalStateException("The recording at " + recordingPath + " was made with an older version "
+                    + "that stored its events as JSON files, which can no longer be replayed");
+        }
         try {
-            List<RecordedEvent> recordedEvents =
-                    gsonSerializer.fromJson(new File(filePath), new TypeInfo<List<RecordedEvent>>() {});
-            events.addAll(recordedEvents);
+            return RecordingIndex.read(recordingPath.resolve(INDEX_FILE));
+        } catch (IOException e) {
+            logger.error("Error while reading the index of the recorded events", e);
+            return new RecordingIndex();
+        }
+    }
+
+    /**
+     * Deserializes the RecordedEvents of one chunk of a recording.
+     *
+     * @param recordingPath the directory of the recording.
+     * @param entry the index entry of the chunk.
+     */
+    public List<RecordedEvent> deserializeRecordedEvents(Path recordingPath, RecordingIndex.Entry entry) {
+        List<RecordedEvent> events = new ArrayList<>(entry.getEventCount());
+
+        try (FileChannel channel = FileChannel.open(recordingPath.resolve(EVENTS_FILE), StandardOpenOption.READ)) {
+            ByteBuffer chunk = ByteBuffer.allocate(entry.getLength());
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, entry.getOffset() + chunk.position()) < 0) {
+                    throw new IOException("The recording ends within a chunk of events");
+                }
+            }
+            events.addAll(protobufSerializer.fromBytes(chunk.array(), EVENT_LIST_TYPE));
         } catch (SerializationException | IOException e) {
-            logger.error("Error while serializing recorded events", e);
+            logger.error("Error while deserializing recorded events", e);
         }
 
         return events;
@@ -0,0 +1,133 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import com.google.common.collect.Lists;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The index of the chunks of recorded events in a recording file, in the order they were recorded.
+ * <p>
+ * Every chunk covers a span of time of the recording. The index file holds an entry of fixed size per chunk, so new
+ * chunks are added by appending to it, and a recording that was cut short still has a valid index for every chunk
+ * written before.
+ */
+final class RecordingIndex {
+
+    private final List<Entry> entries = Lists.newArrayList();
+
+    /**
+     * Reads an index file. A missing file is read as an empty index, and an incomplete last entry is ignored.
+     */
+    static RecordingIndex read(Path path) throws IOException {
+        RecordingIndex index = new RecordingIndex();
+        if (!Files.exists(path)) {
+            return index;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                index.entries.add(new Entry(input.readLong(), input.readLong(), input.readLong(), input.readInt(),
+                        input.readInt()));
+            }
+        } catch (EOFException e) {
+            // The end of the index was reached
+        }
+        return index;
+    }
+
+    /**
+     * Adds an entry to the index and appends it to the index file.
+     */
+    void append(Path path, Entry entry) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            output.writeLong(entry.firstTimestamp);
+            output.writeLong(entry.lastTimestamp);
+            output.writeLong(entry.offset);
+            output.writeInt(entry.length);
+            output.writeInt(entry.eventCount);
+        }
+        entries.add(entry);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Entry get(int chunk) {
+        return entries.get(chunk);
+    }
+
+    /**
+     * @return the chunk holding the events at the timestamp, which is the last chunk starting at or before it, or the
+     * first chunk if all chunks start later
+     */
+    int findChunk(long timestamp) {
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (entries.get(mid).firstTimestamp <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Math.max(high, 0);
+    }
+
+    /**
+     * The position of a chunk in the recording file and the span of time it covers.
+     */
+    static final class Entry {
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+        private final long offset;
+        private final int length;
+        private final int eventCount;
+
+        Entry(long firstTimestamp, long lastTimestamp, long offset, int length, int eventCount) {
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.offset = offset;
+            this.length = length;
+            this.eventCount = eventCount;
+        }
+
+        long getFirstTimestamp() {
+            return firstTimestamp;
+        }
+
+        long getLastTimestamp() {
+            return lastTimestamp;
+        }
+
+        /**
+         * @return the position of the chunk in the recording file, in bytes
+         */
+        long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return the size of the chunk, in bytes
+         */
+        int getLength() {
+            return length;
+        }
+
+        int getEventCount() {
+            return eventCount;
+        }
+    }
+}
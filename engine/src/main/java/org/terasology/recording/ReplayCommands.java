@@ -0,0 +1,48 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.recording;
+
+import org.terasology.entitySystem.event.internal.EventSystem;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.registry.In;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Commands to control a running replay.
+ */
+@RegisterSystem(RegisterMode.CLIENT)
+public class ReplayCommands extends BaseComponentSystem {
+
+    @In
+    private EventSystem eventSystem;
+
+    @In
+    private RecordAndReplayCurrentStatus recordAndReplayCurrentStatus;
+
+    @Command(shortDescription = "Skips the replay ahead to a time of the recording",
+            helpText = "Skips the recorded events up to the given number of seconds since the start of the recording, "
+                    + "and continues the replay from there. The world is not rewound, so the replay can't go back",
+            requiredPermission = PermissionManager.NO_PERMISSION)
+    public String seekReplay(@CommandParam("seconds") float seconds) {
+        if (recordAndReplayCurrentStatus.getStatus() != RecordAndReplayStatus.REPLAYING
+                || !(eventSystem instanceof EventSystemReplayImpl)) {
+            return "No replay is running";
+        }
+        EventSystemReplayImpl replayEventSystem = (EventSystemReplayImpl) eventSystem;
+        long timestamp = (long) (seconds * TimeUnit.SECONDS.toMillis(1));
+        long replayTime = replayEventSystem.getReplayTime();
+        if (timestamp <= replayTime) {
+            return String.format(Locale.ROOT, "The replay is already at %.1fs, and can only skip ahead",
+                    replayTime / (float) TimeUnit.SECONDS.toMillis(1));
+        }
+        replayEventSystem.seek(timestamp);
+        return String.format(Locale.ROOT, "Skipped the replay to %.1fs", seconds);
+    }
+}
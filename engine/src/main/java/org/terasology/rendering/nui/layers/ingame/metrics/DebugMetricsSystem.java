@@ -52,6 +52,7 @@ public void initialise() {
         register(new SpikesMode());
         register(new AllocationsMode());
         register(new RunningThreadsMode());
+        register(new DeferredWorkMode());
         register(new WorldRendererMode());
         register(new RenderingExecTimeMeansMode("\n- Rendering - Execution Time: Running Means - Sorted Alphabetically -"));
         currentMode = defaultMode;
@@ -0,0 +1,46 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.nui.layers.ingame.metrics;
+
+import org.terasology.engine.GameThread;
+import org.terasology.utilities.concurrency.FrameBudgetScheduler;
+
+/**
+ * Shows how much work is deferred to the following frames by the {@link FrameBudgetScheduler} of the game thread, and
+ * how much time each category of it took in the last frame.
+ */
+final class DeferredWorkMode extends MetricsMode {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    DeferredWorkMode() {
+        super("\n- Deferred Work -");
+    }
+
+    @Override
+    public String getMetrics() {
+        FrameBudgetScheduler scheduler = GameThread.getScheduler();
+        StringBuilder builder = new StringBuilder();
+        builder.append(getName());
+        builder.append("\n");
+        builder.append(String.format("Frame: %.2fms of %.2fms, backlog %d%n",
+                scheduler.getNanosLastFrame() / NANOS_PER_MS, scheduler.getFrameBudget() / NANOS_PER_MS, scheduler.getBacklog()));
+        for (FrameBudgetScheduler.Category category : scheduler.getCategories()) {
+            builder.append(String.format("%s: backlog %d, ran %d in %.2fms of %.2fms, carried over %.2fms, behind %d frames%n",
+                    category.getName(), category.getBacklog(), category.getExecutedLastFrame(),
+                    category.getNanosLastFrame() / NANOS_PER_MS, category.getBudget() / NANOS_PER_MS,
+                    category.getCarriedOver() / NANOS_PER_MS, category.getFramesBehind()));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isPerformanceManagerMode() {
+        return false;
+    }
+}
@@ -51,6 +51,12 @@ public String getMetrics() {
             builder.append(String.format("In Bytes: %d%n", networkSystem.getIncomingBytesDelta()));
             builder.append(String.format("Out Msg: %d%n", networkSystem.getOutgoingMessagesDelta()));
             builder.append(String.format("Out Bytes: %d%n", networkSystem.getOutgoingBytesDelta()));
+            if (networkSystem.getMode().isServer()) {
+                builder.append(String.format("Serialization: %.2fms%n", networkSystem.getSerializationTimeDelta()));
+                builder.append(String.format("Out Queue: %d%n", networkSystem.getQueuedOutgoingMessages()));
+                builder.append(String.format("Deferred Updates: %d (max %dms)%n", networkSystem.getDeferredEntityUpdates(),
+                        networkSystem.getLongestEntityUpdateDelay()));
+            }
             if (lastTime != 0) {
                 // ignore the first update as it will not have useful data
                 lastMetric = builder.toString();
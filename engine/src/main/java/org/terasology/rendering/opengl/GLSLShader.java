@@ -41,6 +41,7 @@
 import org.terasology.rendering.assets.shader.ShaderProgramFeature;
 import org.terasology.rendering.primitives.ChunkVertexFlag;
 import org.terasology.rendering.world.WorldRenderer;
+import org.terasology.world.block.shapes.BlockMeshPart;
 import org.terasology.world.block.tiles.WorldAtlas;
 
 import java.io.BufferedWriter;
@@ -152,8 +153,10 @@ private StringBuilder createShaderBuilder() {
         WorldAtlas worldAtlas = CoreRegistry.get(WorldAtlas.class);
         if (worldAtlas != null) {
             preProcessorPreamble += "#define TEXTURE_OFFSET " + worldAtlas.getRelativeTileSize() + "\n";
+            preProcessorPreamble += "#define TEXTURE_TILE_SIZE " + BlockMeshPart.getInnerTileSize(worldAtlas.getRelativeTileSize()) + "\n";
         } else {
             preProcessorPreamble += "#define TEXTURE_OFFSET 0.06125\n";
+            preProcessorPreamble += "#define TEXTURE_TILE_SIZE " + BlockMeshPart.getInnerTileSize(0.06125f) + "\n";
         }
         RenderingConfig renderConfig = config.getRendering();
 
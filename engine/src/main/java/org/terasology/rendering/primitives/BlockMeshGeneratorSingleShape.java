@@ -32,6 +32,7 @@ public class BlockMeshGeneratorSingleShape implements BlockMeshGenerator {
 
     private Block block;
     private Mesh mesh;
+    private Boolean mergeable;
 
     public BlockMeshGeneratorSingleShape(Block block) {
         this.block = block;
@@ -39,6 +40,18 @@ public BlockMeshGeneratorSingleShape(Block block) {
 
     @Override
     public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y, int z) {
+        generateChunkMesh(view, chunkMesh, x, y, z, false);
+    }
+
+    /**
+     * Generates the faces of the block at the given position that greedy meshing does not merge, see
+     * {@link #canMergeFace(Side)}.
+     */
+    public void generateUnmergeableFaces(ChunkView view, ChunkMesh chunkMesh, int x, int y, int z) {
+        generateChunkMesh(view, chunkMesh, x, y, z, true);
+    }
+
+    private void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y, int z, boolean skipMergeable) {
         final Block selfBlock = view.getBlock(x, y, z);
 
         // Gather adjacent blocks
@@ -49,6 +62,9 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
             adjacentBlocks.put(side, blockToCheck);
         }
         for (final Side side : Side.getAllSides()) {
+            if (skipMergeable && canMergeFace(side)) {
+                continue;
+            }
             if (isSideVisibleForBlockTypes(adjacentBlocks.get(side), selfBlock, side)) {
                 final ChunkMesh.RenderType renderType = getRenderType(selfBlock);
                 final BlockAppearance blockAppearance = selfBlock.getPrimaryAppearance();
@@ -91,6 +107,68 @@ public void generateChunkMesh(ChunkView view, ChunkMesh chunkMesh, int x, int y,
         }
     }
 
+    /**
+     * Whether greedy meshing may merge the faces of the block with the coplanar faces of adjacent blocks of the same
+     * type. Only opaque full cubes with static textures qualify, which are neither liquid nor waving.
+     */
+    public boolean canMergeFaces() {
+        if (mergeable == null) {
+            mergeable = isMergeableCube();
+        }
+        return mergeable;
+    }
+
+    private boolean isMergeableCube() {
+        if (block.isTranslucent() || block.isLiquid() || block.isWater() || block.isIce() || block.isWaving()
+                || block.isDoubleSided() || block.getMeshGenerator() != this) {
+            return false;
+        }
+        BlockAppearance appearance = block.getPrimaryAppearance();
+        if (appearance == null || appearance.getPart(BlockPart.CENTER) != null) {
+            return false;
+        }
+        for (Side side : Side.getAllSides()) {
+            BlockMeshPart part = appearance.getPart(BlockPart.fromSide(side));
+            if (part == null || !part.isTileable() || !block.isFullSide(side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether greedy meshing generates the face of the block at the given side, instead of
+     * {@link #generateUnmergeableFaces}
+     */
+    public boolean canMergeFace(Side side) {
+        // The sides of grass are tinted through a vertex flag, which tiled faces can't have
+        return canMergeFaces() && !(block.isGrass() && side.isHorizontal());
+    }
+
+    /**
+     * @return Whether the face of the block at the given position and side is visible next to the adjacent block
+     */
+    public boolean isFaceVisible(ChunkView view, int x, int y, int z, Side side) {
+        Vector3i offset = side.getVector3i();
+        return isSideVisibleForBlockTypes(view.getBlock(x + offset.x, y + offset.y, z + offset.z), block, side);
+    }
+
+    /**
+     * Appends the face of the block at the given side, stretched over a box of blocks of this type.
+     * Only faces that {@link #canMergeFace(Side) can be merged} can be appended this way.
+     *
+     * @param x     The position of the block with the lowest coordinates in the box
+     * @param sizeX The size of the box, which has to be 1 along the normal of the face
+     */
+    public void appendMergedFace(ChunkMesh chunkMesh, Side side, int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
+        BlockMeshPart part = block.getPrimaryAppearance().getPart(BlockPart.fromSide(side));
+        if (sizeX == 1 && sizeY == 1 && sizeZ == 1) {
+            part.appendTo(chunkMesh, x, y, z, getRenderType(block), ChunkVertexFlag.NORMAL);
+        } else {
+            part.appendTiledTo(chunkMesh, x, y, z, sizeX, sizeY, sizeZ, getRenderType(block));
+        }
+    }
+
     private ChunkVertexFlag getChunkVertexFlag(ChunkView view, int x, int y, int z, Block selfBlock) {
         // TODO: Needs review - too much hardcoded special cases and corner cases resulting from this.
         ChunkVertexFlag vertexFlag = ChunkVertexFlag.NORMAL;
@@ -95,6 +95,7 @@ public enum RenderPhase {
     private static final int OFFSET_NORMAL = OFFSET_COLOR + SIZE_COLOR * 4;
     private static final int STRIDE = OFFSET_NORMAL + SIZE_NORMAL * 4;
     // the STRIDE, above, is the gap between the beginnings of the data regarding two consecutive vertices
+    static final int VERTEX_SIZE = STRIDE / 4;  // the number of ints in the final vertex data of each vertex
 
     /* VERTEX DATA */
     private final int[] vertexBuffers = new int[4];
@@ -107,6 +108,9 @@ public enum RenderPhase {
     /* TEMPORARY DATA */
     private Map<RenderType, VertexElements> vertexElements = Maps.newEnumMap(RenderType.class);
 
+    /* VERTEX DATA PER SECTION, kept to update the mesh of chunks that change, null for all other meshes */
+    private volatile ChunkMeshSections sections;
+
     private boolean disposed;
 
     /* CONCURRENCY */
@@ -311,6 +315,7 @@ public void dispose() {
 
                 disposed = true;
                 vertexElements = null;
+                sections = null;
             }
         } finally {
             lock.unlock();
@@ -321,6 +326,22 @@ public boolean isDisposed() {
         return disposed;
     }
 
+    /**
+     * @return whether the vertex data of the mesh is kept per section, so that the next mesh of the chunk can reuse
+     * the sections that did not change
+     */
+    public boolean hasSections() {
+        return sections != null;
+    }
+
+    ChunkMeshSections getSections() {
+        return sections;
+    }
+
+    void setSections(ChunkMeshSections sections) {
+        this.sections = sections;
+    }
+
     public int triangleCount(RenderPhase phase) {
         if (phase == RenderPhase.OPAQUE) {
             return vertexCount[0] / 3;
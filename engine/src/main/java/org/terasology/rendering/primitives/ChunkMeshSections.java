@@ -0,0 +1,73 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.rendering.primitives;
+
+import org.lwjgl.BufferUtils;
+import org.terasology.world.chunks.ChunkConstants;
+
+import java.nio.IntBuffer;
+
+/**
+ * The final vertex data of a chunk mesh per vertical section of the chunk, kept after the mesh was uploaded so that
+ * the next mesh of the chunk can be assembled from the sections that did not change and newly tessellated ones.
+ * <p>
+ * Instances are never modified once they were assigned to a mesh; {@link #copy()} shares the buffers of the sections.
+ */
+final class ChunkMeshSections {
+
+    private static final int RENDER_TYPES = ChunkMesh.RenderType.values().length;
+
+    private final IntBuffer[][] vertices = new IntBuffer[ChunkConstants.SECTION_COUNT][RENDER_TYPES];
+    private final IntBuffer[][] indices = new IntBuffer[ChunkConstants.SECTION_COUNT][RENDER_TYPES];
+
+    ChunkMeshSections copy() {
+        ChunkMeshSections result = new ChunkMeshSections();
+        for (int section = 0; section < ChunkConstants.SECTION_COUNT; section++) {
+            System.arraycopy(vertices[section], 0, result.vertices[section], 0, RENDER_TYPES);
+            System.arraycopy(indices[section], 0, result.indices[section], 0, RENDER_TYPES);
+        }
+        return result;
+    }
+
+    /**
+     * Takes the final vertex data of a mesh that only contains the given section.
+     */
+    void set(int section, ChunkMesh sectionMesh) {
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            ChunkMesh.VertexElements elements = sectionMesh.getVertexElements(type);
+            vertices[section][type.getIndex()] = elements.finalVertices;
+            indices[section][type.getIndex()] = elements.finalIndices;
+        }
+    }
+
+    /**
+     * Concatenates the vertex data of all sections into the final vertex data of the given mesh, offsetting the
+     * indices of each section by the number of vertices before it.
+     */
+    void writeTo(ChunkMesh mesh) {
+        for (ChunkMesh.RenderType type : ChunkMesh.RenderType.values()) {
+            int id = type.getIndex();
+            int vertexInts = 0;
+            int indexCount = 0;
+            for (int section = 0; section < ChunkConstants.SECTION_COUNT; section++) {
+                vertexInts += vertices[section][id].limit();
+                indexCount += indices[section][id].limit();
+            }
+
+            ChunkMesh.VertexElements elements = mesh.getVertexElements(type);
+            elements.finalVertices = BufferUtils.createIntBuffer(vertexInts);
+            elements.finalIndices = BufferUtils.createIntBuffer(indexCount);
+            int vertexOffset = 0;
+            for (int section = 0; section < ChunkConstants.SECTION_COUNT; section++) {
+                IntBuffer sectionIndices = indices[section][id];
+                for (int i = 0; i < sectionIndices.limit(); i++) {
+                    elements.finalIndices.put(sectionIndices.get(i) + vertexOffset);
+                }
+                elements.finalVertices.put(vertices[section][id].duplicate());
+                vertexOffset += vertices[section][id].limit() / ChunkMesh.VERTEX_SIZE;
+            }
+            elements.finalVertices.flip();
+            elements.finalIndices.flip();
+        }
+    }
+}
@@ -20,14 +20,17 @@
 import org.lwjgl.BufferUtils;
 import org.terasology.engine.subsystem.lwjgl.GLBufferPool;
 import org.terasology.math.Direction;
+import org.terasology.math.Side;
 import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.rendering.RenderMath;
 import org.terasology.world.ChunkView;
 import org.terasology.world.block.Block;
 import org.terasology.world.chunks.ChunkConstants;
 
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,27 +42,51 @@ public final class ChunkTessellator {
     private static int statVertexArrayUpdateCount;
 
     private GLBufferPool bufferPool;
+    private volatile boolean greedyMeshing;
 
     public ChunkTessellator(GLBufferPool bufferPool) {
         this.bufferPool = bufferPool;
     }
 
+    public boolean isGreedyMeshing() {
+        return greedyMeshing;
+    }
+
+    /**
+     * Sets whether the visible faces of opaque full cubes are merged into larger quads where they are coplanar and
+     * belong to the same block with the same light, see {@link BlockMeshGeneratorSingleShape#canMergeFaces()}.
+     * Greedy meshing generates far fewer vertices for most terrain, and is off by default.
+     */
+    public void setGreedyMeshing(boolean greedyMeshing) {
+        this.greedyMeshing = greedyMeshing;
+    }
+
     public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalOffset) {
         PerformanceMonitor.startActivity("GenerateMesh");
         ChunkMesh mesh = new ChunkMesh(bufferPool);
 
         final Stopwatch watch = Stopwatch.createStarted();
+        final boolean greedy = greedyMeshing;
 
         for (int x = 0; x < ChunkConstants.SIZE_X; x++) {
             for (int z = 0; z < ChunkConstants.SIZE_Z; z++) {
                 for (int y = verticalOffset; y < verticalOffset + meshHeight; y++) {
                     Block block = chunkView.getBlock(x, y, z);
                     if (block != null && block.getMeshGenerator() != null) {
-                        block.getMeshGenerator().generateChunkMesh(chunkView, mesh, x, y, z);
+                        BlockMeshGenerator generator = block.getMeshGenerator();
+                        if (greedy && generator instanceof BlockMeshGeneratorSingleShape
+                                && ((BlockMeshGeneratorSingleShape) generator).canMergeFaces()) {
+                            ((BlockMeshGeneratorSingleShape) generator).generateUnmergeableFaces(chunkView, mesh, x, y, z);
+                        } else {
+                            generator.generateChunkMesh(chunkView, mesh, x, y, z);
+                        }
                     }
                 }
             }
         }
+        if (greedy) {
+            generateMergedFaces(chunkView, mesh, meshHeight, verticalOffset);
+        }
         watch.stop();
 
         mesh.setTimeToGenerateBlockVertices((int) watch.elapsed(TimeUnit.MILLISECONDS));
@@ -74,6 +101,173 @@ public ChunkMesh generateMesh(ChunkView chunkView, int meshHeight, int verticalO
         return mesh;
     }
 
+    /**
+     * Generates the mesh of a chunk whose previous mesh only changed in the given sections. If the previous mesh kept
+     * its vertex data per section, only the changed sections are tessellated, and the vertex data of the others is
+     * reused. Otherwise, if only some sections changed, all sections are tessellated one by one, so that the next
+     * changes to the chunk can be handled incrementally; if all of them changed, the chunk is meshed as a whole.
+     *
+     * @param chunkView     the view of the chunk and its neighbours
+     * @param previousMesh  the current mesh of the chunk, or null
+     * @param dirtySections the sections to tessellate, see {@link org.terasology.world.chunks.RenderableChunk#getDirtySections()}
+     */
+    public ChunkMesh generateMesh(ChunkView chunkView, ChunkMesh previousMesh, int dirtySections) {
+        ChunkMeshSections previousSections = (previousMesh != null) ? previousMesh.getSections() : null;
+        if (previousSections == null && (previousMesh == null || dirtySections == ChunkConstants.ALL_SECTIONS)) {
+            return generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
+        }
+
+        PerformanceMonitor.startActivity("GenerateMeshSections");
+        final Stopwatch watch = Stopwatch.createStarted();
+        ChunkMeshSections sections;
+        int sectionsToGenerate;
+        if (previousSections != null) {
+            sections = previousSections.copy();
+            sectionsToGenerate = dirtySections;
+        } else {
+            sections = new ChunkMeshSections();
+            sectionsToGenerate = ChunkConstants.ALL_SECTIONS;
+        }
+        for (int section = 0; section < ChunkConstants.SECTION_COUNT; section++) {
+            if ((sectionsToGenerate & (1 << section)) != 0) {
+                sections.set(section, generateMesh(chunkView, ChunkConstants.SECTION_SIZE_Y, section * ChunkConstants.SECTION_SIZE_Y));
+            }
+        }
+        watch.stop();
+
+        ChunkMesh mesh = new ChunkMesh(bufferPool);
+        mesh.setTimeToGenerateBlockVertices((int) watch.elapsed(TimeUnit.MILLISECONDS));
+        watch.reset().start();
+        sections.writeTo(mesh);
+        mesh.setSections(sections);
+        watch.stop();
+        mesh.setTimeToGenerateOptimizedBuffers((int) watch.elapsed(TimeUnit.MILLISECONDS));
+        PerformanceMonitor.endActivity();
+        return mesh;
+    }
+
+    /**
+     * Generates the faces greedy meshing handles, slice by slice for every side: the visible faces of a slice are merged
+     * into as few rectangles as possible. Faces are only merged with faces of the same block, and only if all their
+     * corners get the same light, so that the merged quads are lit exactly like the faces they replace.
+     */
+    private void generateMergedFaces(ChunkView chunkView, ChunkMesh mesh, int meshHeight, int verticalOffset) {
+        PerformanceMonitor.startActivity("MergeFaces");
+        int[] size = {ChunkConstants.SIZE_X, meshHeight, ChunkConstants.SIZE_Z};
+        int[] origin = {0, verticalOffset, 0};
+        int[] pos = new int[3];
+        int[] faceSize = new int[3];
+        for (Side side : Side.getAllSides()) {
+            Vector3i direction = side.getVector3i();
+            Vector3f normal = new Vector3f(direction.x, direction.y, direction.z);
+            int axis = (direction.x != 0) ? 0 : ((direction.y != 0) ? 1 : 2);
+            int axisU = (axis + 1) % 3;
+            int axisV = (axis + 2) % 3;
+            int sizeU = size[axisU];
+            int sizeV = size[axisV];
+            BlockMeshGeneratorSingleShape[] faces = new BlockMeshGeneratorSingleShape[sizeU * sizeV];
+            float[] faceLights = new float[sizeU * sizeV * 3];
+            // The light of the corners of the faces in a slice, calculated when first needed
+            float[] cornerLights = new float[(sizeU + 1) * (sizeV + 1) * 3];
+            boolean[] cornerCalculated = new boolean[(sizeU + 1) * (sizeV + 1)];
+            Vector3f cornerPos = new Vector3f();
+            float[] cornerOffset = new float[3];
+            float[] light = new float[3];
+
+            for (int slice = 0; slice < size[axis]; slice++) {
+                Arrays.fill(cornerCalculated, false);
+                pos[axis] = origin[axis] + slice;
+                for (int v = 0; v < sizeV; v++) {
+                    for (int u = 0; u < sizeU; u++) {
+                        pos[axisU] = origin[axisU] + u;
+                        pos[axisV] = origin[axisV] + v;
+                        int face = u + v * sizeU;
+                        faces[face] = null;
+                        Block block = chunkView.getBlock(pos[0], pos[1], pos[2]);
+                        if (block == null || !(block.getMeshGenerator() instanceof BlockMeshGeneratorSingleShape)) {
+                            continue;
+                        }
+                        BlockMeshGeneratorSingleShape generator = (BlockMeshGeneratorSingleShape) block.getMeshGenerator();
+                        if (!generator.canMergeFace(side) || !generator.isFaceVisible(chunkView, pos[0], pos[1], pos[2], side)) {
+                            continue;
+                        }
+
+                        boolean uniformLight = true;
+                        for (int corner = 0; corner < 4; corner++) {
+                            int cornerU = u + (corner & 1);
+                            int cornerV = v + (corner >> 1);
+                            int cornerIndex = cornerU + cornerV * (sizeU + 1);
+                            if (!cornerCalculated[cornerIndex]) {
+                                cornerOffset[axis] = pos[axis] + 0.5f * (direction.x + direction.y + direction.z);
+                                cornerOffset[axisU] = origin[axisU] + cornerU - 0.5f;
+                                cornerOffset[axisV] = origin[axisV] + cornerV - 0.5f;
+                                cornerPos.set(cornerOffset[0], cornerOffset[1], cornerOffset[2]);
+                                calcLightingValuesForVertexPos(chunkView, cornerPos, light, normal);
+                                System.arraycopy(light, 0, cornerLights, cornerIndex * 3, 3);
+                                cornerCalculated[cornerIndex] = true;
+                            }
+                            if (corner == 0) {
+                                System.arraycopy(cornerLights, cornerIndex * 3, faceLights, face * 3, 3);
+                            } else if (!hasLight(cornerLights, cornerIndex, faceLights, face)) {
+                                uniformLight = false;
+                            }
+                        }
+                        if (uniformLight) {
+                            faces[face] = generator;
+                        } else {
+                            generator.appendMergedFace(mesh, side, pos[0], pos[1], pos[2], 1, 1, 1);
+                        }
+                    }
+                }
+
+                for (int v = 0; v < sizeV; v++) {
+                    for (int u = 0; u < sizeU; u++) {
+                        int face = u + v * sizeU;
+                        BlockMeshGeneratorSingleShape generator = faces[face];
+                        if (generator == null) {
+                            continue;
+                        }
+                        int width = 1;
+                        while (u + width < sizeU && canMerge(faces, faceLights, face, face + width)) {
+                            width++;
+                        }
+                        int height = 1;
+                        grow:
+                        while (v + height < sizeV) {
+                            for (int i = 0; i < width; i++) {
+                                if (!canMerge(faces, faceLights, face, face + i + height * sizeU)) {
+                                    break grow;
+                                }
+                            }
+                            height++;
+                        }
+                        for (int j = 0; j < height; j++) {
+                            Arrays.fill(faces, face + j * sizeU, face + j * sizeU + width, null);
+                        }
+
+                        pos[axisU] = origin[axisU] + u;
+                        pos[axisV] = origin[axisV] + v;
+                        faceSize[axis] = 1;
+                        faceSize[axisU] = width;
+                        faceSize[axisV] = height;
+                        generator.appendMergedFace(mesh, side, pos[0], pos[1], pos[2], faceSize[0], faceSize[1], faceSize[2]);
+                    }
+                }
+            }
+        }
+        PerformanceMonitor.endActivity();
+    }
+
+    private static boolean canMerge(BlockMeshGeneratorSingleShape[] faces, float[] faceLights, int face, int other) {
+        return faces[other] == faces[face] && hasLight(faceLights, other, faceLights, face);
+    }
+
+    private static boolean hasLight(float[] lights, int index, float[] otherLights, int otherIndex) {
+        return lights[index * 3] == otherLights[otherIndex * 3]
+                && lights[index * 3 + 1] == otherLights[otherIndex * 3 + 1]
+                && lights[index * 3 + 2] == otherLights[otherIndex * 3 + 2];
+    }
+
     private void generateOptimizedBuffers(ChunkView chunkView, ChunkMesh mesh) {
         PerformanceMonitor.startActivity("OptimizeBuffers");
 
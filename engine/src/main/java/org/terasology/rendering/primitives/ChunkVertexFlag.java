@@ -26,7 +26,9 @@ public enum ChunkVertexFlag {
     WATER_SURFACE(2, "BLOCK_HINT_WATER_SURFACE"),
     COLOR_MASK(3, "BLOCK_HINT_GRASS"),
     WAVING(4, "BLOCK_HINT_WAVING"),
-    WAVING_BLOCK(5, "BLOCK_HINT_WAVING_BLOCK");
+    WAVING_BLOCK(5, "BLOCK_HINT_WAVING_BLOCK"),
+    /** Faces merged by greedy meshing, whose texture repeats once per block */
+    TILED(6, "BLOCK_HINT_TILED");
 
     private int value;
     private String defineName;
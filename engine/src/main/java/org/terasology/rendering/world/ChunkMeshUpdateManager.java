@@ -28,7 +28,6 @@
 import org.terasology.utilities.concurrency.TaskMaster;
 import org.terasology.world.ChunkView;
 import org.terasology.world.WorldProvider;
-import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.RenderableChunk;
 import org.terasology.world.chunks.pipeline.ChunkTask;
 import org.terasology.world.chunks.pipeline.ShutdownChunkTask;
@@ -162,20 +161,21 @@ public boolean isTerminateSignal() {
         @Override
         public void run() {
             ChunkMesh newMesh;
+            /*
+             * Important clear the dirty sections before taking the view, so that the sections modified concurrently
+             * in the mean time stay dirty.
+             */
+            int dirtySections = c.clearDirtySections();
             ChunkView chunkView = worldProvider.getLocalView(c.getPosition());
-            if (chunkView != null) {
-                /*
-                 * Important set dirty flag first, so that a concurrent modification of the chunk in the mean time we
-                 * will end up with a dirty chunk.
-                 */
-                c.setDirty(false);
-                if (chunkView.isValidView()) {
-                    newMesh = tessellator.generateMesh(chunkView, ChunkConstants.SIZE_Y, 0);
-
-                    c.setPendingMesh(newMesh);
-                    ChunkMonitor.fireChunkTessellated(c.getPosition(), newMesh);
-                }
-
+            if (chunkView != null && chunkView.isValidView()) {
+                // Only this task modifies the meshes of the chunk until it is finished, see finishedProcessing
+                ChunkMesh previousMesh = c.hasPendingMesh() ? c.getPendingMesh() : c.getMesh();
+                newMesh = tessellator.generateMesh(chunkView, previousMesh, dirtySections);
+
+                c.setPendingMesh(newMesh);
+                ChunkMonitor.fireChunkTessellated(c.getPosition(), newMesh);
+            } else {
+                c.markSectionsDirty(dirtySections);
             }
             chunkMeshUpdateManager.finishedProcessing(c);
             // Clean these up because the task executor holds the object in memory.
@@ -89,6 +89,7 @@ class RenderableWorldImpl implements RenderableWorld {
         this.worldProvider = worldProvider;
         this.chunkProvider = chunkProvider;
         chunkTessellator = new ChunkTessellator(bufferPool);
+        chunkTessellator.setGreedyMeshing(renderingConfig.isGreedyMeshing());
         chunkMeshUpdateManager = new ChunkMeshUpdateManager(chunkTessellator, worldProvider);
 
         this.playerCamera = playerCamera;
@@ -147,13 +148,14 @@ public boolean pregenerateChunks() {
             if (chunk == null) {
                 pregenerationIsComplete = false;
             } else if (chunk.isDirty()) {
+                int dirtySections = chunk.clearDirtySections();
                 localView = worldProvider.getLocalView(chunkCoordinates);
                 if (localView == null) {
+                    chunk.markSectionsDirty(dirtySections);
                     continue;
                 }
-                chunk.setDirty(false);
 
-                newMesh = chunkTessellator.generateMesh(localView, ChunkConstants.SIZE_Y, 0);
+                newMesh = chunkTessellator.generateMesh(localView, chunk.getMesh(), dirtySections);
                 newMesh.generateVBOs();
 
                 if (chunk.hasMesh()) {
@@ -285,6 +287,8 @@ public void generateVBOs() {
                 if (chunk.hasPendingMesh()) {
                     chunk.getPendingMesh().dispose();
                     chunk.setPendingMesh(null);
+                    // The sections the discarded mesh was updated in are stale in the current mesh
+                    chunk.setDirty(true);
                 }
             }
         }
@@ -0,0 +1,41 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.concurrency;
+
+import com.google.common.collect.Queues;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A {@link WorkSource} of tasks that are run in the order they were submitted. Tasks can be submitted from any thread.
+ */
+public class DeferredTaskQueue implements WorkSource {
+
+    private final BlockingQueue<Runnable> tasks = Queues.newLinkedBlockingQueue();
+
+    public void submit(Runnable task) {
+        tasks.offer(task);
+    }
+
+    /**
+     * Removes all pending tasks without running them.
+     */
+    public void clear() {
+        tasks.clear();
+    }
+
+    @Override
+    public boolean runNext() {
+        Runnable task = tasks.poll();
+        if (task == null) {
+            return false;
+        }
+        task.run();
+        return true;
+    }
+
+    @Override
+    public int getBacklog() {
+        return tasks.size();
+    }
+}
@@ -0,0 +1,256 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.concurrency;
+
+import org.terasology.monitoring.Activity;
+import org.terasology.monitoring.PerformanceMonitor;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs deferred work on the main thread within a time budget per frame, so that a burst of work is spread over several
+ * frames instead of causing a single long one.
+ * <p>
+ * Work is grouped into categories, each with a priority and a budget per frame. Every frame each category first runs
+ * for its own budget, in order of priority, and always runs at least one unit of work so that none of them starves.
+ * Time the categories did not need is then handed to the categories that still have work left, again in order of
+ * priority, until the budget of the frame is used up. A category that overran its budget, usually because of a single
+ * expensive unit of work, carries the excess over and gets correspondingly less time in the next frame.
+ * <p>
+ * Categories with the same priority run in the order they were added, so work that one category hands on to another
+ * of the same priority can still be finished in the same frame.
+ * <p>
+ * {@link #runFrame()} and {@link #runAll()} must only be called from the main thread.
+ */
+public class FrameBudgetScheduler {
+
+    public static final int PRIORITY_HIGH = 300;
+    public static final int PRIORITY_NORMAL = 200;
+    public static final int PRIORITY_LOW = 100;
+
+    private final long frameBudget;
+    private final List<Category> categories = new CopyOnWriteArrayList<>();
+    private long nanosLastFrame;
+
+    public FrameBudgetScheduler(long frameBudget, TimeUnit unit) {
+        this.frameBudget = unit.toNanos(frameBudget);
+    }
+
+    /**
+     * Adds a category of work to run every frame.
+     *
+     * @param name     The name of the category, shown in the performance monitor
+     * @param priority Categories with a higher priority run first
+     * @param budget   The time the category may run each frame
+     * @param unit     The unit of the budget
+     * @param source   The work of the category
+     * @return The category, which provides its statistics and can be used to remove it again
+     */
+    public Category addCategory(String name, int priority, long budget, TimeUnit unit, WorkSource source) {
+        Category category = new Category(name, priority, unit.toNanos(budget), source);
+        categories.add(category);
+        categories.sort(Comparator.comparingInt(Category::getPriority).reversed());
+        return category;
+    }
+
+    /**
+     * Adds a category of work that consists of tasks submitted to the returned queue.
+     *
+     * @see #addCategory(String, int, long, TimeUnit, WorkSource)
+     */
+    public DeferredTaskQueue addTaskQueue(String name, int priority, long budget, TimeUnit unit) {
+        DeferredTaskQueue queue = new DeferredTaskQueue();
+        addCategory(name, priority, budget, unit, queue);
+        return queue;
+    }
+
+    /**
+     * Removes a category, dropping any work it has left.
+     */
+    public void removeCategory(Category category) {
+        categories.remove(category);
+    }
+
+    /**
+     * @return The categories in the order they run
+     */
+    public List<Category> getCategories() {
+        return Collections.unmodifiableList(categories);
+    }
+
+    /**
+     * Runs work for one frame, within the budget of the frame and its categories.
+     */
+    public void runFrame() {
+        long frameStart = System.nanoTime();
+        long frameDeadline = frameStart + frameBudget;
+        for (Category category : categories) {
+            category.runSlice(frameDeadline);
+        }
+        for (Category category : categories) {
+            if (System.nanoTime() >= frameDeadline) {
+                break;
+            }
+            category.runSpare(frameDeadline);
+        }
+        for (Category category : categories) {
+            category.endFrame();
+        }
+        nanosLastFrame = System.nanoTime() - frameStart;
+    }
+
+    /**
+     * Runs all pending work regardless of the budgets, including any work that running it gives rise to.
+     */
+    public void runAll() {
+        boolean ranAny = true;
+        while (ranAny) {
+            ranAny = false;
+            for (Category category : categories) {
+                while (category.source.runNext()) {
+                    ranAny = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The time spent in the last call of {@link #runFrame()}, in nanoseconds
+     */
+    public long getNanosLastFrame() {
+        return nanosLastFrame;
+    }
+
+    /**
+     * @return The budget of every frame, in nanoseconds
+     */
+    public long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * @return The number of units of work waiting in all categories
+     */
+    public int getBacklog() {
+        int backlog = 0;
+        for (Category category : categories) {
+            backlog += category.getBacklog();
+        }
+        return backlog;
+    }
+
+    /**
+     * A category of deferred work, with the statistics of the last frame it ran in.
+     */
+    public static final class Category {
+        private final String name;
+        private final int priority;
+        private final long budget;
+        private final WorkSource source;
+
+        private long carriedOver;
+        private int executedLastFrame;
+        private long nanosLastFrame;
+        private int framesBehind;
+
+        private int executed;
+        private long nanos;
+
+        private Category(String name, int priority, long budget, WorkSource source) {
+            this.name = name;
+            this.priority = priority;
+            this.budget = budget;
+            this.source = source;
+        }
+
+        private void runSlice(long frameDeadline) {
+            long slice = budget - carriedOver;
+            long start = System.nanoTime();
+            long spent = run(Math.min(start + slice, frameDeadline), true);
+            carriedOver = Math.min(Math.max(spent - slice, 0), budget);
+        }
+
+        private void runSpare(long frameDeadline) {
+            if (source.getBacklog() > 0) {
+                run(frameDeadline, false);
+            }
+        }
+
+        private long run(long deadline, boolean atLeastOne) {
+            long start = System.nanoTime();
+            boolean mayRun = atLeastOne || start < deadline;
+            try (Activity ignored = PerformanceMonitor.startActivity(name)) {
+                while (mayRun && source.runNext()) {
+                    executed++;
+                    mayRun = System.nanoTime() < deadline;
+                }
+            }
+            long spent = System.nanoTime() - start;
+            nanos += spent;
+            return spent;
+        }
+
+        private void endFrame() {
+            executedLastFrame = executed;
+            nanosLastFrame = nanos;
+            executed = 0;
+            nanos = 0;
+            framesBehind = source.getBacklog() > 0 ? framesBehind + 1 : 0;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return The time the category may run each frame, in nanoseconds
+         */
+        public long getBudget() {
+            return budget;
+        }
+
+        /**
+         * @return The number of units of work waiting to be run
+         */
+        public int getBacklog() {
+            return source.getBacklog();
+        }
+
+        /**
+         * @return The time by which the category overran its budget, which it will have less in the next frame, in
+         * nanoseconds
+         */
+        public long getCarriedOver() {
+            return carriedOver;
+        }
+
+        /**
+         * @return The number of units of work run in the last frame
+         */
+        public int getExecutedLastFrame() {
+            return executedLastFrame;
+        }
+
+        /**
+         * @return The time spent on the category in the last frame, in nanoseconds
+         */
+        public long getNanosLastFrame() {
+            return nanosLastFrame;
+        }
+
+        /**
+         * @return The number of consecutive frames that ended with work of the category left over
+         */
+        public int getFramesBehind() {
+            return framesBehind;
+        }
+    }
+}
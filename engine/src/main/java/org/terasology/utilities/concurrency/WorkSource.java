@@ -0,0 +1,22 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.utilities.concurrency;
+
+/**
+ * Deferred work that a {@link FrameBudgetScheduler} runs on the main thread one unit at a time, for as long as the
+ * budget of its category allows.
+ */
+public interface WorkSource {
+
+    /**
+     * Runs the next unit of work.
+     *
+     * @return Whether any work was done. False if there is nothing to do, or nothing that can be done this frame.
+     */
+    boolean runNext();
+
+    /**
+     * @return The number of units of work waiting to be run
+     */
+    int getBacklog();
+}
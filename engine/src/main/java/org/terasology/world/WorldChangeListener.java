@@ -16,14 +16,34 @@
 
 package org.terasology.world;
 
+import org.terasology.math.JomlUtil;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.block.Block;
+import org.terasology.world.propagation.BlockChange;
+
+import java.util.Collection;
 
 /**
  */
 public interface WorldChangeListener {
 
     void onBlockChanged(Vector3i pos, Block newBlock, Block originalBlock);
-    
+
+    /**
+     * Notifies the listener of a batch of block changes that all lie within a single chunk, as produced by a bulk
+     * world edit such as {@link org.terasology.world.WorldProvider#setBlocks}.
+     * <p>
+     * The default implementation falls back to {@link #onBlockChanged} for every change. Listeners that can handle
+     * the changes of a chunk as a unit (e.g. to build a single network delta) should override this.
+     *
+     * @param chunkPos the position of the chunk containing all changes
+     * @param changes  the block changes, in the order they were applied
+     */
+    default void onBlocksChanged(Vector3i chunkPos, Collection<BlockChange> changes) {
+        for (BlockChange change : changes) {
+            onBlockChanged(JomlUtil.from(change.getPosition()), change.getTo(), change.getFrom());
+        }
+    }
+
     void onExtraDataChanged(int i, Vector3i pos, int newData, int oldData);
 }
@@ -30,12 +30,15 @@
  */
 public class BlockMeshPart {
     private static final float BORDER = 1f / 128f;
+    private static final float CORNER_EPSILON = 1e-4f;
 
     private Vector3f[] vertices;
     private Vector3f[] normals;
     private Vector2f[] texCoords;
     private int[] indices;
     private int texFrames;
+    /** For faces of a full cube, the axes of the block along which the texture coordinates run, otherwise null */
+    private int[] tileAxes;
 
     public BlockMeshPart(Vector3f[] vertices, Vector3f[] normals, Vector2f[] texCoords, int[] indices) {
         this(vertices, normals, texCoords, indices, 1);
@@ -47,6 +50,15 @@ private BlockMeshPart(Vector3f[] vertices, Vector3f[] normals, Vector2f[] texCoo
         this.texCoords = Arrays.copyOf(texCoords, texCoords.length);
         this.indices = Arrays.copyOf(indices, indices.length);
         this.texFrames = texFrames;
+        this.tileAxes = findTileAxes();
+    }
+
+    /**
+     * Returns the size of the part of an atlas tile of the given size that is mapped onto block faces, leaving out the
+     * border that prevents neighbouring tiles from bleeding in.
+     */
+    public static float getInnerTileSize(float tileSize) {
+        return tileSize - 2 * BORDER * tileSize;
     }
 
     public int size() {
@@ -77,6 +89,60 @@ public int getTexFrames() {
         return texFrames;
     }
 
+    /**
+     * @return Whether the part is a face of a full cube whose texture is aligned with the edges of the face, so that it
+     * can be stretched over several blocks with {@link #appendTiledTo}
+     */
+    public boolean isTileable() {
+        return tileAxes != null && texFrames == 1;
+    }
+
+    private int[] findTileAxes() {
+        if (vertices.length != 4) {
+            return null;
+        }
+        float minU = Float.MAX_VALUE;
+        float maxU = -Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        float maxV = -Float.MAX_VALUE;
+        for (int i = 0; i < vertices.length; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                if (Math.abs(Math.abs(vertices[i].get(axis)) - 0.5f) > CORNER_EPSILON) {
+                    return null;
+                }
+            }
+            minU = Math.min(minU, texCoords[i].x);
+            maxU = Math.max(maxU, texCoords[i].x);
+            minV = Math.min(minV, texCoords[i].y);
+            maxV = Math.max(maxV, texCoords[i].y);
+        }
+        int axisU = findTileAxis(0, (minU + maxU) / 2);
+        int axisV = findTileAxis(1, (minV + maxV) / 2);
+        if (axisU < 0 || axisV < 0 || axisU == axisV) {
+            return null;
+        }
+        return new int[]{axisU, axisV};
+    }
+
+    /**
+     * Finds the axis of the block along which the given texture coordinate grows or shrinks, i.e. the axis on which all
+     * vertices with a texture coordinate above the given middle lie on the same side of the block.
+     */
+    private int findTileAxis(int texAxis, float middle) {
+        for (int axis = 0; axis < 3; axis++) {
+            int correlation = 0;
+            for (int i = 0; i < vertices.length; i++) {
+                boolean positive = vertices[i].get(axis) > 0;
+                boolean high = texCoords[i].get(texAxis) > middle;
+                correlation += (positive == high) ? 1 : -1;
+            }
+            if (Math.abs(correlation) == vertices.length) {
+                return axis;
+            }
+        }
+        return -1;
+    }
+
     public BlockMeshPart mapTexCoords(Vector2f offset, float width, int frames) {
         float normalisedBorder = BORDER * width;
         Vector2f[] newTexCoords = new Vector2f[texCoords.length];
@@ -116,6 +182,63 @@ public void appendTo(ChunkMesh chunk, int offsetX, int offsetY, int offsetZ, Chu
         }
     }
 
+    /**
+     * Appends the part stretched over a box of blocks, as one face of a greedy mesh. The texture is repeated once per
+     * block: the texture coordinates hold the number of repetitions up to the vertex in their integer part and the
+     * corner of the atlas tile in their fractional part, which the chunk shader unpacks for vertices flagged with
+     * {@link ChunkVertexFlag#TILED}. Only parts that are {@link #isTileable() tileable} can be appended this way.
+     *
+     * @param offsetX The position of the block with the lowest coordinates in the box
+     * @param sizeX   The size of the box, which has to be 1 along the normal of the part
+     */
+    public void appendTiledTo(ChunkMesh chunk, int offsetX, int offsetY, int offsetZ, int sizeX, int sizeY, int sizeZ,
+                              ChunkMesh.RenderType renderType) {
+        ChunkMesh.VertexElements elements = chunk.getVertexElements(renderType);
+        int[] size = {sizeX, sizeY, sizeZ};
+        float minU = Float.MAX_VALUE;
+        float minV = Float.MAX_VALUE;
+        float maxU = -Float.MAX_VALUE;
+        float maxV = -Float.MAX_VALUE;
+        for (Vector2f texCoord : texCoords) {
+            minU = Math.min(minU, texCoord.x);
+            maxU = Math.max(maxU, texCoord.x);
+            minV = Math.min(minV, texCoord.y);
+            maxV = Math.max(maxV, texCoord.y);
+        }
+
+        int nextIndex = elements.vertexCount;
+        for (int vIdx = 0; vIdx < vertices.length; ++vIdx) {
+            Vector2f texCoord = texCoords[vIdx];
+            int repeatsU = (texCoord.x > (minU + maxU) / 2) ? size[tileAxes[0]] : 0;
+            int repeatsV = (texCoord.y > (minV + maxV) / 2) ? size[tileAxes[1]] : 0;
+            elements.tex.add(repeatsU + minU);
+            elements.tex.add(repeatsV + minV);
+
+            elements.color.add(1);
+            elements.color.add(1);
+            elements.color.add(1);
+            elements.color.add(1);
+            elements.vertices.add(stretch(vertices[vIdx].x, sizeX) + offsetX);
+            elements.vertices.add(stretch(vertices[vIdx].y, sizeY) + offsetY);
+            elements.vertices.add(stretch(vertices[vIdx].z, sizeZ) + offsetZ);
+            elements.normals.add(normals[vIdx].x);
+            elements.normals.add(normals[vIdx].y);
+            elements.normals.add(normals[vIdx].z);
+            elements.flags.add(ChunkVertexFlag.TILED.getValue());
+            // No animation, which would move the texture coordinates
+            elements.frames.add(0);
+        }
+        elements.vertexCount += vertices.length;
+
+        for (int index : indices) {
+            elements.indices.add(index + nextIndex);
+        }
+    }
+
+    private static float stretch(float corner, int size) {
+        return (corner > 0) ? size - 0.5f : -0.5f;
+    }
+
     public BlockMeshPart rotate(Quaternionf rotation) {
         Vector3f[] newVertices = new Vector3f[vertices.length];
         Vector3f[] newNormals = new Vector3f[normals.length];
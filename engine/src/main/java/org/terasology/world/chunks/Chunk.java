@@ -28,4 +28,10 @@
  */
 @API
 public interface Chunk extends ManagedChunk, RenderableChunk {
+
+    /**
+     * Returns an immutable version of the block, light and extra data of the chunk as it is now, which other threads
+     * can read without locking while the chunk keeps being modified. Modifying the returned chunk is not supported.
+     */
+    Chunk pinVersion();
 }
@@ -29,6 +29,17 @@ public final class ChunkConstants {
     public static final int SIZE_Y = 64;
     public static final int SIZE_Z = 32;
 
+    /**
+     * The height of the vertical sections chunk data is split into, which are copied on write independently of
+     * each other.
+     */
+    public static final int SECTION_SIZE_Y = 16;
+    public static final int SECTION_COUNT = SIZE_Y / SECTION_SIZE_Y;
+    /**
+     * The bitmask of all sections, with bit i set for the i-th section from the bottom.
+     */
+    public static final int ALL_SECTIONS = (1 << SECTION_COUNT) - 1;
+
     public static final int INNER_CHUNK_POS_FILTER_X = TeraMath.ceilPowerOfTwo(SIZE_X) - 1;
     public static final int INNER_CHUNK_POS_FILTER_Y = TeraMath.ceilPowerOfTwo(SIZE_Y) - 1;
     public static final int INNER_CHUNK_POS_FILTER_Z = TeraMath.ceilPowerOfTwo(SIZE_Z) - 1;
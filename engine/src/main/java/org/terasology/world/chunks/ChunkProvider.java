@@ -27,10 +27,12 @@
 public interface ChunkProvider {
 
     /**
-     * A local view provides a
+     * A local view provides a read-only view of a chunk and its neighbours as they are at the time of the call, which
+     * can be read from other threads while the chunks keep being modified.
      *
      * @param centerChunkPos
      * @return A chunk view centered on the given chunk, with all of the surrounding chunks included.
+     * @see org.terasology.world.chunks.Chunk#pinVersion()
      */
     ChunkViewCore getLocalView(Vector3i centerChunkPos);
 
@@ -24,10 +24,49 @@
 @API
 public interface RenderableChunk extends LitChunk {
 
+    /**
+     * @return whether any section of the chunk needs a new mesh
+     */
     boolean isDirty();
 
+    /**
+     * Marks all sections of the chunk as needing a new mesh, or none of them.
+     */
     void setDirty(boolean dirty);
 
+    /**
+     * @return the sections needing a new mesh, as a bitmask with bit i set for the i-th section from the bottom
+     */
+    int getDirtySections();
+
+    /**
+     * Marks the given sections as needing a new mesh, in addition to the ones already marked.
+     *
+     * @param sections a bitmask with bit i set for the i-th section from the bottom
+     */
+    void markSectionsDirty(int sections);
+
+    /**
+     * Unmarks all sections, so that changes made from now on mark them again.
+     *
+     * @return the sections that were marked
+     */
+    int clearDirtySections();
+
+    /**
+     * Marks the sections containing the given range of heights as needing a new mesh. The heights are relative to the
+     * chunk, heights outside of the chunk are ignored.
+     */
+    default void setDirtyBetween(int minY, int maxY) {
+        int min = Math.max(minY, 0);
+        int max = Math.min(maxY, ChunkConstants.SIZE_Y - 1);
+        if (min <= max) {
+            int minSection = min / ChunkConstants.SECTION_SIZE_Y;
+            int maxSection = max / ChunkConstants.SECTION_SIZE_Y;
+            markSectionsDirty((ChunkConstants.ALL_SECTIONS >>> (ChunkConstants.SECTION_COUNT - 1 - maxSection + minSection)) << minSection);
+        }
+    }
+
     AABB getAABB();
 
     void setMesh(ChunkMesh newMesh);
@@ -0,0 +1,93 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A thread-safe pool of backing arrays for dense {@link TeraArray}s of a fixed size.
+ * <p>
+ * Chunks that are created and deflated in quick succession (e.g. when receiving chunks from a server) can take their
+ * dense arrays from this pool and hand them back with {@link #recycle(TeraArray)} once deflation has replaced them,
+ * instead of allocating and discarding several large arrays per chunk.
+ */
+public class TeraArrayPool {
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final Queue<short[]> shortArrays;
+    private final Queue<byte[]> byteArrays;
+
+    /**
+     * @param capacity the maximum number of arrays retained per element type
+     */
+    public TeraArrayPool(int sizeX, int sizeY, int sizeZ, int capacity) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.shortArrays = new ArrayBlockingQueue<>(capacity);
+        this.byteArrays = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return a backing array for a 16 bit dense array. The content is undefined and must be overwritten completely.
+     */
+    public short[] acquireShortArray() {
+        short[] array = shortArrays.poll();
+        return (array != null) ? array : new short[sizeX * sizeY * sizeZ];
+    }
+
+    /**
+     * @return a new zero-filled 16 bit dense array
+     */
+    public TeraDenseArray16Bit createDense16Bit() {
+        short[] data = acquireShortArray();
+        Arrays.fill(data, (short) 0);
+        return new TeraDenseArray16Bit(sizeX, sizeY, sizeZ, data);
+    }
+
+    /**
+     * @return a new zero-filled 8 bit dense array
+     */
+    public TeraDenseArray8Bit createDense8Bit() {
+        byte[] data = byteArrays.poll();
+        if (data == null) {
+            return new TeraDenseArray8Bit(sizeX, sizeY, sizeZ);
+        }
+        Arrays.fill(data, (byte) 0);
+        return new TeraDenseArray8Bit(sizeX, sizeY, sizeZ, data);
+    }
+
+    /**
+     * Returns the backing array of a dense array to the pool. The given array must not be used afterwards.
+     * Arrays of other types or sizes are ignored.
+     */
+    public void recycle(TeraArray array) {
+        if (array.getSizeX() != sizeX || array.getSizeY() != sizeY || array.getSizeZ() != sizeZ) {
+            return;
+        }
+        if (array instanceof TeraDenseArray16Bit) {
+            TeraDenseArray16Bit denseArray = (TeraDenseArray16Bit) array;
+            if (denseArray.data != null) {
+                shortArrays.offer(denseArray.data);
+                denseArray.data = null;
+            }
+        } else if (array instanceof TeraDenseArray8Bit) {
+            TeraDenseArray8Bit denseArray = (TeraDenseArray8Bit) array;
+            if (denseArray.data != null) {
+                byteArrays.offer(denseArray.data);
+                denseArray.data = null;
+            }
+        }
+    }
+
+    public int getPooledShortArrays() {
+        return shortArrays.size();
+    }
+
+    public int getPooledByteArrays() {
+        return byteArrays.size();
+    }
+}
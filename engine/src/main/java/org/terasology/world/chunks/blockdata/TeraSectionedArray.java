@@ -0,0 +1,250 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.blockdata;
+
+import com.google.common.base.Preconditions;
+import org.terasology.world.chunks.deflate.TeraDeflator;
+import org.terasology.world.chunks.deflate.TeraVisitingDeflator;
+
+import java.util.function.Supplier;
+
+/**
+ * A tera array that is split along the y axis into sections of equal height, each stored in a tera array of its own,
+ * and whose sections are copied on write.
+ * <p>
+ * {@link #pin()} returns an immutable version of the array that shares the current sections. The pinned version can
+ * be read from any thread without locking while the array keeps being modified: the first write to a section that is
+ * shared with a pinned version replaces the section with a copy, so a write only ever copies the section it touches.
+ * <p>
+ * Writes and pinning are synchronized with each other; reads are not synchronized at all. This class has no factory or
+ * serialization handler, as it only wraps other tera arrays and is never stored as such.
+ */
+public final class TeraSectionedArray extends TeraArray {
+
+    private final TeraArray[] sections;
+    private final boolean[] shared;
+    private final int sectionShift;
+    private final int sectionMask;
+    private final boolean pinned;
+
+    /**
+     * @param sections The sections from bottom to top, which must have the same size and a height that is a power of
+     *                 two. The array takes ownership of them.
+     */
+    public TeraSectionedArray(TeraArray... sections) {
+        this(sections, false);
+    }
+
+    private TeraSectionedArray(TeraArray[] sections, boolean pinned) {
+        super(checkSections(sections).getSizeX(), sections.length * sections[0].getSizeY(), sections[0].getSizeZ(), false);
+        this.sections = sections;
+        this.shared = new boolean[sections.length];
+        this.sectionShift = Integer.numberOfTrailingZeros(sections[0].getSizeY());
+        this.sectionMask = sections[0].getSizeY() - 1;
+        this.pinned = pinned;
+    }
+
+    private static TeraArray checkSections(TeraArray[] sections) {
+        Preconditions.checkArgument(sections.length > 0, "At least one section is required");
+        TeraArray first = sections[0];
+        Preconditions.checkArgument(Integer.bitCount(first.getSizeY()) == 1, "The section height has to be a power of two");
+        for (TeraArray section : sections) {
+            Preconditions.checkArgument(section.getSizeX() == first.getSizeX() && section.getSizeY() == first.getSizeY()
+                    && section.getSizeZ() == first.getSizeZ(), "All sections have to be of the same size");
+        }
+        return first;
+    }
+
+    /**
+     * Creates a sectioned array whose sections are supplied by the given factory, e.g. new dense arrays of the section
+     * size.
+     */
+    public static TeraSectionedArray create(int sectionCount, Supplier<? extends TeraArray> sectionFactory) {
+        TeraArray[] sections = new TeraArray[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sections[i] = sectionFactory.get();
+        }
+        return new TeraSectionedArray(sections);
+    }
+
+    /**
+     * Splits the given array into dense sections of the given height. The given array is left untouched.
+     * Arrays that already are sectioned with that height are returned as they are.
+     */
+    public static TeraSectionedArray split(TeraArray array, int sectionHeight) {
+        if (array instanceof TeraSectionedArray && ((TeraSectionedArray) array).getSectionHeight() == sectionHeight) {
+            return (TeraSectionedArray) array;
+        }
+        Preconditions.checkArgument(array.getSizeY() % sectionHeight == 0,
+                "The height of the array has to be a multiple of the section height " + sectionHeight);
+        int sizeX = array.getSizeX();
+        int sizeZ = array.getSizeZ();
+        int sectionVolume = sizeX * sectionHeight * sizeZ;
+        TeraArray[] sections = new TeraArray[array.getSizeY() / sectionHeight];
+        for (int i = 0; i < sections.length; i++) {
+            int offset = i * sectionVolume;
+            if (array instanceof TeraDenseArray16Bit && ((TeraDenseArray16Bit) array).data != null) {
+                short[] data = new short[sectionVolume];
+                System.arraycopy(((TeraDenseArray16Bit) array).data, offset, data, 0, sectionVolume);
+                sections[i] = new TeraDenseArray16Bit(sizeX, sectionHeight, sizeZ, data);
+            } else if (array instanceof TeraDenseArray8Bit && ((TeraDenseArray8Bit) array).data != null) {
+                byte[] data = new byte[sectionVolume];
+                System.arraycopy(((TeraDenseArray8Bit) array).data, offset, data, 0, sectionVolume);
+                sections[i] = new TeraDenseArray8Bit(sizeX, sectionHeight, sizeZ, data);
+            } else {
+                sections[i] = copySection(array, createDense(array.getElementSizeInBits(), sizeX, sectionHeight, sizeZ),
+                        i * sectionHeight);
+            }
+        }
+        return new TeraSectionedArray(sections);
+    }
+
+    private static TeraArray createDense(int elementSizeInBits, int sizeX, int sizeY, int sizeZ) {
+        if (elementSizeInBits <= 4) {
+            return new TeraDenseArray4Bit(sizeX, sizeY, sizeZ);
+        } else if (elementSizeInBits <= 8) {
+            return new TeraDenseArray8Bit(sizeX, sizeY, sizeZ);
+        }
+        return new TeraDenseArray16Bit(sizeX, sizeY, sizeZ);
+    }
+
+    private static TeraArray copySection(TeraArray from, TeraArray to, int offsetY) {
+        for (int y = 0; y < to.getSizeY(); y++) {
+            for (int z = 0; z < to.getSizeZ(); z++) {
+                for (int x = 0; x < to.getSizeX(); x++) {
+                    to.set(x, y, z, from.get(x, offsetY + y, z));
+                }
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Returns an immutable version of the array as it is now. Taking it is cheap, as the sections are only copied once
+     * they are modified.
+     */
+    public synchronized TeraSectionedArray pin() {
+        if (pinned) {
+            return this;
+        }
+        for (int i = 0; i < sections.length; i++) {
+            shared[i] = true;
+        }
+        return new TeraSectionedArray(sections.clone(), true);
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public int getSectionCount() {
+        return sections.length;
+    }
+
+    public int getSectionHeight() {
+        return sectionMask + 1;
+    }
+
+    /**
+     * @return Whether the section is shared with a pinned version, and will be copied when it is written to next
+     */
+    public synchronized boolean isShared(int section) {
+        return shared[section];
+    }
+
+    /**
+     * Deflates every section in place. Dense sections that got replaced are returned to the given pool, unless a pinned
+     * version still refers to them.
+     *
+     * @param arrayPool The pool to return replaced sections to, or null
+     */
+    public synchronized void deflate(TeraDeflator deflator, TeraArrayPool arrayPool) {
+        if (pinned) {
+            return;
+        }
+        for (int i = 0; i < sections.length; i++) {
+            TeraArray deflated = deflator.deflate(sections[i]);
+            if (deflated != sections[i]) {
+                if (arrayPool != null && !shared[i]) {
+                    arrayPool.recycle(sections[i]);
+                }
+                sections[i] = deflated;
+                shared[i] = false;
+            }
+        }
+    }
+
+    @Override
+    protected void initialize() {
+    }
+
+    @Override
+    public boolean isSparse() {
+        for (TeraArray section : sections) {
+            if (!section.isSparse()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public TeraArray copy() {
+        TeraArray[] copies = new TeraArray[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            copies[i] = sections[i].copy();
+        }
+        return new TeraSectionedArray(copies);
+    }
+
+    /**
+     * Deflates the sections in place.
+     *
+     * @return This array
+     */
+    @Override
+    public TeraArray deflate(TeraVisitingDeflator deflator) {
+        deflate(deflator, null);
+        return this;
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        int result = 16 + sections.length * 4;
+        for (TeraArray section : sections) {
+            result += section.getEstimatedMemoryConsumptionInBytes();
+        }
+        return result;
+    }
+
+    @Override
+    public int getElementSizeInBits() {
+        return sections[0].getElementSizeInBits();
+    }
+
+    @Override
+    public int get(int x, int y, int z) {
+        return sections[y >> sectionShift].get(x, y & sectionMask, z);
+    }
+
+    @Override
+    public synchronized int set(int x, int y, int z, int value) {
+        return writableSection(y >> sectionShift).set(x, y & sectionMask, z, value);
+    }
+
+    @Override
+    public synchronized boolean set(int x, int y, int z, int value, int expected) {
+        return writableSection(y >> sectionShift).set(x, y & sectionMask, z, value, expected);
+    }
+
+    private TeraArray writableSection(int index) {
+        if (pinned) {
+            throw new UnsupportedOperationException("A pinned version of a tera array cannot be modified");
+        }
+        if (shared[index]) {
+            sections[index] = sections[index].copy();
+            shared[index] = false;
+        }
+        return sections[index];
+    }
+}
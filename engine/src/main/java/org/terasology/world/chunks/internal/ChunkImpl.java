@@ -35,12 +35,15 @@
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraArrayPool;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraSectionedArray;
 import org.terasology.world.chunks.deflate.TeraDeflator;
 import org.terasology.world.chunks.deflate.TeraStandardDeflator;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Chunks are the basic components of the world. Each chunk contains a fixed amount of blocks
@@ -49,9 +52,18 @@
  * <br><br>
  * Chunks are tessellated on creation and saved to vertex arrays. From those VBOs are generated
  * which are then used for the actual rendering process.
+ * <br><br>
+ * All data of a chunk is split into vertical sections of {@link ChunkConstants#SECTION_SIZE_Y} blocks that are copied
+ * on write, so that threads other than the one modifying the chunk can read a consistent version of it without locking,
+ * see {@link #pinVersion()}.
  */
 public class ChunkImpl implements Chunk {
 
+    /**
+     * Value of {@link #getPersistedVersion()} for chunks whose current state was never stored.
+     */
+    public static final int NOT_PERSISTED = -1;
+
     private static final Logger logger = LoggerFactory.getLogger(ChunkImpl.class);
 
     private static final DecimalFormat PERCENT_FORMAT = new DecimalFormat("0.##");
@@ -60,22 +72,27 @@ public class ChunkImpl implements Chunk {
     private final Vector3i chunkPos = new Vector3i();
 
     private BlockManager blockManager;
+    private final TeraArrayPool arrayPool;
 
-    private TeraArray sunlightData;
-    private TeraArray sunlightRegenData;
-    private TeraArray lightData;
+    private TeraSectionedArray sunlightData;
+    private TeraSectionedArray sunlightRegenData;
+    private TeraSectionedArray lightData;
 
-    private TeraArray blockData;
-    private volatile TeraArray blockDataSnapshot;
-    private TeraArray[] extraData;
-    private volatile TeraArray[] extraDataSnapshots;
+    private final TeraSectionedArray blockData;
+    private volatile TeraSectionedArray blockDataSnapshot;
+    private final TeraSectionedArray[] extraData;
+    private volatile TeraSectionedArray[] extraDataSnapshots;
+
+    private final boolean pinned;
 
     private AABB aabb;
     private Region3i region;
 
     private boolean disposed;
     private boolean ready;
-    private volatile boolean dirty;
+    private final AtomicInteger dirtySections = new AtomicInteger();
+    private volatile int changeVersion;
+    private volatile int persistedVersion = NOT_PERSISTED;
     private boolean animated;
 
     // Rendering
@@ -88,25 +105,99 @@ public ChunkImpl(int x, int y, int z, BlockManager blockManager, ExtraBlockDataM
 
     public ChunkImpl(Vector3i chunkPos, BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
         this(chunkPos,
-                new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
+                TeraSectionedArray.create(ChunkConstants.SECTION_COUNT,
+                        () -> new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SECTION_SIZE_Y, ChunkConstants.SIZE_Z)),
                 extraDataManager.makeDataArrays(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z),
                 blockManager);
     }
 
     public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray[] extra, BlockManager blockManager) {
+        this(chunkPos, blocks, extra, blockManager, null);
+    }
+
+    /**
+     * Arrays that are not split into sections of {@link ChunkConstants#SECTION_SIZE_Y} yet are copied into sections.
+     *
+     * @param arrayPool if not null, the sections of the light arrays are taken from this pool, and dense sections
+     *                  replaced while deflating are returned to it. It has to provide arrays of the size of a section.
+     */
+    public ChunkImpl(Vector3i chunkPos, TeraArray blocks, TeraArray[] extra, BlockManager blockManager, TeraArrayPool arrayPool) {
         this.chunkPos.set(Preconditions.checkNotNull(chunkPos));
-        this.blockData = Preconditions.checkNotNull(blocks);
-        this.extraData = Preconditions.checkNotNull(extra);
-        sunlightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        sunlightRegenData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        lightData = new TeraDenseArray8Bit(getChunkSizeX(), getChunkSizeY(), getChunkSizeZ());
-        dirty = true;
+        this.blockData = TeraSectionedArray.split(Preconditions.checkNotNull(blocks), ChunkConstants.SECTION_SIZE_Y);
+        Preconditions.checkNotNull(extra);
+        this.extraData = new TeraSectionedArray[extra.length];
+        for (int i = 0; i < extra.length; i++) {
+            extraData[i] = TeraSectionedArray.split(extra[i], ChunkConstants.SECTION_SIZE_Y);
+        }
+        this.arrayPool = arrayPool;
+        this.pinned = false;
+        createLightData();
+        dirtySections.set(ChunkConstants.ALL_SECTIONS);
         this.blockManager = blockManager;
         region = Region3i.createFromMinAndSize(new Vector3i(chunkPos.x * ChunkConstants.SIZE_X, chunkPos.y * ChunkConstants.SIZE_Y, chunkPos.z * ChunkConstants.SIZE_Z),
                 ChunkConstants.CHUNK_SIZE);
         ChunkMonitor.fireChunkCreated(this);
     }
 
+    /**
+     * Creates a pinned version of the given chunk.
+     */
+    private ChunkImpl(ChunkImpl chunk) {
+        this.chunkPos.set(chunk.chunkPos);
+        this.blockManager = chunk.blockManager;
+        this.arrayPool = null;
+        this.pinned = true;
+        this.blockData = chunk.blockData.pin();
+        this.extraData = pin(chunk.extraData);
+        this.sunlightData = chunk.sunlightData.pin();
+        this.sunlightRegenData = chunk.sunlightRegenData.pin();
+        this.lightData = chunk.lightData.pin();
+        this.region = chunk.region;
+        this.ready = chunk.ready;
+        this.disposed = chunk.disposed;
+        this.changeVersion = chunk.changeVersion;
+        this.persistedVersion = chunk.persistedVersion;
+    }
+
+    private static TeraSectionedArray[] pin(TeraSectionedArray[] arrays) {
+        TeraSectionedArray[] result = new TeraSectionedArray[arrays.length];
+        for (int i = 0; i < arrays.length; i++) {
+            result[i] = arrays[i].pin();
+        }
+        return result;
+    }
+
+    private void createLightData() {
+        if (arrayPool != null) {
+            sunlightData = TeraSectionedArray.create(ChunkConstants.SECTION_COUNT, arrayPool::createDense8Bit);
+            sunlightRegenData = TeraSectionedArray.create(ChunkConstants.SECTION_COUNT, arrayPool::createDense8Bit);
+            lightData = TeraSectionedArray.create(ChunkConstants.SECTION_COUNT, arrayPool::createDense8Bit);
+        } else {
+            sunlightData = createDenseSections();
+            sunlightRegenData = createDenseSections();
+            lightData = createDenseSections();
+        }
+    }
+
+    private static TeraSectionedArray createDenseSections() {
+        return TeraSectionedArray.create(ChunkConstants.SECTION_COUNT,
+                () -> new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SECTION_SIZE_Y, ChunkConstants.SIZE_Z));
+    }
+
+    /**
+     * Returns an immutable version of the block, light and extra data of the chunk as it is now. It can be read from
+     * any thread without locking while the chunk keeps being modified, as only the sections modified afterwards are
+     * copied. Modifying the returned chunk fails with an {@link UnsupportedOperationException}.
+     */
+    @Override
+    public ChunkImpl pinVersion() {
+        return pinned ? this : new ChunkImpl(this);
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
     @Override
     public Vector3i getPosition() {
         return new Vector3i(chunkPos);
@@ -119,12 +210,27 @@ public org.joml.Vector3i getPosition(org.joml.Vector3i dest) {
 
     @Override
     public boolean isDirty() {
-        return dirty;
+        return dirtySections.get() != 0;
     }
 
     @Override
     public void setDirty(boolean dirty) {
-        this.dirty = dirty;
+        dirtySections.set(dirty ? ChunkConstants.ALL_SECTIONS : 0);
+    }
+
+    @Override
+    public int getDirtySections() {
+        return dirtySections.get();
+    }
+
+    @Override
+    public void markSectionsDirty(int sections) {
+        dirtySections.accumulateAndGet(sections, (current, added) -> current | added);
+    }
+
+    @Override
+    public int clearDirtySections() {
+        return dirtySections.getAndSet(0);
     }
 
     @Override
@@ -163,10 +269,10 @@ public final Block getBlock(int x, int y, int z) {
     // so whatever sets a block to something extraData sensitive should also initialise the extra data.
     @Override
     public Block setBlock(int x, int y, int z, Block block) {
-        if (blockData == blockDataSnapshot) {
-            blockData = blockData.copy();
-        }
         int oldValue = blockData.set(x, y, z, block.getId());
+        if (oldValue != block.getId()) {
+            changeVersion++;
+        }
         return blockManager.getBlock((short) oldValue);
     }
 
@@ -260,10 +366,9 @@ public int getExtraData(int index, Vector3ic pos) {
 
     @Override
     public void setExtraData(int index, int x, int y, int z, int value) {
-        if (extraDataSnapshots != null && extraData[index] == extraDataSnapshots[index]) {
-            extraData[index] = extraData[index].copy();
+        if (extraData[index].set(x, y, z, value) != value) {
+            changeVersion++;
         }
-        extraData[index].set(x, y, z, value);
     }
 
     @Override
@@ -362,10 +467,10 @@ public void deflate() {
             }
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize + extraSize;
 
-            blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
-            for (int i = 0; i < extraData.length; i++) {
-                extraData[i] = def.deflate(extraData[i]);
+            blockData.deflate(def, arrayPool);
+            lightData.deflate(def, arrayPool);
+            for (TeraSectionedArray extraDatum : extraData) {
+                extraDatum.deflate(def, arrayPool);
             }
 
             int blocksReduced = blockData.getEstimatedMemoryConsumptionInBytes();
@@ -398,10 +503,10 @@ public void deflate() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
-            blockData = def.deflate(blockData);
-            lightData = def.deflate(lightData);
-            for (int i = 0; i < extraData.length; i++) {
-                extraData[i] = def.deflate(extraData[i]);
+            blockData.deflate(def, arrayPool);
+            lightData.deflate(def, arrayPool);
+            for (TeraSectionedArray extraDatum : extraData) {
+                extraDatum.deflate(def, arrayPool);
             }
             ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
         }
@@ -417,8 +522,8 @@ public void deflateSunlight() {
             int lightSize = lightData.getEstimatedMemoryConsumptionInBytes();
             int totalSize = blocksSize + sunlightRegenSize + sunlightSize + lightSize;
 
-            sunlightData = def.deflate(sunlightData);
-            sunlightRegenData = def.deflate(sunlightRegenData);
+            sunlightData.deflate(def, arrayPool);
+            sunlightRegenData.deflate(def, arrayPool);
 
             int sunlightReduced = sunlightData.getEstimatedMemoryConsumptionInBytes();
             int sunlightRegenReduced = sunlightRegenData.getEstimatedMemoryConsumptionInBytes();
@@ -443,8 +548,8 @@ public void deflateSunlight() {
             ChunkMonitor.fireChunkDeflated(this, totalSize, totalReduced);
         } else {
             final int oldSize = getEstimatedMemoryConsumptionInBytes();
-            sunlightData = def.deflate(sunlightData);
-            sunlightRegenData = def.deflate(sunlightRegenData);
+            sunlightData.deflate(def, arrayPool);
+            sunlightRegenData.deflate(def, arrayPool);
             ChunkMonitor.fireChunkDeflated(this, oldSize, getEstimatedMemoryConsumptionInBytes());
         }
     }
@@ -516,9 +621,7 @@ public void markReady() {
     public void prepareForReactivation() {
         if (disposed) {
             disposed = false;
-            sunlightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            sunlightRegenData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
-            lightData = new TeraDenseArray8Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
+            createLightData();
         }
     }
 
@@ -578,7 +681,31 @@ public ChunkBlockIterator getBlockIterator() {
 
     @Override
     public EntityData.ChunkStore.Builder encode() {
-        return ChunkSerializer.encode(chunkPos, blockData, extraData);
+        return ChunkSerializer.encode(chunkPos, blockData.pin(), pin(extraData));
+    }
+
+    /**
+     * The change version is incremented whenever a block or extra data value of the chunk changes. Only the thread
+     * that modifies the chunk may increment it, but it can be read from any thread.
+     *
+     * @return the current change version
+     */
+    public int getChangeVersion() {
+        return changeVersion;
+    }
+
+    /**
+     * @return the change version of the chunk as it is stored on disk, or {@link #NOT_PERSISTED}
+     */
+    public int getPersistedVersion() {
+        return persistedVersion;
+    }
+
+    /**
+     * @param persistedVersion the change version that was read right before the snapshot that got stored was taken
+     */
+    public void setPersistedVersion(int persistedVersion) {
+        this.persistedVersion = persistedVersion;
     }
 
     /**
@@ -586,9 +713,8 @@ public EntityData.ChunkStore.Builder encode() {
      * This snapshot can then be obtained and rleased by calling {@link #encodeAndReleaseSnapshot()}.
      */
     public void createSnapshot() {
-        this.blockDataSnapshot = this.blockData;
-        this.extraDataSnapshots = new TeraArray[extraData.length];
-        System.arraycopy(extraData, 0, extraDataSnapshots, 0, extraData.length);
+        this.blockDataSnapshot = blockData.pin();
+        this.extraDataSnapshots = pin(extraData);
     }
 
     /**
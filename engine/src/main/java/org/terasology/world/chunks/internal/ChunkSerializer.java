@@ -26,13 +26,19 @@
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
 import org.terasology.world.chunks.blockdata.TeraArray;
+import org.terasology.world.chunks.blockdata.TeraArrayPool;
 import org.terasology.world.chunks.blockdata.TeraDenseArray16Bit;
 import org.terasology.world.chunks.blockdata.TeraDenseArray8Bit;
+import org.terasology.world.chunks.blockdata.TeraSectionedArray;
+
+import java.util.Arrays;
 
 /**
  */
 public final class ChunkSerializer {
 
+    private static final int SECTION_VOLUME = ChunkConstants.SIZE_X * ChunkConstants.SECTION_SIZE_Y * ChunkConstants.SIZE_Z;
+
     private ChunkSerializer() {
     }
 
@@ -48,6 +54,17 @@ public static EntityData.ChunkStore.Builder encode(Vector3i pos, TeraArray block
     }
 
     public static Chunk decode(EntityData.ChunkStore message, BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
+        return decode(message, blockManager, extraDataManager, null);
+    }
+
+    /**
+     * Decodes a chunk, taking the dense sections of its block and light arrays from the given pool.
+     *
+     * @param arrayPool the pool to take arrays from, or null to allocate new ones. Its arrays have to be of the size of
+     *                  a chunk section.
+     */
+    public static Chunk decode(EntityData.ChunkStore message, BlockManager blockManager, ExtraBlockDataManager extraDataManager,
+                               TeraArrayPool arrayPool) {
         Preconditions.checkNotNull(message, "The parameter 'message' must not be null");
         if (!message.hasX() || !message.hasY() || !message.hasZ()) {
             throw new IllegalArgumentException("Ill-formed protobuf message. Missing chunk position.");
@@ -57,12 +74,16 @@ public static Chunk decode(EntityData.ChunkStore message, BlockManager blockMana
             throw new IllegalArgumentException("Ill-formed protobuf message. Missing block data.");
         }
 
-        final TeraArray blockData = runLengthDecode(message.getBlockData());
+        final short[][] blockSections = new short[ChunkConstants.SECTION_COUNT][];
+        for (int i = 0; i < blockSections.length; i++) {
+            blockSections[i] = (arrayPool != null) ? arrayPool.acquireShortArray() : new short[SECTION_VOLUME];
+        }
+        final TeraArray blockData = runLengthDecode(message.getBlockData(), blockSections);
         final TeraArray[] extraData = extraDataManager.makeDataArrays(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z);
         for (int i = 0; i < extraData.length; i++) {
             runLengthDecode(message.getExtraData(i), extraData[i]);
         }
-        return new ChunkImpl(pos, blockData, extraData, blockManager);
+        return new ChunkImpl(pos, blockData, extraData, blockManager, arrayPool);
     }
 
     private static EntityData.RunLengthEncoding16 runLengthEncode16(TeraArray array) {
@@ -119,18 +140,36 @@ private static EntityData.RunLengthEncoding8 runLengthEncode8(TeraArray array) {
         return builder.build();
     }
 
-    private static TeraArray runLengthDecode(EntityData.RunLengthEncoding16 data) {
+    /**
+     * Decodes into the given backing arrays of the chunk sections from bottom to top, which may contain arbitrary data.
+     * Trailing zeros omitted by the encoding are written explicitly.
+     */
+    private static TeraSectionedArray runLengthDecode(EntityData.RunLengthEncoding16 data, short[][] sections) {
         Preconditions.checkState(data.getValuesCount() == data.getRunLengthsCount(), "Expected same number of values as runs");
-        short[] decodedData = new short[ChunkConstants.SIZE_X * ChunkConstants.SIZE_Y * ChunkConstants.SIZE_Z];
+        int section = 0;
         int index = 0;
         for (int pos = 0; pos < data.getValuesCount(); ++pos) {
-            int length = data.getRunLengths(pos);
+            int remaining = data.getRunLengths(pos);
             short value = (short) data.getValues(pos);
-            for (int i = 0; i < length; ++i) {
-                decodedData[index++] = value;
+            while (remaining > 0) {
+                int length = Math.min(remaining, SECTION_VOLUME - index);
+                Arrays.fill(sections[section], index, index + length, value);
+                remaining -= length;
+                index += length;
+                if (index == SECTION_VOLUME) {
+                    section++;
+                    index = 0;
+                }
+            }
+        }
+        TeraArray[] result = new TeraArray[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            if (i >= section) {
+                Arrays.fill(sections[i], (i == section) ? index : 0, SECTION_VOLUME, (short) 0);
             }
+            result[i] = new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SECTION_SIZE_Y, ChunkConstants.SIZE_Z, sections[i]);
         }
-        return new TeraDenseArray16Bit(ChunkConstants.SIZE_X, ChunkConstants.SIZE_Y, ChunkConstants.SIZE_Z, decodedData);
+        return new TeraSectionedArray(result);
     }
 
     private static TeraArray runLengthDecode(EntityData.RunLengthEncoding8 data) {
@@ -26,6 +26,7 @@
 import gnu.trove.map.hash.TShortObjectHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.engine.GameThread;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -33,6 +34,7 @@
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
 import org.terasology.math.Side;
 import org.terasology.math.TeraMath;
 import org.terasology.math.geom.Vector3i;
@@ -40,7 +42,10 @@
 import org.terasology.monitoring.chunk.ChunkMonitor;
 import org.terasology.persistence.ChunkStore;
 import org.terasology.persistence.StorageManager;
+import org.terasology.utilities.concurrency.DeferredTaskQueue;
+import org.terasology.utilities.concurrency.FrameBudgetScheduler;
 import org.terasology.utilities.concurrency.TaskMaster;
+import org.terasology.utilities.concurrency.WorkSource;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.BeforeDeactivateBlocks;
 import org.terasology.world.block.Block;
@@ -63,6 +68,7 @@
 import org.terasology.world.chunks.internal.ReadyChunkInfo;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
 import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
+import org.terasology.world.chunks.pipeline.ChunkPipelineStage;
 import org.terasology.world.chunks.pipeline.ChunkTask;
 import org.terasology.world.generation.impl.EntityBufferImpl;
 import org.terasology.world.generator.WorldGenerator;
@@ -70,15 +76,18 @@
 import org.terasology.world.internal.ChunkViewCoreImpl;
 import org.terasology.world.propagation.light.InternalLightProcessor;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
@@ -88,7 +97,14 @@
 public class LocalChunkProvider implements GeneratingChunkProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(LocalChunkProvider.class);
-    private static final int UNLOAD_PER_FRAME = 64;
+    /**
+     * Time per frame the main thread may spend on each step of loading and unloading chunks. Chunks that don't fit
+     * into the budget are handled in the following frames, see {@link FrameBudgetScheduler}.
+     */
+    private static final long ACTIVATION_BUDGET_MS = 1;
+    private static final long BLOCK_ENTITIES_BUDGET_MS = 3;
+    private static final long CHUNK_LOADED_BUDGET_MS = 2;
+    private static final long UNLOAD_BUDGET_MS = 2;
     private static final Vector3i UNLOAD_LEEWAY = Vector3i.one();
 
     private StorageManager storageManager;
@@ -102,8 +118,16 @@ public class LocalChunkProvider implements GeneratingChunkProvider {
 
 
     private final Set<Vector3i> preparingChunks = Sets.newHashSet();
+    private final Set<Vector3i> deferredChunkRequests = Sets.newLinkedHashSet();
     private final BlockingQueue<ReadyChunkInfo> readyChunks = Queues.newLinkedBlockingQueue();
     private List<ReadyChunkInfo> sortedReadyChunks = Lists.newArrayList();
+    // Index of the next of the sortedReadyChunks to try to make available this frame, counting down
+    private int readyChunkCursor = -1;
+    // Finalized chunks whose entities or load event are still queued; chunks unloaded in the meantime are dropped
+    private final Set<Chunk> pendingReadyChunks = Sets.newIdentityHashSet();
+    private final Deque<Vector3i> unloadCandidates = new ArrayDeque<>();
+    // Only used on the main thread, by makeChunkAvailable
+    private final RegionCursor neighbourCursor = new RegionCursor();
     private final BlockingQueue<TShortObjectMap<TIntList>> deactivateBlocksQueue = Queues.newLinkedBlockingQueue();
 
     private EntityRef worldEntity = EntityRef.NULL;
@@ -118,6 +142,11 @@ public class LocalChunkProvider implements GeneratingChunkProvider {
 
     private ChunkFinalizer chunkFinalizer;
 
+    private final FrameBudgetScheduler scheduler;
+    private final List<FrameBudgetScheduler.Category> deferredWork = new ArrayList<>();
+    private final DeferredTaskQueue blockEntityTasks = new DeferredTaskQueue();
+    private final DeferredTaskQueue chunkLoadedTasks = new DeferredTaskQueue();
+
     //TODO Remove this old constructor at the end of the chunk overhaul
     public LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
                               BlockManager blockManager, ExtraBlockDataManager extraDataManager) {
@@ -128,13 +157,14 @@ public LocalChunkProvider(StorageManager storageManager, EntityManager entityMan
                 extraDataManager,
                 new LightMergingChunkFinalizer(),
                 LightMergingChunkFinalizer::new,
-                new ConcurrentMapChunkCache());
+                new ConcurrentMapChunkCache(),
+                GameThread.getScheduler());
     }
 
     LocalChunkProvider(StorageManager storageManager, EntityManager entityManager, WorldGenerator generator,
                        BlockManager blockManager, ExtraBlockDataManager extraDataManager,
                        ChunkFinalizer chunkFinalizer, Supplier<ChunkFinalizer> chunkFinalizerSupplier,
-                       ChunkCache chunkCache) {
+                       ChunkCache chunkCache, FrameBudgetScheduler scheduler) {
         this.storageManager = storageManager;
         this.entityManager = entityManager;
         this.generator = generator;
@@ -146,6 +176,16 @@ public LocalChunkProvider(StorageManager storageManager, EntityManager entityMan
         this.chunkCache = chunkCache;
         chunkFinalizer.initialize(this);
         this.chunkFinalizerSupplier = chunkFinalizerSupplier;
+        this.scheduler = scheduler;
+        // Categories of the same priority run in this order, so a chunk can get through all steps in one frame
+        deferredWork.add(scheduler.addCategory("Chunk activation", FrameBudgetScheduler.PRIORITY_NORMAL,
+                ACTIVATION_BUDGET_MS, TimeUnit.MILLISECONDS, new ReadyChunkActivation()));
+        deferredWork.add(scheduler.addCategory("Chunk block entities", FrameBudgetScheduler.PRIORITY_NORMAL,
+                BLOCK_ENTITIES_BUDGET_MS, TimeUnit.MILLISECONDS, blockEntityTasks));
+        deferredWork.add(scheduler.addCategory("Chunk loaded events", FrameBudgetScheduler.PRIORITY_NORMAL,
+                CHUNK_LOADED_BUDGET_MS, TimeUnit.MILLISECONDS, chunkLoadedTasks));
+        deferredWork.add(scheduler.addCategory("Chunk unloading", FrameBudgetScheduler.PRIORITY_LOW,
+                UNLOAD_BUDGET_MS, TimeUnit.MILLISECONDS, new ChunkUnloading()));
         ChunkMonitor.fireChunkProviderInitialized(this);
     }
 
@@ -158,7 +198,7 @@ public void setBlockEntityRegistry(BlockEntityRegistry value) {
     public ChunkViewCore getLocalView(Vector3i centerChunkPos) {
         Region3i region = Region3i.createFromCenterExtents(centerChunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
         if (getChunk(centerChunkPos) != null) {
-            return createWorldView(region, Vector3i.one());
+            return createWorldView(region, Vector3i.one(), true);
         }
         return null;
     }
@@ -166,19 +206,23 @@ public ChunkViewCore getLocalView(Vector3i centerChunkPos) {
     @Override
     public ChunkViewCore getSubviewAroundBlock(Vector3i blockPos, int extent) {
         Region3i region = ChunkMath.getChunkRegionAroundWorldPos(blockPos, extent);
-        return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z));
+        return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z), false);
     }
 
     @Override
     public ChunkViewCore getSubviewAroundChunk(Vector3i chunkPos) {
         Region3i region = Region3i.createFromCenterExtents(chunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
         if (getChunk(chunkPos) != null) {
-            return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z));
+            return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z), false);
         }
         return null;
     }
 
-    private ChunkViewCore createWorldView(Region3i region, Vector3i offset) {
+    /**
+     * @param pinned whether the view consists of pinned versions of the chunks, which can be read on other threads
+     *               while the chunks are modified but cannot be modified through the view
+     */
+    private ChunkViewCore createWorldView(Region3i region, Vector3i offset, boolean pinned) {
         Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
         for (Vector3i chunkPos : region) {
             Chunk chunk = chunkCache.get(chunkPos);
@@ -187,7 +231,7 @@ private ChunkViewCore createWorldView(Region3i region, Vector3i offset) {
             }
             chunkPos.sub(region.minX(), region.minY(), region.minZ());
             int index = TeraMath.calculate3DArrayIndex(chunkPos, region.size());
-            chunks[index] = chunk;
+            chunks[index] = pinned ? chunk.pinVersion() : chunk;
         }
         return new ChunkViewCoreImpl(chunks, region, offset, blockManager.getBlock(BlockManager.AIR_ID));
     }
@@ -262,11 +306,16 @@ public void removeRelevanceEntity(EntityRef entity) {
 
     @Override
     public void completeUpdate() {
-        List<ReadyChunkInfo> readyChunkInfos = chunkFinalizer.completeFinalization();
-        readyChunkInfos.forEach(this::processReadyChunk);
+        for (ReadyChunkInfo readyChunkInfo : chunkFinalizer.completeFinalization()) {
+            pendingReadyChunks.add(readyChunkInfo.getChunk());
+            blockEntityTasks.submit(() -> processReadyChunk(readyChunkInfo));
+        }
     }
 
     private void processReadyChunk(final ReadyChunkInfo readyChunkInfo) {
+        if (!pendingReadyChunks.contains(readyChunkInfo.getChunk())) {
+            return;
+        }
         updateChunkReadinessState(readyChunkInfo);
         //TODO, it is not clear if the activate/addedBlocks event logic is correct.
         //See https://github.com/MovingBlocks/Terasology/issues/3244
@@ -279,7 +328,11 @@ private void processReadyChunk(final ReadyChunkInfo readyChunkInfo) {
             sendOnAddedBlocks(readyChunkInfo);
             sendOnActivatedBlocks(readyChunkInfo);
         }
-        sendOnChunkLoaded(readyChunkInfo);
+        chunkLoadedTasks.submit(() -> {
+            if (pendingReadyChunks.remove(readyChunkInfo.getChunk())) {
+                sendOnChunkLoaded(readyChunkInfo);
+            }
+        });
     }
 
     private OnChunkLoaded sendOnChunkLoaded(final ReadyChunkInfo readyChunkInfo) {
@@ -341,8 +394,10 @@ public void beginUpdate() {
         regionLock.readLock().lock();
         try {
             updateRelevance();
+            submitDeferredChunkRequests();
+            pipeline.reportStatistics();
             deactivateBlocks();
-            checkForUnload();
+            collectUnloadCandidates();
             makeChunksAvailable();
         } finally {
             regionLock.readLock().unlock();
@@ -361,16 +416,8 @@ private void makeChunksAvailable() {
             sortedReadyChunks.addAll(newReadyChunks);
             Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
         }
-        if (!sortedReadyChunks.isEmpty()) {
-            for (int i = sortedReadyChunks.size() - 1; i >= 0; i--) {
-                ReadyChunkInfo chunkInfo = sortedReadyChunks.get(i);
-                PerformanceMonitor.startActivity("Make Chunk Available");
-                if (makeChunkAvailable(chunkInfo)) {
-                    sortedReadyChunks.remove(i);
-                }
-                PerformanceMonitor.endActivity();
-            }
-        }
+        // The most relevant chunks are at the end; they are made available by ReadyChunkActivation as time permits
+        readyChunkCursor = sortedReadyChunks.size() - 1;
     }
 
     private void updateRelevanceRegionsWithNewChunks(List<ReadyChunkInfo> newReadyChunks) {
@@ -394,36 +441,34 @@ private void deactivateBlocks() {
         }
     }
 
-    private void checkForUnload() {
-        PerformanceMonitor.startActivity("Unloading irrelevant chunks");
-        int unloaded = 0;
-        logger.debug("Compacting cache");
+    /**
+     * Finds the chunks that are no longer relevant to any region, for ChunkUnloading to unload as time permits.
+     */
+    private void collectUnloadCandidates() {
+        PerformanceMonitor.startActivity("Finding irrelevant chunks");
+        unloadCandidates.clear();
         Iterator<Vector3i> iterator = chunkCache.iterateChunkPositions();
         while (iterator.hasNext()) {
             Vector3i pos = iterator.next();
-            boolean keep = false;
-            for (ChunkRelevanceRegion region : regions.values()) {
-                if (region.getCurrentRegion().expand(UNLOAD_LEEWAY).encompasses(pos)) {
-                    keep = true;
-                    break;
-                }
-            }
-            if (!keep) {
-                // TODO: need some way to not dispose chunks being edited or processed (or do so safely)
-                // Note: Above won't matter if all changes are on the main thread
-                if (unloadChunkInternal(pos)) {
-                    iterator.remove();
-                    if (++unloaded >= UNLOAD_PER_FRAME) {
-                        break;
-                    }
-                }
+            if (!isWithinUnloadLeeway(pos)) {
+                unloadCandidates.add(pos);
             }
         }
         PerformanceMonitor.endActivity();
     }
 
+    private boolean isWithinUnloadLeeway(Vector3i pos) {
+        for (ChunkRelevanceRegion region : regions.values()) {
+            if (region.getCurrentRegion().expand(UNLOAD_LEEWAY).encompasses(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean unloadChunkInternal(Vector3i pos) {
         Chunk chunk = chunkCache.get(pos);
+        pendingReadyChunks.remove(chunk);
         if (!chunk.isReady()) {
             // Chunk hasn't been finished or changed, so just drop it.
             Iterator<ReadyChunkInfo> infoIterator = sortedReadyChunks.iterator();
@@ -496,8 +541,9 @@ private boolean makeChunkAvailable(final ReadyChunkInfo readyChunkInfo) {
         if (chunk == null) {
             return false;
         }
-        for (Vector3i pos : Region3i.createFromCenterExtents(readyChunkInfo.getPos(), 1)) {
-            if (chunkCache.get(pos) == null) {
+        neighbourCursor.setCenterExtents(readyChunkInfo.getPos(), 1);
+        while (neighbourCursor.next()) {
+            if (chunkCache.get(neighbourCursor.position()) == null) {
                 return false;
             }
         }
@@ -567,6 +613,11 @@ public void shutdown() {
     @Override
     public void dispose() {
         shutdown();
+        deferredWork.forEach(scheduler::removeCategory);
+        blockEntityTasks.clear();
+        chunkLoadedTasks.clear();
+        pendingReadyChunks.clear();
+        unloadCandidates.clear();
 
         for (Chunk chunk : chunkCache.getAllChunks()) {
             unloadChunkInternal(chunk.getPosition());
@@ -610,8 +661,13 @@ public void purgeWorld() {
         chunkCache.clear();
         readyChunks.clear();
         sortedReadyChunks.clear();
+        blockEntityTasks.clear();
+        chunkLoadedTasks.clear();
+        pendingReadyChunks.clear();
+        unloadCandidates.clear();
         storageManager.deleteWorld();
         preparingChunks.clear();
+        deferredChunkRequests.clear();
         worldEntity.send(new PurgeWorldEvent());
 
         pipeline = new ChunkGenerationPipeline(new ChunkTaskRelevanceComparator());
@@ -629,34 +685,127 @@ public void purgeWorld() {
         }
     }
 
-    private void createOrLoadChunk(Vector3i chunkPos) {
+    /**
+     * @return false if the pipeline had no capacity for the chunk, which is then deferred
+     */
+    private boolean createOrLoadChunk(Vector3i chunkPos) {
         Chunk chunk = chunkCache.get(chunkPos);
         if (chunk == null && !preparingChunks.contains(chunkPos)) {
-            preparingChunks.add(chunkPos);
-            pipeline.doTask(new AbstractChunkTask(chunkPos) {
-                @Override
-                public String getName() {
-                    return "Create or Load Chunk";
-                }
+            if (pipeline.offer(new LoadChunkTask(chunkPos))) {
+                preparingChunks.add(chunkPos);
+                deferredChunkRequests.remove(chunkPos);
+            } else {
+                deferredChunkRequests.add(chunkPos);
+                return false;
+            }
+        }
+        return true;
+    }
 
-                @Override
-                public void run() {
-                    ChunkStore chunkStore = storageManager.loadChunkStore(getPosition());
-                    Chunk chunk;
-                    EntityBufferImpl buffer = new EntityBufferImpl();
-                    if (chunkStore == null) {
-                        chunk = new ChunkImpl(getPosition(), blockManager, extraDataManager);
-                        generator.createChunk(chunk, buffer);
-                    } else {
-                        chunk = chunkStore.getChunk();
-                    }
+    /**
+     * Resubmits chunk requests the pipeline had no capacity for, as long as they are still relevant. Stops as soon as
+     * the pipeline is full again, leaving the remaining requests deferred.
+     */
+    private void submitDeferredChunkRequests() {
+        while (!deferredChunkRequests.isEmpty() && pipeline.hasCapacity()) {
+            // A request that can't be offered is deferred again, so the set is not iterated while it may change
+            Vector3i pos = deferredChunkRequests.iterator().next();
+            deferredChunkRequests.remove(pos);
+            if (isWithinRelevanceRegion(pos) && !createOrLoadChunk(pos)) {
+                break;
+            }
+        }
+    }
 
-                    InternalLightProcessor.generateInternalLighting(chunk);
-                    chunk.deflate();
-                    TShortObjectMap<TIntList> mappings = createBatchBlockEventMappings(chunk);
-                    readyChunks.offer(new ReadyChunkInfo(chunk, mappings, chunkStore, buffer.getAll()));
-                }
-            });
+    private boolean isWithinRelevanceRegion(Vector3i pos) {
+        for (ChunkRelevanceRegion region : regions.values()) {
+            if (region.getCurrentRegion().encompasses(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class LoadChunkTask extends AbstractChunkTask {
+
+        LoadChunkTask(Vector3i position) {
+            super(position);
+        }
+
+        @Override
+        public String getName() {
+            return "Load Chunk";
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.LOAD;
+        }
+
+        @Override
+        public void run() {
+            ChunkStore chunkStore = storageManager.loadChunkStore(getPosition());
+            if (chunkStore == null) {
+                pipeline.doTask(new GenerateChunkTask(getPosition()));
+            } else {
+                pipeline.doTask(new LightChunkTask(chunkStore.getChunk(), chunkStore, Collections.emptyList()));
+            }
+        }
+    }
+
+    private class GenerateChunkTask extends AbstractChunkTask {
+
+        GenerateChunkTask(Vector3i position) {
+            super(position);
+        }
+
+        @Override
+        public String getName() {
+            return "Generate Chunk";
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.GENERATE;
+        }
+
+        @Override
+        public void run() {
+            EntityBufferImpl buffer = new EntityBufferImpl();
+            Chunk chunk = new ChunkImpl(getPosition(), blockManager, extraDataManager);
+            generator.createChunk(chunk, buffer);
+            pipeline.doTask(new LightChunkTask(chunk, null, buffer.getAll()));
+        }
+    }
+
+    private class LightChunkTask extends AbstractChunkTask {
+        private final Chunk chunk;
+        private final ChunkStore chunkStore;
+        private final List<EntityStore> entities;
+
+        LightChunkTask(Chunk chunk, ChunkStore chunkStore, List<EntityStore> entities) {
+            super(chunk.getPosition());
+            this.chunk = chunk;
+            this.chunkStore = chunkStore;
+            this.entities = entities;
+        }
+
+        @Override
+        public String getName() {
+            return "Light Chunk";
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.LIGHT;
+        }
+
+        @Override
+        public void run() {
+            InternalLightProcessor.generateInternalLighting(chunk);
+            chunk.deflate();
+            TShortObjectMap<TIntList> mappings = createBatchBlockEventMappings(chunk);
+            readyChunks.offer(new ReadyChunkInfo(chunk, mappings, chunkStore, entities));
         }
     }
 
@@ -680,6 +829,63 @@ private boolean isChunkReady(Chunk chunk) {
         return chunk != null && chunk.isReady();
     }
 
+    /**
+     * Hands the most relevant ready chunks whose neighbours are loaded to the chunk finalizer, one at a time.
+     */
+    private class ReadyChunkActivation implements WorkSource {
+
+        @Override
+        public boolean runNext() {
+            while (readyChunkCursor >= 0) {
+                int index = readyChunkCursor--;
+                // Chunks may have been unloaded since the list was sorted
+                if (index < sortedReadyChunks.size() && makeChunkAvailable(sortedReadyChunks.get(index))) {
+                    sortedReadyChunks.remove(index);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int getBacklog() {
+            return sortedReadyChunks.size();
+        }
+    }
+
+    /**
+     * Unloads the chunks found to be irrelevant this frame, one at a time.
+     */
+    private class ChunkUnloading implements WorkSource {
+
+        @Override
+        public boolean runNext() {
+            regionLock.readLock().lock();
+            try {
+                Vector3i pos;
+                while ((pos = unloadCandidates.poll()) != null) {
+                    // Regions may have moved since the candidates were collected
+                    if (chunkCache.containsChunkAt(pos) && !isWithinUnloadLeeway(pos)) {
+                        // TODO: need some way to not dispose chunks being edited or processed (or do so safely)
+                        // Note: Above won't matter if all changes are on the main thread
+                        if (unloadChunkInternal(pos)) {
+                            chunkCache.removeChunkAt(pos);
+                        }
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                regionLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int getBacklog() {
+            return unloadCandidates.size();
+        }
+    }
+
     private class ChunkTaskRelevanceComparator implements Comparator<ChunkTask> {
 
         @Override
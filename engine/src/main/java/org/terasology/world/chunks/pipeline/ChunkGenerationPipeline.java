@@ -16,38 +16,176 @@
 
 package org.terasology.world.chunks.pipeline;
 
+import com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.config.Config;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.monitoring.PerformanceMonitor;
+import org.terasology.monitoring.chunk.ChunkMonitor;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.utilities.concurrency.TaskMaster;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Map;
 
 /**
+ * Processes chunk tasks in explicit {@link ChunkPipelineStage stages}, each with its own worker threads.
+ * <p>
+ * The number of workers is derived from the available processors, or taken from
+ * {@link org.terasology.config.SystemConfig#getChunkWorkerThreads()} if configured. Every stage has a limited capacity:
+ * new chunk requests should be submitted with {@link #offer(ChunkTask)}, which refuses them while any stage is full,
+ * so a slow downstream stage holds back work upstream instead of letting queues grow without bounds.
  */
 public class ChunkGenerationPipeline {
-    private static final int NUM_TASK_THREADS = 8;
     private static final Logger logger = LoggerFactory.getLogger(ChunkGenerationPipeline.class);
+    private static final int TASKS_PER_THREAD = 8;
 
-    private TaskMaster<ChunkTask> chunkGenerator;
+    private final Map<ChunkPipelineStage, TaskMaster<ChunkTask>> stages = Maps.newEnumMap(ChunkPipelineStage.class);
+    private final Map<ChunkPipelineStage, ChunkPipelineStageStatistics> statistics = Maps.newEnumMap(ChunkPipelineStage.class);
 
     public ChunkGenerationPipeline(Comparator<ChunkTask> taskComparator) {
-        chunkGenerator = TaskMaster.createDynamicPriorityTaskMaster("Chunk-Generator", NUM_TASK_THREADS, taskComparator);
+        this(taskComparator, getConfiguredThreadCount());
     }
 
+    public ChunkGenerationPipeline(Comparator<ChunkTask> taskComparator, int totalThreads) {
+        for (ChunkPipelineStage stage : ChunkPipelineStage.values()) {
+            int threads = stage.getThreadCount(totalThreads);
+            stages.put(stage, TaskMaster.createDynamicPriorityTaskMaster(stage.getThreadName(), threads, taskComparator));
+            statistics.put(stage, new ChunkPipelineStageStatistics(stage, threads, threads * TASKS_PER_THREAD));
+        }
+        ChunkMonitor.firePipelineStatistics(getStatistics());
+    }
+
+    private static int getConfiguredThreadCount() {
+        Config config = CoreRegistry.get(Config.class);
+        if (config != null && config.getSystem().getChunkWorkerThreads() > 0) {
+            return config.getSystem().getChunkWorkerThreads();
+        }
+        // Leave one core to the main thread
+        return Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    }
+
+    /**
+     * Submits a task, regardless of the capacity of its stage. Used for passing chunks between stages, and for work
+     * that cannot be deferred.
+     */
     public void doTask(ChunkTask task) {
+        ChunkPipelineStageStatistics stageStatistics = statistics.get(task.getStage());
+        stageStatistics.taskQueued();
         try {
-            chunkGenerator.put(task);
+            stages.get(task.getStage()).put(new MonitoredChunkTask(task, stageStatistics));
         } catch (InterruptedException e) {
+            stageStatistics.taskStarted(0);
+            stageStatistics.taskFinished(0);
             logger.error("Failed to enqueue task {}", task, e);
         }
     }
 
+    /**
+     * Submits a new task if the pipeline has capacity left.
+     *
+     * @return true if the task was accepted, false if it should be retried later
+     */
+    public boolean offer(ChunkTask task) {
+        if (!hasCapacity()) {
+            return false;
+        }
+        doTask(task);
+        return true;
+    }
+
+    /**
+     * @return whether every stage can accept more work
+     */
+    public boolean hasCapacity() {
+        for (ChunkPipelineStageStatistics stageStatistics : statistics.values()) {
+            if (stageStatistics.getOccupancy() >= stageStatistics.getCapacity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Collection<ChunkPipelineStageStatistics> getStatistics() {
+        return Collections.unmodifiableCollection(statistics.values());
+    }
+
+    /**
+     * Publishes the worker time spent per stage since the last call to the {@link PerformanceMonitor}, and the stage
+     * statistics to the {@link ChunkMonitor}. Should be called once per frame from the main thread.
+     */
+    public void reportStatistics() {
+        for (ChunkPipelineStageStatistics stageStatistics : statistics.values()) {
+            PerformanceMonitor.addActivityTime(stageStatistics.getStage().getThreadName(), stageStatistics.pollRunTimeMs());
+        }
+        ChunkMonitor.firePipelineStatistics(getStatistics());
+    }
+
     public void shutdown() {
-        chunkGenerator.shutdown(new ShutdownChunkTask(), false);
+        for (TaskMaster<ChunkTask> stage : stages.values()) {
+            stage.shutdown(new ShutdownChunkTask(), false);
+        }
+        for (ChunkPipelineStageStatistics stageStatistics : statistics.values()) {
+            stageStatistics.reset();
+        }
     }
 
     public void restart() {
-        chunkGenerator.restart();
+        for (TaskMaster<ChunkTask> stage : stages.values()) {
+            stage.restart();
+        }
     }
 
+    /**
+     * Wraps a task to record its queue and run time.
+     */
+    private static final class MonitoredChunkTask implements ChunkTask {
+        private final ChunkTask task;
+        private final ChunkPipelineStageStatistics stageStatistics;
+        private final long queuedTime = System.nanoTime();
+
+        private MonitoredChunkTask(ChunkTask task, ChunkPipelineStageStatistics stageStatistics) {
+            this.task = task;
+            this.stageStatistics = stageStatistics;
+        }
+
+        @Override
+        public Vector3i getPosition() {
+            return task.getPosition();
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return task.getStage();
+        }
+
+        @Override
+        public String getName() {
+            return task.getName();
+        }
+
+        @Override
+        public void run() {
+            long startTime = System.nanoTime();
+            stageStatistics.taskStarted(startTime - queuedTime);
+            try {
+                task.run();
+            } finally {
+                stageStatistics.taskFinished(System.nanoTime() - startTime);
+            }
+        }
+
+        @Override
+        public boolean isTerminateSignal() {
+            return task.isTerminateSignal();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
 }
@@ -0,0 +1,49 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.pipeline;
+
+/**
+ * The stages a chunk passes through in the {@link ChunkGenerationPipeline}. Every stage is processed by its own set of
+ * worker threads, so slow disk access or expensive generation cannot starve the other stages.
+ * <p>
+ * Merging the light of a chunk with its neighbours and finalizing it happen afterwards, in the
+ * {@link org.terasology.world.propagation.light.LightMerger} and on the main thread respectively.
+ */
+public enum ChunkPipelineStage {
+    /**
+     * Loading a chunk from storage and decoding it.
+     */
+    LOAD("Chunk-Loader", 1),
+    /**
+     * Generating a new chunk with the world generator.
+     */
+    GENERATE("Chunk-Generator", 2),
+    /**
+     * Calculating the internal lighting of a chunk and compacting its data.
+     */
+    LIGHT("Chunk-Lighter", 1);
+
+    private final String threadName;
+    private final int threadShare;
+
+    ChunkPipelineStage(String threadName, int threadShare) {
+        this.threadName = threadName;
+        this.threadShare = threadShare;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @param totalThreads the number of worker threads available to the whole pipeline
+     * @return the number of worker threads this stage should use, at least one
+     */
+    public int getThreadCount(int totalThreads) {
+        int totalShares = 0;
+        for (ChunkPipelineStage stage : values()) {
+            totalShares += stage.threadShare;
+        }
+        return Math.max(1, totalThreads * threadShare / totalShares);
+    }
+}
@@ -0,0 +1,113 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.chunks.pipeline;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe throughput and latency counters of a single {@link ChunkPipelineStage}.
+ */
+public class ChunkPipelineStageStatistics {
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final ChunkPipelineStage stage;
+    private final int threads;
+    private final int capacity;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    private long reportedRunNanos;
+
+    ChunkPipelineStageStatistics(ChunkPipelineStage stage, int threads, int capacity) {
+        this.stage = stage;
+        this.threads = threads;
+        this.capacity = capacity;
+    }
+
+    void taskQueued() {
+        queued.incrementAndGet();
+    }
+
+    void taskStarted(long queueNanos) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        totalQueueNanos.addAndGet(queueNanos);
+    }
+
+    void taskFinished(long runNanos) {
+        running.decrementAndGet();
+        completed.incrementAndGet();
+        totalRunNanos.addAndGet(runNanos);
+    }
+
+    void reset() {
+        queued.set(0);
+        running.set(0);
+    }
+
+    /**
+     * @return the worker time spent in this stage since the last call, in milliseconds. Only meant to be used by a
+     * single reporting thread.
+     */
+    long pollRunTimeMs() {
+        long runNanos = totalRunNanos.get();
+        long delta = runNanos - reportedRunNanos;
+        reportedRunNanos = runNanos;
+        return Math.round(delta / NANOS_PER_MS);
+    }
+
+    public ChunkPipelineStage getStage() {
+        return stage;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the number of tasks this stage may hold before new chunk requests are held back
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getRunning() {
+        return running.get();
+    }
+
+    /**
+     * @return the number of tasks waiting in or being processed by this stage
+     */
+    public int getOccupancy() {
+        return queued.get() + running.get();
+    }
+
+    public long getCompletedTasks() {
+        return completed.get();
+    }
+
+    public double getMeanQueueTimeMs() {
+        long count = completed.get() + running.get();
+        return (count == 0) ? 0 : totalQueueNanos.get() / NANOS_PER_MS / count;
+    }
+
+    public double getMeanRunTimeMs() {
+        long count = completed.get();
+        return (count == 0) ? 0 : totalRunNanos.get() / NANOS_PER_MS / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d queued, %d running, %d completed, %.2fms queued, %.2fms running",
+                stage, getQueued(), getRunning(), getCompletedTasks(), getMeanQueueTimeMs(), getMeanRunTimeMs());
+    }
+}
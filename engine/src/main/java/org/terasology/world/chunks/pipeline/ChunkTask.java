@@ -25,4 +25,11 @@ public interface ChunkTask extends Task {
 
     Vector3i getPosition();
 
+    /**
+     * @return the pipeline stage this task belongs to
+     */
+    default ChunkPipelineStage getStage() {
+        return ChunkPipelineStage.GENERATE;
+    }
+
 }
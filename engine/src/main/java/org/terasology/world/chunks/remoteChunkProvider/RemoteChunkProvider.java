@@ -19,27 +19,33 @@
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
 import org.terasology.math.TeraMath;
-import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
 import org.terasology.monitoring.chunk.ChunkMonitor;
+import org.terasology.protobuf.EntityData;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.chunks.Chunk;
 import org.terasology.world.chunks.ChunkConstants;
 import org.terasology.world.chunks.ChunkProvider;
 import org.terasology.world.chunks.ChunkRegionListener;
+import org.terasology.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.world.chunks.blockdata.TeraArrayPool;
 import org.terasology.world.chunks.event.BeforeChunkUnload;
 import org.terasology.world.chunks.event.OnChunkLoaded;
+import org.terasology.world.chunks.internal.ChunkSerializer;
 import org.terasology.world.chunks.internal.GeneratingChunkProvider;
 import org.terasology.world.chunks.pipeline.AbstractChunkTask;
 import org.terasology.world.chunks.pipeline.ChunkGenerationPipeline;
+import org.terasology.world.chunks.pipeline.ChunkPipelineStage;
 import org.terasology.world.chunks.pipeline.ChunkTask;
 import org.terasology.world.internal.ChunkViewCore;
 import org.terasology.world.internal.ChunkViewCoreImpl;
@@ -48,10 +54,10 @@
 
 import java.math.RoundingMode;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -60,14 +66,24 @@
 public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(RemoteChunkProvider.class);
-    private Map<Vector3i, Chunk> chunkCache = Maps.newHashMap();
+    private static final int POOLED_ARRAYS = 64 * ChunkConstants.SECTION_COUNT;
+
+    // Read by the light merger thread while the main thread adds and removes chunks
+    private Map<Vector3i, Chunk> chunkCache = Maps.newConcurrentMap();
+    private final BlockingQueue<EntityData.ChunkStore> receivedChunks = Queues.newLinkedBlockingQueue();
     private final BlockingQueue<Chunk> readyChunks = Queues.newLinkedBlockingQueue();
     private final BlockingQueue<Vector3i> invalidateChunks = Queues.newLinkedBlockingQueue();
-    private List<Chunk> sortedReadyChunks = Lists.newArrayList();
+    // Lit chunks waiting for their neighbours before their light can be merged
+    private final Map<Vector3i, Chunk> pendingChunks = Maps.newHashMap();
+    // Only used on the main thread, by areNeighboursReceived
+    private final RegionCursor neighbourCursor = new RegionCursor();
+    private final TeraArrayPool arrayPool = new TeraArrayPool(ChunkConstants.SIZE_X, ChunkConstants.SECTION_SIZE_Y, ChunkConstants.SIZE_Z,
+            POOLED_ARRAYS);
     private ChunkReadyListener listener;
     private EntityRef worldEntity = EntityRef.NULL;
 
     private BlockManager blockManager;
+    private ExtraBlockDataManager extraDataManager;
 
     private ChunkGenerationPipeline pipeline;
 
@@ -75,8 +91,9 @@ public class RemoteChunkProvider implements ChunkProvider, GeneratingChunkProvid
 
     private LocalPlayer localPlayer;
 
-    public RemoteChunkProvider(BlockManager blockManager, LocalPlayer localPlayer) {
+    public RemoteChunkProvider(BlockManager blockManager, ExtraBlockDataManager extraDataManager, LocalPlayer localPlayer) {
         this.blockManager = blockManager;
+        this.extraDataManager = extraDataManager;
         this.localPlayer = localPlayer;
         pipeline = new ChunkGenerationPipeline(new ChunkTaskRelevanceComparator());
         ChunkMonitor.fireChunkProviderInitialized(this);
@@ -86,20 +103,19 @@ public void subscribe(ChunkReadyListener chunkReadyListener) {
         this.listener = chunkReadyListener;
     }
 
-    public void receiveChunk(final Chunk chunk) {
-        pipeline.doTask(new AbstractChunkTask(chunk.getPosition()) {
-            @Override
-            public String getName() {
-                return "Internal Light Generation";
-            }
+    /**
+     * Queues a chunk received from the server. It is decoded and lit on the chunk pipeline, as soon as the pipeline
+     * has capacity for it.
+     */
+    public void receiveChunk(EntityData.ChunkStore chunkStore) {
+        receivedChunks.offer(chunkStore);
+    }
 
-            @Override
-            public void run() {
-                InternalLightProcessor.generateInternalLighting(chunk);
-                chunk.deflate();
-                onChunkIsReady(chunk);
-            }
-        });
+    private void submitReceivedChunks() {
+        while (!receivedChunks.isEmpty() && pipeline.hasCapacity()) {
+            EntityData.ChunkStore chunkStore = receivedChunks.poll();
+            pipeline.doTask(new DecodeChunkTask(chunkStore));
+        }
     }
 
     public void invalidateChunks(Vector3i pos) {
@@ -120,6 +136,8 @@ public void completeUpdate() {
 
     @Override
     public void beginUpdate() {
+        submitReceivedChunks();
+        pipeline.reportStatistics();
         if (listener != null) {
             checkForUnload();
             makeChunksAvailable();
@@ -131,7 +149,7 @@ private void checkForUnload() {
         invalidateChunks.drainTo(positions);
         for (Vector3i pos : positions) {
             Chunk removed = chunkCache.remove(pos);
-            if (removed != null && !removed.isReady() && !sortedReadyChunks.remove(removed)) {
+            if (removed != null && !removed.isReady() && !pendingChunks.remove(pos, removed)) {
                 worldEntity.send(new BeforeChunkUnload(pos));
                 removed.dispose();
             }
@@ -139,38 +157,48 @@ private void checkForUnload() {
     }
 
     private void makeChunksAvailable() {
-        List<Chunk> newReadyChunks = Lists.newArrayList();
+        List<Chunk> newReadyChunks = Lists.newArrayListWithExpectedSize(readyChunks.size());
         readyChunks.drainTo(newReadyChunks);
-        if (!newReadyChunks.isEmpty()) {
-            sortedReadyChunks.addAll(newReadyChunks);
-            Collections.sort(sortedReadyChunks, new ReadyChunkRelevanceComparator());
-            for (Chunk chunk : newReadyChunks) {
-                Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
-                if (oldChunk != null) {
-                    oldChunk.dispose();
-                }
+        if (newReadyChunks.isEmpty()) {
+            return;
+        }
+        for (Chunk chunk : newReadyChunks) {
+            Chunk oldChunk = chunkCache.put(chunk.getPosition(), chunk);
+            if (oldChunk != null) {
+                pendingChunks.remove(chunk.getPosition(), oldChunk);
+                oldChunk.dispose();
             }
+            pendingChunks.put(chunk.getPosition(), chunk);
         }
-        if (!sortedReadyChunks.isEmpty()) {
-            for (int i = sortedReadyChunks.size() - 1; i >= 0; i--) {
-                Chunk chunkInfo = sortedReadyChunks.get(i);
-                PerformanceMonitor.startActivity("Make Chunk Available");
-                if (makeChunkAvailable(chunkInfo)) {
-                    sortedReadyChunks.remove(i);
+
+        // Only chunks next to a newly arrived chunk can have become complete, so there is no need to check all pending chunks
+        Set<Chunk> completeChunks = Sets.newHashSet();
+        for (Chunk chunk : newReadyChunks) {
+            for (Vector3i pos : Region3i.createFromCenterExtents(chunk.getPosition(), 1)) {
+                Chunk pendingChunk = pendingChunks.get(pos);
+                if (pendingChunk != null && areNeighboursReceived(pos)) {
+                    completeChunks.add(pendingChunk);
                 }
-                PerformanceMonitor.endActivity();
             }
         }
+
+        List<Chunk> sortedChunks = Lists.newArrayList(completeChunks);
+        sortedChunks.sort(new ReadyChunkRelevanceComparator());
+        for (Chunk chunk : sortedChunks) {
+            PerformanceMonitor.startActivity("Make Chunk Available");
+            pendingChunks.remove(chunk.getPosition());
+            lightMerger.beginMerge(chunk, chunk);
+            PerformanceMonitor.endActivity();
+        }
     }
 
-    private boolean makeChunkAvailable(final Chunk chunk) {
-        for (Vector3i pos : Region3i.createFromCenterExtents(chunk.getPosition(), 1)) {
-            if (chunkCache.get(pos) == null) {
+    private boolean areNeighboursReceived(Vector3i chunkPos) {
+        neighbourCursor.setCenterExtents(chunkPos, 1);
+        while (neighbourCursor.next()) {
+            if (chunkCache.get(neighbourCursor.position()) == null) {
                 return false;
             }
         }
-
-        lightMerger.beginMerge(chunk, chunk);
         return true;
     }
 
@@ -230,7 +258,7 @@ public void restart() {
     public ChunkViewCore getLocalView(Vector3i centerChunkPos) {
         Region3i region = Region3i.createFromCenterExtents(centerChunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
         if (getChunk(centerChunkPos) != null) {
-            return createWorldView(region, Vector3i.one());
+            return createWorldView(region, Vector3i.one(), true);
         }
         return null;
     }
@@ -238,19 +266,23 @@ public ChunkViewCore getLocalView(Vector3i centerChunkPos) {
     @Override
     public ChunkViewCore getSubviewAroundBlock(Vector3i blockPos, int extent) {
         Region3i region = ChunkMath.getChunkRegionAroundWorldPos(blockPos, extent);
-        return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z));
+        return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z), false);
     }
 
     @Override
     public ChunkViewCore getSubviewAroundChunk(Vector3i chunkPos) {
         Region3i region = Region3i.createFromCenterExtents(chunkPos, ChunkConstants.LOCAL_REGION_EXTENTS);
         if (getChunk(chunkPos) != null) {
-            return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z));
+            return createWorldView(region, new Vector3i(-region.min().x, -region.min().y, -region.min().z), false);
         }
         return null;
     }
 
-    private ChunkViewCore createWorldView(Region3i region, Vector3i offset) {
+    /**
+     * @param pinned whether the view consists of pinned versions of the chunks, which can be read on other threads
+     *               while the chunks are modified but cannot be modified through the view
+     */
+    private ChunkViewCore createWorldView(Region3i region, Vector3i offset, boolean pinned) {
         Chunk[] chunks = new Chunk[region.sizeX() * region.sizeY() * region.sizeZ()];
         for (Vector3i chunkPos : region) {
             Chunk chunk = chunkCache.get(chunkPos);
@@ -259,7 +291,7 @@ private ChunkViewCore createWorldView(Region3i region, Vector3i offset) {
             }
             chunkPos.sub(region.minX(), region.minY(), region.minZ());
             int index = TeraMath.calculate3DArrayIndex(chunkPos, region.size());
-            chunks[index] = chunk;
+            chunks[index] = pinned ? chunk.pinVersion() : chunk;
         }
         return new ChunkViewCoreImpl(chunks, region, offset, blockManager.getBlock(BlockManager.AIR_ID));
     }
@@ -317,17 +349,66 @@ private int score(Vector3i chunk) {
         }
     }
 
+    /**
+     * Orders chunks by their distance to the player, closest first.
+     */
     private class ReadyChunkRelevanceComparator implements Comparator<Chunk> {
+        private final Vector3i playerChunk = ChunkMath.calcChunkPos(new Vector3i(localPlayer.getPosition(), RoundingMode.HALF_UP));
 
         @Override
         public int compare(Chunk o1, Chunk o2) {
-            return TeraMath.floorToInt(Math.signum(score(o2.getPosition())) - score(o1.getPosition()));
+            return Integer.compare(playerChunk.distanceSquared(o1.getPosition()), playerChunk.distanceSquared(o2.getPosition()));
+        }
+    }
+
+    private class DecodeChunkTask extends AbstractChunkTask {
+        private final EntityData.ChunkStore chunkStore;
+
+        DecodeChunkTask(EntityData.ChunkStore chunkStore) {
+            super(new Vector3i(chunkStore.getX(), chunkStore.getY(), chunkStore.getZ()));
+            this.chunkStore = chunkStore;
+        }
+
+        @Override
+        public String getName() {
+            return "Decode Chunk";
+        }
+
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.LOAD;
+        }
+
+        @Override
+        public void run() {
+            Chunk chunk = ChunkSerializer.decode(chunkStore, blockManager, extraDataManager, arrayPool);
+            pipeline.doTask(new LightChunkTask(chunk));
+        }
+    }
+
+    private class LightChunkTask extends AbstractChunkTask {
+        private final Chunk chunk;
+
+        LightChunkTask(Chunk chunk) {
+            super(chunk.getPosition());
+            this.chunk = chunk;
+        }
+
+        @Override
+        public String getName() {
+            return "Internal Light Generation";
         }
 
-        private float score(Vector3i chunkPos) {
-            Vector3f vec = chunkPos.toVector3f();
-            vec.sub(localPlayer.getPosition());
-            return vec.lengthSquared();
+        @Override
+        public ChunkPipelineStage getStage() {
+            return ChunkPipelineStage.LIGHT;
+        }
+
+        @Override
+        public void run() {
+            InternalLightProcessor.generateInternalLighting(chunk);
+            chunk.deflate();
+            onChunkIsReady(chunk);
         }
     }
 }
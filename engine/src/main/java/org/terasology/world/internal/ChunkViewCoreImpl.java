@@ -202,7 +202,8 @@ public void setExtraData(int index, int blockX, int blockY, int blockZ, int valu
     @Override
     public void setDirtyAround(Vector3i blockPos) {
         for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(blockPos, 1)) {
-            chunks[pos.x + offset.x + chunkRegion.size().x * (pos.z + offset.z)].setDirty(true);
+            Chunk chunk = chunks[pos.x + offset.x + chunkRegion.size().x * (pos.z + offset.z)];
+            chunk.setDirtyBetween(blockPos.y - 1 - chunk.getChunkWorldOffsetY(), blockPos.y + 1 - chunk.getChunkWorldOffsetY());
         }
     }
 
@@ -217,7 +218,8 @@ public void setDirtyAround(Region3i region) {
         Vector3i maxChunk = ChunkMath.calcChunkPos(maxPos, chunkPower);
 
         for (Vector3i pos : Region3i.createFromMinMax(minChunk, maxChunk)) {
-            chunks[pos.x + offset.x + chunkRegion.size().x * (pos.z + offset.z)].setDirty(true);
+            Chunk chunk = chunks[pos.x + offset.x + chunkRegion.size().x * (pos.z + offset.z)];
+            chunk.setDirtyBetween(minPos.y - chunk.getChunkWorldOffsetY(), maxPos.y - chunk.getChunkWorldOffsetY());
         }
     }
 
@@ -47,6 +47,7 @@
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.JomlUtil;
 import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
@@ -79,6 +80,7 @@ public class EntityAwareWorldProvider extends AbstractWorldProviderDecorator imp
     private Map<Vector3i, EntityRef> blockEntityLookup = Maps.newHashMap();
 
     private Map<Vector3i, EntityRef> blockRegionLookup = Maps.newHashMap();
+    private final RegionCursor regionCursor = new RegionCursor();
     private Map<EntityRef, Region3i> blockRegions = Maps.newHashMap();
 
     private Set<EntityRef> temporaryBlockEntities = Sets.newLinkedHashSet();
@@ -477,10 +479,7 @@ public void onBlockRegionActivated(OnActivatedComponent event, EntityRef entity)
 
     @ReceiveEvent(components = {BlockRegionComponent.class})
     public void onBlockRegionChanged(OnChangedComponent event, EntityRef entity) {
-        Region3i oldRegion = blockRegions.get(entity);
-        for (Vector3i pos : oldRegion) {
-            blockRegionLookup.remove(pos);
-        }
+        removeBlockRegionLookup(blockRegions.get(entity));
         BlockRegionComponent regionComp = entity.getComponent(BlockRegionComponent.class);
         blockRegions.put(entity, regionComp.region);
         for (Vector3i pos : regionComp.region) {
@@ -490,13 +489,17 @@ public void onBlockRegionChanged(OnChangedComponent event, EntityRef entity) {
 
     @ReceiveEvent(components = {BlockRegionComponent.class})
     public void onBlockRegionDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
-        Region3i oldRegion = blockRegions.get(entity);
-        for (Vector3i pos : oldRegion) {
-            blockRegionLookup.remove(pos);
-        }
+        removeBlockRegionLookup(blockRegions.get(entity));
         blockRegions.remove(entity);
     }
 
+    private void removeBlockRegionLookup(Region3i region) {
+        regionCursor.set(region);
+        while (regionCursor.next()) {
+            blockRegionLookup.remove(regionCursor.position());
+        }
+    }
+
     @Override
     public void update(float delta) {
         PerformanceMonitor.startActivity("Temp Blocks Cleanup");
@@ -119,8 +119,9 @@ public interface WorldProviderCore {
 
     /**
      * Places all given blocks of specific types at their corresponding positions
-     * </p>
-     * Chunks are
+     * <p>
+     * The changes are applied as a single world edit: they are grouped by chunk, so each affected chunk is only
+     * marked dirty once and listeners receive one {@link WorldChangeListener#onBlocksChanged} batch per chunk.
      *
      * @param blocks A mapping from world position to change to the type of block to set
      * @return A mapping from world position to previous block type.
@@ -29,6 +29,7 @@
 import org.terasology.math.ChunkMath;
 import org.terasology.math.JomlUtil;
 import org.terasology.math.Region3i;
+import org.terasology.math.RegionCursor;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.world.WorldChangeListener;
 import org.terasology.world.WorldComponent;
@@ -57,11 +58,10 @@
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  */
@@ -80,6 +80,8 @@ public class WorldProviderCoreImpl implements WorldProviderCore {
 
     private final Map<Vector3i, BlockChange> blockChanges = Maps.newHashMap();
     private List<BatchPropagator> propagators = Lists.newArrayList();
+    // Only used on the main thread, by setDirtyChunksNear
+    private final RegionCursor dirtyChunkCursor = new RegionCursor();
 
     private Block unloadedBlock;
 
@@ -221,18 +223,27 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
          * Hint: This method has a benchmark available in the BenchmarkScreen, The screen can be opened ingame via the
          * command "showSCreen BenchmarkScreen".
          */
-        Set<BlockChange> changedBlocks = new HashSet<>();
         Map<Vector3i, Block> result = new HashMap<>(blocks.size());
 
-        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
-            Vector3i worldPos = entry.getKey();
-            Vector3i chunkPos = ChunkMath.calcChunkPos(worldPos);
+        for (Map.Entry<Vector3i, Map<Vector3i, Block>> chunkEntry : groupByChunk(blocks).entrySet()) {
+            Vector3i chunkPos = chunkEntry.getKey();
+            Map<Vector3i, Block> chunkBlocks = chunkEntry.getValue();
             CoreChunk chunk = chunkProvider.getChunk(chunkPos);
+            if (chunk == null) {
+                for (Vector3i worldPos : chunkBlocks.keySet()) {
+                    result.put(worldPos, null);
+                }
+                continue;
+            }
 
-            if (chunk != null) {
+            List<BlockChange> chunkChanges = Lists.newArrayList();
+            Vector3i minChanged = null;
+            Vector3i maxChanged = null;
+            for (Map.Entry<Vector3i, Block> entry : chunkBlocks.entrySet()) {
+                Vector3i worldPos = entry.getKey();
                 Block type = entry.getValue();
-                Vector3i blockPos = ChunkMath.calcBlockPos(worldPos);
-                Block oldBlockType = chunk.setBlock(blockPos, type);
+                Block oldBlockType = chunk.setBlock(ChunkMath.calcBlockPosX(worldPos.x), ChunkMath.calcBlockPosY(worldPos.y),
+                        ChunkMath.calcBlockPosZ(worldPos.z), type);
                 if (oldBlockType != type) {
                     BlockChange oldChange = blockChanges.get(worldPos);
                     if (oldChange == null) {
@@ -240,31 +251,61 @@ public Map<Vector3i, Block> setBlocks(Map<Vector3i, Block> blocks) {
                     } else {
                         oldChange.setTo(type);
                     }
-                    setDirtyChunksNear(worldPos);
-                    changedBlocks.add(new BlockChange(JomlUtil.from(worldPos), oldBlockType, type));
+                    chunkChanges.add(new BlockChange(JomlUtil.from(worldPos), oldBlockType, type));
+                    if (minChanged == null) {
+                        minChanged = new Vector3i(worldPos);
+                        maxChanged = new Vector3i(worldPos);
+                    } else {
+                        minChanged.min(worldPos);
+                        maxChanged.max(worldPos);
+                    }
                 }
                 result.put(worldPos, oldBlockType);
-            } else {
-                result.put(worldPos, null);
             }
-        }
 
-        for (BlockChange change : changedBlocks) {
-            notifyBlockChanged(JomlUtil.from(change.getPosition()), change.getTo(), change.getFrom());
+            if (!chunkChanges.isEmpty()) {
+                setDirtyChunksNear(minChanged, maxChanged);
+                notifyBlocksChanged(chunkPos, chunkChanges);
+            }
         }
 
         return result;
     }
 
-    private void setDirtyChunksNear(Vector3i pos0) {
-        for (Vector3i pos : ChunkMath.getChunkRegionAroundWorldPos(pos0, 1)) {
-            RenderableChunk dirtiedChunk = chunkProvider.getChunk(pos);
+    /**
+     * Groups the given block changes by the chunk they fall into, so each chunk is only looked up, dirtied and
+     * reported to the listeners once.
+     */
+    private static Map<Vector3i, Map<Vector3i, Block>> groupByChunk(Map<Vector3i, Block> blocks) {
+        Map<Vector3i, Map<Vector3i, Block>> blocksByChunk = new LinkedHashMap<>();
+        for (Map.Entry<Vector3i, Block> entry : blocks.entrySet()) {
+            Vector3i worldPos = entry.getKey();
+            Vector3i chunkPos = ChunkMath.calcChunkPos(worldPos);
+            blocksByChunk.computeIfAbsent(chunkPos, k -> new LinkedHashMap<>()).put(worldPos, entry.getValue());
+        }
+        return blocksByChunk;
+    }
+
+    /**
+     * Marks the sections of all chunks touching the given block bounds (expanded by one block) as dirty.
+     */
+    private void setDirtyChunksNear(Vector3i minPos, Vector3i maxPos) {
+        RegionCursor cursor = dirtyChunkCursor.set(
+                ChunkMath.calcChunkPosX(minPos.x - 1), ChunkMath.calcChunkPosY(minPos.y - 1), ChunkMath.calcChunkPosZ(minPos.z - 1),
+                ChunkMath.calcChunkPosX(maxPos.x + 1), ChunkMath.calcChunkPosY(maxPos.y + 1), ChunkMath.calcChunkPosZ(maxPos.z + 1));
+        while (cursor.next()) {
+            RenderableChunk dirtiedChunk = chunkProvider.getChunk(cursor.position());
             if (dirtiedChunk != null) {
-                dirtiedChunk.setDirty(true);
+                dirtiedChunk.setDirtyBetween(minPos.y - 1 - dirtiedChunk.getChunkWorldOffsetY(),
+                        maxPos.y + 1 - dirtiedChunk.getChunkWorldOffsetY());
             }
         }
     }
 
+    private void setDirtyChunksNear(Vector3i pos0) {
+        setDirtyChunksNear(pos0, pos0);
+    }
+
     private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         // TODO: Could use a read/write writeLock.
         // TODO: Review, should only happen on main thread (as should changes to listeners)
@@ -275,6 +316,14 @@ private void notifyBlockChanged(Vector3i pos, Block type, Block oldType) {
         }
     }
 
+    private void notifyBlocksChanged(Vector3i chunkPos, List<BlockChange> changes) {
+        synchronized (listeners) {
+            for (WorldChangeListener listener : listeners) {
+                listener.onBlocksChanged(chunkPos, changes);
+            }
+        }
+    }
+
     private void notifyExtraDataChanged(int index, Vector3i pos, int newData, int oldData) {
         // TODO: Change to match block , if those changes are made.
         synchronized (listeners) {
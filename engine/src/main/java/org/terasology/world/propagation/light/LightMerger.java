@@ -16,6 +16,7 @@
 package org.terasology.world.propagation.light;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,7 @@
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -84,14 +86,19 @@ private void merge(Chunk chunk) {
         propagators.add(new SunlightRegenBatchPropagator(sunlightRegenRules, regenWorldView, sunlightPropagator, sunlightWorldView));
         propagators.add(sunlightPropagator);
 
+        // Propagating inwards only reads from the neighbours, which the main thread may modify meanwhile
+        Map<Side, Chunk> pinnedNeighbours = Maps.newEnumMap(Side.class);
+        for (Side side : Side.getAllSides()) {
+            Chunk adjChunk = chunkProvider.getChunkUnready(side.getAdjacentPos(chunk.getPosition()));
+            if (adjChunk != null) {
+                pinnedNeighbours.put(side, adjChunk.pinVersion());
+            }
+        }
+
         for (BatchPropagator propagator : propagators) {
             // Propagate Inwards
-            for (Side side : Side.getAllSides()) {
-                Vector3i adjChunkPos = side.getAdjacentPos(chunk.getPosition());
-                LitChunk adjChunk = chunkProvider.getChunkUnready(adjChunkPos);
-                if (adjChunk != null) {
-                    propagator.propagateBetween(adjChunk, chunk, side.reverse(), false);
-                }
+            for (Map.Entry<Side, Chunk> neighbour : pinnedNeighbours.entrySet()) {
+                propagator.propagateBetween(neighbour.getValue(), chunk, neighbour.getKey().reverse(), false);
             }
 
             // Propagate Outwards
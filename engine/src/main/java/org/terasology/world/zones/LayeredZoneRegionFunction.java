@@ -15,6 +15,8 @@
  */
 package org.terasology.world.zones;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.terasology.math.geom.Vector2i;
 import org.terasology.module.sandbox.API;
 import org.terasology.world.chunks.ChunkConstants;
@@ -23,23 +25,35 @@
 
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * A function that can be used as a {@link Zone#regionFunction} to create zones that are layered on top of each other.
  *
  * These layers are ordered according to {@link #ordering}, and have a thickness determined by {@link #layerThickness}.
+ *
+ * The layer ranges are cached per chunk column, for a bounded number of the chunk columns used last. A chunk column
+ * keeps the minimum and maximum height of the layer for each of its block columns in an int array, which takes about
+ * 2 KB.
  */
 @API
 public class LayeredZoneRegionFunction implements ZoneRegionFunction {
 
+    /**
+     * The number of chunk columns to cache the layer ranges of, which is enough for the chunks that are generated
+     * around the players at the same time
+     */
+    private static final int CACHED_CHUNK_COLUMNS = 1024;
+    // The heights that mark a range which wasn't calculated yet: a layer never starts at the top or ends at the bottom
+    private static final int UNSET_MIN = Integer.MAX_VALUE;
+    private static final int UNSET_MAX = Integer.MIN_VALUE;
+
     private List<LayeredZoneRegionFunction> siblings;
     private List<LayeredZoneRegionFunction> abovegroundLayers;
     private List<LayeredZoneRegionFunction> undergroundLayers;
-    private ConcurrentMap<Vector2i, LayerRange> layerRangeMap = new ConcurrentHashMap<>(ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z * 100);
+    private final Cache<Vector2i, int[]> layerRangeCache = CacheBuilder.newBuilder()
+            .maximumSize(CACHED_CHUNK_COLUMNS)
+            .build();
     private LayerThickness layerThickness;
     private long seed;
     private Zone parent;
@@ -65,7 +79,19 @@ public LayeredZoneRegionFunction(LayerThickness layerThickness, int ordering) {
 
     @Override
     public boolean apply(int x, int y, int z, Region region) {
-        return getLayerRange(x, z, region).layerContains(y);
+        int[] layerRanges = getLayerRanges(x, z, region);
+        int index = getRangeIndex(x, z);
+        // Layers don't contain their minimum, but contain their maximum
+        return layerRanges[index] < y && layerRanges[index + 1] >= y;
+    }
+
+    @Override
+    public void applyColumn(int x, int z, Region region, ZoneMask mask) {
+        int[] layerRanges = getLayerRanges(x, z, region);
+        int index = getRangeIndex(x, z);
+        int minY = Math.max(layerRanges[index], mask.getMinY() - 1) + 1;
+        int maxY = Math.min(layerRanges[index + 1], mask.getMaxY());
+        mask.setColumn(x, z, minY, maxY);
     }
 
     @Override
@@ -90,57 +116,75 @@ public void initialize(Zone parent) {
         layerThickness.initialize(this);
     }
 
-    private LayerRange getLayerRange(int x, int z, Region region) {
-        Vector2i pos = new Vector2i(x, z);
-        if (!layerRangeMap.containsKey(pos)) {
-            int surfaceHeight = (int) Math.floor(region.getFacet(SurfaceHeightFacet.class).getWorld(pos));
-
-            boolean aboveground = ordering > 0;
-            int cumulativeDistanceSmall = 0;
-            int cumulativeDistanceLarge = 0;
-            LayerRange layerRange = null;
-
-            List<LayeredZoneRegionFunction> layers = aboveground ? abovegroundLayers : undergroundLayers;
-
-            int layerIndex;
-            for (layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
-                LayeredZoneRegionFunction currentLayer = layers.get(layerIndex);
-
-                int thickness = currentLayer.layerThickness.get(x, z);
-
-                cumulativeDistanceLarge += thickness;
-                if (this.equals(currentLayer)) {
-                    if (aboveground) {
-                        layerRange = new LayerRange()
-                                .setMin(surfaceHeight + cumulativeDistanceSmall)
-                                .setMax(surfaceHeight + cumulativeDistanceLarge);
-                        break;
-                    } else {
-                        layerRange = new LayerRange()
-                                .setMin(surfaceHeight - cumulativeDistanceLarge)
-                                .setMax(surfaceHeight - cumulativeDistanceSmall);
-                        break;
-                    }
-                }
-                cumulativeDistanceSmall += thickness;
+    /**
+     * @return the layer ranges of the chunk column holding the position, as pairs of minimum and maximum heights, in
+     *         which the range of the position is calculated
+     */
+    private int[] getLayerRanges(int x, int z, Region region) {
+        Vector2i chunkColumn = new Vector2i(x >> ChunkConstants.POWER_X, z >> ChunkConstants.POWER_Z);
+        int[] layerRanges = layerRangeCache.getIfPresent(chunkColumn);
+        if (layerRanges == null) {
+            layerRanges = new int[2 * ChunkConstants.SIZE_X * ChunkConstants.SIZE_Z];
+            for (int i = 0; i < layerRanges.length; i += 2) {
+                layerRanges[i] = UNSET_MIN;
+                layerRanges[i + 1] = UNSET_MAX;
             }
-
-            if (layers.size() <= 0 || layerRange == null) {
-                throw new IllegalStateException("Layer for zone '" + parent + "' not found in list of " +
-                        (aboveground ? "aboveground" : "underground") + " layers.");
+            int[] existing = layerRangeCache.asMap().putIfAbsent(chunkColumn, layerRanges);
+            if (existing != null) {
+                layerRanges = existing;
             }
+        }
+
+        // A range is only used once both of its heights are set. They are the same for every calculation, so
+        // concurrent calculations of the same range are harmless.
+        int index = getRangeIndex(x, z);
+        if (layerRanges[index] == UNSET_MIN || layerRanges[index + 1] == UNSET_MAX) {
+            calculateLayerRange(x, z, region, layerRanges, index);
+        }
+        return layerRanges;
+    }
+
+    private static int getRangeIndex(int x, int z) {
+        return 2 * ((x & ChunkConstants.INNER_CHUNK_POS_FILTER_X) + (z & ChunkConstants.INNER_CHUNK_POS_FILTER_Z) * ChunkConstants.SIZE_X);
+    }
+
+    private void calculateLayerRange(int x, int z, Region region, int[] layerRanges, int index) {
+        int surfaceHeight = (int) Math.floor(region.getFacet(SurfaceHeightFacet.class).getWorld(x, z));
+
+        boolean aboveground = ordering > 0;
+        int cumulativeDistanceSmall = 0;
+        int cumulativeDistanceLarge = 0;
+        boolean found = false;
+
+        List<LayeredZoneRegionFunction> layers = aboveground ? abovegroundLayers : undergroundLayers;
+
+        int layerIndex;
+        for (layerIndex = 0; layerIndex < layers.size(); layerIndex++) {
+            LayeredZoneRegionFunction currentLayer = layers.get(layerIndex);
 
-            if (layerIndex == layers.size() - 1) {
-                //At one of the edge layers
+            int thickness = currentLayer.layerThickness.get(x, z);
+
+            cumulativeDistanceLarge += thickness;
+            if (this.equals(currentLayer)) {
+                boolean edgeLayer = layerIndex == layers.size() - 1;
+                //The edge layers extend outwards without limit
                 if (aboveground) {
-                    layerRange.unsetMax();
+                    layerRanges[index] = surfaceHeight + cumulativeDistanceSmall;
+                    layerRanges[index + 1] = edgeLayer ? Integer.MAX_VALUE : surfaceHeight + cumulativeDistanceLarge;
                 } else {
-                    layerRange.unsetMin();
+                    layerRanges[index] = edgeLayer ? Integer.MIN_VALUE : surfaceHeight - cumulativeDistanceLarge;
+                    layerRanges[index + 1] = surfaceHeight - cumulativeDistanceSmall;
                 }
+                found = true;
+                break;
             }
-            layerRangeMap.put(pos, layerRange);
+            cumulativeDistanceSmall += thickness;
+        }
+
+        if (layers.size() <= 0 || !found) {
+            throw new IllegalStateException("Layer for zone '" + parent + "' not found in list of " +
+                    (aboveground ? "aboveground" : "underground") + " layers.");
         }
-        return layerRangeMap.get(pos);
     }
 
     public int getOrdering() {
@@ -155,37 +199,4 @@ public long getSeed() {
         return seed;
     }
 
-    private static class LayerRange {
-        private Optional<Integer> min = Optional.empty();
-        private Optional<Integer> max = Optional.empty();
-
-        public LayerRange setMin(int min) {
-            this.min = Optional.of(min);
-            return this;
-        }
-
-        public LayerRange setMax(int max) {
-            this.max = Optional.of(max);
-            return this;
-        }
-
-        public LayerRange unsetMin() {
-            this.min = Optional.empty();
-            return this;
-        }
-
-        public LayerRange unsetMax() {
-            this.max = Optional.empty();
-            return this;
-        }
-
-        public boolean layerContains(int height) {
-            boolean satisfiesMin = !min.isPresent() || min.get() < height;
-            boolean satisfiesMax = !max.isPresent() || max.get() >= height;
-
-            return satisfiesMin && satisfiesMax;
-        }
-
-    }
-
 }
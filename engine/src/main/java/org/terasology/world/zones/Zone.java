@@ -20,7 +20,6 @@
 import org.terasology.module.sandbox.API;
 import org.terasology.rendering.nui.layers.mainMenu.preview.FacetLayerPreview;
 import org.terasology.rendering.nui.layers.mainMenu.preview.PreviewGenerator;
-import org.terasology.world.block.Block;
 import org.terasology.world.chunks.CoreChunk;
 import org.terasology.world.generation.EntityBuffer;
 import org.terasology.world.generation.EntityProvider;
@@ -39,7 +38,6 @@
 import java.util.stream.Collectors;
 
 import static org.terasology.world.chunks.ChunkConstants.SIZE_X;
-import static org.terasology.world.chunks.ChunkConstants.SIZE_Y;
 import static org.terasology.world.chunks.ChunkConstants.SIZE_Z;
 
 /**
@@ -118,53 +116,50 @@ public void process(Region region, EntityBuffer buffer) {
     /**
      * Generate the chunk for this zone, based on the rasterizers and nested zones that have been added.
      *
-     * This will only change blocks for which {@link #containsBlock(int, int, int, Region)} returns true.
+     * This will only change blocks for which {@link #containsBlock(int, int, int, Region)} returns true: the
+     * rasterizers write through a view of the chunk that drops writes to blocks outside the zone. Nested zones get that
+     * view, and only consider the blocks of their parent zone.
      *
      * @see WorldRasterizer#generateChunk(CoreChunk, Region)
      */
     @Override
     public void generateChunk(CoreChunk chunk, Region chunkRegion) {
-        Block[][][] savedBlocks = new Block[SIZE_X][SIZE_Y][SIZE_Z];
-        boolean changeAllBlocks = true;
-        boolean saveAllBlocks = true;
+        CoreChunk target = chunk;
+        ZoneMask parentMask = null;
+        if (chunk instanceof ZoneMaskedChunk) {
+            target = ((ZoneMaskedChunk) chunk).getChunk();
+            parentMask = ((ZoneMaskedChunk) chunk).getMask();
+        }
+
+        ZoneMask mask = createMask(chunk, chunkRegion, parentMask);
 
+        //If none of the blocks are in the zone, it doesn't need to be rasterized
+        if (!mask.isEmpty()) {
+            CoreChunk zoneChunk = mask.isFull() ? target : new ZoneMaskedChunk(target, mask);
+            rasterizers.forEach(r -> r.generateChunk(zoneChunk, chunkRegion));
+        }
+    }
+
+    /**
+     * Calculates which blocks of the given chunk are part of this zone, column by column.
+     *
+     * @param parentMask the blocks of the parent zone, or null if the parent covers the whole chunk
+     */
+    private ZoneMask createMask(CoreChunk chunk, Region chunkRegion, ZoneMask parentMask) {
         int offsetX = chunk.getChunkWorldOffsetX();
-        int offsetY = chunk.getChunkWorldOffsetY();
         int offsetZ = chunk.getChunkWorldOffsetZ();
-
-        //Save the blocks that aren't in the zone
+        ZoneMask mask = new ZoneMask(offsetX, chunk.getChunkWorldOffsetY(), offsetZ);
         for (int x = 0; x < SIZE_X; x++) {
-            for (int y = 0; y < SIZE_Y; y++) {
-                for (int z = 0; z < SIZE_Z; z++) {
-                    if (!containsBlock(x + offsetX, y + offsetY, z + offsetZ, chunkRegion)) {
-                        savedBlocks[x][y][z] = chunk.getBlock(x, y, z);
-                        changeAllBlocks = false;
-                    } else {
-                        saveAllBlocks = false;
-                    }
+            for (int z = 0; z < SIZE_Z; z++) {
+                if (parentMask == null || !parentMask.isColumnEmpty(x, z)) {
+                    regionFunction.applyColumn(x + offsetX, z + offsetZ, chunkRegion, mask);
                 }
             }
         }
-
-        //If none of the blocks are in the zone, it doesn't need to be rasterized
-        if (!saveAllBlocks) {
-            //Rasterize the zone
-            rasterizers.forEach(r -> r.generateChunk(chunk, chunkRegion));
-
-            //Replace any blocks that aren't in the zone
-            if (!changeAllBlocks) {
-                for (int x = 0; x < SIZE_X; x++) {
-                    for (int y = 0; y < SIZE_Y; y++) {
-                        for (int z = 0; z < SIZE_Z; z++) {
-                            Block block = savedBlocks[x][y][z];
-                            if (block != null) {
-                                chunk.setBlock(x, y, z, block);
-                            }
-                        }
-                    }
-                }
-            }
+        if (parentMask != null) {
+            mask.retainAll(parentMask);
         }
+        return mask;
     }
 
 
@@ -0,0 +1,131 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.zones;
+
+import org.terasology.module.sandbox.API;
+
+import static org.terasology.world.chunks.ChunkConstants.SIZE_X;
+import static org.terasology.world.chunks.ChunkConstants.SIZE_Y;
+import static org.terasology.world.chunks.ChunkConstants.SIZE_Z;
+
+/**
+ * The blocks of a chunk that are part of a zone, with one bit per block, stored column by column.
+ *
+ * All positions taken by the public methods are world positions.
+ */
+@API
+public final class ZoneMask {
+
+    private static final int WORDS_PER_COLUMN = (SIZE_Y + Long.SIZE - 1) / Long.SIZE;
+    private static final long LAST_WORD = (SIZE_Y % Long.SIZE == 0) ? -1L : (1L << (SIZE_Y % Long.SIZE)) - 1;
+
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
+    private final long[] bits = new long[SIZE_X * SIZE_Z * WORDS_PER_COLUMN];
+
+    /**
+     * Creates an empty mask of the chunk with the given world offset.
+     */
+    public ZoneMask(int offsetX, int offsetY, int offsetZ) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+    }
+
+    /**
+     * @return the lowest world y position of the chunk
+     */
+    public int getMinY() {
+        return offsetY;
+    }
+
+    /**
+     * @return the highest world y position of the chunk
+     */
+    public int getMaxY() {
+        return offsetY + SIZE_Y - 1;
+    }
+
+    /**
+     * Adds the block at the given world position to the mask.
+     */
+    public void set(int x, int y, int z) {
+        int localY = y - offsetY;
+        bits[columnStart(x - offsetX, z - offsetZ) + localY / Long.SIZE] |= 1L << (localY % Long.SIZE);
+    }
+
+    /**
+     * Adds the blocks of a column between the given heights, inclusive, to the mask. Heights outside the chunk are
+     * ignored.
+     */
+    public void setColumn(int x, int z, int minY, int maxY) {
+        int from = Math.max(minY - offsetY, 0);
+        int to = Math.min(maxY - offsetY, SIZE_Y - 1);
+        int start = columnStart(x - offsetX, z - offsetZ);
+        for (int word = from / Long.SIZE; word <= to / Long.SIZE && from <= to; word++) {
+            int low = Math.max(from - word * Long.SIZE, 0);
+            int high = Math.min(to - word * Long.SIZE, Long.SIZE - 1);
+            bits[start + word] |= (-1L >>> (Long.SIZE - 1 - (high - low))) << low;
+        }
+    }
+
+    /**
+     * @return whether the block at the given world position is part of the mask
+     */
+    public boolean contains(int x, int y, int z) {
+        return containsLocal(x - offsetX, y - offsetY, z - offsetZ);
+    }
+
+    boolean containsLocal(int x, int y, int z) {
+        return (bits[columnStart(x, z) + y / Long.SIZE] & (1L << (y % Long.SIZE))) != 0;
+    }
+
+    boolean isColumnEmpty(int x, int z) {
+        int start = columnStart(x, z);
+        for (int word = 0; word < WORDS_PER_COLUMN; word++) {
+            if (bits[start + word] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether no block of the chunk is part of the mask
+     */
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether every block of the chunk is part of the mask
+     */
+    public boolean isFull() {
+        for (int i = 0; i < bits.length; i++) {
+            long full = (i % WORDS_PER_COLUMN == WORDS_PER_COLUMN - 1) ? LAST_WORD : -1L;
+            if (bits[i] != full) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the blocks that aren't part of the given mask of the same chunk.
+     */
+    void retainAll(ZoneMask other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= other.bits[i];
+        }
+    }
+
+    private static int columnStart(int x, int z) {
+        return (x + z * SIZE_X) * WORDS_PER_COLUMN;
+    }
+}
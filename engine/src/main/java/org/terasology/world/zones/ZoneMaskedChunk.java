@@ -0,0 +1,219 @@
+// Copyright 2020 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.world.zones;
+
+import org.joml.Vector3ic;
+import org.terasology.math.Region3i;
+import org.terasology.math.geom.BaseVector3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.world.block.Block;
+import org.terasology.world.chunks.ChunkBlockIterator;
+import org.terasology.world.chunks.CoreChunk;
+
+import static org.terasology.world.chunks.ChunkConstants.SIZE_X;
+import static org.terasology.world.chunks.ChunkConstants.SIZE_Y;
+import static org.terasology.world.chunks.ChunkConstants.SIZE_Z;
+
+/**
+ * A view of a chunk that is being generated, which the rasterizers of a zone write through. Writes to blocks outside
+ * the zone are dropped, so the blocks outside the zone never need to be saved and restored. Reads see the whole chunk.
+ */
+final class ZoneMaskedChunk implements CoreChunk {
+
+    private final CoreChunk chunk;
+    private final ZoneMask mask;
+
+    ZoneMaskedChunk(CoreChunk chunk, ZoneMask mask) {
+        this.chunk = chunk;
+        this.mask = mask;
+    }
+
+    /**
+     * @return the chunk this view writes to
+     */
+    CoreChunk getChunk() {
+        return chunk;
+    }
+
+    /**
+     * @return the blocks of the chunk that can be written through this view
+     */
+    ZoneMask getMask() {
+        return mask;
+    }
+
+    /**
+     * Positions outside the chunk are passed on, for the chunk to reject them.
+     */
+    private boolean isWritable(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= SIZE_X || y >= SIZE_Y || z >= SIZE_Z) {
+            return true;
+        }
+        return mask.containsLocal(x, y, z);
+    }
+
+    @Override
+    public Vector3i getPosition() {
+        return chunk.getPosition();
+    }
+
+    @Override
+    public org.joml.Vector3i getPosition(org.joml.Vector3i dest) {
+        return chunk.getPosition(dest);
+    }
+
+    @Override
+    public Block getBlock(BaseVector3i pos) {
+        return chunk.getBlock(pos);
+    }
+
+    @Override
+    public Block getBlock(Vector3ic pos) {
+        return chunk.getBlock(pos);
+    }
+
+    @Override
+    public Block getBlock(int x, int y, int z) {
+        return chunk.getBlock(x, y, z);
+    }
+
+    @Override
+    public Block setBlock(int x, int y, int z, Block block) {
+        if (isWritable(x, y, z)) {
+            return chunk.setBlock(x, y, z, block);
+        }
+        return chunk.getBlock(x, y, z);
+    }
+
+    @Override
+    public Block setBlock(BaseVector3i pos, Block block) {
+        return setBlock(pos.x(), pos.y(), pos.z(), block);
+    }
+
+    @Override
+    public Block setBlock(Vector3ic pos, Block block) {
+        return setBlock(pos.x(), pos.y(), pos.z(), block);
+    }
+
+    @Override
+    public void setExtraData(int index, int x, int y, int z, int value) {
+        if (isWritable(x, y, z)) {
+            chunk.setExtraData(index, x, y, z, value);
+        }
+    }
+
+    @Override
+    public void setExtraData(int index, BaseVector3i pos, int value) {
+        setExtraData(index, pos.x(), pos.y(), pos.z(), value);
+    }
+
+    @Override
+    public void setExtraData(int index, Vector3ic pos, int value) {
+        setExtraData(index, pos.x(), pos.y(), pos.z(), value);
+    }
+
+    @Override
+    public int getExtraData(int index, int x, int y, int z) {
+        return chunk.getExtraData(index, x, y, z);
+    }
+
+    @Override
+    public int getExtraData(int index, BaseVector3i pos) {
+        return chunk.getExtraData(index, pos);
+    }
+
+    @Override
+    public int getExtraData(int index, Vector3ic pos) {
+        return chunk.getExtraData(index, pos);
+    }
+
+    @Override
+    public Vector3i getChunkWorldOffset() {
+        return chunk.getChunkWorldOffset();
+    }
+
+    @Override
+    public org.joml.Vector3i getChunkWorldOffset(org.joml.Vector3i pos) {
+        return chunk.getChunkWorldOffset(pos);
+    }
+
+    @Override
+    public int getChunkWorldOffsetX() {
+        return chunk.getChunkWorldOffsetX();
+    }
+
+    @Override
+    public int getChunkWorldOffsetY() {
+        return chunk.getChunkWorldOffsetY();
+    }
+
+    @Override
+    public int getChunkWorldOffsetZ() {
+        return chunk.getChunkWorldOffsetZ();
+    }
+
+    @Override
+    public Vector3i chunkToWorldPosition(BaseVector3i blockPos) {
+        return chunk.chunkToWorldPosition(blockPos);
+    }
+
+    @Override
+    public org.joml.Vector3i chunkToWorldPosition(Vector3ic blockPos, org.joml.Vector3i dest) {
+        return chunk.chunkToWorldPosition(blockPos, dest);
+    }
+
+    @Override
+    public Vector3i chunkToWorldPosition(int x, int y, int z) {
+        return chunk.chunkToWorldPosition(x, y, z);
+    }
+
+    @Override
+    public org.joml.Vector3i chunkToWorldPosition(int x, int y, int z, org.joml.Vector3i dest) {
+        return chunk.chunkToWorldPosition(x, y, z, dest);
+    }
+
+    @Override
+    public int chunkToWorldPositionX(int x) {
+        return chunk.chunkToWorldPositionX(x);
+    }
+
+    @Override
+    public int chunkToWorldPositionY(int y) {
+        return chunk.chunkToWorldPositionY(y);
+    }
+
+    @Override
+    public int chunkToWorldPositionZ(int z) {
+        return chunk.chunkToWorldPositionZ(z);
+    }
+
+    @Override
+    public int getChunkSizeX() {
+        return chunk.getChunkSizeX();
+    }
+
+    @Override
+    public int getChunkSizeY() {
+        return chunk.getChunkSizeY();
+    }
+
+    @Override
+    public int getChunkSizeZ() {
+        return chunk.getChunkSizeZ();
+    }
+
+    @Override
+    public Region3i getRegion() {
+        return chunk.getRegion();
+    }
+
+    @Override
+    public int getEstimatedMemoryConsumptionInBytes() {
+        return chunk.getEstimatedMemoryConsumptionInBytes();
+    }
+
+    @Override
+    public ChunkBlockIterator getBlockIterator() {
+        return chunk.getBlockIterator();
+    }
+}
@@ -44,6 +44,26 @@ public interface ZoneRegionFunction {
      */
     boolean apply(int x, int y, int z, Region region);
 
+    /**
+     * Adds the blocks of a column of a chunk that are part of this zone to the mask of the chunk.
+     *
+     * The default implementation calls {@link #apply(int, int, int, Region)} for every block of the column. Functions
+     * that can tell the blocks of a whole column at once, e.g. because the zone covers a range of heights, should
+     * override this, as zones are generated column by column.
+     *
+     * @param x the world x position of the column
+     * @param z the world z position of the column
+     * @param region the Region in the area
+     * @param mask the mask of the chunk to add the blocks to
+     */
+    default void applyColumn(int x, int z, Region region, ZoneMask mask) {
+        for (int y = mask.getMinY(); y <= mask.getMaxY(); y++) {
+            if (apply(x, y, z, region)) {
+                mask.set(x, y, z);
+            }
+        }
+    }
+
     /**
      * Initialize this function with data from the parent zone.
      *
@@ -69,6 +69,7 @@ varying vec3 normal;
 
 varying float blockHint;
 varying float isUpside;
+varying vec2 tileCorner;
 
 uniform sampler2D textureAtlas;
 uniform sampler2D textureEffects;
@@ -91,6 +92,10 @@ void main() {
 #endif
 
     vec2 texCoord = gl_TexCoord[0].xy;
+    bool tiled = checkFlag(BLOCK_HINT_TILED, blockHint);
+    if (tiled) {
+        texCoord = tileCorner + mod(texCoord - tileCorner, TEXTURE_TILE_SIZE);
+    }
 
     vec3 normalizedViewPos = -normalize(vertexViewPos.xyz);
     vec2 projectedPos = projectVertexToTexCoord(vertexProjPos);
@@ -120,7 +125,7 @@ void main() {
     texCoord += height * viewDirectionUvProjection * TEXTURE_OFFSET;
 	
     //Crudely prevent the parallax from extending to other textures in the same atlas.
-    vec2 texCorner = floor(gl_TexCoord[0].xy/TEXTURE_OFFSET)*TEXTURE_OFFSET;
+    vec2 texCorner = floor((tiled ? tileCorner : gl_TexCoord[0].xy)/TEXTURE_OFFSET)*TEXTURE_OFFSET;
     vec2 texSize = vec2(1,1)*TEXTURE_OFFSET*0.9999; //Remain strictly this side of the edge of the texture.
     texCoord = clamp(texCoord, texCorner, texCorner + texSize);
 #endif
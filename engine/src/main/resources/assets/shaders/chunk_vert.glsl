@@ -107,6 +107,7 @@ varying vec3 sunVecView;
 
 varying float isUpside;
 varying float blockHint;
+varying vec2 tileCorner;
 
 void main()
 {
@@ -114,6 +115,16 @@ void main()
 	blockHint = int(gl_TexCoord[0].z);
 	/*int*/ float animationFrameCount = gl_TexCoord[0].w;
 
+	// Faces merged by greedy meshing pack the tile corner into the fraction and the number of repetitions of
+	// the tile into the integer part of their texture coordinates; the fragment shader wraps them into the tile
+	if (checkFlag(BLOCK_HINT_TILED, blockHint)) {
+	    vec2 repetitions = floor(gl_TexCoord[0].xy);
+	    tileCorner = gl_TexCoord[0].xy - repetitions;
+	    gl_TexCoord[0].xy = tileCorner + repetitions * TEXTURE_TILE_SIZE;
+	} else {
+	    tileCorner = vec2(0.0);
+	}
+
     gl_TexCoord[1] = gl_MultiTexCoord1;
 
 	vertexViewPos = gl_ModelViewMatrix * gl_Vertex;